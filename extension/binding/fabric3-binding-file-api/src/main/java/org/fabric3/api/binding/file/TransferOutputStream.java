@@ -0,0 +1,60 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.api.binding.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * An output stream returned by a bound reference that also supports channel-based transfers. Reference contracts may declare this type as the return type
+ * of the open stream operation in place of {@link OutputStream}.
+ *
+ * Implementations may write to a temporary location and make the file visible under its final name only when the stream is closed.
+ */
+public abstract class TransferOutputStream extends OutputStream {
+
+    /**
+     * Returns a channel for writing to the file. Data previously written to the stream is flushed before the channel is returned. Closing the channel
+     * does not publish the file; {@link #close()} must still be called.
+     *
+     * @return the channel
+     * @throws IOException if the channel cannot be returned
+     */
+    public abstract FileChannel getChannel() throws IOException;
+
+    /**
+     * Appends the contents of the given file. Where supported by the platform, bytes are transferred without being copied into the JVM heap.
+     *
+     * @param source the file to transfer
+     * @return the number of bytes transferred
+     * @throws IOException if there is an error transferring the file
+     */
+    public abstract long transferFrom(File source) throws IOException;
+
+    /**
+     * Appends the remaining contents of the given channel. The channel is read until it is exhausted but is not closed.
+     *
+     * @param source the channel to transfer
+     * @return the number of bytes transferred
+     * @throws IOException if there is an error transferring the contents
+     */
+    public abstract long transferFrom(ReadableByteChannel source) throws IOException;
+
+}
@@ -62,6 +62,13 @@ public @interface FileBinding {
      */
     public String archiveLocation() default "";
 
+    /**
+     * Specifies if archived files are compressed using GZIP. Compression is performed asynchronously after a file has been archived.
+     *
+     * @return true if archived files are compressed
+     */
+    public boolean compressArchive() default false;
+
     /**
      * Specifies the location where files than cannot be processed are sent.
      *
@@ -90,6 +97,29 @@ public @interface FileBinding {
      */
     public long delay() default -1;
 
+    /**
+     * Specifies if the directory is watched for file system events instead of being periodically scanned. When watching, the delay is the period a file must
+     * be unchanged before it is processed.
+     *
+     * @return true if the directory is watched
+     */
+    public boolean watch() default false;
+
+    /**
+     * Specifies the maximum number of files processed concurrently.
+     *
+     * @return the maximum number of files processed concurrently
+     */
+    public int parallelism() default 1;
+
+    /**
+     * Specifies a regex pattern for ordering the processing of related files. Files whose names yield the same value for the first capturing group of the
+     * pattern are processed sequentially.
+     *
+     * @return the ordering pattern
+     */
+    public String orderPattern() default "";
+
     /**
      * Specifies the binding name.
      *
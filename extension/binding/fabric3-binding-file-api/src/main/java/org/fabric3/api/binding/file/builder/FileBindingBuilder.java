@@ -50,6 +50,12 @@ public class FileBindingBuilder extends AbstractBuilder {
         return this;
     }
 
+    public FileBindingBuilder compressArchive(boolean compress) {
+        checkState();
+        binding.setCompressArchive(compress);
+        return this;
+    }
+
     public FileBindingBuilder delay(long delay) {
         checkState();
         binding.setDelay(delay);
@@ -74,6 +80,24 @@ public class FileBindingBuilder extends AbstractBuilder {
         return this;
     }
 
+    public FileBindingBuilder watch(boolean watch) {
+        checkState();
+        binding.setWatch(watch);
+        return this;
+    }
+
+    public FileBindingBuilder parallelism(int parallelism) {
+        checkState();
+        binding.setParallelism(parallelism);
+        return this;
+    }
+
+    public FileBindingBuilder orderPattern(String pattern) {
+        checkState();
+        binding.setOrderPattern(pattern);
+        return this;
+    }
+
     public FileBindingBuilder strategy(Strategy strategy) {
         checkState();
         binding.setStrategy(strategy);
@@ -33,6 +33,10 @@ public class FileBinding extends Binding {
     private String adapterClass;
     private String adapterUri;
     private long delay;
+    private boolean compressArchive;
+    private boolean watch;
+    private int parallelism = 1;
+    private String orderPattern;
 
     /**
      * Constructor.
@@ -166,6 +170,43 @@ public class FileBinding extends Binding {
         return delay;
     }
 
+    /**
+     * Returns true if archived files are compressed.
+     *
+     * @return true if archived files are compressed
+     */
+    public boolean isCompressArchive() {
+        return compressArchive;
+    }
+
+    /**
+     * Returns true if the directory is watched for file system events instead of being periodically scanned.
+     *
+     * @return true if the directory is watched
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * Returns the maximum number of files processed concurrently.
+     *
+     * @return the maximum number of files processed concurrently
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the pattern used to order processing of related files or null. Files whose names yield the same value for the first capturing group of the
+     * pattern are processed sequentially in the order they were received.
+     *
+     * @return the pattern used to order processing of related files or null
+     */
+    public String getOrderPattern() {
+        return orderPattern;
+    }
+
     public void setPattern(String pattern) {
         this.pattern = pattern;
     }
@@ -197,4 +238,20 @@ public class FileBinding extends Binding {
     public void setDelay(long delay) {
         this.delay = delay;
     }
+
+    public void setCompressArchive(boolean compressArchive) {
+        this.compressArchive = compressArchive;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setOrderPattern(String orderPattern) {
+        this.orderPattern = orderPattern;
+    }
 }
@@ -86,7 +86,21 @@ public class FileWireBindingGenerator implements WireBindingGenerator<FileBindin
         if (delay == -1) {
             delay = defaultDelay;
         }
-        return new FileBindingWireSource(uri, pattern, location, strategy, archiveLocation, errorLocation, adapterClass, adaptorUri, delay, dataHandler);
+        FileBindingWireSource source = new FileBindingWireSource(uri,
+                                                                 pattern,
+                                                                 location,
+                                                                 strategy,
+                                                                 archiveLocation,
+                                                                 errorLocation,
+                                                                 adapterClass,
+                                                                 adaptorUri,
+                                                                 delay,
+                                                                 dataHandler);
+        source.setCompressArchive(definition.isCompressArchive());
+        source.setWatch(definition.isWatch());
+        source.setParallelism(definition.getParallelism());
+        source.setOrderPattern(definition.getOrderPattern());
+        return source;
     }
 
     public FileBindingWireTarget generateTarget(LogicalBinding<FileBinding> binding, ServiceContract contract, List<LogicalOperation> operations) {
@@ -103,6 +117,7 @@ public class FileWireBindingGenerator implements WireBindingGenerator<FileBindin
      * <pre>
      * OutputStream openStream(String id);
      * </pre>
+     * The return type may also be {@link org.fabric3.api.binding.file.TransferOutputStream} for channel-based transfers.
      *
      * @param contract the service contract to validate
      * @throws Fabric3Exception if the contract is invalid
@@ -19,6 +19,8 @@ package org.fabric3.binding.file.introspection;
 import javax.xml.stream.Location;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.fabric3.api.Namespaces;
 import org.fabric3.api.annotation.wire.Key;
@@ -42,6 +44,7 @@ public class FileBindingLoader extends AbstractValidatingTypeLoader<FileBinding>
         addAttributes("requires",
                       "location",
                       "archive.location",
+                      "archive.compress",
                       "error.location",
                       "strategy",
                       "pattern",
@@ -49,7 +52,10 @@ public class FileBindingLoader extends AbstractValidatingTypeLoader<FileBinding>
                       "adapter",
                       "adapter.component",
                       "policySets",
-                      "delay");
+                      "delay",
+                      "watch",
+                      "parallelism",
+                      "order.pattern");
     }
 
     public FileBinding load(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -80,6 +86,10 @@ public class FileBindingLoader extends AbstractValidatingTypeLoader<FileBinding>
 
         long delay = parseDelay(reader, context);
         FileBinding binding = new FileBinding(bindingName, pattern, location, strategy, archiveLocation, errorLocation, adapterClass, adapterUri, delay);
+        binding.setCompressArchive(Boolean.parseBoolean(reader.getAttributeValue(null, "archive.compress")));
+        binding.setWatch(Boolean.parseBoolean(reader.getAttributeValue(null, "watch")));
+        binding.setParallelism(parseParallelism(reader, context));
+        binding.setOrderPattern(parseOrderPattern(reader, context));
 
         validateAttributes(reader, context, binding);
 
@@ -96,6 +106,41 @@ public class FileBindingLoader extends AbstractValidatingTypeLoader<FileBinding>
         }
     }
 
+    private int parseParallelism(XMLStreamReader reader, IntrospectionContext context) {
+        String parallelismStr = reader.getAttributeValue(null, "parallelism");
+        if (parallelismStr == null) {
+            return 1;
+        }
+        try {
+            int parallelism = Integer.parseInt(parallelismStr);
+            if (parallelism > 0) {
+                return parallelism;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        Location location = reader.getLocation();
+        InvalidValue error = new InvalidValue("Invalid parallelism value: " + parallelismStr, location);
+        context.addError(error);
+        return 1;
+    }
+
+    private String parseOrderPattern(XMLStreamReader reader, IntrospectionContext context) {
+        String pattern = reader.getAttributeValue(null, "order.pattern");
+        if (pattern == null) {
+            return null;
+        }
+        try {
+            Pattern.compile(pattern);
+            return pattern;
+        } catch (PatternSyntaxException e) {
+            Location location = reader.getLocation();
+            InvalidValue error = new InvalidValue("Invalid order pattern: " + pattern, location, e);
+            context.addError(error);
+            return null;
+        }
+    }
+
     private long parseDelay(XMLStreamReader reader, IntrospectionContext context) {
         long delay = -1;
         String delayStr = reader.getAttributeValue(null, "delay");
@@ -17,6 +17,8 @@
 package org.fabric3.binding.file.introspection;
 
 import java.lang.reflect.AccessibleObject;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.fabric3.api.binding.file.annotation.Strategy;
 import org.fabric3.api.binding.file.model.FileBinding;
@@ -97,7 +99,28 @@ public class FileBindingPostProcessor extends AbstractBindingPostProcessor<org.f
             InvalidAnnotation error = new InvalidAnnotation("Invalid delay value specified on file binding", implClass, annotation, implClass);
             context.addError(error);
         }
-        return new FileBinding(name, pattern, location, strategy, archiveLocation, errorLocation, null, adapterUri, delay);
+        FileBinding binding = new FileBinding(name, pattern, location, strategy, archiveLocation, errorLocation, null, adapterUri, delay);
+        binding.setCompressArchive(annotation.compressArchive());
+        binding.setWatch(annotation.watch());
+        int parallelism = annotation.parallelism();
+        if (parallelism < 1) {
+            InvalidAnnotation error = new InvalidAnnotation("Invalid parallelism value specified on file binding", implClass, annotation, implClass);
+            context.addError(error);
+        }
+        binding.setParallelism(parallelism);
+        String orderPattern = getNullibleValue(annotation.orderPattern());
+        if (orderPattern != null) {
+            try {
+                Pattern.compile(orderPattern);
+            } catch (PatternSyntaxException e) {
+                String message = "Invalid order pattern specified on file binding: " + orderPattern;
+                InvalidAnnotation error = new InvalidAnnotation(message, implClass, annotation, implClass);
+                context.addError(error);
+                orderPattern = null;
+            }
+        }
+        binding.setOrderPattern(orderPattern);
+        return binding;
 
     }
 
@@ -37,6 +37,10 @@ public class FileBindingWireSource extends PhysicalWireSource {
     private String pattern;
     private long delay;
     private boolean dataHandler;
+    private boolean compressArchive;
+    private boolean watch;
+    private int parallelism = 1;
+    private String orderPattern;
 
     public FileBindingWireSource(URI uri,
                                  String pattern,
@@ -132,6 +136,63 @@ public class FileBindingWireSource extends PhysicalWireSource {
         return delay;
     }
 
+    /**
+     * Returns true if archived files are compressed.
+     *
+     * @return true if archived files are compressed
+     */
+    public boolean isCompressArchive() {
+        return compressArchive;
+    }
+
+    /**
+     * Sets if archived files are compressed.
+     *
+     * @param compressArchive true if archived files are compressed
+     */
+    public void setCompressArchive(boolean compressArchive) {
+        this.compressArchive = compressArchive;
+    }
+
+    /**
+     * Returns true if the directory is watched for file system events instead of being periodically scanned.
+     *
+     * @return true if the directory is watched
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    /**
+     * Returns the maximum number of files processed concurrently.
+     *
+     * @return the maximum number of files processed concurrently
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the pattern used to order processing of related files or null.
+     *
+     * @return the pattern used to order processing of related files or null
+     */
+    public String getOrderPattern() {
+        return orderPattern;
+    }
+
+    public void setOrderPattern(String orderPattern) {
+        this.orderPattern = orderPattern;
+    }
+
     /**
      * Returns true if the contract takes the Java Activation Framework {@link DataHandler} type as a parameter.
      *
@@ -20,19 +20,23 @@ package org.fabric3.binding.file.runtime;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 import org.fabric3.api.binding.file.ServiceAdapter;
-import org.fabric3.api.host.util.FileHelper;
 
 /**
- *
+ * Base service adapter that moves archived and invalid files to their target directories. Files are renamed if the target directory is on the same file
+ * system, otherwise they are copied and the original deleted.
  */
 @SuppressWarnings({"ResultOfMethodCallIgnored"})
 public abstract class AbstractFileServiceAdapter implements ServiceAdapter {
 
     public void error(File file, File errorDirectory, Exception e) throws IOException {
-        FileHelper.copyFile(file, new File(errorDirectory, file.getName()));
-        file.delete();
+        move(file, errorDirectory);
     }
 
     public void delete(File file) {
@@ -40,8 +44,24 @@ public abstract class AbstractFileServiceAdapter implements ServiceAdapter {
     }
 
     public void archive(File file, File archiveDirectory) throws IOException {
-        File destFile = new File(archiveDirectory, file.getName());
-        FileHelper.copyFile(file, destFile);
-        file.delete();
+        move(file, archiveDirectory);
+    }
+
+    /**
+     * Moves the file to the directory, replacing an existing file with the same name.
+     *
+     * @param file      the file
+     * @param directory the directory
+     * @throws IOException if there is an error moving the file
+     */
+    protected void move(File file, File directory) throws IOException {
+        Path source = file.toPath();
+        Path target = directory.toPath().resolve(file.getName());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+            // the target is on a different file system or the platform does not replace existing files atomically: copy and delete
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 }
@@ -18,20 +18,19 @@
  */
 package org.fabric3.binding.file.runtime;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
 import org.fabric3.api.binding.file.ReferenceAdapter;
+import org.fabric3.binding.file.runtime.sender.PublishingOutputStream;
 
 /**
- * The default {@link ReferenceAdapter} implementation.
+ * The default {@link ReferenceAdapter} implementation. Files are written under a temporary name and published to the target name when the stream is closed.
  */
 public class DefaultReferenceAdapter implements ReferenceAdapter {
 
     public OutputStream createOutputStream(File file) throws IOException {
-        return new BufferedOutputStream(new FileOutputStream(file));
+        return new PublishingOutputStream(file);
     }
 }
@@ -97,6 +97,10 @@ public class FileSourceWireAttacher implements SourceWireAttacher<FileBindingWir
                                                                         adapter,
                                                                         delay,
                                                                         monitor);
+        configuration.setCompressArchive(source.isCompressArchive());
+        configuration.setWatch(source.isWatch());
+        configuration.setParallelism(source.getParallelism());
+        configuration.setOrderPattern(source.getOrderPattern());
         receiverManager.create(configuration);
     }
 
@@ -26,19 +26,67 @@ import java.io.File;
 public class FileEntry {
     private File file;
     private long checkPoint = -1;
+    private long length = -1;
+    private long lastEvent;
 
     public FileEntry(File file) {
         this.file = file;
     }
 
+    public File getFile() {
+        return file;
+    }
+
     public boolean isChanged() {
         long current = file.lastModified();
+        long currentLength = file.length();
         if (checkPoint == -1) {
             checkPoint = current;
+            length = currentLength;
         }
-        boolean val = checkPoint != current;
+        boolean val = checkPoint != current || length != currentLength;
         checkPoint = current;
+        length = currentLength;
         return val;
     }
 
+    /**
+     * Records a change event for the file.
+     *
+     * @param time the event time in milliseconds
+     */
+    public void touch(long time) {
+        lastEvent = time;
+        isChanged();
+    }
+
+    /**
+     * Returns true if the file has not changed for the quiet period. If the file has changed since the last check, the quiet period is restarted.
+     *
+     * @param time        the current time in milliseconds
+     * @param quietPeriod the quiet period in milliseconds
+     * @return true if the file has not changed for the quiet period
+     */
+    public boolean isQuiet(long time, long quietPeriod) {
+        if (time - lastEvent < quietPeriod) {
+            return false;
+        }
+        if (isChanged()) {
+            lastEvent = time;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the time remaining in milliseconds until the quiet period elapses.
+     *
+     * @param time        the current time in milliseconds
+     * @param quietPeriod the quiet period in milliseconds
+     * @return the time remaining
+     */
+    public long getRemaining(long time, long quietPeriod) {
+        return Math.max(0, lastEvent + quietPeriod - time);
+    }
+
 }
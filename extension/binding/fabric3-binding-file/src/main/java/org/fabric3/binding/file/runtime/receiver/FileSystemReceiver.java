@@ -20,19 +20,41 @@ package org.fabric3.binding.file.runtime.receiver;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 import org.fabric3.api.binding.file.InvalidDataException;
 import org.fabric3.api.binding.file.ServiceAdapter;
@@ -43,6 +65,9 @@ import org.fabric3.spi.container.invocation.MessageCache;
 import org.fabric3.spi.container.invocation.WorkContext;
 import org.fabric3.spi.container.invocation.WorkContextCache;
 import org.fabric3.spi.container.wire.Interceptor;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 
 /**
  * Periodically scans a directory for new files. When a new file is detected, the service bound to the directory is invoked with expected data types associated
@@ -50,6 +75,13 @@ import org.fabric3.spi.container.wire.Interceptor;
  * error is encountered, the file will be moved to the configured error location.
  *
  * This receiver is non-transactional but supports clustered locking through the use of file locks placed in the &lt;location&gt;/locks directory.
+ *
+ * If archive compression is enabled, archived files are compressed using GZIP on a separate thread so that the receiver can continue processing files.
+ *
+ * Instead of scanning, the receiver may be configured to watch the directory for file system events. In this mode, a file is processed once it has not
+ * changed for the configured delay. Files that could not be processed, e.g. because another runtime holds the lock, are tracked again and retried after the
+ * delay. In both modes, files may be processed concurrently by a bounded pool of workers. If an ordering pattern is configured,
+ * files whose names yield the same value for its first capturing group are processed sequentially in the order they were detected.
  */
 @SuppressWarnings({"ResultOfMethodCallIgnored"})
 public class FileSystemReceiver implements Runnable {
@@ -61,14 +93,25 @@ public class FileSystemReceiver implements Runnable {
     private Pattern filePattern;
 
     private long delay;
+    private boolean compressArchive;
+    private boolean watch;
+    private int parallelism;
+    private Pattern orderPattern;
 
     private Interceptor interceptor;
     private ScheduledExecutorService executorService;
+    private ExecutorService compressionService;
+    private ExecutorService workers;
+    private WatchService watchService;
     private ServiceAdapter adapter;
     private ReceiverMonitor monitor;
 
     private Map<String, FileEntry> cache = new ConcurrentHashMap<>();
-    private ScheduledFuture<?> future;
+    private Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private Map<String, Deque<File>> orderedFiles = new HashMap<>();
+    // files left in place that must be retried in watch mode, where no further events may arrive for them
+    private Queue<File> retries = new ConcurrentLinkedQueue<>();
+    private Future<?> future;
 
     public FileSystemReceiver(ReceiverConfiguration configuration) {
         this.location = configuration.getLocation();
@@ -81,21 +124,59 @@ public class FileSystemReceiver implements Runnable {
         this.lockDirectory = configuration.getLockDirectory();
         this.adapter = configuration.getAdapter();
         this.delay = configuration.getDelay();
+        this.compressArchive = configuration.isCompressArchive() && Strategy.ARCHIVE == strategy;
+        this.watch = configuration.isWatch();
+        this.parallelism = configuration.getParallelism();
+        this.orderPattern = configuration.getOrderPattern();
     }
 
     public void start() {
-        executorService = Executors.newSingleThreadScheduledExecutor();
-        future = executorService.scheduleWithFixedDelay(this, delay, delay, TimeUnit.MILLISECONDS);
         createDirectories();
+        if (compressArchive) {
+            compressionService = Executors.newSingleThreadExecutor();
+        }
+        if (parallelism > 1) {
+            // bound the backlog; when it is full the scanning thread processes files itself
+            workers = new ThreadPoolExecutor(parallelism,
+                                             parallelism,
+                                             0,
+                                             TimeUnit.MILLISECONDS,
+                                             new ArrayBlockingQueue<>(parallelism * 4),
+                                             new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        executorService = Executors.newSingleThreadScheduledExecutor();
+        if (watch) {
+            try {
+                Path path = location.toPath();
+                watchService = path.getFileSystem().newWatchService();
+                path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+                future = executorService.submit(this::watch);
+                return;
+            } catch (IOException e) {
+                // fall back to scanning
+                monitor.error(e);
+                IOHelper.closeQuietly(watchService);
+                watchService = null;
+            }
+        }
+        schedule();
     }
 
     public void stop() {
         if (future != null) {
             future.cancel(true);
         }
+        IOHelper.closeQuietly(watchService);
         if (executorService != null) {
             executorService.shutdownNow();
         }
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+        if (compressionService != null) {
+            // allow pending archives to be compressed
+            compressionService.shutdown();
+        }
     }
 
     public synchronized void run() {
@@ -115,6 +196,9 @@ public class FileSystemReceiver implements Runnable {
             // there are no files to process
             return;
         }
+        if (orderPattern != null) {
+            files.sort(Comparator.comparingLong(File::lastModified));
+        }
         try {
             processFiles(files);
         } catch (RuntimeException e) {
@@ -137,6 +221,10 @@ public class FileSystemReceiver implements Runnable {
     private synchronized void processFiles(List<File> files) {
         for (File file : files) {
             String name = file.getName();
+            if (inFlight.contains(name)) {
+                // the file is being processed
+                continue;
+            }
             FileEntry cached = cache.get(name);
             if (cached == null) {
                 // the file is new, cache it and wait for next run in case it is in the process of being updated
@@ -145,22 +233,208 @@ public class FileSystemReceiver implements Runnable {
             } else {
                 if (!cached.isChanged()) {
                     // file has finished being updated, process it
-                    processFile(file);
+                    // remove file from the cache as it will either be processed by this runtime or skipped
+                    cache.remove(name);
+                    submit(file);
                 }
             }
         }
     }
 
+    private void schedule() {
+        future = executorService.scheduleWithFixedDelay(this, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Watches the directory for file system events, processing files once they have not changed for the configured delay.
+     */
+    private void watch() {
+        Map<String, FileEntry> pending = new HashMap<>();
+        long now = System.currentTimeMillis();
+        File[] existing = location.listFiles();
+        if (existing != null) {
+            for (File file : existing) {
+                track(file, now, pending);
+            }
+        }
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.poll(getWaitTime(pending), TimeUnit.MILLISECONDS);
+                now = System.currentTimeMillis();
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (OVERFLOW == event.kind()) {
+                            // events were lost, rescan the directory
+                            File[] files = location.listFiles();
+                            if (files != null) {
+                                for (File file : files) {
+                                    track(file, now, pending);
+                                }
+                            }
+                        } else {
+                            track(new File(location, event.context().toString()), now, pending);
+                        }
+                    }
+                    if (!key.reset()) {
+                        // the directory is no longer accessible, revert to scanning
+                        IOHelper.closeQuietly(watchService);
+                        schedule();
+                        return;
+                    }
+                }
+                File retry;
+                while ((retry = retries.poll()) != null) {
+                    track(retry, now, pending);
+                }
+                dispatchQuiet(now, pending);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stopped
+        } catch (RuntimeException e) {
+            monitor.error(e);
+            // revert to scanning
+            IOHelper.closeQuietly(watchService);
+            schedule();
+        }
+    }
+
+    private void track(File file, long time, Map<String, FileEntry> pending) {
+        if (ignore(file) || inFlight.contains(file.getName())) {
+            return;
+        }
+        FileEntry entry = pending.get(file.getName());
+        if (entry == null) {
+            entry = new FileEntry(file);
+            pending.put(file.getName(), entry);
+        }
+        entry.touch(time);
+    }
+
+    private void dispatchQuiet(long time, Map<String, FileEntry> pending) {
+        List<File> quiet = null;
+        for (Iterator<FileEntry> iterator = pending.values().iterator(); iterator.hasNext(); ) {
+            FileEntry entry = iterator.next();
+            File file = entry.getFile();
+            if (!file.exists()) {
+                iterator.remove();
+            } else if (entry.isQuiet(time, delay)) {
+                iterator.remove();
+                if (quiet == null) {
+                    quiet = new ArrayList<>();
+                }
+                quiet.add(file);
+            }
+        }
+        if (quiet == null) {
+            return;
+        }
+        if (orderPattern != null) {
+            quiet.sort(Comparator.comparingLong(File::lastModified));
+        }
+        for (File file : quiet) {
+            try {
+                submit(file);
+            } catch (RuntimeException e) {
+                monitor.error(e);
+            }
+        }
+    }
+
+    private long getWaitTime(Map<String, FileEntry> pending) {
+        long now = System.currentTimeMillis();
+        long wait = delay;
+        for (FileEntry entry : pending.values()) {
+            wait = Math.min(wait, entry.getRemaining(now, delay));
+        }
+        return Math.max(1, wait);
+    }
+
+    /**
+     * Processes the file on the current thread if the receiver is not configured for concurrent processing, otherwise dispatches it to a worker.
+     *
+     * @param file the file
+     */
+    private void submit(File file) {
+        String name = file.getName();
+        if (!inFlight.add(name)) {
+            return;
+        }
+        if (workers == null) {
+            process(file);
+            return;
+        }
+        String key = getOrderKey(name);
+        if (key == null) {
+            workers.execute(() -> process(file));
+            return;
+        }
+        synchronized (orderedFiles) {
+            Deque<File> queue = orderedFiles.get(key);
+            if (queue != null) {
+                // a file with the same key is being processed, queue behind it
+                queue.add(file);
+                return;
+            }
+            orderedFiles.put(key, new ArrayDeque<>());
+        }
+        workers.execute(() -> processOrdered(key, file));
+    }
+
+    private void processOrdered(String key, File file) {
+        File next = file;
+        while (next != null) {
+            try {
+                process(next);
+            } catch (RuntimeException e) {
+                monitor.error(e);
+            }
+            synchronized (orderedFiles) {
+                next = orderedFiles.get(key).poll();
+                if (next == null) {
+                    orderedFiles.remove(key);
+                }
+            }
+        }
+    }
+
+    private void process(File file) {
+        boolean retry = true;
+        try {
+            retry = !processFile(file);
+        } finally {
+            inFlight.remove(file.getName());
+            if (retry && watch) {
+                retries.add(file);
+            }
+        }
+    }
+
+    private String getOrderKey(String name) {
+        if (orderPattern == null) {
+            return null;
+        }
+        Matcher matcher = orderPattern.matcher(name);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return matcher.groupCount() > 0 ? matcher.group(1) : matcher.group();
+    }
+
     private boolean ignore(File file) {
         String name = file.getName();
         return name.startsWith(".") || file.isDirectory() || !filePattern.matcher(name).matches();
     }
 
+    /**
+     * Processes the file.
+     *
+     * @param file the file
+     * @return true if the file was handled or false if it was skipped and left in place
+     */
     @SuppressWarnings({"ResultOfMethodCallIgnored"})
-    private void processFile(File file) {
-        String name = file.getName();
-        // remove file from the cache as it will either be processed by this runtime or skipped
-        cache.remove(name);
+    private boolean processFile(File file) {
         // attempt to lock the file
         FileChannel lockChannel;
         FileLock fileLock;
@@ -172,15 +446,15 @@ public class FileSystemReceiver implements Runnable {
             fileLock = lockChannel.tryLock();
             if (fileLock == null) {
                 // file lock is held bu another VM. ignore
-                return;
+                return false;
             }
         } catch (OverlappingFileLockException e) {
             // already being processed by this VM, ignore
-            return;
+            return false;
         } catch (IOException e) {
             // error acquiring the lock, skip processing
             monitor.error(e);
-            return;
+            return false;
         }
         try {
             Object[] payload;
@@ -190,7 +464,7 @@ public class FileSystemReceiver implements Runnable {
                 monitor.error(e);
                 // invalid file, return and send it the the error directory
                 handleError(file, e);
-                return;
+                return true;
             }
             WorkContext workContext = WorkContextCache.getAndResetThreadWorkContext();
             Message message = MessageCache.getAndResetMessage();
@@ -210,6 +484,7 @@ public class FileSystemReceiver implements Runnable {
                         deleteFile(file);
                     }
                 }
+                return true;
             } catch (RuntimeException e) {
                 // an unexpected runtime error, try and close the resources and retry
                 afterInvoke(file, payload);
@@ -241,6 +516,43 @@ public class FileSystemReceiver implements Runnable {
             adapter.archive(file, archiveDirectory);
         } catch (IOException e) {
             monitor.error(e);
+            return;
+        }
+        if (compressionService != null) {
+            File archived = new File(archiveDirectory, file.getName());
+            try {
+                compressionService.execute(() -> compress(archived));
+            } catch (RejectedExecutionException e) {
+                // the receiver is stopping, leave the file uncompressed
+            }
+        }
+    }
+
+    /**
+     * Compresses an archived file, replacing it with a file of the same name and a .gz extension. If an error is encountered, the uncompressed file is kept.
+     *
+     * @param file the archived file
+     */
+    private void compress(File file) {
+        if (!file.exists()) {
+            // the adapter archived the file using a different name
+            return;
+        }
+        Path source = file.toPath();
+        Path temp = source.resolveSibling("." + file.getName() + ".gz.tmp");
+        try {
+            try (OutputStream stream = new GZIPOutputStream(Files.newOutputStream(temp), 65536)) {
+                Files.copy(source, stream);
+            }
+            Files.move(temp, source.resolveSibling(file.getName() + ".gz"), StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(source);
+        } catch (IOException e) {
+            monitor.error("Error compressing archived file: " + file.getName(), e);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ex) {
+                // ignore
+            }
         }
     }
 
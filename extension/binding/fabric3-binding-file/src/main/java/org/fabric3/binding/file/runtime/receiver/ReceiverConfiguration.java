@@ -38,6 +38,10 @@ public class ReceiverConfiguration {
     File archiveLocation;
 
     private long delay;
+    private boolean compressArchive;
+    private boolean watch;
+    private int parallelism = 1;
+    private Pattern orderPattern;
 
     private Interceptor interceptor;
     private ReceiverMonitor monitor;
@@ -98,6 +102,38 @@ public class ReceiverConfiguration {
         return delay;
     }
 
+    public boolean isCompressArchive() {
+        return compressArchive;
+    }
+
+    public void setCompressArchive(boolean compressArchive) {
+        this.compressArchive = compressArchive;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Pattern getOrderPattern() {
+        return orderPattern;
+    }
+
+    public void setOrderPattern(String orderPattern) {
+        this.orderPattern = orderPattern == null ? null : Pattern.compile(orderPattern);
+    }
+
     public Interceptor getInterceptor() {
         return interceptor;
     }
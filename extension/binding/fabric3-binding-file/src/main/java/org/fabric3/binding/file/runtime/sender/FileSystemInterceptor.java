@@ -29,7 +29,8 @@ import org.fabric3.spi.container.wire.Interceptor;
 import org.oasisopen.sca.ServiceRuntimeException;
 
 /**
- * Attached to bound reference invocation chains. Provides a non-transactional output stream for writing a file to the configured location.
+ * Attached to bound reference invocation chains. Provides a non-transactional output stream for writing a file to the configured location. Depending on the
+ * reference adapter, the file may only become visible in the location once the stream is closed.
  */
 public class FileSystemInterceptor implements Interceptor {
     private File outputDirectory;
@@ -0,0 +1,115 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.file.runtime.sender;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.fabric3.api.binding.file.TransferOutputStream;
+
+/**
+ * Writes to a hidden temporary file in the output directory and renames it to the target name when the stream is closed. Receivers polling the directory
+ * therefore never observe a partially written file. The temporary name is prefixed with '.', which file binding receivers ignore.
+ */
+public class PublishingOutputStream extends TransferOutputStream {
+    private static final long CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private Path target;
+    private Path temporary;
+    private FileChannel channel;
+    private OutputStream delegate;
+    private boolean closed;
+
+    public PublishingOutputStream(File file) throws IOException {
+        target = file.toPath();
+        temporary = target.resolveSibling("." + file.getName() + ".tmp");
+        channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        delegate = new BufferedOutputStream(Channels.newOutputStream(channel));
+    }
+
+    public void write(int b) throws IOException {
+        delegate.write(b);
+    }
+
+    public void write(byte[] b, int off, int len) throws IOException {
+        delegate.write(b, off, len);
+    }
+
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    public FileChannel getChannel() throws IOException {
+        delegate.flush();
+        return channel;
+    }
+
+    public long transferFrom(File source) throws IOException {
+        delegate.flush();
+        try (FileChannel sourceChannel = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+            long size = sourceChannel.size();
+            long position = 0;
+            while (position < size) {
+                position += sourceChannel.transferTo(position, size - position, channel);
+            }
+            return position;
+        }
+    }
+
+    public long transferFrom(ReadableByteChannel source) throws IOException {
+        delegate.flush();
+        long start = channel.position();
+        long position = start;
+        long transferred;
+        // FileChannel.transferFrom() does not advance the position of the target channel
+        while ((transferred = channel.transferFrom(source, position, CHUNK_SIZE)) > 0) {
+            position += transferred;
+        }
+        channel.position(position);
+        return position - start;
+    }
+
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            delegate.close();
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
@@ -30,16 +30,20 @@ import org.fabric3.api.binding.file.annotation.Strategy;
 import org.fabric3.api.binding.file.model.FileBinding;
 import org.fabric3.spi.introspection.DefaultIntrospectionContext;
 import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.xml.InvalidValue;
 import org.fabric3.spi.introspection.xml.MissingAttribute;
 
 public class FileBindingLoaderTestCase extends TestCase {
     private static final String REFERENCE_BINDING_CONFIG
             = "<binding.file name='file' pattern='trans***' location='/dir/subdir' error.location='/dir/error' delay='333'/>";
     private static final String STRATEGY_BINDING_CONFIG
-            = "<binding.file name='file' location='/dir/subdir' strategy='archive' archive.location='/dir/output' error.location='/dir/error'/>";
+            = "<binding.file name='file' location='/dir/subdir' strategy='archive' archive.location='/dir/output' error.location='/dir/error' "
+              + "archive.compress='true'/>";
 
     private static final String NO_ARCHIVE_BINDING_CONFIG = "<binding.file name='file' location='/dir/subdir' strategy='archive'/>";
 
+    private static final String INVALID_ORDER_BINDING_CONFIG = "<binding.file name='file' location='/dir/subdir' watch='true' order.pattern='header(.*'/>";
+
     private XMLInputFactory xmlFactory;
     private FileBindingLoader loader;
 
@@ -66,6 +70,7 @@ public class FileBindingLoaderTestCase extends TestCase {
         assertEquals("/dir/subdir", definition.getLocation());
         assertEquals(Strategy.ARCHIVE, definition.getStrategy());
         assertEquals("/dir/output", definition.getArchiveLocation());
+        assertTrue(definition.isCompressArchive());
     }
 
     public void testLoadNoArchive() throws Exception {
@@ -77,6 +82,14 @@ public class FileBindingLoaderTestCase extends TestCase {
 
     }
 
+    public void testLoadInvalidOrderPattern() throws Exception {
+        XMLStreamReader reader = createReader(INVALID_ORDER_BINDING_CONFIG);
+        IntrospectionContext context = new DefaultIntrospectionContext();
+        FileBinding definition = loader.load(reader, context);
+        assertTrue(context.getErrors().get(0) instanceof InvalidValue);
+        assertNull(definition.getOrderPattern());
+    }
+
     protected void setUp() throws Exception {
         super.setUp();
         xmlFactory = XMLInputFactory.newInstance();
@@ -21,6 +21,15 @@ package org.fabric3.binding.file.runtime.receiver;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
@@ -78,6 +87,162 @@ public class FileSystemReceiverTestCase extends TestCase {
         EasyMock.verify(adapter, interceptor);
     }
 
+    public void testFileArchivedAndCompressed() throws Exception {
+        ReceiverConfiguration configuration =
+                new ReceiverConfiguration("id", location, "header.*\\.xml", Strategy.ARCHIVE, errorDirectory, archiveDirectory, interceptor, adapter, 10, monitor);
+        configuration.setCompressArchive(true);
+        FileSystemReceiver receiver = new FileSystemReceiver(configuration);
+
+        File file = new File(location, DEFAULT_HEADER);
+        EasyMock.expect(adapter.beforeInvoke(EasyMock.eq(file))).andReturn(new Object[]{});
+        EasyMock.expect(interceptor.invoke(EasyMock.isA(Message.class))).andReturn(new MessageImpl());
+        adapter.afterInvoke(EasyMock.eq(file), EasyMock.isA(Object[].class));
+        adapter.archive(EasyMock.eq(file), EasyMock.eq(archiveDirectory));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            Files.move(file.toPath(), new File(archiveDirectory, DEFAULT_HEADER).toPath());
+            return null;
+        });
+
+        EasyMock.replay(adapter, interceptor);
+        receiver.start();
+        try {
+            createFile(DEFAULT_HEADER);
+            File compressed = new File(archiveDirectory, DEFAULT_HEADER + ".gz");
+            for (int i = 0; i < 500 && !compressed.exists(); i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(compressed.exists());
+        } finally {
+            receiver.stop();
+        }
+        EasyMock.verify(adapter, interceptor);
+    }
+
+    public void testWatchFileReceivedAndDeleted() throws Exception {
+        ReceiverConfiguration configuration =
+                new ReceiverConfiguration("id", location, "header.*\\.xml", Strategy.DELETE, errorDirectory, archiveDirectory,
+                                          interceptor, adapter, 20, monitor);
+        configuration.setWatch(true);
+        FileSystemReceiver receiver = new FileSystemReceiver(configuration);
+
+        File file = new File(location, DEFAULT_HEADER);
+        CountDownLatch latch = new CountDownLatch(1);
+        EasyMock.expect(adapter.beforeInvoke(EasyMock.eq(file))).andReturn(new Object[]{});
+        EasyMock.expect(interceptor.invoke(EasyMock.isA(Message.class))).andReturn(new MessageImpl());
+        adapter.afterInvoke(EasyMock.eq(file), EasyMock.isA(Object[].class));
+        adapter.delete(EasyMock.eq(file));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            latch.countDown();
+            return null;
+        });
+
+        EasyMock.replay(adapter, interceptor);
+        receiver.start();
+        try {
+            createFile(DEFAULT_HEADER);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            receiver.stop();
+        }
+        EasyMock.verify(adapter, interceptor);
+    }
+
+    public void testWatchRetriesLockedFile() throws Exception {
+        ReceiverConfiguration configuration =
+                new ReceiverConfiguration("id", location, "header.*\\.xml", Strategy.DELETE, errorDirectory, archiveDirectory,
+                                          interceptor, adapter, 20, monitor);
+        configuration.setWatch(true);
+        FileSystemReceiver receiver = new FileSystemReceiver(configuration);
+
+        File file = new File(location, DEFAULT_HEADER);
+        CountDownLatch latch = new CountDownLatch(1);
+        EasyMock.expect(adapter.beforeInvoke(EasyMock.eq(file))).andReturn(new Object[]{});
+        EasyMock.expect(interceptor.invoke(EasyMock.isA(Message.class))).andReturn(new MessageImpl());
+        adapter.afterInvoke(EasyMock.eq(file), EasyMock.isA(Object[].class));
+        adapter.delete(EasyMock.eq(file));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            file.delete();
+            latch.countDown();
+            return null;
+        });
+
+        EasyMock.replay(adapter, interceptor);
+        receiver.start();
+        // hold the lock as if another runtime were processing the file
+        File lockFile = new File(configuration.getLockDirectory(), DEFAULT_HEADER + ".f3");
+        FileChannel channel = new RandomAccessFile(lockFile, "rw").getChannel();
+        FileLock lock = channel.lock();
+        try {
+            createFile(DEFAULT_HEADER);
+            // the file is skipped while the lock is held
+            assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
+            lock.release();
+            channel.close();
+            // no further watch event arrives for the file; it must be retried
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            IOHelper.closeQuietly(channel);
+            receiver.stop();
+        }
+        EasyMock.verify(adapter, interceptor);
+    }
+
+    public void testConcurrentOrderedProcessing() throws Exception {
+        ReceiverConfiguration configuration =
+                new ReceiverConfiguration("id", location, "header.*\\.xml", Strategy.DELETE, errorDirectory, archiveDirectory,
+                                          interceptor, adapter, 10, monitor);
+        configuration.setParallelism(4);
+        configuration.setOrderPattern("header-(\\w+)-\\d+\\.xml");
+        FileSystemReceiver receiver = new FileSystemReceiver(configuration);
+
+        int count = 8;
+        CountDownLatch latch = new CountDownLatch(count);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        EasyMock.expect(adapter.beforeInvoke(EasyMock.isA(File.class))).andAnswer(() -> {
+            processed.add(((File) EasyMock.getCurrentArguments()[0]).getName());
+            return new Object[]{};
+        }).times(count);
+        EasyMock.expect(interceptor.invoke(EasyMock.isA(Message.class))).andReturn(new MessageImpl()).times(count);
+        adapter.afterInvoke(EasyMock.isA(File.class), EasyMock.isA(Object[].class));
+        EasyMock.expectLastCall().times(count);
+        adapter.delete(EasyMock.isA(File.class));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            ((File) EasyMock.getCurrentArguments()[0]).delete();
+            latch.countDown();
+            return null;
+        }).times(count);
+
+        EasyMock.replay(adapter, interceptor);
+        receiver.createDirectories();
+        long time = System.currentTimeMillis() - 100000;
+        for (int i = 0; i < count; i++) {
+            String name = "header-" + (i % 2 == 0 ? "a" : "b") + "-" + i + ".xml";
+            createFile(name);
+            new File(location, name).setLastModified(time + i * 1000);
+        }
+        receiver.start();
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            receiver.stop();
+        }
+        EasyMock.verify(adapter, interceptor);
+
+        // files with the same key are processed in order
+        int lastA = -1;
+        int lastB = -1;
+        for (String name : processed) {
+            int index = Integer.parseInt(name.substring(name.lastIndexOf('-') + 1, name.indexOf(".xml")));
+            if (name.startsWith("header-a")) {
+                assertTrue(index > lastA);
+                lastA = index;
+            } else {
+                assertTrue(index > lastB);
+                lastB = index;
+            }
+        }
+    }
+
     public void testFileIgnore() throws Exception {
         FileSystemReceiver receiver = createReceiver("header.*\\.xml", Strategy.DELETE);
         EasyMock.replay(adapter, interceptor);
@@ -0,0 +1,94 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.file.runtime.sender;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+import org.fabric3.api.host.util.FileHelper;
+
+/**
+ *
+ */
+public class PublishingOutputStreamTestCase extends TestCase {
+    private File location = new File("outbox");
+
+    public void testPublishOnClose() throws Exception {
+        File file = new File(location, "test.txt");
+        PublishingOutputStream stream = new PublishingOutputStream(file);
+        stream.write("test".getBytes(StandardCharsets.UTF_8));
+        stream.flush();
+
+        assertFalse(file.exists());
+        assertTrue(new File(location, ".test.txt.tmp").exists());
+
+        stream.close();
+
+        assertEquals("test", read(file));
+        assertFalse(new File(location, ".test.txt.tmp").exists());
+    }
+
+    public void testReplaceExisting() throws Exception {
+        File file = new File(location, "test.txt");
+        Files.write(file.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+
+        try (PublishingOutputStream stream = new PublishingOutputStream(file)) {
+            stream.write("new".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("new", read(file));
+    }
+
+    public void testTransfer() throws Exception {
+        File source = new File(location, "source.txt");
+        Files.write(source.toPath(), "file".getBytes(StandardCharsets.UTF_8));
+
+        File file = new File(location, "test.txt");
+        try (PublishingOutputStream stream = new PublishingOutputStream(file)) {
+            stream.write("stream-".getBytes(StandardCharsets.UTF_8));
+            assertEquals(4, stream.transferFrom(source));
+            byte[] bytes = "-channel".getBytes(StandardCharsets.UTF_8);
+            assertEquals(bytes.length, stream.transferFrom(Channels.newChannel(new ByteArrayInputStream(bytes))));
+            stream.write("-end".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("stream-file-channel-end", read(file));
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        FileHelper.deleteDirectory(location);
+        location.mkdirs();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        FileHelper.deleteDirectory(location);
+    }
+
+    private String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+}
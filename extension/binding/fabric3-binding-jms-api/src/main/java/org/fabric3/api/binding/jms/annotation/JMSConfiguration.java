@@ -142,6 +142,22 @@ public @interface JMSConfiguration {
      */
     public int maxMessagesToProcess() default -1;
 
+    /**
+     * Specifies the maximum number of messages a JMS receiver dispatches before acknowledging or committing them as a single unit of work. The default of one
+     * disables batching.
+     *
+     * @return the maximum number of messages in a batch
+     */
+    public int batchSize() default 1;
+
+    /**
+     * Specifies the time in milliseconds a JMS receiver waits for additional messages to fill a batch. The default of zero only batches messages that are
+     * immediately available.
+     *
+     * @return the batch timeout in milliseconds
+     */
+    public long batchTimeout() default 0;
+
     /**
      * Specifies the recovery interval.
      *
@@ -177,4 +193,12 @@ public @interface JMSConfiguration {
      */
     public boolean clientAcknowledge() default false;
 
+    /**
+     * Specifies if JAXB payloads are serialized directly to XML bytes and sent in a BytesMessage instead of a TextMessage. This avoids an intermediate String
+     * but requires clients of the destination to accept BytesMessages. The default is false.
+     *
+     * @return if JAXB payloads are streamed as bytes
+     */
+    public boolean streamXml() default false;
+
 }
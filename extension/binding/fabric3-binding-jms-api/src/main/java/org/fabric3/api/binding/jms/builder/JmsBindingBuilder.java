@@ -145,6 +145,18 @@ public class JmsBindingBuilder extends AbstractBuilder {
         return this;
     }
 
+    public JmsBindingBuilder batchSize(int size) {
+        checkState();
+        binding.getJmsMetadata().setBatchSize(size);
+        return this;
+    }
+
+    public JmsBindingBuilder batchTimeout(long timeout) {
+        checkState();
+        binding.getJmsMetadata().setBatchTimeout(timeout);
+        return this;
+    }
+
     public JmsBindingBuilder maxReceivers(int max) {
         checkState();
         binding.getJmsMetadata().setMaxReceivers(max);
@@ -51,11 +51,14 @@ public class JmsBindingMetadata extends ModelObject {
     private int receiveTimeout = 15000;  // set the timeout in milliseconds
     private int responseTimeout = 600000;  // set the default response wait to 10 minutes
     private int maxMessagesToProcess = -1;
+    private int batchSize = 1;
+    private long batchTimeout = 0;
     private long recoveryInterval = 5000;   // default 5 seconds
     private boolean durable = false;
     private boolean localDelivery;
     private String subscriptionId;
     private boolean clientAcknowledge;
+    private boolean streamXml;
 
     public ConnectionFactoryDefinition getConnectionFactory() {
         return connectionFactory;
@@ -211,6 +214,22 @@ public class JmsBindingMetadata extends ModelObject {
         this.maxMessagesToProcess = maxMessagesToProcess;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
     public long getRecoveryInterval() {
         return recoveryInterval;
     }
@@ -251,6 +270,19 @@ public class JmsBindingMetadata extends ModelObject {
         this.clientAcknowledge = clientAcknowledge;
     }
 
+    /**
+     * Returns true if JAXB payloads are serialized directly to XML bytes and sent in a BytesMessage. Otherwise, JAXB payloads are sent as XML text.
+     *
+     * @return true if JAXB payloads are streamed as bytes
+     */
+    public boolean isStreamXml() {
+        return streamXml;
+    }
+
+    public void setStreamXml(boolean streamXml) {
+        this.streamXml = streamXml;
+    }
+
     public JmsBindingMetadata snapshot() {
         JmsBindingMetadata copy = new JmsBindingMetadata();
         copy.correlationScheme = this.correlationScheme;
@@ -286,12 +318,15 @@ public class JmsBindingMetadata extends ModelObject {
         copy.receiveTimeout = this.receiveTimeout;
         copy.responseTimeout = this.responseTimeout;
         copy.maxMessagesToProcess = this.maxMessagesToProcess;
+        copy.batchSize = this.batchSize;
+        copy.batchTimeout = this.batchTimeout;
         copy.recoveryInterval = this.recoveryInterval;
         copy.durable = this.durable;
         copy.localDelivery = this.localDelivery;
         copy.subscriptionId = this.subscriptionId;
         copy.activationSpec = this.activationSpec;
         copy.clientAcknowledge = this.clientAcknowledge;
+        copy.streamXml = this.streamXml;
         return copy;
     }
 
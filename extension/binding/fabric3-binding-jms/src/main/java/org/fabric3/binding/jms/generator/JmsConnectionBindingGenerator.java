@@ -75,7 +75,7 @@ public class JmsConnectionBindingGenerator implements ConnectionBindingGenerator
 
         metadata.getDestination().setType(DestinationType.TOPIC);  // only use topics for channels
         Consumer<?> consumerDefinition = consumer.getDefinition();
-        DataType dataType = isJAXB(consumerDefinition.getType()) ? PhysicalDataTypes.JAXB : PhysicalDataTypes.JAVA_TYPE;
+        DataType dataType = isJAXB(consumerDefinition.getType()) ? getJAXBType(metadata) : PhysicalDataTypes.JAVA_TYPE;
         JmsConnectionSource source = new JmsConnectionSource(uri, metadata, dataType, sessionType);
         if (provisioner != null) {
             provisioner.generateConnectionSource(source);
@@ -93,7 +93,7 @@ public class JmsConnectionBindingGenerator implements ConnectionBindingGenerator
 
         JmsGeneratorHelper.generateDefaultFactoryConfiguration(metadata.getConnectionFactory(), SessionType.AUTO_ACKNOWLEDGE);
 
-        DataType type = isJAXB(producer.getStreamOperation().getDefinition().getInputTypes().get(0)) ? PhysicalDataTypes.JAXB : PhysicalDataTypes.JAVA_TYPE;
+        DataType type = isJAXB(producer.getStreamOperation().getDefinition().getInputTypes().get(0)) ? getJAXBType(metadata) : PhysicalDataTypes.JAVA_TYPE;
 
         JmsConnectionTarget target = new JmsConnectionTarget(uri, metadata, type);
         if (provisioner != null) {
@@ -102,6 +102,16 @@ public class JmsConnectionBindingGenerator implements ConnectionBindingGenerator
         return target;
     }
 
+    /**
+     * Returns the wire format for JAXB events. Events are serialized to XML bytes and sent in a BytesMessage if streaming is enabled for the binding.
+     *
+     * @param metadata the binding metadata
+     * @return the wire format
+     */
+    private DataType getJAXBType(JmsBindingMetadata metadata) {
+        return metadata.isStreamXml() ? PhysicalDataTypes.JAXB_STREAM : PhysicalDataTypes.JAXB;
+    }
+
     private boolean isJAXB(DataType eventType) {
         return JAXB.equals(eventType.getDatabinding());
     }
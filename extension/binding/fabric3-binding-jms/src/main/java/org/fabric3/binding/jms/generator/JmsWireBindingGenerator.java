@@ -32,6 +32,7 @@ import org.fabric3.api.binding.jms.model.JmsBindingMetadata;
 import org.fabric3.api.binding.jms.model.ResponseDefinition;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.runtime.HostInfo;
+import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.api.model.type.contract.Operation;
 import org.fabric3.api.model.type.contract.ServiceContract;
 import org.fabric3.binding.jms.spi.generator.JmsResourceProvisioner;
@@ -94,7 +95,7 @@ public class JmsWireBindingGenerator implements WireBindingGenerator<JmsBinding>
         List<PhysicalBindingHandler> handlers = JmsGeneratorHelper.generateBindingHandlers(info.getDomain(), binding.getDefinition());
         JmsWireSource source;
         if (isJAXB(contract)) {
-            source = new JmsWireSource(uri, metadata, payloadTypes, sessionType, handlers, PhysicalDataTypes.JAXB);
+            source = new JmsWireSource(uri, metadata, payloadTypes, sessionType, handlers, getJAXBTypes(metadata));
         } else {
             source = new JmsWireSource(uri, metadata, payloadTypes, sessionType, handlers);
         }
@@ -127,7 +128,7 @@ public class JmsWireBindingGenerator implements WireBindingGenerator<JmsBinding>
         List<PhysicalBindingHandler> handlers = JmsGeneratorHelper.generateBindingHandlers(info.getDomain(), binding.getDefinition());
         JmsWireTarget definition;
         if (isJAXB(contract)) {
-            definition = new JmsWireTarget(uri, metadata, payloadTypes, sessionType, handlers, PhysicalDataTypes.JAXB);
+            definition = new JmsWireTarget(uri, metadata, payloadTypes, sessionType, handlers, getJAXBTypes(metadata));
         } else {
             definition = new JmsWireTarget(uri, metadata, payloadTypes, sessionType, handlers);
         }
@@ -149,6 +150,20 @@ public class JmsWireBindingGenerator implements WireBindingGenerator<JmsBinding>
         return definition;
     }
 
+    /**
+     * Returns the wire formats for JAXB payloads. If streaming is enabled for the binding, payloads are serialized to XML bytes and sent in a BytesMessage,
+     * falling back to XML text if a streaming transformer is not available. Otherwise, payloads are sent as XML text.
+     *
+     * @param metadata the binding metadata
+     * @return the wire formats in order of preference
+     */
+    private DataType[] getJAXBTypes(JmsBindingMetadata metadata) {
+        if (metadata.isStreamXml()) {
+            return new DataType[]{PhysicalDataTypes.JAXB_STREAM, PhysicalDataTypes.JAXB};
+        }
+        return new DataType[]{PhysicalDataTypes.JAXB};
+    }
+
     private boolean isJAXB(ServiceContract contract) {
         for (Operation operation : contract.getOperations()) {
             if (!operation.getInputTypes().isEmpty() && JAXB.equals(operation.getInputTypes().get(0).getDatabinding())) {
@@ -110,10 +110,13 @@ public class JmsBindingLoader extends AbstractValidatingTypeLoader<JmsBinding> {
                       "receive.timeout",
                       "response.timeout",
                       "max.messages",
+                      "batch.size",
+                      "batch.timeout",
                       "recovery.interval",
                       "max.receivers",
                       "min.receivers",
-                      "clientAcknowledge");
+                      "clientAcknowledge",
+                      "stream.xml");
     }
 
     public JmsBinding load(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -292,6 +295,33 @@ public class JmsBindingLoader extends AbstractValidatingTypeLoader<JmsBinding> {
             }
         }
 
+        String batchSize = reader.getAttributeValue(null, "batch.size");
+        if (batchSize != null) {
+            try {
+                int val = Integer.parseInt(batchSize);
+                if (val < 1) {
+                    InvalidValue error = new InvalidValue("Invalid batch.size attribute: " + val, startLocation);
+                    context.addError(error);
+                } else {
+                    metadata.setBatchSize(val);
+                }
+            } catch (NumberFormatException e) {
+                InvalidValue error = new InvalidValue("Invalid batch.size attribute", startLocation, e);
+                context.addError(error);
+            }
+        }
+
+        String batchTimeout = reader.getAttributeValue(null, "batch.timeout");
+        if (batchTimeout != null) {
+            try {
+                long val = Long.parseLong(batchTimeout);
+                metadata.setBatchTimeout(val);
+            } catch (NumberFormatException e) {
+                InvalidValue error = new InvalidValue("Invalid batch.timeout attribute", startLocation, e);
+                context.addError(error);
+            }
+        }
+
         String recoveryInterval = reader.getAttributeValue(null, "recovery.interval");
         if (recoveryInterval != null) {
             try {
@@ -326,6 +356,9 @@ public class JmsBindingLoader extends AbstractValidatingTypeLoader<JmsBinding> {
 
         String ack = reader.getAttributeValue(null, "clientAcknowledge");
         metadata.setClientAcknowledge(Boolean.valueOf(ack));
+
+        String streamXml = reader.getAttributeValue(null, "stream.xml");
+        metadata.setStreamXml(Boolean.valueOf(streamXml));
     }
 
     private ActivationSpec loadActivationSpec(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -110,6 +110,13 @@ public class JmsBindingPostProcessor extends AbstractBindingPostProcessor<JMS> {
         metadata.setIdleLimit(configuration.idleLimit());
         metadata.setLocalDelivery(configuration.localDelivery());
         metadata.setMaxMessagesToProcess(configuration.maxMessagesToProcess());
+        if (configuration.batchSize() < 1) {
+            InvalidAnnotation error = new InvalidAnnotation("Invalid batch size: " + configuration.batchSize(), implClass, configuration, implClass);
+            context.addError(error);
+        } else {
+            metadata.setBatchSize(configuration.batchSize());
+        }
+        metadata.setBatchTimeout(configuration.batchTimeout());
         metadata.setMaxReceivers(configuration.maxReceivers());
         metadata.setMessageSelection(new MessageSelection(configuration.selector()));
         metadata.setMinReceivers(configuration.minReceivers());
@@ -117,6 +124,7 @@ public class JmsBindingPostProcessor extends AbstractBindingPostProcessor<JMS> {
         metadata.setResponseTimeout(configuration.responseTimeout());
         metadata.setRecoveryInterval(configuration.recoveryInterval());
         metadata.setClientAcknowledge(configuration.clientAcknowledge());
+        metadata.setStreamXml(configuration.streamXml());
 
         parseResponse(configuration, metadata, implClass, implClass, context);
     }
@@ -24,8 +24,10 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.fabric3.api.binding.jms.model.JmsBindingMetadata;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.model.type.contract.DataType;
+import org.fabric3.spi.model.physical.PhysicalDataTypes;
 import org.fabric3.spi.model.physical.PhysicalOperation;
 import org.fabric3.spi.model.type.java.JavaType;
 
@@ -36,6 +38,18 @@ public class DataTypeHelper {
 
     public static final DataType JAXB_TYPE = new JavaType(String.class, "JAXB");
     public static List<DataType> JAXB_TYPES = Arrays.asList(JAXB_TYPE);
+    // streaming XML is preferred; string XML is used if a streaming transformer is not available
+    public static List<DataType> STREAM_JAXB_TYPES = Arrays.asList(PhysicalDataTypes.JAXB_STREAM, JAXB_TYPE);
+
+    /**
+     * Returns the wire formats JAXB payloads are transformed to for the binding.
+     *
+     * @param metadata the binding metadata
+     * @return the wire formats in order of preference
+     */
+    public static List<DataType> getJAXBTypes(JmsBindingMetadata metadata) {
+        return metadata.isStreamXml() ? STREAM_JAXB_TYPES : JAXB_TYPES;
+    }
 
     public static List<DataType> createTypes(PhysicalOperation physicalOperation) throws Fabric3Exception {
         List<DataType> dataTypes = new ArrayList<>();
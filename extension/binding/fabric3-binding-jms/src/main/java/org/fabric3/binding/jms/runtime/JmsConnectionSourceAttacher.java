@@ -113,6 +113,8 @@ public class JmsConnectionSourceAttacher implements SourceConnectionAttacher<Jms
         }
         configuration.setIdleLimit(metadata.getIdleLimit());
         configuration.setMaxMessagesToProcess(metadata.getMaxMessagesToProcess());
+        configuration.setBatchSize(metadata.getBatchSize());
+        configuration.setBatchTimeout(metadata.getBatchTimeout());
         configuration.setMaxReceivers(metadata.getMaxReceivers());
         configuration.setMinReceivers(metadata.getMinReceivers());
         configuration.setReceiveTimeout(metadata.getReceiveTimeout());
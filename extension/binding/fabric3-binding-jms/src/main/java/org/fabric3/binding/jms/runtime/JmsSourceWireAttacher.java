@@ -108,7 +108,9 @@ public class JmsSourceWireAttacher implements SourceWireAttacher<JmsWireSource>
         javax.jms.Destination responseDestination = objects.getResponseDestination();
 
         List<BindingHandler<Message>> handlers = createHandlers(source);
-        ServiceListener listener = new ServiceListener(wireHolder, responseDestination, responseFactory, trxType, loader, handlers, monitor);
+        // responses can be sent on the receiver session if they are sent through the same provider the request is received from
+        boolean shareSession = responseFactory == requestFactory;
+        ServiceListener listener = new ServiceListener(wireHolder, responseDestination, responseFactory, shareSession, trxType, loader, handlers, monitor);
 
         configuration.setDestination(requestDestination);
         configuration.setFactory(requestFactory);
@@ -142,6 +144,8 @@ public class JmsSourceWireAttacher implements SourceWireAttacher<JmsWireSource>
         }
         configuration.setIdleLimit(metadata.getIdleLimit());
         configuration.setMaxMessagesToProcess(metadata.getMaxMessagesToProcess());
+        configuration.setBatchSize(metadata.getBatchSize());
+        configuration.setBatchTimeout(metadata.getBatchTimeout());
         configuration.setMaxReceivers(metadata.getMaxReceivers());
         configuration.setMinReceivers(metadata.getMinReceivers());
         configuration.setReceiveTimeout(metadata.getReceiveTimeout());
@@ -271,7 +275,8 @@ public class JmsSourceWireAttacher implements SourceWireAttacher<JmsWireSource>
         ClassLoader sourceClassLoader = source.getClassLoader();
         ClassLoader targetClassLoader = target.getClassLoader();
         List<DataType> jaxTypes = DataTypeHelper.createTypes(op);
-        Interceptor jaxbInterceptor = interceptorFactory.createInterceptor(op, DataTypeHelper.JAXB_TYPES, jaxTypes, targetClassLoader, sourceClassLoader);
+        List<DataType> wireTypes = DataTypeHelper.getJAXBTypes(source.getMetadata());
+        Interceptor jaxbInterceptor = interceptorFactory.createInterceptor(op, wireTypes, jaxTypes, targetClassLoader, sourceClassLoader);
         chain.addInterceptor(jaxbInterceptor);
     }
 
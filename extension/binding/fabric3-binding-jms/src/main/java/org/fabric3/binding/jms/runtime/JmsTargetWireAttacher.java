@@ -112,7 +112,7 @@ public class JmsTargetWireAttacher implements TargetWireAttacher<JmsWireTarget>
             OperationPayloadTypes payloadTypes = resolveOperation(operationName, types);
             configuration.setPayloadType(payloadTypes);
             if (target.getDataTypes().contains(PhysicalDataTypes.JAXB)) {
-                addJAXBInterceptor(source, physicalOperation, chain, targetClassLoader);
+                addJAXBInterceptor(source, target, physicalOperation, chain, targetClassLoader);
             }
             JmsInterceptor interceptor = new JmsInterceptor(configuration, handlers);
             chain.addInterceptor(interceptor);
@@ -217,10 +217,15 @@ public class JmsTargetWireAttacher implements TargetWireAttacher<JmsWireTarget>
         }
     }
 
-    private void addJAXBInterceptor(PhysicalWireSource source, PhysicalOperation op, InvocationChain chain, ClassLoader targetClassLoader) {
+    private void addJAXBInterceptor(PhysicalWireSource source,
+                                    JmsWireTarget target,
+                                    PhysicalOperation op,
+                                    InvocationChain chain,
+                                    ClassLoader targetClassLoader) {
         ClassLoader sourceClassLoader = source.getClassLoader();
         List<DataType> jaxTypes = DataTypeHelper.createTypes(op);
-        Interceptor jaxbInterceptor = interceptorFactory.createInterceptor(op, jaxTypes, DataTypeHelper.JAXB_TYPES, targetClassLoader, sourceClassLoader);
+        List<DataType> wireTypes = DataTypeHelper.getJAXBTypes(target.getMetadata());
+        Interceptor jaxbInterceptor = interceptorFactory.createInterceptor(op, jaxTypes, wireTypes, targetClassLoader, sourceClassLoader);
         chain.addInterceptor(jaxbInterceptor);
     }
 
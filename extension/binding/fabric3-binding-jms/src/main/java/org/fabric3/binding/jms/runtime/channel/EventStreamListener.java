@@ -19,6 +19,7 @@
  */
 package org.fabric3.binding.jms.runtime.channel;
 
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageListener;
@@ -53,6 +54,11 @@ public class EventStreamListener implements MessageListener {
             } else if (request instanceof TextMessage) {
                 TextMessage message = (TextMessage) request;
                 handler.handle(message.getText(), true);
+            } else if (request instanceof BytesMessage) {
+                BytesMessage message = (BytesMessage) request;
+                byte[] bytes = new byte[(int) message.getBodyLength()];
+                message.readBytes(bytes);
+                handler.handle(bytes, true);
             } else {
                 String type = request.getClass().getName();
                 monitor.invalidMessageType(type);
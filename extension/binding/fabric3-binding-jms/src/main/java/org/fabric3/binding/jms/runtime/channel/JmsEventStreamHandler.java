@@ -19,6 +19,7 @@
  */
 package org.fabric3.binding.jms.runtime.channel;
 
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.DeliveryMode;
@@ -66,7 +67,15 @@ public class JmsEventStreamHandler implements EventStreamHandler {
             if (!persistent) {
                 producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
             }
-            Message jmsMessage = session.createObjectMessage(payload);
+            Message jmsMessage;
+            if (payload instanceof byte[]) {
+                // XML serialized by a streaming transformer
+                BytesMessage bytesMessage = session.createBytesMessage();
+                bytesMessage.writeBytes((byte[]) payload);
+                jmsMessage = bytesMessage;
+            } else {
+                jmsMessage = session.createObjectMessage(payload);
+            }
             // enqueue the message
             producer.send(jmsMessage);
         } catch (JMSException ex) {
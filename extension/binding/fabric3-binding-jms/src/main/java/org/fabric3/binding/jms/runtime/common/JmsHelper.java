@@ -22,6 +22,7 @@ package org.fabric3.binding.jms.runtime.common;
 import javax.jms.Connection;
 import javax.jms.JMSException;
 import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
 import javax.jms.Session;
 
 /**
@@ -74,4 +75,18 @@ public class JmsHelper {
         }
     }
 
+    /**
+     * Closes the message producer quietly, ignoring exceptions
+     *
+     * @param producer the message producer to be closed.
+     */
+    public static void closeQuietly(MessageProducer producer) {
+        try {
+            if (producer != null) {
+                producer.close();
+            }
+        } catch (JMSException ignore) {
+        }
+    }
+
 }
@@ -26,12 +26,13 @@ import javax.jms.MessageListener;
 import javax.jms.Session;
 import javax.jms.Topic;
 import java.net.URI;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.fabric3.api.annotation.management.Management;
 import org.fabric3.api.annotation.management.ManagementOperation;
@@ -48,6 +49,13 @@ import static org.fabric3.binding.jms.runtime.common.JmsRuntimeConstants.CACHE_N
  * A container for a JMS MessageListener that is capable of adapting to varying workloads by dispatching messages from a destination to the listener on
  * different managed threads. Workload management is performed by sizing up or down the number of managed threads reserved for message processing.  Note this
  * implementation supports dispatching transactional and non-transactional messages.
+ *
+ * If a batch size greater than one is configured for a transacted or client acknowledge session, receivers dispatch up to that number of messages, waiting at
+ * most the batch timeout for additional messages, before committing or acknowledging them as a single unit of work. If dispatching a batch fails, the batch
+ * is rolled back and the redelivered messages are dispatched individually.
+ *
+ * Receiver accounting uses atomic counters so that receivers are added and retired without serializing on the container monitor. The monitor is only used to
+ * signal state changes such as start, stop and shutdown.
  */
 @Management
 public class AdaptiveMessageContainer {
@@ -65,10 +73,12 @@ public class AdaptiveMessageContainer {
     private Destination destination;
     private int cacheLevel;
     private SessionType sessionType;
-    private int minReceivers;
-    private int maxReceivers;
-    private int idleLimit;
-    private int maxMessagesToProcess;
+    private volatile int minReceivers;
+    private volatile int maxReceivers;
+    private volatile int idleLimit;
+    private volatile int maxMessagesToProcess;
+    private volatile int batchSize;
+    private volatile long batchTimeout;
     private long recoveryInterval;
     private String subscriptionId;
     private boolean localDelivery;
@@ -79,17 +89,19 @@ public class AdaptiveMessageContainer {
     private ExceptionListener exceptionListener;
 
     // state information
-    private boolean initialized;
-    private boolean running;
-    private int activeReceiverCount;
+    private volatile boolean initialized;
+    private volatile boolean running;
+    private final AtomicInteger activeReceiverCount = new AtomicInteger();
+    private final AtomicInteger receiverCount = new AtomicInteger();
+    private final AtomicInteger idleReceiverCount = new AtomicInteger();
 
     // sync objects
     private final Object syncMonitor = new Object();
     private final Object recoverySyncMonitor = new Object();
     private Object recoveryMarker = new Object();
 
-    private Set<MessageReceiver> receivers = new HashSet<>();
-    private List<Runnable> pausedWork = new LinkedList<>();
+    private Set<MessageReceiver> receivers = ConcurrentHashMap.newKeySet();
+    private Queue<Runnable> pausedWork = new ConcurrentLinkedQueue<>();
     private boolean javaEEXAEnabled;
 
     /**
@@ -127,6 +139,8 @@ public class AdaptiveMessageContainer {
         setMinReceivers(configuration.getMinReceivers());
         setRecoveryInterval(configuration.getRecoveryInterval());
         setIdleLimit(configuration.getIdleLimit());
+        setBatchSize(configuration.getBatchSize());
+        setBatchTimeout(configuration.getBatchTimeout());
 
         setRecoveryInterval(configuration.getRecoveryInterval());
 
@@ -212,9 +226,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The minimum number of receivers to create for a destination")
     public int getMinReceivers() {
-        synchronized (syncMonitor) {
-            return minReceivers;
-        }
+        return minReceivers;
     }
 
     /**
@@ -237,9 +249,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The maximum number of receivers to create for a destination")
     public int getMaxReceivers() {
-        synchronized (syncMonitor) {
-            return maxReceivers;
-        }
+        return maxReceivers;
     }
 
     /**
@@ -249,9 +259,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The number of scheduled receivers")
     public int getReceiverCount() {
-        synchronized (syncMonitor) {
-            return receivers.size();
-        }
+        return receiverCount.get();
     }
 
     /**
@@ -261,9 +269,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The number of receivers actively processing messages")
     public int getActiveReceiverCount() {
-        synchronized (syncMonitor) {
-            return activeReceiverCount;
-        }
+        return activeReceiverCount.get();
     }
 
     /**
@@ -273,9 +279,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The number of paused receivers")
     public int getPausedReceiversCount() {
-        synchronized (syncMonitor) {
-            return pausedWork.size();
-        }
+        return pausedWork.size();
     }
 
     /**
@@ -287,9 +291,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The times a receiver can be marked idle during execution before it is removed from the work scheduler")
     public void setIdleLimit(int limit) {
-        synchronized (syncMonitor) {
-            idleLimit = limit;
-        }
+        idleLimit = limit;
     }
 
     /**
@@ -299,9 +301,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The times a receiver can be marked idle during execution before it is removed from the work scheduler")
     public int getIdleLimit() {
-        synchronized (syncMonitor) {
-            return idleLimit;
-        }
+        return idleLimit;
     }
 
     /**
@@ -313,9 +313,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The maximum number of messages to process by a receivers")
     public void setMaxMessagesToProcess(int max) {
-        synchronized (syncMonitor) {
-            maxMessagesToProcess = max;
-        }
+        maxMessagesToProcess = max;
     }
 
     /**
@@ -325,9 +323,52 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The maximum number of messages to process by a receivers")
     public int getMaxMessagesToProcess() {
-        synchronized (syncMonitor) {
-            return maxMessagesToProcess;
+        return maxMessagesToProcess;
+    }
+
+    /**
+     * Sets the maximum number of messages a receiver dispatches before committing or acknowledging them as a single unit of work. Batching is only performed
+     * for transacted and client acknowledge sessions. The default of one disables batching.
+     *
+     * @param size the batch size
+     */
+    @ManagementOperation(description = "The maximum number of messages dispatched in a single unit of work")
+    public void setBatchSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
         }
+        batchSize = size;
+    }
+
+    /**
+     * Returns the maximum number of messages a receiver dispatches in a single unit of work.
+     *
+     * @return the batch size
+     */
+    @ManagementOperation(description = "The maximum number of messages dispatched in a single unit of work")
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the time in milliseconds a receiver waits for additional messages to fill a batch. If zero, only messages that are immediately available are
+     * added to a batch.
+     *
+     * @param timeout the batch timeout in milliseconds
+     */
+    @ManagementOperation(description = "The time to wait for additional messages to fill a batch")
+    public void setBatchTimeout(long timeout) {
+        batchTimeout = timeout;
+    }
+
+    /**
+     * Returns the time in milliseconds a receiver waits for additional messages to fill a batch.
+     *
+     * @return the batch timeout in milliseconds
+     */
+    @ManagementOperation(description = "The time to wait for additional messages to fill a batch")
+    public long getBatchTimeout() {
+        return batchTimeout;
     }
 
     /**
@@ -362,9 +403,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "True if the container is initialized")
     public boolean isInitialized() {
-        synchronized (syncMonitor) {
-            return initialized;
-        }
+        return initialized;
     }
 
     /**
@@ -374,9 +413,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "True if the container is running")
     public boolean isRunning() {
-        synchronized (syncMonitor) {
-            return running;
-        }
+        return running;
     }
 
     /**
@@ -386,13 +423,7 @@ public class AdaptiveMessageContainer {
      */
     @ManagementOperation(description = "The current number of idle receivers")
     public int getIdleCount() {
-        int count = 0;
-        for (MessageReceiver receiver : receivers) {
-            if (receiver.isIdle()) {
-                count++;
-            }
-        }
-        return count;
+        return idleReceiverCount.get();
     }
 
     @ManagementOperation(description = "The time this container has been running")
@@ -469,10 +500,9 @@ public class AdaptiveMessageContainer {
             syncMonitor.notifyAll();
         }
         start();
-        synchronized (syncMonitor) {
-            for (int i = 0; i < minReceivers; i++) {
-                addReceiver();
-            }
+        for (int i = 0; i < minReceivers; i++) {
+            receiverCount.incrementAndGet();
+            addReceiver();
         }
     }
 
@@ -491,7 +521,7 @@ public class AdaptiveMessageContainer {
             }
             try {
                 // wait for active receivers to finish processing
-                while (activeReceiverCount > 0) {
+                while (activeReceiverCount.get() > 0) {
                     syncMonitor.wait();
                 }
             } catch (InterruptedException ex) {
@@ -510,8 +540,10 @@ public class AdaptiveMessageContainer {
     private void resizePool() {
         if (isRunning()) {
             resumePausedWork();
-            synchronized (syncMonitor) {
-                if (receivers.size() < maxReceivers && getIdleCount() == 0) {
+            if (getIdleCount() == 0) {
+                // reserve a slot so concurrent resizes do not exceed the maximum number of receivers
+                int count = receiverCount.get();
+                if (count < maxReceivers && receiverCount.compareAndSet(count, count + 1)) {
                     addReceiver();
                 }
             }
@@ -519,28 +551,66 @@ public class AdaptiveMessageContainer {
     }
 
     /**
-     * Instantiates and schedules a new receiver.
+     * Instantiates and schedules a new receiver. The caller must have incremented the receiver count.
      */
     private void addReceiver() {
         MessageReceiver receiver = new MessageReceiver();
+        receivers.add(receiver);
+        idleReceiverCount.incrementAndGet();
         if (rescheduleWork(receiver)) {
-            receivers.add(receiver);
-            if (statistics.getMaxReceivers() < receivers.size()) {
+            int count = receiverCount.get();
+            if (statistics.getMaxReceivers() < count) {
                 statistics.incrementMaxReceivers();
             }
-            monitor.increaseReceivers(receivers.size());
+            monitor.increaseReceivers(count);
+        } else {
+            removeReceiver(receiver);
         }
     }
 
     /**
-     * Determines if the a receiver with the given idle count should be rescheduled.
+     * Removes a receiver and decrements the receiver count.
+     *
+     * @param receiver the receiver
+     */
+    private void removeReceiver(MessageReceiver receiver) {
+        if (receivers.remove(receiver)) {
+            if (receiver.isIdle()) {
+                idleReceiverCount.decrementAndGet();
+            }
+            receiverCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Determines if the a receiver with the given idle count should be retired. If so, the receiver count is decremented atomically so that concurrently
+     * retiring receivers do not reduce the count below the minimum.
      *
      * @param count the number of consecutive idle executions the receiver has accumulated
-     * @return true if the receiver should be rescheduled
+     * @return true if the receiver should be retired
      */
-    private boolean shouldRescheduleReceiver(int count) {
-        boolean extra = (count >= idleLimit && getIdleCount() > 1);
-        return (receivers.size() <= (extra ? minReceivers : maxReceivers));
+    private boolean retireReceiver(int count) {
+        while (true) {
+            boolean extra = (count >= idleLimit && getIdleCount() > 1);
+            int current = receiverCount.get();
+            if (current <= (extra ? minReceivers : maxReceivers)) {
+                return false;
+            }
+            if (receiverCount.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Decrements the active receiver count, notifying a waiting shutdown when no receivers are active.
+     */
+    private void decrementActiveReceivers() {
+        if (activeReceiverCount.decrementAndGet() == 0) {
+            synchronized (syncMonitor) {
+                syncMonitor.notifyAll();
+            }
+        }
     }
 
     /**
@@ -580,18 +650,29 @@ public class AdaptiveMessageContainer {
      */
     private boolean rescheduleWork(Runnable runnable) {
         if (isRunning()) {
-            try {
-                executorService.execute(runnable);
-            } catch (RuntimeException e) {
-                monitor.reject(e);
+            execute(runnable);
+            return true;
+        }
+        // synchronize with start so that work is not paused after paused work has been resumed
+        synchronized (syncMonitor) {
+            if (isRunning()) {
+                execute(runnable);
+                return true;
+            } else if (initialized) {
                 pausedWork.add(runnable);
+                return true;
+            } else {
+                return false;
             }
-            return true;
-        } else if (initialized) {
+        }
+    }
+
+    private void execute(Runnable runnable) {
+        try {
+            executorService.execute(runnable);
+        } catch (RuntimeException e) {
+            monitor.reject(e);
             pausedWork.add(runnable);
-            return true;
-        } else {
-            return false;
         }
     }
 
@@ -599,17 +680,18 @@ public class AdaptiveMessageContainer {
      * Attempts to reschedule paused work.
      */
     private void resumePausedWork() {
+        if (pausedWork.isEmpty()) {
+            return;
+        }
         synchronized (syncMonitor) {
-            if (!pausedWork.isEmpty()) {
-                for (Iterator<Runnable> it = pausedWork.iterator(); it.hasNext(); ) {
-                    Runnable runnable = it.next();
-                    try {
-                        executorService.execute(runnable);
-                        it.remove();
-                    } catch (RuntimeException e) {
-                        // keep the work paused paused and log the event
-                        monitor.reject(e);
-                    }
+            for (Iterator<Runnable> it = pausedWork.iterator(); it.hasNext(); ) {
+                Runnable runnable = it.next();
+                try {
+                    executorService.execute(runnable);
+                    it.remove();
+                } catch (RuntimeException e) {
+                    // keep the work paused paused and log the event
+                    monitor.reject(e);
                 }
             }
         }
@@ -679,20 +761,36 @@ public class AdaptiveMessageContainer {
         private Connection connection;
         private Session session;
         private MessageConsumer consumer;
+        private ProducerCache producers;
         private Object previousRecoveryMarker;
         private boolean previousSucceeded;
         private int idleWorkCount = 0;
+        private int redeliveryCount = 0;
         private volatile boolean idle = true;
 
         public boolean isIdle() {
             return idle;
         }
 
-        public void run() {
-            synchronized (syncMonitor) {
-                activeReceiverCount++;
-                syncMonitor.notifyAll();
+        /**
+         * Sets the idle state of the receiver, updating the container idle count. Only called from the thread executing the receiver.
+         *
+         * @param idle the idle state
+         */
+        private void setIdle(boolean idle) {
+            if (this.idle == idle) {
+                return;
+            }
+            this.idle = idle;
+            if (idle) {
+                idleReceiverCount.incrementAndGet();
+            } else {
+                idleReceiverCount.decrementAndGet();
             }
+        }
+
+        public void run() {
+            activeReceiverCount.incrementAndGet();
             boolean messageReceived = false;
             try {
                 if (maxMessagesToProcess < 0) {
@@ -720,30 +818,29 @@ public class AdaptiveMessageContainer {
                     }
                 }
             }
-            synchronized (syncMonitor) {
-                activeReceiverCount--;
-                syncMonitor.notifyAll();
-            }
+            decrementActiveReceivers();
             if (!messageReceived) {
                 idleWorkCount++;
             } else {
                 idleWorkCount = 0;
             }
-            synchronized (syncMonitor) {
-                // attempt to reschedule this receiver
-                if (!shouldRescheduleReceiver(idleWorkCount) || !rescheduleWork(this)) {
-                    // shutdown this receiver as it should not be rescheduled or the reschedule failed
-                    receivers.remove(this);
-                    monitor.decreaseReceivers(receivers.size());
-                    syncMonitor.notifyAll();
-                    closeSession();
-                } else if (isRunning()) {
-                    int nonPausedReceivers = getReceiverCount() - getPausedReceiversCount();
-                    if (nonPausedReceivers < 1) {
-                        monitor.pauseError(containerUri.toString());
-                    } else if (nonPausedReceivers < getMinReceivers()) {
-                        monitor.minimumError(containerUri.toString());
-                    }
+            // attempt to reschedule this receiver
+            boolean retired = retireReceiver(idleWorkCount);
+            if (retired || !rescheduleWork(this)) {
+                // shutdown this receiver as it should not be rescheduled or the reschedule failed
+                if (retired) {
+                    // the receiver count was decremented when the receiver was retired
+                    receiverCount.incrementAndGet();
+                }
+                removeReceiver(this);
+                monitor.decreaseReceivers(getReceiverCount());
+                closeSession();
+            } else if (isRunning()) {
+                int nonPausedReceivers = getReceiverCount() - getPausedReceiversCount();
+                if (nonPausedReceivers < 1) {
+                    monitor.pauseError(containerUri.toString());
+                } else if (nonPausedReceivers < getMinReceivers()) {
+                    monitor.minimumError(containerUri.toString());
                 }
             }
         }
@@ -771,7 +868,8 @@ public class AdaptiveMessageContainer {
                             return false;
                         }
                         if (!waiting && isRunning()) {
-                            activeReceiverCount--;
+                            activeReceiverCount.decrementAndGet();
+                            syncMonitor.notifyAll();
                         }
                         waiting = true;
                         try {
@@ -782,7 +880,7 @@ public class AdaptiveMessageContainer {
                         }
                     }
                     if (waiting) {
-                        activeReceiverCount++;
+                        activeReceiverCount.incrementAndGet();
                     }
                 }
                 if (active) {
@@ -819,44 +917,38 @@ public class AdaptiveMessageContainer {
          * @throws Fabric3Exception if a transaction exception occurred during thr receive
          */
         private boolean doReceive() throws JMSException, Fabric3Exception {
-            synchronized (syncMonitor) {
-                if (!isRunning()) {
-                    return false;
-                }
-                work.begin();
-                connection = connectionManager.getConnection();
+            if (!isRunning()) {
+                return false;
             }
+            work.begin();
+            connection = connectionManager.getConnection();
             if (session == null) {
                 session = createSession(connection);
+                producers = new ProducerCache(session);
             }
             if (consumer == null) {
                 consumer = createConsumer(session);
             }
-            // wait for a message, blocking for the timeout period, which, if 0, will be indefinitely
-            Message message = null;
-            try {
-                message = consumer.receive(receiveTimeout);
-            } catch (JMSException e) {
-                if (e.getCause() instanceof InterruptedException) {
-                    // some providers may throw an InterruptedException if the receiver is blocking when the runtime is signalled to shutdown
-                    // ignore the exception
-                } else {
-                    throw e;
-                }
-            }
+            // wait for a message, blocking for the timeout period
+            Message message = receiveMessage(receiveTimeout);
             if (message != null) {
                 if (!isRunning()) {
                     // container is shutting down.
                     work.rollback(session);
-                    idle = true;
+                    setIdle(true);
                     return false;
                 }
 
-                idle = false;
+                setIdle(false);
                 resizePool();
+                if (isBatching()) {
+                    return dispatchBatch(message);
+                }
+                if (redeliveryCount > 0) {
+                    redeliveryCount--;
+                }
                 try {
-                    messageListener.onMessage(message);
-                    statistics.incrementMessagesReceived();
+                    dispatch(message);
                     work.end(session, message);
                     return true;
                 } catch (InvocationRuntimeException e) {
@@ -869,13 +961,101 @@ public class AdaptiveMessageContainer {
                 }
                 return false;
             } else {
-                idle = true;
+                setIdle(true);
                 work.end(session, message);
                 return false;
             }
 
         }
 
+        /**
+         * Dispatches the given message and subsequently received messages until the batch size is reached or the batch timeout expires, then ends the unit of
+         * work for all messages. If dispatching fails, the unit of work is rolled back and the redelivered messages are dispatched individually.
+         *
+         * @param message the first message in the batch
+         * @return true if the batch was dispatched
+         * @throws JMSException     if a JMS-related exception occurred receiving a message
+         * @throws Fabric3Exception if a transaction exception occurred
+         */
+        private boolean dispatchBatch(Message message) throws JMSException, Fabric3Exception {
+            int size = batchSize;
+            long deadline = System.currentTimeMillis() + batchTimeout;
+            int count = 0;
+            try {
+                while (true) {
+                    count++;
+                    dispatch(message);
+                    if (count >= size || !isRunning()) {
+                        break;
+                    }
+                    Message next = receiveMessage(Math.max(0, deadline - System.currentTimeMillis()));
+                    if (next == null) {
+                        break;
+                    }
+                    message = next;
+                }
+                // the last message acknowledges all messages received by the session in client acknowledge mode
+                work.end(session, message);
+                return true;
+            } catch (InvocationRuntimeException e) {
+                // report original exception
+                monitor.receiveError(containerUri, e.getCause());
+                work.rollback(session);
+            } catch (RuntimeException | Error e) {
+                monitor.receiveError(containerUri, e);
+                work.rollback(session);
+            }
+            // dispatch redelivered messages one at a time so only the failing message is rolled back
+            redeliveryCount = count;
+            return false;
+        }
+
+        /**
+         * Dispatches a message to the listener.
+         *
+         * @param message the message
+         */
+        private void dispatch(Message message) {
+            if (messageListener instanceof SessionAwareMessageListener) {
+                // dispatch with the receiver session so responses are sent in the same unit of work
+                ((SessionAwareMessageListener) messageListener).onMessage(message, producers);
+            } else {
+                messageListener.onMessage(message);
+            }
+            statistics.incrementMessagesReceived();
+        }
+
+        /**
+         * Receives a message from the consumer.
+         *
+         * @param timeout the time to wait in milliseconds. If zero, only a message that is immediately available is returned.
+         * @return the message or null if none was received
+         * @throws JMSException if there was an error receiving the message
+         */
+        private Message receiveMessage(long timeout) throws JMSException {
+            try {
+                return timeout > 0 ? consumer.receive(timeout) : consumer.receiveNoWait();
+            } catch (JMSException e) {
+                if (e.getCause() instanceof InterruptedException) {
+                    // some providers may throw an InterruptedException if the receiver is blocking when the runtime is signalled to shutdown
+                    // ignore the exception
+                    return null;
+                } else {
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Returns true if messages are dispatched in batches. Batching is not done for auto acknowledge sessions as messages are acknowledged on receipt or
+         * while messages from a failed batch are redelivered.
+         *
+         * @return true if messages are dispatched in batches
+         */
+        private boolean isBatching() {
+            return batchSize > 1 && SessionType.AUTO_ACKNOWLEDGE != sessionType && redeliveryCount == 0;
+        }
+
         private void closeSession() {
             synchronized (connectionManager) {
                 if (isDurable() && session != null) {
@@ -885,6 +1065,7 @@ public class AdaptiveMessageContainer {
                         monitor.listenerError(containerUri.toString(), e);
                     }
                 }
+                closeProducers();
                 JmsHelper.closeQuietly(session);
             }
             session = null;
@@ -894,6 +1075,7 @@ public class AdaptiveMessageContainer {
             synchronized (connectionManager) {
                 if (cacheLevel < CACHE_ADMINISTERED_OBJECTS || force) {
                     JmsHelper.closeQuietly(consumer);
+                    closeProducers();
                     JmsHelper.closeQuietly(session);
                     consumer = null;
                     session = null;
@@ -905,6 +1087,13 @@ public class AdaptiveMessageContainer {
             }
         }
 
+        private void closeProducers() {
+            if (producers != null) {
+                producers.close();
+                producers = null;
+            }
+        }
+
         private void setRecoveryMarker() {
             synchronized (recoverySyncMonitor) {
                 previousRecoveryMarker = recoveryMarker;
@@ -47,6 +47,8 @@ public class ContainerConfiguration {
     private int receiveTimeout = -1;
 
     private int maxMessagesToProcess = -1;
+    private int batchSize = 1;
+    private long batchTimeout = 0;
     private long recoveryInterval = 5000;   // default 5 seconds
     private boolean durable;
     private boolean localDelivery;
@@ -183,6 +185,22 @@ public class ContainerConfiguration {
         this.maxMessagesToProcess = maxMessagesToProcess;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
     public long getRecoveryInterval() {
         return recoveryInterval;
     }
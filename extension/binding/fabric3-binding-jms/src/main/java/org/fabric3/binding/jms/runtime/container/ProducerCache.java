@@ -0,0 +1,91 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.jms.runtime.container;
+
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.fabric3.binding.jms.runtime.common.JmsHelper;
+
+/**
+ * Caches message producers created on a receiver session, keyed by destination. Producers are closed when the session is closed by the container.
+ *
+ * Instances are confined to the receiver thread that owns the session and are therefore not thread-safe. Since reply destinations may be temporary and
+ * vary per client, the cache is bounded and the least recently used producer is closed when the bound is exceeded.
+ */
+public class ProducerCache {
+    private static final int MAX_PRODUCERS = 16;
+
+    private Session session;
+
+    private Map<Destination, MessageProducer> producers = new LinkedHashMap<Destination, MessageProducer>(MAX_PRODUCERS, 0.75f, true) {
+        private static final long serialVersionUID = -3137516592785683017L;
+
+        protected boolean removeEldestEntry(Map.Entry<Destination, MessageProducer> eldest) {
+            if (size() > MAX_PRODUCERS) {
+                JmsHelper.closeQuietly(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public ProducerCache(Session session) {
+        this.session = session;
+    }
+
+    /**
+     * Returns the session producers are created on.
+     *
+     * @return the session
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * Returns a producer for the destination, creating one if it is not cached.
+     *
+     * @param destination the destination
+     * @return the producer
+     * @throws JMSException if there is an error creating the producer
+     */
+    public MessageProducer getProducer(Destination destination) throws JMSException {
+        MessageProducer producer = producers.get(destination);
+        if (producer == null) {
+            producer = session.createProducer(destination);
+            producers.put(destination, producer);
+        }
+        return producer;
+    }
+
+    /**
+     * Closes all cached producers. The session is not closed.
+     */
+    public void close() {
+        for (Iterator<MessageProducer> iterator = producers.values().iterator(); iterator.hasNext(); ) {
+            JmsHelper.closeQuietly(iterator.next());
+            iterator.remove();
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.jms.runtime.container;
+
+import javax.jms.Message;
+import javax.jms.MessageListener;
+
+/**
+ * A MessageListener that is passed the session of the container receiver that dispatched the message. Listeners may use the session to send messages so
+ * that they participate in the same unit of work as the receive, i.e. the same local transaction or the enlisted global transaction.
+ */
+public interface SessionAwareMessageListener extends MessageListener {
+
+    /**
+     * Called when a message is received.
+     *
+     * @param message   the message
+     * @param producers the producer cache bound to the receiver session. The cache must not be used outside the scope of the callback.
+     */
+    void onMessage(Message message, ProducerCache producers);
+
+}
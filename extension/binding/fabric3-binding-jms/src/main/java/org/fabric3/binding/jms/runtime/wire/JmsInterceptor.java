@@ -267,7 +267,7 @@ public class JmsInterceptor implements Interceptor {
                 if (payload.length != 1) {
                     throw new UnsupportedOperationException("Only single parameter operations are supported");
                 }
-                jmsMessage = session.createTextMessage((String) payload[0]);
+                jmsMessage = MessageHelper.createTextMessage(session, payload[0]);
                 setRoutingHeaders(message, jmsMessage);
                 return jmsMessage;
             default:
@@ -25,6 +25,9 @@ import javax.jms.Message;
 import javax.jms.ObjectMessage;
 import javax.jms.Session;
 import javax.jms.TextMessage;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
 
 import org.fabric3.binding.jms.spi.provision.PayloadType;
 
@@ -33,6 +36,28 @@ import org.fabric3.binding.jms.spi.provision.PayloadType;
  */
 public class MessageHelper {
 
+    /**
+     * Creates a message for a text payload. If XML streaming is enabled for the binding, XML serialized to bytes by a streaming transformer is sent in a bytes
+     * message so that it is not converted to a String. Otherwise, the payload is a String and is sent in a text message.
+     *
+     * @param session the session
+     * @param payload the payload, either a String or XML bytes
+     * @return the message
+     * @throws JMSException if there is an error creating the message
+     */
+    public static Message createTextMessage(Session session, Object payload) throws JMSException {
+        if (payload instanceof byte[]) {
+            BytesMessage message = session.createBytesMessage();
+            message.writeBytes((byte[]) payload);
+            return message;
+        }
+        if (payload != null && !(payload instanceof String)) {
+            // this should not happen
+            throw new IllegalArgumentException("Payload is not a string: " + payload);
+        }
+        return session.createTextMessage((String) payload);
+    }
+
     public static Message createBytesMessage(Session session, Object payload, PayloadType payloadType) throws JMSException {
         BytesMessage message = session.createBytesMessage();
         switch (payloadType) {
@@ -66,6 +91,68 @@ public class MessageHelper {
     }
 
 
+    /**
+     * Returns the message payload, using the body if it was already read when the message was routed. A body read during routing is decoded directly so
+     * that the message body is read exactly once.
+     *
+     * @param message     the message
+     * @param payloadType the payload type
+     * @param body        the body read during routing or null
+     * @return the payload
+     * @throws JMSException           if there is an error reading the message
+     * @throws JmsBadMessageException if the message type does not match the payload type
+     */
+    public static Object getPayload(Message message, PayloadType payloadType, Object body) throws JMSException, JmsBadMessageException {
+        if (body instanceof String && PayloadType.TEXT == payloadType) {
+            return body;
+        } else if (body instanceof byte[]) {
+            return getPayload((byte[]) body, payloadType);
+        }
+        return getPayload(message, payloadType);
+    }
+
+    /**
+     * Decodes a payload from the contents of a bytes message. Values are encoded in the format used by {@link BytesMessage}, i.e. that of {@link
+     * DataInputStream}.
+     *
+     * @param bytes       the message contents
+     * @param payloadType the payload type
+     * @return the payload
+     * @throws JmsBadMessageException if the payload type is not carried by a bytes message or the contents cannot be decoded
+     */
+    private static Object getPayload(byte[] bytes, PayloadType payloadType) throws JmsBadMessageException {
+        DataInputStream stream = new DataInputStream(new ByteArrayInputStream(bytes));
+        try {
+            switch (payloadType) {
+            case BOOLEAN:
+                return stream.readBoolean();
+            case BYTE:
+                return stream.readByte();
+            case CHARACTER:
+                return stream.readChar();
+            case DOUBLE:
+                return stream.readDouble();
+            case FLOAT:
+                return stream.readFloat();
+            case INTEGER:
+                return stream.readInt();
+            case LONG:
+                return stream.readLong();
+            case SHORT:
+                return stream.readShort();
+            case OBJECT:
+                throw new JmsBadMessageException("Invalid message type. Expecting ObjectMessage");
+            case TEXT:
+                // XML bytes
+                return bytes;
+            default:
+                throw new UnsupportedOperationException("Unsupported payload type: " + payloadType);
+            }
+        } catch (IOException e) {
+            throw new JmsBadMessageException("Unable to read message body", e);
+        }
+    }
+
     public static Object getPayload(Message message, PayloadType payloadType) throws JMSException, JmsBadMessageException {
         Object payload;
         switch (payloadType) {
@@ -79,8 +166,14 @@ public class MessageHelper {
         case STREAM:
             throw new UnsupportedOperationException("Stream message not yet supported");
         case TEXT:
-            if (!(message instanceof TextMessage)) {
-                throw new JmsBadMessageException("Invalid message type. Expecting TextMessage");
+            if (message instanceof BytesMessage) {
+                // XML bytes
+                BytesMessage xmlMessage = (BytesMessage) message;
+                byte[] bytes = new byte[(int) xmlMessage.getBodyLength()];
+                xmlMessage.readBytes(bytes);
+                return bytes;
+            } else if (!(message instanceof TextMessage)) {
+                throw new JmsBadMessageException("Invalid message type. Expecting TextMessage or BytesMessage");
             }
             TextMessage textMessage = (TextMessage) message;
             payload = textMessage.getText();
@@ -0,0 +1,304 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.jms.runtime.wire;
+
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.TextMessage;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fabric3.binding.jms.runtime.common.JmsRuntimeConstants;
+
+/**
+ * Routes messages received on a wire to an invocation chain using a dispatch table computed when the wire is attached.
+ *
+ * Messages are routed to the single operation of a service or its onMessage operation if present. Otherwise, the operation header is used and, if it is not
+ * set, the operation is selected by sniffing the name of the payload root element. When the payload is sniffed, the body is read once and returned with the
+ * route so that it can be used for payload extraction.
+ */
+public class OperationRouter {
+    private Route defaultRoute;
+    private Map<String, Route> routes = new HashMap<>();
+    private XMLInputFactory xmlInputFactory;
+
+    public OperationRouter(WireHolder wireHolder) {
+        List<InvocationChainHolder> chainHolders = wireHolder.getInvocationChains();
+        for (InvocationChainHolder chainHolder : chainHolders) {
+            String name = chainHolder.getChain().getPhysicalOperation().getName();
+            Route route = new Route(chainHolder, null);
+            if ("onMessage".equals(name)) {
+                defaultRoute = route;
+            }
+            routes.put(name, route);
+        }
+        if (chainHolders.size() == 1) {
+            defaultRoute = new Route(chainHolders.get(0), null);
+        } else if (defaultRoute == null) {
+            xmlInputFactory = XMLInputFactory.newFactory();
+            // only the root element name is needed; do not process DTDs or external entities
+            xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        }
+    }
+
+    /**
+     * Returns the route for the message.
+     *
+     * @param message the message
+     * @return the route
+     * @throws JmsBadMessageException if the message cannot be routed
+     * @throws JMSException           if there is an error reading the message
+     */
+    public Route route(Message message) throws JmsBadMessageException, JMSException {
+        if (defaultRoute != null) {
+            return defaultRoute;
+        }
+        String opName = message.getStringProperty(JmsRuntimeConstants.OPERATION_HEADER);
+        if (opName != null) {
+            Route route = routes.get(opName);
+            if (route == null) {
+                throw new JmsBadMessageException("Unable to match operation on the service contract: " + opName);
+            }
+            return route;
+        }
+        if (message instanceof TextMessage) {
+            String text = ((TextMessage) message).getText();
+            String name = text == null ? null : sniff(text);
+            if (name == null) {
+                name = parse(text);
+            }
+            return new Route(getRoute(name).getHolder(), text);
+        }
+        if (message instanceof BytesMessage) {
+            BytesMessage bytesMessage = (BytesMessage) message;
+            byte[] bytes = new byte[(int) bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(bytes);
+            String name = sniff(bytes);
+            if (name == null) {
+                name = parse(bytes);
+            }
+            return new Route(getRoute(name).getHolder(), bytes);
+        }
+        throw new JmsBadMessageException("Unable to match operation on the service contract");
+    }
+
+    private Route getRoute(String name) throws JmsBadMessageException {
+        Route route = routes.get(name);
+        if (route == null) {
+            throw new JmsBadMessageException("Unable to match operation on for name: " + name);
+        }
+        return route;
+    }
+
+    /**
+     * Scans the text for the root element local name without parsing the document.
+     *
+     * @param text the text
+     * @return the local name or null if it cannot be determined by scanning, e.g. if a DTD is present
+     */
+    static String sniff(String text) {
+        int length = text.length();
+        int i = 0;
+        if (length > 0 && text.charAt(0) == '\uFEFF') {
+            i++;
+        }
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (c != '<' || i + 1 >= length) {
+                return null;
+            }
+            if (text.startsWith("<?", i)) {
+                int end = text.indexOf("?>", i + 2);
+                if (end < 0) {
+                    return null;
+                }
+                i = end + 2;
+            } else if (text.startsWith("<!--", i)) {
+                int end = text.indexOf("-->", i + 4);
+                if (end < 0) {
+                    return null;
+                }
+                i = end + 3;
+            } else if (text.charAt(i + 1) == '!') {
+                // DTD
+                return null;
+            } else {
+                int start = i + 1;
+                int end = start;
+                while (end < length) {
+                    char n = text.charAt(end);
+                    if (Character.isWhitespace(n) || n == '>' || n == '/') {
+                        break;
+                    } else if (n == ':') {
+                        start = end + 1;
+                    }
+                    end++;
+                }
+                return end > start ? text.substring(start, end) : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scans an ASCII-compatible encoded payload for the root element local name without parsing the document.
+     *
+     * @param bytes the payload
+     * @return the local name or null if it cannot be determined by scanning
+     */
+    static String sniff(byte[] bytes) {
+        int i = 0;
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            // UTF-8 BOM
+            i = 3;
+        }
+        while (i < bytes.length) {
+            int c = bytes[i];
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                i++;
+                continue;
+            }
+            if (c != '<' || i + 1 >= bytes.length) {
+                return null;
+            }
+            int next = bytes[i + 1];
+            if (next == '?') {
+                i = indexOf(bytes, i + 2, '?', '>');
+                if (i < 0) {
+                    return null;
+                }
+            } else if (next == '!') {
+                if (i + 3 < bytes.length && bytes[i + 2] == '-' && bytes[i + 3] == '-') {
+                    i = indexOf(bytes, i + 4, '-', '>');
+                    if (i < 0) {
+                        return null;
+                    }
+                } else {
+                    // DTD
+                    return null;
+                }
+            } else {
+                int start = i + 1;
+                int end = start;
+                while (end < bytes.length) {
+                    int n = bytes[end];
+                    if (n < 0) {
+                        // non-ASCII name
+                        return null;
+                    } else if (n == ' ' || n == '\t' || n == '\r' || n == '\n' || n == '>' || n == '/') {
+                        break;
+                    } else if (n == ':') {
+                        start = end + 1;
+                    }
+                    end++;
+                }
+                return end > start ? new String(bytes, start, end - start, StandardCharsets.US_ASCII) : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index following the first occurrence of the two byte sequence or -1 if it is not found.
+     */
+    private static int indexOf(byte[] bytes, int from, char first, char second) {
+        for (int i = from; i < bytes.length - 1; i++) {
+            if (bytes[i] == first && bytes[i + 1] == second) {
+                return i + 2;
+            }
+        }
+        return -1;
+    }
+
+    private String parse(String text) throws JmsBadMessageException {
+        if (text == null) {
+            throw new JmsBadMessageException("Unable to match operation on the service contract");
+        }
+        try {
+            return parse(xmlInputFactory.createXMLStreamReader(new StringReader(text)));
+        } catch (XMLStreamException e) {
+            throw new JmsBadMessageException("Unable to process message", e);
+        }
+    }
+
+    private String parse(byte[] bytes) throws JmsBadMessageException {
+        try {
+            return parse(xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(bytes)));
+        } catch (XMLStreamException e) {
+            throw new JmsBadMessageException("Unable to process message", e);
+        }
+    }
+
+    private String parse(XMLStreamReader reader) throws XMLStreamException {
+        try {
+            // only the prolog and root element are read
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    return reader.getLocalName();
+                }
+            }
+            return null;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * The result of routing a message.
+     */
+    public static class Route {
+        private InvocationChainHolder holder;
+        private Object body;
+
+        public Route(InvocationChainHolder holder, Object body) {
+            this.holder = holder;
+            this.body = body;
+        }
+
+        /**
+         * Returns the invocation chain the message is routed to.
+         *
+         * @return the invocation chain
+         */
+        public InvocationChainHolder getHolder() {
+            return holder;
+        }
+
+        /**
+         * Returns the message body if it was read during routing, i.e. the text of a text message or the contents of a bytes message; otherwise null.
+         *
+         * @return the message body or null
+         */
+        public Object getBody() {
+            return body;
+        }
+    }
+
+}
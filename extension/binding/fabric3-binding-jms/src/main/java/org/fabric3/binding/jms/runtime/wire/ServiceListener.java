@@ -19,28 +19,21 @@
  */
 package org.fabric3.binding.jms.runtime.wire;
 
-import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
 import javax.jms.JMSException;
 import javax.jms.Message;
-import javax.jms.MessageListener;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
-import javax.jms.TextMessage;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
-import java.io.ByteArrayInputStream;
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.fabric3.api.binding.jms.model.CorrelationScheme;
 import org.fabric3.binding.jms.runtime.common.JmsRuntimeConstants;
 import org.fabric3.binding.jms.runtime.common.ListenerMonitor;
+import org.fabric3.binding.jms.runtime.container.ProducerCache;
+import org.fabric3.binding.jms.runtime.container.SessionAwareMessageListener;
 import org.fabric3.binding.jms.spi.provision.OperationPayloadTypes;
 import org.fabric3.binding.jms.spi.provision.PayloadType;
 import org.fabric3.binding.jms.spi.provision.SessionType;
@@ -53,22 +46,26 @@ import org.fabric3.spi.container.wire.Interceptor;
 
 /**
  * Listens for requests sent to a destination and dispatches them to a service, returning a response to the response destination.
+ *
+ * If responses are sent using the same connection factory requests are received on, responses are sent using the receiver session and its cached producers.
+ * This avoids creating a connection, session and producer per response and ensures a response is sent in the same local or global transaction as the
+ * request was received.
  */
-public class ServiceListener implements MessageListener {
+public class ServiceListener implements SessionAwareMessageListener {
     private WireHolder wireHolder;
-    private Map<String, InvocationChainHolder> invocationChainMap;
-    private InvocationChainHolder onMessageHolder;
+    private OperationRouter router;
     private Destination defaultResponseDestination;
     private ConnectionFactory responseFactory;
+    private boolean shareSession;
     private SessionType sessionType;
     private ClassLoader classLoader;
     private ListenerMonitor monitor;
-    private XMLInputFactory xmlInputFactory;
     private List<BindingHandler<Message>> handlers;
 
     public ServiceListener(WireHolder wireHolder,
                            Destination defaultResponseDestination,
                            ConnectionFactory responseFactory,
+                           boolean shareSession,
                            SessionType sessionType,
                            ClassLoader classLoader,
                            List<BindingHandler<Message>> handlers,
@@ -76,31 +73,33 @@ public class ServiceListener implements MessageListener {
         this.wireHolder = wireHolder;
         this.defaultResponseDestination = defaultResponseDestination;
         this.responseFactory = responseFactory;
+        this.shareSession = shareSession;
         this.sessionType = sessionType;
         this.classLoader = classLoader;
         this.handlers = handlers;
         this.monitor = monitor;
-        invocationChainMap = new HashMap<>();
-        for (InvocationChainHolder chainHolder : wireHolder.getInvocationChains()) {
-            String name = chainHolder.getChain().getPhysicalOperation().getName();
-            if ("onMessage".equals(name)) {
-                onMessageHolder = chainHolder;
-            }
-            invocationChainMap.put(name, chainHolder);
-        }
+        this.router = new OperationRouter(wireHolder);
     }
 
     public void onMessage(Message request) {
+        onMessage(request, null);
+    }
+
+    public void onMessage(Message request, ProducerCache producers) {
+        if (!shareSession) {
+            producers = null;
+        }
         ClassLoader oldCl = Thread.currentThread().getContextClassLoader();
         try {
             // set the TCCL to the target service classloader
             Thread.currentThread().setContextClassLoader(classLoader);
-            InvocationChainHolder holder = getHolder(request);
+            OperationRouter.Route route = router.route(request);
+            InvocationChainHolder holder = route.getHolder();
             Interceptor interceptor = holder.getChain().getHeadInterceptor();
             boolean oneWay = holder.getChain().getPhysicalOperation().isOneWay();
             OperationPayloadTypes payloadTypes = holder.getPayloadTypes();
             PayloadType inputType = payloadTypes.getInputType();
-            Object payload = MessageHelper.getPayload(request, inputType);
+            Object payload = MessageHelper.getPayload(request, inputType, route.getBody());
 
             switch (inputType) {
 
@@ -108,18 +107,18 @@ public class ServiceListener implements MessageListener {
                     if (payload != null && !payload.getClass().isArray()) {
                         payload = new Object[]{payload};
                     }
-                    invoke(request, interceptor, payload, payloadTypes, oneWay, sessionType);
+                    invoke(request, interceptor, payload, payloadTypes, oneWay, producers);
                     break;
                 case TEXT:
                     // non-encoded text
                     payload = new Object[]{payload};
-                    invoke(request, interceptor, payload, payloadTypes, oneWay, sessionType);
+                    invoke(request, interceptor, payload, payloadTypes, oneWay, producers);
                     break;
                 case STREAM:
                     throw new UnsupportedOperationException();
                 default:
                     payload = new Object[]{payload};
-                    invoke(request, interceptor, payload, payloadTypes, oneWay, sessionType);
+                    invoke(request, interceptor, payload, payloadTypes, oneWay, producers);
                     break;
             }
         } catch (JMSException | JmsBadMessageException e) {
@@ -130,8 +129,12 @@ public class ServiceListener implements MessageListener {
         }
     }
 
-    private void invoke(Message request, Interceptor interceptor, Object payload, OperationPayloadTypes payloadTypes, boolean oneWay, SessionType sessionType)
-            throws JMSException, JmsBadMessageException {
+    private void invoke(Message request,
+                        Interceptor interceptor,
+                        Object payload,
+                        OperationPayloadTypes payloadTypes,
+                        boolean oneWay,
+                        ProducerCache producers) throws JMSException, JmsBadMessageException {
         WorkContext workContext = setWorkContext(request);
         org.fabric3.spi.container.invocation.Message inMessage = MessageCache.getAndResetMessage();
         inMessage.setWorkContext(workContext);
@@ -146,6 +149,19 @@ public class ServiceListener implements MessageListener {
             inMessage.reset();
             return;
         }
+        PayloadType returnType = outMessage.isFault() ? payloadTypes.getFaultType() : payloadTypes.getOutputType();
+        if (producers != null) {
+            // send using the receiver session so the response is part of the same unit of work as the request
+            try {
+                Message response = createMessage(outMessage.getBody(), producers.getSession(), returnType);
+                Destination destination = prepareResponse(request, outMessage, response);
+                producers.getProducer(destination).send(response);
+            } finally {
+                inMessage.reset();
+                workContext.reset();
+            }
+            return;
+        }
         Connection connection = null;
         Session responseSession = null;
         try {
@@ -155,15 +171,10 @@ public class ServiceListener implements MessageListener {
             } else {
                 responseSession = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
             }
-            Object responsePayload = outMessage.getBody();
-            PayloadType returnType;
-            if (outMessage.isFault()) {
-                returnType = payloadTypes.getFaultType();
-            } else {
-                returnType = payloadTypes.getOutputType();
-            }
-            Message response = createMessage(responsePayload, responseSession, returnType);
-            sendResponse(request, responseSession, outMessage, response);
+            Message response = createMessage(outMessage.getBody(), responseSession, returnType);
+            Destination destination = prepareResponse(request, outMessage, response);
+            MessageProducer producer = responseSession.createProducer(destination);
+            producer.send(response);
         } finally {
             inMessage.reset();
             workContext.reset();
@@ -176,7 +187,17 @@ public class ServiceListener implements MessageListener {
         }
     }
 
-    private void sendResponse(Message request, Session responseSession, org.fabric3.spi.container.invocation.Message outMessage, Message response)
+    /**
+     * Sets the correlation and fault headers on the response and returns the destination it must be sent to.
+     *
+     * @param request    the request
+     * @param outMessage the service invocation result
+     * @param response   the response
+     * @return the response destination
+     * @throws JMSException           if there is an error setting a header
+     * @throws JmsBadMessageException if no response destination is available
+     */
+    private Destination prepareResponse(Message request, org.fabric3.spi.container.invocation.Message outMessage, Message response)
             throws JMSException, JmsBadMessageException {
         CorrelationScheme correlationScheme = wireHolder.getCorrelationScheme();
         switch (correlationScheme) {
@@ -192,17 +213,14 @@ public class ServiceListener implements MessageListener {
         if (outMessage.isFault()) {
             response.setBooleanProperty(JmsRuntimeConstants.FAULT_HEADER, true);
         }
-        MessageProducer producer;
         if (request.getJMSReplyTo() != null) {
             // if a reply to destination is set, use it
-            producer = responseSession.createProducer(request.getJMSReplyTo());
-        } else {
-            if (defaultResponseDestination == null) {
-                throw new JmsBadMessageException("JMSReplyTo must be set as no response destination was configured on the service");
-            }
-            producer = responseSession.createProducer(defaultResponseDestination);
+            return request.getJMSReplyTo();
         }
-        producer.send(response);
+        if (defaultResponseDestination == null) {
+            throw new JmsBadMessageException("JMSReplyTo must be set as no response destination was configured on the service");
+        }
+        return defaultResponseDestination;
     }
 
     private Message createMessage(Object payload, Session session, PayloadType payloadType) throws JMSException {
@@ -210,11 +228,7 @@ public class ServiceListener implements MessageListener {
             case STREAM:
                 throw new UnsupportedOperationException("Stream message not yet supported");
             case TEXT:
-                if (payload != null && !(payload instanceof String)) {
-                    // this should not happen
-                    throw new IllegalArgumentException("Response payload is not a string: " + payload);
-                }
-                return session.createTextMessage((String) payload);
+                return MessageHelper.createTextMessage(session, payload);
             case OBJECT:
                 if (payload != null && !(payload instanceof Serializable)) {
                     // this should not happen
@@ -226,57 +240,6 @@ public class ServiceListener implements MessageListener {
         }
     }
 
-    private InvocationChainHolder getHolder(Message message) throws JmsBadMessageException, JMSException {
-        List<InvocationChainHolder> chainHolders = wireHolder.getInvocationChains();
-        if (chainHolders.size() == 1) {
-            return chainHolders.get(0);
-        } else if (onMessageHolder != null) {
-            return onMessageHolder;
-        }
-
-        String opName = message.getStringProperty(JmsRuntimeConstants.OPERATION_HEADER);
-        if (opName != null) {
-            InvocationChainHolder chainHolder = invocationChainMap.get(opName);
-            if (chainHolder == null) {
-                throw new JmsBadMessageException("Unable to match operation on the service contract: " + opName);
-            }
-            return chainHolder;
-        } else {
-            if (message instanceof TextMessage) {
-                TextMessage textMessage = (TextMessage) message;
-                String payload = textMessage.getText();
-                return getHolderBasedOnElementName(payload.getBytes());
-
-            }
-            if (message instanceof BytesMessage) {
-                BytesMessage bytesMessage = (BytesMessage) message;
-                byte[] payload = new byte[(int) bytesMessage.getBodyLength()];
-                bytesMessage.readBytes(payload);
-                return getHolderBasedOnElementName(payload);
-
-            }
-            throw new JmsBadMessageException("Unable to match operation on the service contract");
-        }
-    }
-
-    private InvocationChainHolder getHolderBasedOnElementName(byte[] payload) throws JmsBadMessageException {
-        if (xmlInputFactory == null) {
-            xmlInputFactory = XMLInputFactory.newFactory();
-        }
-        try {
-            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(payload));
-            reader.nextTag();
-            String name = reader.getName().getLocalPart();
-            InvocationChainHolder chainHolder = invocationChainMap.get(name);
-            if (chainHolder == null) {
-                throw new JmsBadMessageException("Unable to match operation on for name: " + name);
-            }
-            return chainHolder;
-        } catch (XMLStreamException e) {
-            throw new JmsBadMessageException("Unable to process message", e);
-        }
-    }
-
     /**
      * Sets the WorkContext for the request.
      *
@@ -96,6 +96,10 @@ public class JMSBindingLoaderTestCase extends TestCase {
                                                   "         <f3:handler target=\"SomeHandler\" xmlns:f3=\"urn:fabric3.org\" />" +
                                                   "</binding.jms>";
 
+    private static final String BATCH = "   <binding.jms batch.size='50' batch.timeout='20'/>";
+
+    private static final String STREAM_XML = "   <binding.jms stream.xml='true'/>";
+
     private XMLInputFactory factory;
     private JmsBindingLoader loader;
     private IntrospectionContext context;
@@ -178,6 +182,34 @@ public class JMSBindingLoaderTestCase extends TestCase {
 
     }
 
+    public void testBatchParse() throws Exception {
+        XMLStreamReader streamReader = factory.createXMLStreamReader(new ByteArrayInputStream(BATCH.getBytes()));
+        streamReader.nextTag();
+
+        JmsBinding binding = loader.load(streamReader, context);
+        JmsBindingMetadata metadata = binding.getJmsMetadata();
+        assertEquals(50, metadata.getBatchSize());
+        assertEquals(20, metadata.getBatchTimeout());
+        assertFalse(context.hasErrors());
+    }
+
+    public void testStreamXmlParse() throws Exception {
+        XMLStreamReader streamReader = factory.createXMLStreamReader(new ByteArrayInputStream(STREAM_XML.getBytes()));
+        streamReader.nextTag();
+
+        JmsBinding binding = loader.load(streamReader, context);
+        assertTrue(binding.getJmsMetadata().isStreamXml());
+        assertFalse(context.hasErrors());
+    }
+
+    public void testStreamXmlDisabledByDefault() throws Exception {
+        XMLStreamReader streamReader = factory.createXMLStreamReader(new ByteArrayInputStream(BATCH.getBytes()));
+        streamReader.nextTag();
+
+        JmsBinding binding = loader.load(streamReader, context);
+        assertFalse(binding.getJmsMetadata().isStreamXml());
+    }
+
     public void testBindingHandler() throws Exception {
         XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(BINDING_HANDLER.getBytes()));
         reader.nextTag();
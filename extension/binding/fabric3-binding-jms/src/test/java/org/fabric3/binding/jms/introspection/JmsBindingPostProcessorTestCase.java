@@ -0,0 +1,73 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.jms.introspection;
+
+import junit.framework.TestCase;
+import org.fabric3.api.binding.jms.annotation.JMS;
+import org.fabric3.api.binding.jms.annotation.JMSConfiguration;
+import org.fabric3.api.binding.jms.model.JmsBinding;
+import org.fabric3.spi.introspection.DefaultIntrospectionContext;
+import org.fabric3.spi.introspection.java.InvalidAnnotation;
+
+/**
+ *
+ */
+public class JmsBindingPostProcessorTestCase extends TestCase {
+    private JmsBindingPostProcessor processor = new JmsBindingPostProcessor();
+
+    public void testBatchSize() throws Exception {
+        DefaultIntrospectionContext context = new DefaultIntrospectionContext();
+        JMS annotation = BatchedService.class.getAnnotation(JMS.class);
+
+        JmsBinding binding = (JmsBinding) processor.processService(annotation, null, null, BatchedService.class, context);
+
+        assertFalse(context.hasErrors());
+        assertEquals(10, binding.getJmsMetadata().getBatchSize());
+        assertFalse(binding.getJmsMetadata().isStreamXml());
+    }
+
+    public void testStreamXml() throws Exception {
+        DefaultIntrospectionContext context = new DefaultIntrospectionContext();
+        JMS annotation = StreamingService.class.getAnnotation(JMS.class);
+
+        JmsBinding binding = (JmsBinding) processor.processService(annotation, null, null, StreamingService.class, context);
+
+        assertTrue(binding.getJmsMetadata().isStreamXml());
+    }
+
+    public void testInvalidBatchSize() throws Exception {
+        DefaultIntrospectionContext context = new DefaultIntrospectionContext();
+        JMS annotation = InvalidBatchService.class.getAnnotation(JMS.class);
+
+        processor.processService(annotation, null, null, InvalidBatchService.class, context);
+
+        assertTrue(context.getErrors().get(0) instanceof InvalidAnnotation);
+    }
+
+    @JMS(@JMSConfiguration(destination = "queue", batchSize = 10))
+    private static class BatchedService {
+    }
+
+    @JMS(@JMSConfiguration(destination = "queue", streamXml = true))
+    private static class StreamingService {
+    }
+
+    @JMS(@JMSConfiguration(destination = "queue", batchSize = 0))
+    private static class InvalidBatchService {
+    }
+
+}
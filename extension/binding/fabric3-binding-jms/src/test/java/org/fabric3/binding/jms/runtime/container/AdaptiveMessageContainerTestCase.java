@@ -0,0 +1,199 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.jms.runtime.container;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.Destination;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.binding.jms.spi.provision.SessionType;
+
+import static org.fabric3.binding.jms.runtime.common.JmsRuntimeConstants.CACHE_ADMINISTERED_OBJECTS;
+
+/**
+ *
+ */
+public class AdaptiveMessageContainerTestCase extends TestCase {
+    private Deque<Message> queue = new LinkedList<>();
+    private List<Message> pending = new ArrayList<>();
+    private List<List<Message>> committed = new ArrayList<>();
+    private int rollbacks;
+    private List<Runnable> work = new ArrayList<>();
+    private RecordingListener listener = new RecordingListener();
+    private AdaptiveMessageContainer container;
+
+    public void testCommitBatch() throws Exception {
+        List<Message> messages = enqueue(3);
+
+        container.initialize();
+        runReceiver();
+
+        assertEquals(1, committed.size());
+        assertEquals(messages, committed.get(0));
+        assertEquals(0, rollbacks);
+    }
+
+    public void testCommitPerBatch() throws Exception {
+        List<Message> messages = enqueue(5);
+
+        container.initialize();
+        runReceiver();
+        runReceiver();
+
+        assertEquals(2, committed.size());
+        assertEquals(messages.subList(0, 3), committed.get(0));
+        assertEquals(messages.subList(3, 5), committed.get(1));
+        assertEquals(messages, listener.delivered);
+    }
+
+    public void testRollbackBatchOnFailure() throws Exception {
+        List<Message> messages = enqueue(3);
+        listener.failOn = messages.get(1);
+
+        container.initialize();
+        runReceiver();
+
+        // the first message was dispatched successfully but is rolled back with the failed message
+        assertEquals(0, committed.size());
+        assertEquals(1, rollbacks);
+        assertEquals(messages, new ArrayList<>(queue));
+
+        // redelivered messages are dispatched and committed individually before batching resumes
+        runReceiver();
+        runReceiver();
+        runReceiver();
+        assertEquals(Arrays.asList(messages.subList(0, 1), messages.subList(1, 2), messages.subList(2, 3)), committed);
+        assertEquals(1, rollbacks);
+        assertEquals(Arrays.asList(messages.get(0), messages.get(0), messages.get(1), messages.get(2)), listener.delivered);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        URI uri = URI.create("container");
+        Destination destination = EasyMock.createMock(Destination.class);
+
+        MessageConsumer consumer = EasyMock.createNiceMock(MessageConsumer.class);
+        EasyMock.expect(consumer.receive(EasyMock.anyLong())).andAnswer(this::receive).anyTimes();
+        EasyMock.expect(consumer.receiveNoWait()).andAnswer(this::receive).anyTimes();
+
+        Session session = EasyMock.createNiceMock(Session.class);
+        EasyMock.expect(session.createConsumer(destination, null)).andReturn(consumer);
+        session.commit();
+        EasyMock.expectLastCall().andAnswer(this::commit).anyTimes();
+        session.rollback();
+        EasyMock.expectLastCall().andAnswer(this::rollback).anyTimes();
+
+        Connection connection = EasyMock.createNiceMock(Connection.class);
+        EasyMock.expect(connection.createSession(true, Session.AUTO_ACKNOWLEDGE)).andReturn(session);
+
+        ConnectionFactory factory = EasyMock.createMock(ConnectionFactory.class);
+        EasyMock.expect(factory.createConnection()).andReturn(connection).anyTimes();
+
+        ExecutorService executorService = EasyMock.createMock(ExecutorService.class);
+        executorService.execute(EasyMock.isA(Runnable.class));
+        EasyMock.expectLastCall().andAnswer(() -> work.add((Runnable) EasyMock.getCurrentArguments()[0])).anyTimes();
+
+        MessageContainerMonitor monitor = EasyMock.createNiceMock(MessageContainerMonitor.class);
+        EasyMock.replay(destination, consumer, session, connection, factory, executorService, monitor);
+
+        ContainerConfiguration configuration = new ContainerConfiguration();
+        configuration.setUri(uri);
+        configuration.setDestination(destination);
+        configuration.setMessageListener(listener);
+        configuration.setSessionType(SessionType.LOCAL_TRANSACTED);
+        configuration.setCacheLevel(CACHE_ADMINISTERED_OBJECTS);
+        configuration.setMaxMessagesToProcess(1);
+        configuration.setBatchSize(3);
+
+        ConnectionManager connectionManager = new ConnectionManager(factory, uri, false, false, monitor);
+        ContainerStatistics statistics = new ContainerStatistics();
+        UnitOfWork unitOfWork = new LocalTransactionUnitOfWork(uri, statistics);
+        container = new AdaptiveMessageContainer(configuration, 10, connectionManager, unitOfWork, statistics, executorService, false, monitor);
+    }
+
+    private List<Message> enqueue(int count) {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Message message = EasyMock.createMock(Message.class);
+            EasyMock.replay(message);
+            messages.add(message);
+        }
+        queue.addAll(messages);
+        return messages;
+    }
+
+    /**
+     * Runs the scheduled receiver once, which performs a single receive as the container is configured to process one message per execution.
+     */
+    private void runReceiver() {
+        assertEquals(1, work.size());
+        work.remove(0).run();
+    }
+
+    private Message receive() {
+        Message message = queue.poll();
+        if (message != null) {
+            pending.add(message);
+        }
+        return message;
+    }
+
+    private Object commit() {
+        if (!pending.isEmpty()) {
+            committed.add(new ArrayList<>(pending));
+            pending.clear();
+        }
+        return null;
+    }
+
+    private Object rollback() {
+        // the provider redelivers all messages received in the transaction
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            queue.addFirst(pending.get(i));
+        }
+        pending.clear();
+        rollbacks++;
+        return null;
+    }
+
+    private class RecordingListener implements MessageListener {
+        private List<Message> delivered = new ArrayList<>();
+        private Message failOn;
+
+        public void onMessage(Message message) {
+            if (message == failOn) {
+                failOn = null;
+                throw new RuntimeException("test failure");
+            }
+            delivered.add(message);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.jms.runtime.container;
+
+import javax.jms.Destination;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+
+/**
+ *
+ */
+public class ProducerCacheTestCase extends TestCase {
+
+    public void testReuseProducer() throws Exception {
+        Destination destination = EasyMock.createMock(Destination.class);
+        MessageProducer producer = EasyMock.createMock(MessageProducer.class);
+        producer.close();
+
+        Session session = EasyMock.createMock(Session.class);
+        EasyMock.expect(session.createProducer(destination)).andReturn(producer);
+        EasyMock.replay(session, producer, destination);
+
+        ProducerCache cache = new ProducerCache(session);
+        assertSame(producer, cache.getProducer(destination));
+        assertSame(producer, cache.getProducer(destination));
+        cache.close();
+
+        EasyMock.verify(session, producer, destination);
+    }
+
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        Session session = EasyMock.createMock(Session.class);
+        MessageProducer evicted = EasyMock.createMock(MessageProducer.class);
+        evicted.close();
+        EasyMock.expect(session.createProducer(EasyMock.isA(Destination.class))).andReturn(evicted);
+        MessageProducer producer = EasyMock.createNiceMock(MessageProducer.class);
+        EasyMock.expect(session.createProducer(EasyMock.isA(Destination.class))).andReturn(producer).times(16);
+        EasyMock.replay(session, evicted, producer);
+
+        ProducerCache cache = new ProducerCache(session);
+        for (int i = 0; i < 17; i++) {
+            cache.getProducer(EasyMock.createMock(Destination.class));
+        }
+
+        EasyMock.verify(session, evicted);
+    }
+
+}
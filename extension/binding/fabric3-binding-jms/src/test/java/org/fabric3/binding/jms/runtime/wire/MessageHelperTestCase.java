@@ -0,0 +1,103 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.jms.runtime.wire;
+
+import javax.jms.BytesMessage;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.binding.jms.spi.provision.PayloadType;
+
+/**
+ *
+ */
+public class MessageHelperTestCase extends TestCase {
+
+    public void testPayloadFromRoutedBody() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream stream = new DataOutputStream(bytes);
+        stream.writeInt(42);
+        stream.flush();
+
+        // the body was already read: the message must not be touched
+        BytesMessage message = EasyMock.createMock(BytesMessage.class);
+        EasyMock.replay(message);
+
+        assertEquals(42, MessageHelper.getPayload(message, PayloadType.INTEGER, bytes.toByteArray()));
+        EasyMock.verify(message);
+    }
+
+    public void testTextPayloadFromRoutedBody() throws Exception {
+        BytesMessage message = EasyMock.createMock(BytesMessage.class);
+        EasyMock.replay(message);
+        assertEquals("<op/>", MessageHelper.getPayload(message, PayloadType.TEXT, "<op/>"));
+    }
+
+    public void testXmlBytesPayloadFromRoutedBody() throws Exception {
+        BytesMessage message = EasyMock.createMock(BytesMessage.class);
+        EasyMock.replay(message);
+        byte[] xml = "<op/>".getBytes("UTF-8");
+        assertSame(xml, MessageHelper.getPayload(message, PayloadType.TEXT, xml));
+        EasyMock.verify(message);
+    }
+
+    public void testXmlBytesPayload() throws Exception {
+        BytesMessage message = EasyMock.createMock(BytesMessage.class);
+        EasyMock.expect(message.getBodyLength()).andReturn(5L);
+        EasyMock.expect(message.readBytes(EasyMock.isA(byte[].class))).andReturn(5);
+        EasyMock.replay(message);
+        assertEquals(5, ((byte[]) MessageHelper.getPayload(message, PayloadType.TEXT)).length);
+        EasyMock.verify(message);
+    }
+
+    public void testCreateTextMessageForXmlBytes() throws Exception {
+        byte[] xml = "<op/>".getBytes("UTF-8");
+        BytesMessage message = EasyMock.createMock(BytesMessage.class);
+        message.writeBytes(xml);
+        Session session = EasyMock.createMock(Session.class);
+        EasyMock.expect(session.createBytesMessage()).andReturn(message);
+        EasyMock.replay(message, session);
+
+        assertSame(message, MessageHelper.createTextMessage(session, xml));
+        EasyMock.verify(message, session);
+    }
+
+    public void testCreateTextMessageForString() throws Exception {
+        TextMessage message = EasyMock.createMock(TextMessage.class);
+        Session session = EasyMock.createMock(Session.class);
+        EasyMock.expect(session.createTextMessage("<op/>")).andReturn(message);
+        EasyMock.replay(message, session);
+
+        assertSame(message, MessageHelper.createTextMessage(session, "<op/>"));
+        EasyMock.verify(message, session);
+    }
+
+    public void testTruncatedBody() throws Exception {
+        BytesMessage message = EasyMock.createMock(BytesMessage.class);
+        EasyMock.replay(message);
+        try {
+            MessageHelper.getPayload(message, PayloadType.LONG, new byte[2]);
+            fail();
+        } catch (JmsBadMessageException e) {
+            // expected
+        }
+    }
+}
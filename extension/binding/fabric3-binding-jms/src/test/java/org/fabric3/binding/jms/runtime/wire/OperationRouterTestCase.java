@@ -0,0 +1,186 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.jms.runtime.wire;
+
+import javax.jms.BytesMessage;
+import javax.jms.TextMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.binding.jms.runtime.common.JmsRuntimeConstants;
+import org.fabric3.binding.jms.spi.provision.OperationPayloadTypes;
+import org.fabric3.binding.jms.spi.provision.PayloadType;
+import org.fabric3.spi.container.wire.InvocationChain;
+import org.fabric3.spi.model.physical.PhysicalOperation;
+
+/**
+ *
+ */
+public class OperationRouterTestCase extends TestCase {
+
+    public void testSniffText() throws Exception {
+        assertEquals("order", OperationRouter.sniff("<order/>"));
+        assertEquals("order", OperationRouter.sniff("  <ns:order xmlns:ns='urn:test'><item/></ns:order>"));
+        assertEquals("order", OperationRouter.sniff("<?xml version='1.0'?>\n<!-- comment --><order id='1'>"));
+    }
+
+    public void testSniffTextNotDetermined() throws Exception {
+        assertNull(OperationRouter.sniff("<!DOCTYPE order><order/>"));
+        assertNull(OperationRouter.sniff("text"));
+        assertNull(OperationRouter.sniff(""));
+    }
+
+    public void testSniffBytes() throws Exception {
+        assertEquals("order", OperationRouter.sniff("<order/>".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("order", OperationRouter.sniff("<?xml version='1.0'?><!-- c --><ns:order>".getBytes(StandardCharsets.UTF_8)));
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, '<', 'a', '>'};
+        assertEquals("a", OperationRouter.sniff(bom));
+    }
+
+    public void testSniffBytesNotDetermined() throws Exception {
+        assertNull(OperationRouter.sniff("<!DOCTYPE order><order/>".getBytes(StandardCharsets.UTF_8)));
+        assertNull(OperationRouter.sniff("<ordér/>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public void testSingleOperationRoute() throws Exception {
+        WireHolder wireHolder = createWireHolder("op1");
+        TextMessage message = EasyMock.createMock(TextMessage.class);
+        EasyMock.replay(message);
+
+        OperationRouter router = new OperationRouter(wireHolder);
+        OperationRouter.Route route = router.route(message);
+        assertSame(wireHolder.getInvocationChains().get(0), route.getHolder());
+        assertNull(route.getBody());
+        // the message is not inspected
+        EasyMock.verify(message);
+    }
+
+    public void testOnMessageRoute() throws Exception {
+        WireHolder wireHolder = createWireHolder("op1", "onMessage");
+        TextMessage message = EasyMock.createMock(TextMessage.class);
+        EasyMock.replay(message);
+
+        OperationRouter.Route route = new OperationRouter(wireHolder).route(message);
+        assertSame(wireHolder.getInvocationChains().get(1), route.getHolder());
+        EasyMock.verify(message);
+    }
+
+    public void testHeaderRoute() throws Exception {
+        WireHolder wireHolder = createWireHolder("op1", "op2");
+        TextMessage message = EasyMock.createMock(TextMessage.class);
+        EasyMock.expect(message.getStringProperty(JmsRuntimeConstants.OPERATION_HEADER)).andReturn("op2");
+        EasyMock.replay(message);
+
+        OperationRouter.Route route = new OperationRouter(wireHolder).route(message);
+        assertSame(wireHolder.getInvocationChains().get(1), route.getHolder());
+        assertNull(route.getBody());
+        EasyMock.verify(message);
+    }
+
+    public void testUnknownHeader() throws Exception {
+        WireHolder wireHolder = createWireHolder("op1", "op2");
+        TextMessage message = EasyMock.createMock(TextMessage.class);
+        EasyMock.expect(message.getStringProperty(JmsRuntimeConstants.OPERATION_HEADER)).andReturn("op3");
+        EasyMock.replay(message);
+        try {
+            new OperationRouter(wireHolder).route(message);
+            fail();
+        } catch (JmsBadMessageException e) {
+            // expected
+        }
+    }
+
+    public void testTextRoute() throws Exception {
+        WireHolder wireHolder = createWireHolder("op1", "op2");
+        TextMessage message = createTextMessage("<op2><value/></op2>");
+
+        OperationRouter.Route route = new OperationRouter(wireHolder).route(message);
+        assertSame(wireHolder.getInvocationChains().get(1), route.getHolder());
+        assertEquals("<op2><value/></op2>", route.getBody());
+        EasyMock.verify(message);
+    }
+
+    public void testTextRouteParseFallback() throws Exception {
+        WireHolder wireHolder = createWireHolder("op1", "op2");
+        // the DTD prevents sniffing so the root element is parsed
+        TextMessage message = createTextMessage("<!DOCTYPE op1><op1/>");
+
+        OperationRouter.Route route = new OperationRouter(wireHolder).route(message);
+        assertSame(wireHolder.getInvocationChains().get(0), route.getHolder());
+        EasyMock.verify(message);
+    }
+
+    public void testNoMatchingOperation() throws Exception {
+        WireHolder wireHolder = createWireHolder("op1", "op2");
+        TextMessage message = createTextMessage("<op3/>");
+        try {
+            new OperationRouter(wireHolder).route(message);
+            fail();
+        } catch (JmsBadMessageException e) {
+            // expected
+        }
+    }
+
+    public void testBytesRouteReadsBodyOnce() throws Exception {
+        WireHolder wireHolder = createWireHolder("op1", "op2");
+        byte[] body = "<op2/>".getBytes(StandardCharsets.UTF_8);
+
+        // strict mock: reset() or a second read fails the test
+        BytesMessage message = EasyMock.createStrictMock(BytesMessage.class);
+        EasyMock.expect(message.getStringProperty(JmsRuntimeConstants.OPERATION_HEADER)).andReturn(null);
+        EasyMock.expect(message.getBodyLength()).andReturn((long) body.length);
+        EasyMock.expect(message.readBytes(EasyMock.isA(byte[].class))).andAnswer(() -> {
+            byte[] buffer = (byte[]) EasyMock.getCurrentArguments()[0];
+            System.arraycopy(body, 0, buffer, 0, body.length);
+            return body.length;
+        });
+        EasyMock.replay(message);
+
+        OperationRouter.Route route = new OperationRouter(wireHolder).route(message);
+        assertSame(wireHolder.getInvocationChains().get(1), route.getHolder());
+        assertTrue(route.getBody() instanceof byte[]);
+        // XML bytes are passed to streaming transformers without reading the message again
+        assertSame(route.getBody(), MessageHelper.getPayload(message, PayloadType.TEXT, route.getBody()));
+        EasyMock.verify(message);
+    }
+
+    private TextMessage createTextMessage(String text) throws Exception {
+        TextMessage message = EasyMock.createMock(TextMessage.class);
+        EasyMock.expect(message.getStringProperty(JmsRuntimeConstants.OPERATION_HEADER)).andReturn(null);
+        EasyMock.expect(message.getText()).andReturn(text);
+        EasyMock.replay(message);
+        return message;
+    }
+
+    private WireHolder createWireHolder(String... names) {
+        List<InvocationChainHolder> holders = new ArrayList<>();
+        for (String name : names) {
+            PhysicalOperation operation = new PhysicalOperation();
+            operation.setName(name);
+            InvocationChain chain = EasyMock.createMock(InvocationChain.class);
+            EasyMock.expect(chain.getPhysicalOperation()).andReturn(operation).anyTimes();
+            EasyMock.replay(chain);
+            OperationPayloadTypes types = new OperationPayloadTypes(name, PayloadType.TEXT, PayloadType.TEXT, PayloadType.TEXT);
+            holders.add(new InvocationChainHolder(chain, types));
+        }
+        return new WireHolder(holders, null);
+    }
+
+}
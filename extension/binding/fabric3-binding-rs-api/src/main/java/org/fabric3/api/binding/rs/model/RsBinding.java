@@ -24,8 +24,84 @@ import org.fabric3.api.model.type.component.Binding;
  * Configures a service to be exposed as a JAX-RS resource.
  */
 public class RsBinding extends Binding {
+    private int maxConnections = -1;
+    private long connectTimeout = -1;
+    private long readTimeout = -1;
+    private long idleTimeout = -1;
 
     public RsBinding(String name, URI serviceUri) {
         super(name, serviceUri, "rs");
     }
+
+    /**
+     * Returns the maximum number of pooled connections a reference binding may open to the target or -1 if the default is used.
+     *
+     * @return the maximum number of connections or -1
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections a reference binding may open to the target.
+     *
+     * @param maxConnections the maximum number of connections
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Returns the connect timeout in milliseconds or -1 if the default is used.
+     *
+     * @return the connect timeout or -1
+     */
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Sets the connect timeout in milliseconds.
+     *
+     * @param connectTimeout the connect timeout
+     */
+    public void setConnectTimeout(long connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Returns the read timeout in milliseconds or -1 if the default is used.
+     *
+     * @return the read timeout or -1
+     */
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Sets the read timeout in milliseconds.
+     *
+     * @param readTimeout the read timeout
+     */
+    public void setReadTimeout(long readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Returns the time in milliseconds a pooled connection may remain idle before it is closed or -1 if idle connections are not evicted.
+     *
+     * @return the idle timeout or -1
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the time in milliseconds a pooled connection may remain idle before it is closed.
+     *
+     * @param idleTimeout the idle timeout
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
 }
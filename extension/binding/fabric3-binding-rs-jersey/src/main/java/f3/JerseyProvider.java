@@ -10,6 +10,7 @@ import org.fabric3.binding.rs.runtime.RsSourceWireAttacher;
 import org.fabric3.binding.rs.runtime.RsTargetWireAttacher;
 import org.fabric3.binding.rs.runtime.builder.ProviderBuilder;
 import org.fabric3.binding.rs.runtime.bytecode.ProviderGeneratorImpl;
+import org.fabric3.binding.rs.runtime.container.PooledClientFactory;
 import org.fabric3.binding.rs.runtime.container.RsContainerManagerImpl;
 import org.fabric3.binding.rs.runtime.provider.NameBindingFilterProviderImpl;
 import org.fabric3.binding.rs.runtime.provider.ProviderRegistryImpl;
@@ -29,6 +30,7 @@ public class JerseyProvider {
         compositeBuilder.component(SystemComponentBuilder.newBuilder(ProviderGeneratorImpl.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(NameBindingFilterProviderImpl.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(RsSourceWireAttacher.class).build());
+        compositeBuilder.component(SystemComponentBuilder.newBuilder(PooledClientFactory.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(RsTargetWireAttacher.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(ProviderBuilder.class).build());
         return compositeBuilder.build();
@@ -18,9 +18,13 @@
  */
 package org.fabric3.binding.rs.runtime;
 
+import javax.ws.rs.container.AsyncResponse;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -83,7 +87,7 @@ public class RsSourceWireAttacher implements SourceWireAttacher<RsWireSource> {
         RsContainer container = containerManager.get(sourceUri);
         if (container == null) {
             // each resource defined with the same binding URI will be deployed to the same container
-            container = new RsContainer(sourceUri.toString(), providerRegistry, provider);
+            container = new RsContainer(sourceUri.toString(), providerRegistry, provider, monitor);
             containerManager.register(sourceUri, container);
             String mapping = creatingMappingUri(sourceUri);
             if (servletHost.isMappingRegistered(mapping)) {
@@ -157,9 +161,13 @@ public class RsSourceWireAttacher implements SourceWireAttacher<RsWireSource> {
         ResourceMethod.Builder methodBuilder = resourceBuilder.addMethod(template.getHttpMethod());
         methodBuilder.consumes(template.getConsumedTypes());
         methodBuilder.produces(template.getProducedTypes());
-        methodBuilder.handledBy(handler, template.getInvocable().getHandlingMethod());
+        Method handlingMethod = template.getInvocable().getHandlingMethod();
+        methodBuilder.handledBy(handler, handlingMethod);
         if (template.isSuspendDeclared()) {
             methodBuilder.suspended(template.getSuspendTimeout(), template.getSuspendTimeoutUnit());
+        } else if (CompletionStage.class.isAssignableFrom(handlingMethod.getReturnType())) {
+            // suspend the request so it can be resumed when the stage returned by the component completes
+            methodBuilder.suspended(AsyncResponse.NO_TIMEOUT, TimeUnit.MILLISECONDS);
         }
         if (template.isManagedAsyncDeclared()) {
             methodBuilder.managedAsync();
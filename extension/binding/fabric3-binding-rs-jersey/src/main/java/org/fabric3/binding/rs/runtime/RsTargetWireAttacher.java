@@ -1,38 +1,67 @@
 package org.fabric3.binding.rs.runtime;
 
+import javax.ws.rs.client.Client;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.fabric3.api.annotation.monitor.Monitor;
 import org.fabric3.api.annotation.wire.Key;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.binding.rs.provision.RsWireTarget;
+import org.fabric3.binding.rs.runtime.container.RsClientFactory;
 import org.fabric3.binding.rs.runtime.container.RsClientInterceptor;
 import org.fabric3.spi.container.builder.TargetWireAttacher;
 import org.fabric3.spi.container.wire.InvocationChain;
 import org.fabric3.spi.container.wire.Wire;
 import org.fabric3.spi.model.physical.PhysicalOperation;
 import org.fabric3.spi.model.physical.PhysicalWireSource;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Attaches a reference to the RS binding.
  */
 @Key("org.fabric3.binding.rs.provision.RsWireTarget")
 public class RsTargetWireAttacher implements TargetWireAttacher<RsWireTarget> {
+    private RsClientFactory clientFactory;
+    private RsWireAttacherMonitor monitor;
+
+    // clients keyed by reference and target so pooled connections are shared by all operations on a wire
+    private Map<String, Client> clients = new ConcurrentHashMap<>();
+
+    public RsTargetWireAttacher(@Reference RsClientFactory clientFactory, @Monitor RsWireAttacherMonitor monitor) {
+        this.clientFactory = clientFactory;
+        this.monitor = monitor;
+    }
 
     public void attach(PhysicalWireSource sourceDefinition, RsWireTarget target, Wire wire) throws Fabric3Exception {
         List<InvocationChain> invocationChains = wire.getInvocationChains();
         URI uri = target.getUri();
         Class<?> interfaceClass = target.getProxyInterface();
+        Client client = clients.computeIfAbsent(getKey(sourceDefinition, target), k -> clientFactory.create(target));
         try {
             for (InvocationChain chain : invocationChains) {
                 PhysicalOperation operation = chain.getPhysicalOperation();
                 String operationName = operation.getName();
                 List<Class<?>> targetParameterTypes = operation.getTargetParameterTypes();
-                chain.addInterceptor(new RsClientInterceptor(operationName, interfaceClass, uri, targetParameterTypes));
+                boolean oneWay = operation.isOneWay();
+                chain.addInterceptor(new RsClientInterceptor(operationName, interfaceClass, uri, targetParameterTypes, oneWay, client, monitor));
             }
         } catch (Exception e) {
             throw new Fabric3Exception(e);
         }
     }
 
+    public void detach(PhysicalWireSource source, RsWireTarget target) throws Fabric3Exception {
+        Client client = clients.remove(getKey(source, target));
+        if (client != null) {
+            clientFactory.release(client);
+        }
+    }
+
+    private String getKey(PhysicalWireSource source, RsWireTarget target) {
+        return source.getUri() + "->" + target.getUri();
+    }
+
 }
@@ -21,6 +21,7 @@ package org.fabric3.binding.rs.runtime;
 import java.net.URI;
 
 import org.fabric3.api.annotation.monitor.Info;
+import org.fabric3.api.annotation.monitor.Severe;
 
 /**
  *
@@ -43,4 +44,31 @@ public interface RsWireAttacherMonitor {
     @Info("REST endpoint removed at {0}")
     void removedEndpoint(URI address);
 
+    /**
+     * Callback when a one-way invocation on a REST reference returns an error status.
+     *
+     * @param address the target address
+     * @param status  the HTTP status
+     */
+    @Severe("One-way REST invocation to {0} returned status {1}")
+    void oneWayErrorStatus(URI address, int status);
+
+    /**
+     * Callback when a one-way invocation on a REST reference fails.
+     *
+     * @param address the target address
+     * @param e       the error
+     */
+    @Severe("One-way REST invocation to {0} failed")
+    void oneWayError(URI address, Throwable e);
+
+    /**
+     * Callback when the resources deployed under a binding URI cannot be built. Requests continue to be served by the previous resources, if any.
+     *
+     * @param path the binding URI
+     * @param e    the error
+     */
+    @Severe("Error building REST resources at {0}")
+    void reloadError(String path, Throwable e);
+
 }
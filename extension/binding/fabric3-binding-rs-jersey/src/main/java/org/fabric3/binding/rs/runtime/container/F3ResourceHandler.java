@@ -1,10 +1,13 @@
 package org.fabric3.binding.rs.runtime.container;
 
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import org.fabric3.spi.container.invocation.Message;
 import org.fabric3.spi.container.invocation.MessageCache;
@@ -69,6 +72,40 @@ public class F3ResourceHandler {
         }
     }
 
+    /**
+     * Dispatches an invocation for a resource method that returns a {@link CompletionStage}. The request has been suspended by Jersey and is resumed when the
+     * stage returned by the component completes. The container thread is released as soon as the component returns the stage.
+     *
+     * @param method   the resource method
+     * @param args     the invocation arguments
+     * @param response the suspended response
+     */
+    public void invokeAsync(Method method, Object[] args, AsyncResponse response) {
+        Object result;
+        try {
+            result = invoke(method, args);
+        } catch (InvocationTargetException e) {
+            response.resume(e.getCause());
+            return;
+        } catch (Throwable e) {
+            response.resume(e);
+            return;
+        }
+        if (result == null) {
+            response.resume((Object) null);
+            return;
+        }
+        ((CompletionStage<?>) result).whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                response.resume(value);
+            } else if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                response.resume(throwable.getCause());
+            } else {
+                response.resume(throwable);
+            }
+        });
+    }
+
     private Object handleFault(Message ret) throws InvocationTargetException {
         if (ret.getBody() instanceof ServiceRuntimeException) {
             ServiceRuntimeException e = (ServiceRuntimeException) ret.getBody();
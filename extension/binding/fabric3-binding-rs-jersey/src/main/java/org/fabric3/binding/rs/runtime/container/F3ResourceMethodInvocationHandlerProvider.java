@@ -16,21 +16,32 @@
  */
 package org.fabric3.binding.rs.runtime.container;
 
+import javax.inject.Inject;
+import javax.inject.Provider;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
 
+import org.glassfish.jersey.server.internal.process.AsyncContext;
 import org.glassfish.jersey.server.model.Invocable;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
 import org.jvnet.hk2.annotations.Contract;
 
 /**
- * Passes an invocation from Jersey to Fabric3.
+ * Passes an invocation from Jersey to Fabric3. Resource methods returning a {@link CompletionStage} are dispatched asynchronously and the suspended request is
+ * resumed when the stage completes.
  */
 @Contract
 public class F3ResourceMethodInvocationHandlerProvider implements ResourceMethodInvocationHandlerProvider {
     private static final Handler HANDLER = new Handler();
 
+    @Inject
+    private Provider<AsyncContext> asyncContext;
+
     public InvocationHandler create(Invocable method) {
+        if (CompletionStage.class.isAssignableFrom(method.getHandlingMethod().getReturnType())) {
+            return new AsyncHandler();
+        }
         return HANDLER;
     }
 
@@ -39,4 +50,12 @@ public class F3ResourceMethodInvocationHandlerProvider implements ResourceMethod
             return ((F3ResourceHandler) proxy).invoke(method, args);
         }
     }
+
+    private class AsyncHandler implements InvocationHandler {
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // the request was suspended by Jersey before dispatch; the value returned here is ignored
+            ((F3ResourceHandler) proxy).invokeAsync(method, args, asyncContext.get());
+            return null;
+        }
+    }
 }
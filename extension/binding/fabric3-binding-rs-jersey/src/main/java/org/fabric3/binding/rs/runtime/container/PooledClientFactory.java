@@ -0,0 +1,121 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.ws.rs.client.Client;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.fabric3.api.annotation.Source;
+import org.fabric3.binding.rs.provision.RsWireTarget;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.Property;
+
+/**
+ * Creates clients backed by the Apache HTTP connector. Each client has its own connection pool sized from the binding configuration so that keep-alive
+ * connections are reused across invocations. If an idle timeout is configured, idle pooled connections are closed periodically.
+ */
+public class PooledClientFactory implements RsClientFactory {
+    private int maxConnections = 20;
+
+    private Map<Client, PoolingHttpClientConnectionManager> managers = new ConcurrentHashMap<>();
+    private Map<Client, ScheduledFuture<?>> evictions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService evictor;
+
+    @Property(required = false)
+    @Source("$systemConfig/f3:binding.rs/@max.connections")
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    @Destroy
+    public synchronized void destroy() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        managers.keySet().forEach(Client::close);
+        managers.clear();
+    }
+
+    public Client create(RsWireTarget target) {
+        int max = target.getMaxConnections() > 0 ? target.getMaxConnections() : maxConnections;
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+        manager.setMaxTotal(max);
+        manager.setDefaultMaxPerRoute(max);
+
+        ClientConfig config = new ClientConfig();
+        config.connectorProvider(new ApacheConnectorProvider());
+        config.property(ApacheClientProperties.CONNECTION_MANAGER, manager);
+        if (target.getConnectTimeout() >= 0) {
+            config.property(ClientProperties.CONNECT_TIMEOUT, (int) target.getConnectTimeout());
+        }
+        if (target.getReadTimeout() >= 0) {
+            config.property(ClientProperties.READ_TIMEOUT, (int) target.getReadTimeout());
+        }
+        config.register(JacksonJaxbJsonProvider.class);
+
+        // initialize the client runtime with the extension classloader so providers are resolved once rather than on each invocation
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
+            JerseyClient client = JerseyClientBuilder.createClient(config);
+            client.preInitialize();
+            managers.put(client, manager);
+            long idleTimeout = target.getIdleTimeout();
+            if (idleTimeout > 0) {
+                Runnable task = () -> manager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+                evictions.put(client, getEvictor().scheduleWithFixedDelay(task, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS));
+            }
+            return client;
+        } finally {
+            Thread.currentThread().setContextClassLoader(old);
+        }
+    }
+
+    public void release(Client client) {
+        ScheduledFuture<?> eviction = evictions.remove(client);
+        if (eviction != null) {
+            eviction.cancel(false);
+        }
+        managers.remove(client);
+        // closing the client shuts down its connection manager
+        client.close();
+    }
+
+    private synchronized ScheduledExecutorService getEvictor() {
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "Fabric3 REST connection evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return evictor;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.ws.rs.client.Client;
+
+import org.fabric3.binding.rs.provision.RsWireTarget;
+
+/**
+ * Creates JAX-RS clients used by reference bindings. Implementations determine the HTTP connector and how connections are pooled.
+ */
+public interface RsClientFactory {
+
+    /**
+     * Creates a client configured for the given binding target. The returned client is fully initialized and may be used from any thread.
+     *
+     * @param target the binding target
+     * @return the client
+     */
+    Client create(RsWireTarget target);
+
+    /**
+     * Releases a client and its pooled connections.
+     *
+     * @param client the client
+     */
+    void release(Client client);
+
+}
@@ -22,37 +22,64 @@ import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Response;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.fabric3.binding.rs.runtime.RsWireAttacherMonitor;
 import org.fabric3.spi.container.invocation.Message;
 import org.fabric3.spi.container.wire.Interceptor;
 import org.oasisopen.sca.ServiceRuntimeException;
 
 /**
- *
+ * Dispatches an invocation to a REST resource. One-way operations and operations returning a future are dispatched asynchronously without blocking the
+ * calling thread.
  */
 public class RsClientInterceptor implements Interceptor {
     private RsClientResponse response;
+    private URI uri;
+    private boolean oneWay;
+    private boolean future;
+    private RsWireAttacherMonitor monitor;
 
-    public RsClientInterceptor(String operName, Class<?> interfaze, URI uri, List<Class<?>> classes) throws Exception {
-        response = createResponseConfiguration(uri, interfaze, operName, classes);
+    public RsClientInterceptor(String operName,
+                               Class<?> interfaze,
+                               URI uri,
+                               List<Class<?>> classes,
+                               boolean oneWay,
+                               Client client,
+                               RsWireAttacherMonitor monitor) throws Exception {
+        this.uri = uri;
+        this.oneWay = oneWay;
+        this.monitor = monitor;
+        response = createResponseConfiguration(uri, interfaze, operName, classes, client);
     }
 
     public Message invoke(Message message) {
         Object[] args = (Object[]) message.getBody();
-        ClassLoader old = Thread.currentThread().getContextClassLoader();
         try {
-            Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
-            Object body = response.build(args);
-            message.reset();
-            message.setBody(body);
+            if (oneWay) {
+                response.submit(args, new OneWayCallback());
+                message.reset();
+            } else if (future) {
+                CompletableFuture<Object> result = new CompletableFuture<>();
+                response.submit(args, new FutureCallback(result));
+                message.reset();
+                message.setBody(result);
+            } else {
+                Object body = response.build(args);
+                message.reset();
+                message.setBody(body);
+            }
         } catch (RuntimeException e) {
             throw new ServiceRuntimeException(e);
-        } finally {
-            Thread.currentThread().setContextClassLoader(old);
         }
         return message;
     }
@@ -65,12 +92,20 @@ public class RsClientInterceptor implements Interceptor {
         return null;
     }
 
-    private RsClientResponse createResponseConfiguration(URI uri, Class<?> interfaze, String operation, List<Class<?>> args) throws Exception {
+    private RsClientResponse createResponseConfiguration(URI uri, Class<?> interfaze, String operation, List<Class<?>> args, Client client)
+            throws Exception {
         ClassLoader old = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
             Method m = interfaze.getMethod(operation, args.toArray(new Class[args.size()]));
-            RsClientResponse cfg = new RsClientResponse(m.getReturnType(), uri);
+            Class<?> returnType = m.getReturnType();
+            Type resultType = m.getGenericReturnType();
+            future = !oneWay && returnType != Object.class && returnType.isAssignableFrom(CompletableFuture.class);
+            if (future) {
+                // read the entity as the type parameter of the future
+                resultType = resultType instanceof ParameterizedType ? ((ParameterizedType) resultType).getActualTypeArguments()[0] : Object.class;
+            }
+            RsClientResponse cfg = new RsClientResponse(resultType, uri, client);
             cfg = cfg.
                     // Class level
                             withPath(interfaze.getAnnotation(Path.class)).
@@ -93,4 +128,47 @@ public class RsClientInterceptor implements Interceptor {
         }
     }
 
+    /**
+     * Completes the future returned to the client when the response is received.
+     */
+    private class FutureCallback implements InvocationCallback<Response> {
+        private CompletableFuture<Object> result;
+
+        public FutureCallback(CompletableFuture<Object> result) {
+            this.result = result;
+        }
+
+        public void completed(Response value) {
+            try {
+                result.complete(response.readResult(value));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        public void failed(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * Reports errors for one-way invocations since there is no caller to return them to.
+     */
+    private class OneWayCallback implements InvocationCallback<Response> {
+
+        public void completed(Response value) {
+            try {
+                if (value.getStatus() >= 400) {
+                    monitor.oneWayErrorStatus(uri, value.getStatus());
+                }
+            } finally {
+                value.close();
+            }
+        }
+
+        public void failed(Throwable throwable) {
+            monitor.oneWayError(uri, throwable);
+        }
+    }
+
 }
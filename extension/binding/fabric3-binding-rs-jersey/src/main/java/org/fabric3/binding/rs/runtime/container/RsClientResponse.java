@@ -10,25 +10,22 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
-import javax.ws.rs.core.UriBuilder;
+import java.io.Closeable;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
-import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
-
 /**
- * Builds Jersey Client REST Responses.
+ * Builds Jersey Client REST Responses. The target URI template is resolved once and reused; only path and query parameters are applied per invocation.
  */
 public class RsClientResponse {
 
@@ -39,12 +36,21 @@ public class RsClientResponse {
     private String[] producesTypes = new String[]{MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML};
     private String[] consumesTypes = new String[]{MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML};
     private final URI uri;
-    private final Class<?> resultType;
-    private Client clientAPI;
-
-    public RsClientResponse(Class<?> resType, URI wr) {
-        this.uri = wr;
-        this.resultType = resType != void.class ? resType : null;
+    private final GenericType<?> resultType;
+    private final Client client;
+    private volatile WebTarget template;
+
+    /**
+     * Constructor.
+     *
+     * @param resType the type returned from the invocation or void
+     * @param uri     the target URI
+     * @param client  the client to invoke the target with
+     */
+    public RsClientResponse(Type resType, URI uri, Client client) {
+        this.uri = uri;
+        this.client = client;
+        this.resultType = resType != void.class && resType != Void.class ? new GenericType<>(resType) : null;
     }
 
     public <T extends Annotation> RsClientResponse withAction(T annotation) {
@@ -85,88 +91,119 @@ public class RsClientResponse {
         }
     }
 
+    /**
+     * Invokes the target synchronously.
+     *
+     * @param paramValues the invocation parameters
+     * @return the result
+     */
     public Object build(Object[] paramValues) {
-        if (uri == null) {
-            throw new IllegalStateException("No web resource configured !!!");
+        Response response = createInvocation(paramValues).invoke();
+        return readResult(response);
+    }
+
+    /**
+     * Invokes the target asynchronously.
+     *
+     * @param paramValues the invocation parameters
+     * @param callback    the callback to notify with the result
+     */
+    public void submit(Object[] paramValues, InvocationCallback<Response> callback) {
+        createInvocation(paramValues).submit(callback);
+    }
+
+    /**
+     * Reads the result from a response. The response is closed to release its pooled connection unless the result is a stream handed back to the caller, in
+     * which case closing the stream releases the connection.
+     *
+     * @param response the response
+     * @return the result or null if the invocation is void
+     * @throws WebApplicationException if the response is an error
+     */
+    public Object readResult(Response response) {
+        Object result = null;
+        try {
+            int st = response.getStatus();
+            if (st >= 400) {
+                // TODO:  Debugging, need to be replaced by logger
+                System.err.println(response.getEntity());
+                throw new WebApplicationException(st);
+            }
+            if (resultType != null) {
+                result = response.readEntity(resultType);
+            }
+            return result;
+        } finally {
+            if (!(result instanceof Closeable)) {
+                response.close();
+            }
         }
-        WebTarget wr = initResource(paramValues);
+    }
 
+    private Invocation createInvocation(Object[] paramValues) {
+        WebTarget wr = initResource(paramValues);
         Invocation.Builder builder = wr.request(producesTypes);
         builder.accept(consumesTypes);
-        Response response = handleAction(builder, paramValues, producesTypes[0]);
-        Object result;
-        int st = response.getStatus();
-        if (st >= 400) {
-            // TODO:  Debugging, need to be replaced by logger
-            System.err.println(response.getEntity());
-            throw new WebApplicationException(st);
-        }
-        if (resultType != null) {
-            result = response.readEntity(resultType);
-        } else {
-            result = response.getEntity();
-        }
-        return result;
+        return handleAction(builder, paramValues, producesTypes[0]);
     }
 
     private WebTarget initResource(Object[] paramValues) {
-        UriBuilder builder = UriBuilder.fromUri(uri);
-        HashMap<String, Object> pathElements = new HashMap<>();
-        MultivaluedMap<String, String> query = new StringKeyIgnoreCaseMultivaluedMap<>();
+        if (uri == null) {
+            throw new IllegalStateException("No web resource configured !!!");
+        }
+        WebTarget resource = template;
+        if (resource == null) {
+            resource = client.target(uri).path(path);
+            template = resource;
+        }
+        if (paramValues == null) {
+            return resource;
+        }
 
         // Configuring parameters for path and query
-        if (paramValues != null) {
-            int length = paramValues.length;
-            for (int i = 0; i < length; i++) {
-                Object value = paramValues[i];
-
-                String queryParameterName = queryParamNames.get(i);
-                String pathElementName = pathParamNames.get(i);
-
-                if (value != null && queryParameterName != null) {
-                    query.add(queryParameterName, value.toString());
-                }
-                if (value != null && pathElementName != null) {
-                    pathElements.put(pathElementName, value);
+        Map<String, Object> pathElements = null;
+        for (int i = 0; i < paramValues.length; i++) {
+            Object value = paramValues[i];
+            if (value == null) {
+                continue;
+            }
+            String pathElementName = pathParamNames.get(i);
+            if (pathElementName != null) {
+                if (pathElements == null) {
+                    pathElements = new HashMap<>();
                 }
+                pathElements.put(pathElementName, value);
             }
         }
-
-        if (clientAPI == null) {
-            //Web Resource Config details
-            clientAPI = ClientBuilder.newClient();
-            clientAPI.register(JacksonJaxbJsonProvider.class);
+        if (pathElements != null) {
+            resource = resource.resolveTemplates(pathElements);
         }
-
-        //Apply path params
-        URI buildURI = builder.path(path).buildFromMap(pathElements);
-
-        //Build Web Resource
-        WebTarget resource = clientAPI.target(buildURI);
-
-        //Apply query params
-        for (Map.Entry<String, List<String>> entry : query.entrySet()) {
-            resource.queryParam(entry.getKey(), entry.getValue().toArray(new Object[entry.getValue().size()]));
+        for (int i = 0; i < paramValues.length; i++) {
+            Object value = paramValues[i];
+            String queryParameterName = queryParamNames.get(i);
+            if (value != null && queryParameterName != null) {
+                resource = resource.queryParam(queryParameterName, value.toString());
+            }
         }
         return resource;
     }
 
-    private Response handleAction(Invocation.Builder builder, Object[] paramValues, String mediaType) {
+    private Invocation handleAction(Invocation.Builder builder, Object[] paramValues, String mediaType) {
         if (action == null) {
-            return null;
+            throw new IllegalStateException("HTTP method not specified for " + path);
         } else if (action.annotationType() == PUT.class) {
             for (int i = 0; i < paramValues.length; i++) {
                 String query = queryParamNames.get(i);
                 String path = pathParamNames.get(i);
                 if (query == null && path == null) {
                     // First non query/path parameter
-                    return builder.buildPut(Entity.entity(paramValues[i], mediaType)).invoke();
+                    return builder.buildPut(Entity.entity(paramValues[i], mediaType));
                 }
             }
         } else if (action.annotationType() == POST.class) {
             throw new UnsupportedOperationException();
         } else if (action.annotationType() == GET.class) {
-            return builder.get();
+            return builder.buildGet();
         }
         throw new WebApplicationException(Response.Status.PRECONDITION_FAILED.getStatusCode());
     }
@@ -37,24 +37,39 @@ import java.io.UnsupportedEncodingException;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.binding.rs.runtime.RsWireAttacherMonitor;
 import org.fabric3.binding.rs.runtime.provider.NameBindingFilterProvider;
 import org.fabric3.binding.rs.runtime.provider.ProviderRegistry;
 import org.fabric3.spi.container.invocation.WorkContext;
 import org.fabric3.spi.container.invocation.WorkContextCache;
+import org.glassfish.jersey.internal.Errors;
 import org.glassfish.jersey.jackson.JacksonFeature;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.model.RuntimeResource;
+import org.glassfish.jersey.server.model.RuntimeResourceModelValidator;
 import org.glassfish.jersey.servlet.ServletContainer;
 
 /**
  * Dispatches to resources under a common binding URI path defined in a deployable contribution. Specifically, all binding.rs resources configured with the same
  * URI.
+ *
+ * Building the Jersey application model is expensive, so resources added during a deployment are not registered one at a time. Instead, the container is
+ * marked as changed and the Jersey servlet is rebuilt once over all resources when the next request is received. If a servlet is already active, it continues
+ * to serve requests on other threads while the replacement is built.
+ *
+ * Each resource is validated on its own as it is added so that deployment fails on an invalid resource without building a model over all resources. Conflicts
+ * between resources are detected when the servlet is rebuilt. If a rebuild fails, the error is reported once and the previously active servlet, if any,
+ * continues to serve requests. The rebuild is not retried until another resource is added.
  */
 @SuppressWarnings("NonSerializableFieldInSerializableClass")
 public final class RsContainer extends HttpServlet {
@@ -63,21 +78,35 @@ public final class RsContainer extends HttpServlet {
     private String path;
     private ProviderRegistry providerRegistry;
     private NameBindingFilterProvider provider;
+    private RsWireAttacherMonitor monitor;
 
-    private ServletContainer servlet;
+    private volatile ServletContainer servlet;
+    private volatile boolean changed;
+    private volatile Fabric3Exception error;
     private ServletConfig servletConfig;
     private List<Resource> resources;
+    private ReentrantLock reloadLock = new ReentrantLock();
 
-    public RsContainer(String path, ProviderRegistry providerRegistry, NameBindingFilterProvider provider) {
+    public RsContainer(String path, ProviderRegistry providerRegistry, NameBindingFilterProvider provider, RsWireAttacherMonitor monitor) {
         this.path = path;
         this.providerRegistry = providerRegistry;
         this.provider = provider;
+        this.monitor = monitor;
         this.resources = new ArrayList<>();
     }
 
+    /**
+     * Adds a resource to the container. The resource is registered with Jersey when the next request is received.
+     *
+     * @param resource the resource
+     * @throws Fabric3Exception if the resource is invalid
+     */
     public void addResource(Resource resource) throws Fabric3Exception {
-        resources.add(resource);
-        reload();
+        validate(resource);
+        synchronized (resources) {
+            resources.add(resource);
+            changed = true;
+        }
     }
 
     public void init(ServletConfig config) {
@@ -94,7 +123,7 @@ public final class RsContainer extends HttpServlet {
 
             workContext.setHeader("fabric3.httpRequest", req);
             workContext.setHeader("fabric3.httpResponse", res);
-            servlet.service(req, res);
+            getServlet().service(req, res);
         } catch (ServletException | IOException se) {
             se.printStackTrace();
             throw se;
@@ -107,8 +136,52 @@ public final class RsContainer extends HttpServlet {
         }
     }
 
-    private void reload() throws Fabric3Exception {
+    /**
+     * Returns the active Jersey servlet, rebuilding it first if resources were added since it was created.
+     *
+     * @return the servlet
+     * @throws Fabric3Exception if there is an error building the servlet
+     */
+    private ServletContainer getServlet() throws Fabric3Exception {
+        ServletContainer current = servlet;
+        if (!changed) {
+            if (current != null) {
+                return current;
+            } else if (error != null) {
+                // the last rebuild failed and no resources were added since
+                throw error;
+            }
+        }
+        if (current == null) {
+            reloadLock.lock();
+        } else if (!reloadLock.tryLock()) {
+            // another thread is rebuilding the servlet; continue to dispatch to the existing one
+            return current;
+        }
         try {
+            if (changed || (servlet == null && error == null)) {
+                reload();
+            }
+            if (servlet == null) {
+                throw error;
+            }
+            return servlet;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the Jersey servlet over all resources. If the rebuild fails, the error is reported and the previously active servlet is retained.
+     */
+    private void reload() {
+        try {
+            List<Resource> snapshot;
+            synchronized (resources) {
+                snapshot = new ArrayList<>(resources);
+                changed = false;
+            }
+
             // register contribution resources
             ResourceConfig resourceConfig = new ResourceConfig();
             resourceConfig.register(JacksonFeature.class);
@@ -120,14 +193,49 @@ public final class RsContainer extends HttpServlet {
             }
             resourceConfig.register(provider);
 
-            for (Resource resource : resources) {
+            for (Resource resource : snapshot) {
                 resourceConfig.registerResources(resource);
             }
 
-            servlet = new ServletContainer(resourceConfig);
-            servlet.init(servletConfig);
+            ServletContainer container = new ServletContainer(resourceConfig);
+            container.init(servletConfig);
+            servlet = container;
+            error = null;
         } catch (Throwable t) {
-            throw new Fabric3Exception(t);
+            error = new Fabric3Exception("Error building REST resources at " + path, t);
+            monitor.reloadError(path, t);
+        }
+    }
+
+    /**
+     * Validates a resource without building the Jersey application.
+     *
+     * @param resource the resource
+     * @throws Fabric3Exception if the resource is invalid
+     */
+    private void validate(Resource resource) throws Fabric3Exception {
+        try {
+            Errors.processWithException(() -> {
+                ResourceModel model = new ResourceModel.Builder(Collections.singletonList(resource), false).build();
+                // media types are only checked against resource method declarations since message body workers are available once Jersey is built
+                RuntimeResourceModelValidator validator = new RuntimeResourceModelValidator(null);
+                for (RuntimeResource runtimeResource : model.getRuntimeResourceModel().getRuntimeResources()) {
+                    validate(runtimeResource, validator);
+                }
+            });
+        } catch (Errors.ErrorMessagesException e) {
+            StringBuilder builder = new StringBuilder("Invalid REST resource at ").append(path).append(":");
+            for (Errors.ErrorMessage message : e.getMessages()) {
+                builder.append("\n").append(message.getMessage());
+            }
+            throw new Fabric3Exception(builder.toString());
+        }
+    }
+
+    private void validate(RuntimeResource runtimeResource, RuntimeResourceModelValidator validator) {
+        validator.visitRuntimeResource(runtimeResource);
+        for (RuntimeResource child : runtimeResource.getChildRuntimeResources()) {
+            validate(child, validator);
         }
     }
 
@@ -0,0 +1,105 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.ws.rs.container.AsyncResponse;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.spi.container.invocation.Message;
+import org.fabric3.spi.container.invocation.MessageImpl;
+import org.fabric3.spi.container.wire.Interceptor;
+import org.fabric3.spi.container.wire.InvocationChain;
+
+/**
+ *
+ */
+public class F3ResourceHandlerTestCase extends TestCase {
+    private Interceptor interceptor;
+    private F3ResourceHandler handler;
+    private Method method;
+
+    public void testResumeOnCompletion() throws Exception {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        returnBody(future);
+
+        AsyncResponse response = EasyMock.createMock(AsyncResponse.class);
+        EasyMock.expect(response.resume("result")).andReturn(true);
+        EasyMock.replay(interceptor, response);
+
+        handler.invokeAsync(method, new Object[0], response);
+
+        // the invocation returns before the stage completes
+        EasyMock.verify(interceptor);
+        future.complete("result");
+        EasyMock.verify(response);
+    }
+
+    public void testResumeOnExceptionalCompletion() throws Exception {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        returnBody(future);
+
+        IllegalStateException exception = new IllegalStateException();
+        AsyncResponse response = EasyMock.createMock(AsyncResponse.class);
+        EasyMock.expect(response.resume(exception)).andReturn(true);
+        EasyMock.replay(interceptor, response);
+
+        handler.invokeAsync(method, new Object[0], response);
+        future.completeExceptionally(exception);
+
+        EasyMock.verify(interceptor, response);
+    }
+
+    public void testResumeOnFault() throws Exception {
+        IllegalStateException exception = new IllegalStateException();
+        MessageImpl ret = new MessageImpl();
+        ret.setBodyWithFault(exception);
+        EasyMock.expect(interceptor.invoke(EasyMock.isA(Message.class))).andReturn(ret);
+
+        AsyncResponse response = EasyMock.createMock(AsyncResponse.class);
+        EasyMock.expect(response.resume(exception)).andReturn(true);
+        EasyMock.replay(interceptor, response);
+
+        handler.invokeAsync(method, new Object[0], response);
+
+        EasyMock.verify(interceptor, response);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        method = AsyncResource.class.getMethod("get");
+        interceptor = EasyMock.createMock(Interceptor.class);
+        InvocationChain chain = EasyMock.createMock(InvocationChain.class);
+        EasyMock.expect(chain.getHeadInterceptor()).andReturn(interceptor).anyTimes();
+        EasyMock.replay(chain);
+        handler = new F3ResourceHandler(AsyncResource.class, Collections.singletonMap("get", chain));
+    }
+
+    private void returnBody(Object body) {
+        MessageImpl ret = new MessageImpl();
+        ret.setBody(body);
+        EasyMock.expect(interceptor.invoke(EasyMock.isA(Message.class))).andReturn(ret);
+    }
+
+    public interface AsyncResource {
+        CompletionStage<String> get();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.Client;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.binding.rs.provision.RsWireTarget;
+import org.fabric3.binding.rs.runtime.RsWireAttacherMonitor;
+import org.fabric3.spi.container.invocation.Message;
+import org.fabric3.spi.container.invocation.MessageImpl;
+import org.oasisopen.sca.ServiceRuntimeException;
+
+/**
+ *
+ */
+public class RsClientInterceptorTestCase extends TestCase {
+    private HttpServer server;
+    private URI uri;
+    private PooledClientFactory factory;
+    private Client client;
+    private volatile String requestUri;
+    private CountDownLatch latch;
+
+    public void testInvoke() throws Exception {
+        RsClientInterceptor interceptor = createInterceptor("get", false, String.class, String.class);
+
+        Message message = invoke(interceptor, "123", "bar");
+
+        assertEquals("result", message.getBody());
+        assertEquals("/test/123?filter=bar", requestUri);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testInvokeFuture() throws Exception {
+        RsClientInterceptor interceptor = createInterceptor("getAsync", false, String.class);
+
+        Message message = invoke(interceptor, "456");
+
+        CompletionStage<String> stage = (CompletionStage<String>) message.getBody();
+        assertEquals("result", stage.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals("/test/456", requestUri);
+    }
+
+    public void testInvokeOneWay() throws Exception {
+        RsClientInterceptor interceptor = createInterceptor("notify", true, String.class);
+
+        Message message = invoke(interceptor, "789");
+
+        assertNull(message.getBody());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("/test/789", requestUri);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testErrorResponsesReleaseConnections() throws Exception {
+        RsClientInterceptor interceptor = createInterceptor("get", false, String.class, String.class);
+        RsClientInterceptor asyncInterceptor = createInterceptor("getAsync", false, String.class);
+
+        // more error responses than pooled connections; a connection that is not released blocks the next request
+        CompletableFuture<Void> errors = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 10; i++) {
+                try {
+                    invoke(interceptor, "missing", "bar");
+                    fail();
+                } catch (ServiceRuntimeException e) {
+                    assertTrue(e.getCause() instanceof WebApplicationException);
+                }
+                CompletionStage<String> stage = (CompletionStage<String>) invoke(asyncInterceptor, "missing").getBody();
+                try {
+                    stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+                    fail();
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof WebApplicationException);
+                } catch (InterruptedException | TimeoutException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        });
+        errors.get(10, TimeUnit.SECONDS);
+
+        assertEquals("result", invoke(interceptor, "123", "bar").getBody());
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        latch = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requestUri = exchange.getRequestURI().toString();
+            byte[] bytes = "result".getBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(requestUri.contains("missing") ? 404 : 200, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+            latch.countDown();
+        });
+        server.start();
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/test");
+
+        RsWireTarget target = new RsWireTarget(uri, TestResource.class);
+        target.setMaxConnections(2);
+        target.setConnectTimeout(5000);
+        target.setReadTimeout(5000);
+        target.setIdleTimeout(1000);
+        factory = new PooledClientFactory();
+        client = factory.create(target);
+    }
+
+    public void tearDown() throws Exception {
+        factory.release(client);
+        factory.destroy();
+        server.stop(0);
+        super.tearDown();
+    }
+
+    private RsClientInterceptor createInterceptor(String operation, boolean oneWay, Class<?>... types) throws Exception {
+        RsWireAttacherMonitor monitor = EasyMock.createMock(RsWireAttacherMonitor.class);
+        EasyMock.replay(monitor);
+        return new RsClientInterceptor(operation, TestResource.class, uri, Arrays.asList(types), oneWay, client, monitor);
+    }
+
+    private Message invoke(RsClientInterceptor interceptor, Object... args) {
+        Message message = new MessageImpl();
+        message.setBody(args);
+        return interceptor.invoke(message);
+    }
+
+    @Path("items")
+    public interface TestResource {
+
+        @GET
+        @Path("{id}")
+        @Produces("text/plain")
+        String get(@PathParam("id") String id, @QueryParam("filter") String filter);
+
+        @GET
+        @Path("{id}")
+        @Produces("text/plain")
+        CompletionStage<String> getAsync(@PathParam("id") String id);
+
+        @GET
+        @Path("{id}")
+        @Produces("text/plain")
+        void notify(@PathParam("id") String id);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.container.ContainerRequestContext;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.binding.rs.runtime.RsWireAttacherMonitor;
+import org.fabric3.binding.rs.runtime.provider.NameBindingFilterProvider;
+import org.fabric3.binding.rs.runtime.provider.ProviderRegistry;
+import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.server.model.Resource;
+
+/**
+ *
+ */
+public class RsContainerTestCase extends TestCase {
+    private ProviderRegistry providerRegistry;
+    private RsWireAttacherMonitor monitor;
+    private RsContainer container;
+
+    public void testResourcesRegisteredOnceOnRequest() throws Exception {
+        EasyMock.expect(providerRegistry.getGlobalProvider()).andReturn(Collections.emptyList()).once();
+        EasyMock.replay(providerRegistry);
+
+        container.addResource(createResource("one"));
+        container.addResource(createResource("two"));
+        container.addResource(createResource("three"));
+
+        container.service(createRequest(), createResponse());
+        container.service(createRequest(), createResponse());
+
+        EasyMock.verify(providerRegistry);
+    }
+
+    public void testReloadAfterAdd() throws Exception {
+        EasyMock.expect(providerRegistry.getGlobalProvider()).andReturn(Collections.emptyList()).times(2);
+        EasyMock.replay(providerRegistry);
+
+        container.addResource(createResource("one"));
+        container.service(createRequest(), createResponse());
+
+        container.addResource(createResource("two"));
+        container.service(createRequest(), createResponse());
+
+        EasyMock.verify(providerRegistry);
+    }
+
+    public void testFailedRebuildKeepsActiveServlet() throws Exception {
+        EasyMock.expect(providerRegistry.getGlobalProvider()).andReturn(Collections.emptyList());
+        EasyMock.expect(providerRegistry.getGlobalProvider()).andThrow(new IllegalStateException("test"));
+        monitor.reloadError(EasyMock.eq("/test"), EasyMock.isA(IllegalStateException.class));
+        EasyMock.replay(providerRegistry, monitor);
+
+        container.addResource(createResource("one"));
+        container.service(createRequest(), createResponse());
+
+        container.addResource(createResource("two"));
+        // the failed rebuild is reported and requests continue to be served by the previous servlet without rebuilding again
+        container.service(createRequest(), createResponse());
+        container.service(createRequest(), createResponse());
+
+        EasyMock.verify(providerRegistry, monitor);
+    }
+
+    public void testFailedInitialBuildNotRetried() throws Exception {
+        EasyMock.expect(providerRegistry.getGlobalProvider()).andThrow(new IllegalStateException("test"));
+        monitor.reloadError(EasyMock.eq("/test"), EasyMock.isA(IllegalStateException.class));
+        EasyMock.replay(providerRegistry, monitor);
+
+        container.addResource(createResource("one"));
+        for (int i = 0; i < 2; i++) {
+            try {
+                container.service(createRequest(), createResponse());
+                fail();
+            } catch (ServletException e) {
+                // expected
+            }
+        }
+
+        EasyMock.verify(providerRegistry, monitor);
+    }
+
+    public void testInvalidResourceRejectedOnAdd() throws Exception {
+        EasyMock.replay(providerRegistry, monitor);
+
+        Resource.Builder builder = Resource.builder("one");
+        // ambiguous resource methods
+        builder.addMethod("GET").handledBy(new TestInflector());
+        builder.addMethod("GET").handledBy(new TestInflector());
+        try {
+            container.addResource(builder.build());
+            fail();
+        } catch (Fabric3Exception e) {
+            // expected
+        }
+
+        EasyMock.verify(providerRegistry, monitor);
+    }
+
+    public void testConflictingResourceKeepsActiveServlet() throws Exception {
+        EasyMock.expect(providerRegistry.getGlobalProvider()).andReturn(Collections.emptyList()).times(2);
+        monitor.reloadError(EasyMock.eq("/test"), EasyMock.isA(Throwable.class));
+        EasyMock.replay(providerRegistry, monitor);
+
+        container.addResource(createResource("one"));
+        container.service(createRequest(), createResponse());
+
+        // the resource is valid on its own but conflicts with the existing resource when the servlet is rebuilt
+        container.addResource(createResource("one"));
+        container.service(createRequest(), createResponse());
+        container.service(createRequest(), createResponse());
+
+        EasyMock.verify(providerRegistry, monitor);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        providerRegistry = EasyMock.createMock(ProviderRegistry.class);
+        NameBindingFilterProvider provider = EasyMock.createNiceMock(NameBindingFilterProvider.class);
+        EasyMock.replay(provider);
+        monitor = EasyMock.createMock(RsWireAttacherMonitor.class);
+        container = new RsContainer("/test", providerRegistry, provider, monitor);
+
+        ServletContext context = EasyMock.createNiceMock(ServletContext.class);
+        ServletConfig config = EasyMock.createNiceMock(ServletConfig.class);
+        EasyMock.expect(config.getServletContext()).andReturn(context).anyTimes();
+        EasyMock.expect(config.getInitParameterNames()).andReturn(Collections.emptyEnumeration()).anyTimes();
+        EasyMock.expect(context.getInitParameterNames()).andReturn(Collections.emptyEnumeration()).anyTimes();
+        EasyMock.replay(context, config);
+        container.init(config);
+    }
+
+    private Resource createResource(String path) {
+        Resource.Builder builder = Resource.builder(path);
+        builder.addMethod("GET").handledBy(new TestInflector());
+        return builder.build();
+    }
+
+    private HttpServletResponse createResponse() {
+        HttpServletResponse response = EasyMock.createNiceMock(HttpServletResponse.class);
+        EasyMock.replay(response);
+        return response;
+    }
+
+    private static class TestInflector implements Inflector<ContainerRequestContext, String> {
+        public String apply(ContainerRequestContext context) {
+            return "test";
+        }
+    }
+
+    private HttpServletRequest createRequest() {
+        // the request is not routed to a resource since only model building is exercised
+        HttpServletRequest request = EasyMock.createNiceMock(HttpServletRequest.class);
+        EasyMock.expect(request.getMethod()).andReturn("GET").anyTimes();
+        EasyMock.expect(request.getRequestURL()).andReturn(new StringBuffer("http://localhost/test/unmapped")).anyTimes();
+        EasyMock.expect(request.getRequestURI()).andReturn("/test/unmapped").anyTimes();
+        EasyMock.expect(request.getHeaderNames()).andReturn(Collections.emptyEnumeration()).anyTimes();
+        EasyMock.replay(request);
+        return request;
+    }
+}
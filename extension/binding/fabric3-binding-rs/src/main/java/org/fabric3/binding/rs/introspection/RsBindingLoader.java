@@ -40,7 +40,7 @@ import org.oasisopen.sca.annotation.EagerInit;
 public class RsBindingLoader extends AbstractValidatingTypeLoader<RsBinding> {
 
     public RsBindingLoader() {
-        addAttributes("requires", "name", "policySets", "uri");
+        addAttributes("requires", "name", "policySets", "uri", "max.connections", "connect.timeout", "read.timeout", "idle.timeout");
     }
 
     public RsBinding load(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -63,10 +63,29 @@ public class RsBindingLoader extends AbstractValidatingTypeLoader<RsBinding> {
             return null;
         }
         RsBinding binding = new RsBinding(bindingName, uri);
+        binding.setMaxConnections((int) parseLong("max.connections", reader, context));
+        binding.setConnectTimeout(parseLong("connect.timeout", reader, context));
+        binding.setReadTimeout(parseLong("read.timeout", reader, context));
+        binding.setIdleTimeout(parseLong("idle.timeout", reader, context));
 
         validateAttributes(reader, context, binding);
 
         LoaderUtil.skipToEndElement(reader);
         return binding;
     }
+
+    private long parseLong(String name, XMLStreamReader reader, IntrospectionContext context) {
+        try {
+            String val = reader.getAttributeValue(null, name);
+            if (val == null) {
+                return -1;
+            }
+            return Long.parseLong(val);
+        } catch (NumberFormatException e) {
+            Location location = reader.getLocation();
+            InvalidValue error = new InvalidValue("Invalid value specified for " + name, location, e);
+            context.addError(error);
+            return -1;
+        }
+    }
 }
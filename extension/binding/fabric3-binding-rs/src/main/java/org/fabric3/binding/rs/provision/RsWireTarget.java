@@ -27,7 +27,11 @@ import org.fabric3.spi.model.physical.PhysicalWireTarget;
  */
 public class RsWireTarget extends PhysicalWireTarget {
     private Class<?> rsInterface;
-	
+    private int maxConnections = -1;
+    private long connectTimeout = -1;
+    private long readTimeout = -1;
+    private long idleTimeout = -1;
+
     public RsWireTarget(URI targetURI, Class<?> clazz) {
 		super();
 		setUri(targetURI);
@@ -37,5 +41,37 @@ public class RsWireTarget extends PhysicalWireTarget {
 	public Class<?> getProxyInterface() {
 		return rsInterface;
 	}
-    
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(long connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(long readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
 }
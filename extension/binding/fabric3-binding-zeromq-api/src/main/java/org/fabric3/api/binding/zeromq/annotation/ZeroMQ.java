@@ -111,4 +111,18 @@ public @interface ZeroMQ {
      */
     public String wireFormat() default "";
 
+    /**
+     * Specifies the maximum number of queued messages coalesced into a single send. A value of 1 disables batching.
+     *
+     * @return the maximum number of messages per batch
+     */
+    public int batchSize() default 1;
+
+    /**
+     * Specifies the time in milliseconds a sender may hold a partial batch waiting for additional messages.
+     *
+     * @return the batch latency in milliseconds
+     */
+    public long batchLatency() default 0;
+
 }
@@ -107,4 +107,16 @@ public class ZeroMQBindingBuilder extends AbstractBuilder {
         return this;
     }
 
+    public ZeroMQBindingBuilder batchSize(int value) {
+        checkState();
+        binding.getZeroMQMetadata().setBatchSize(value);
+        return this;
+    }
+
+    public ZeroMQBindingBuilder batchLatency(long value) {
+        checkState();
+        binding.getZeroMQMetadata().setBatchLatency(value);
+        return this;
+    }
+
 }
@@ -37,6 +37,8 @@ public class ZeroMQMetadata implements Serializable {
     private long receiveBuffer = -1;
     private String wireFormat;
     private long timeout = 10;  // in milliseconds; default to 10
+    private int batchSize = 1;
+    private long batchLatency;
 
     /**
      * Returns the list of hosts to connect or bind to or null if not explicitly set.
@@ -199,4 +201,40 @@ public class ZeroMQMetadata implements Serializable {
     public void setTimeout(long timeout) {
         this.timeout = timeout;
     }
+
+    /**
+     * Returns the maximum number of queued messages coalesced into a single multipart send. A value of 1 disables batching.
+     *
+     * @return the maximum number of messages per batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of queued messages coalesced into a single multipart send. A value of 1 disables batching.
+     *
+     * @param batchSize the maximum number of messages per batch
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the time in milliseconds a sender may hold a partial batch waiting for additional messages. If 0, only messages already queued are coalesced.
+     *
+     * @return the batch latency in milliseconds
+     */
+    public long getBatchLatency() {
+        return batchLatency;
+    }
+
+    /**
+     * Sets the time in milliseconds a sender may hold a partial batch waiting for additional messages. If 0, only messages already queued are coalesced.
+     *
+     * @param batchLatency the batch latency in milliseconds
+     */
+    public void setBatchLatency(long batchLatency) {
+        this.batchLatency = batchLatency;
+    }
 }
@@ -19,6 +19,7 @@ import org.fabric3.binding.zeromq.runtime.ZeroMQTransport;
 import org.fabric3.binding.zeromq.runtime.broker.ZeroMQPubSubBrokerImpl;
 import org.fabric3.binding.zeromq.runtime.broker.ZeroMQWireBrokerImpl;
 import org.fabric3.binding.zeromq.runtime.context.ContextManagerImpl;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManagerImpl;
 import org.fabric3.binding.zeromq.runtime.management.ZeroMQManagementServiceImpl;
 import org.fabric3.spi.model.type.system.SystemComponentBuilder;
 
@@ -36,6 +37,7 @@ public class ZeroMQProvider {
         compositeBuilder.component(SystemComponentBuilder.newBuilder(ZeroMQSourceAttacher.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(ZeroMQTargetAttacher.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(ContextManagerImpl.class).build());
+        compositeBuilder.component(SystemComponentBuilder.newBuilder(IOThreadManagerImpl.class).build());
 
         SystemComponentBuilder pubSubBuilder = SystemComponentBuilder.newBuilder(ZeroMQPubSubBrokerImpl.class);
         pubSubBuilder.reference("executorService", "RuntimeThreadPoolExecutor");
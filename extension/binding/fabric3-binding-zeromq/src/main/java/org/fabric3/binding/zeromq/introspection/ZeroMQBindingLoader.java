@@ -55,7 +55,9 @@ public class ZeroMQBindingLoader extends AbstractValidatingTypeLoader<ZeroMQBind
                       "multicast.recovery",
                       "send.buffer",
                       "receive.buffer",
-                      "wireFormat");
+                      "wireFormat",
+                      "batch.size",
+                      "batch.latency");
     }
 
     public ZeroMQBinding load(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -94,6 +96,8 @@ public class ZeroMQBindingLoader extends AbstractValidatingTypeLoader<ZeroMQBind
         long sendBuffer = parseLong("send.buffer", reader, context);
         long receiveBuffer = parseLong("receive.buffer", reader, context);
         String wireFormat = reader.getAttributeValue(null, "wireFormat");
+        long batchSize = parseLong("batch.size", reader, context);
+        long batchLatency = parseLong("batch.latency", reader, context);
 
         if (addresses != null) {
             List<SocketAddressDefinition> addressDefinitions = new ArrayList<>();
@@ -121,6 +125,12 @@ public class ZeroMQBindingLoader extends AbstractValidatingTypeLoader<ZeroMQBind
         metadata.setSendBuffer(sendBuffer);
         metadata.setReceiveBuffer(receiveBuffer);
         metadata.setWireFormat(wireFormat);
+        if (batchSize > 0) {
+            metadata.setBatchSize((int) batchSize);
+        }
+        if (batchLatency > 0) {
+            metadata.setBatchLatency(batchLatency);
+        }
 
         validateAttributes(reader, context, binding);
 
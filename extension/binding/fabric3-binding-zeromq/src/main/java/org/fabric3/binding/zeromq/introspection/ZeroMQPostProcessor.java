@@ -106,6 +106,8 @@ public class ZeroMQPostProcessor extends AbstractBindingPostProcessor<ZeroMQ> {
         metadata.setMulticastRecovery(annotation.multicastRecovery());
         metadata.setSendBuffer(annotation.sendBuffer());
         metadata.setWireFormat(annotation.wireFormat());
+        metadata.setBatchSize(annotation.batchSize());
+        metadata.setBatchLatency(annotation.batchLatency());
     }
 
     private void parseAddresses(ZeroMQ annotation, ZeroMQMetadata metadata, AnnotatedElement element, Class<?> implClass, IntrospectionContext context) {
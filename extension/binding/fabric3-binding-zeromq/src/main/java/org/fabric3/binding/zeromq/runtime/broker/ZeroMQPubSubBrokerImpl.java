@@ -144,7 +144,7 @@ public class ZeroMQPubSubBrokerImpl implements ZeroMQPubSubBroker, Fabric3EventL
         if (subscriber == null) {
             String id = subscriberId.toString();
 
-            EventStreamHandler head = createSubscriberHandlers(connection, loader);
+            EventStreamHandler head = createSubscriberHandlers(connection, metadata, loader);
 
             // attach the head handler going from the binding transport to connection head handler
             head.setNext(connection.getEventStream().getHeadHandler());
@@ -246,7 +246,7 @@ public class ZeroMQPubSubBrokerImpl implements ZeroMQPubSubBroker, Fabric3EventL
             } else {
                 publisher = new NonReliableQueuedPublisher(manager, address, metadata, pollTimeout, monitor);
             }
-            attachConnection(connection, publisher, loader);
+            attachConnection(connection, publisher, metadata, loader);
 
             if (discoveryAgent != null) {
                 ChannelEntry entry = new ChannelEntry();
@@ -266,7 +266,7 @@ public class ZeroMQPubSubBrokerImpl implements ZeroMQPubSubBroker, Fabric3EventL
             managementService.register(channelName, publisher);
         } else {
             Publisher publisher = holder.getPublisher();
-            attachConnection(connection, publisher, loader);
+            attachConnection(connection, publisher, metadata, loader);
             holder.getConnectionIds().add(connectionId);
         }
     }
@@ -309,7 +309,7 @@ public class ZeroMQPubSubBrokerImpl implements ZeroMQPubSubBroker, Fabric3EventL
         stopAll();
     }
 
-    private void attachConnection(ChannelConnection connection, Publisher publisher, ClassLoader loader) throws Fabric3Exception {
+    private void attachConnection(ChannelConnection connection, Publisher publisher, ZeroMQMetadata metadata, ClassLoader loader) throws Fabric3Exception {
         EventStream stream = connection.getEventStream();
         DataType dataType = getEventType(stream);
         EventStreamHandler transformer;
@@ -318,14 +318,29 @@ public class ZeroMQPubSubBrokerImpl implements ZeroMQPubSubBroker, Fabric3EventL
             transformer = handlerFactory.createHandler(dataType, TWO_DIMENSIONAL_BYTES, Collections.<Class<?>>emptyList(), loader);
         } else {
             // single frame data
-            transformer = handlerFactory.createHandler(dataType, BYTES, Collections.<Class<?>>emptyList(), loader);
+            transformer = handlerFactory.createHandler(dataType, getTransportType(metadata), Collections.<Class<?>>emptyList(), loader);
         }
 
         stream.addHandler(transformer);
         stream.addHandler(new PublisherHandler(publisher));
     }
 
-    private EventStreamHandler createSubscriberHandlers(ChannelConnection connection, ClassLoader loader) throws Fabric3Exception {
+    /**
+     * Returns the single frame transport type. If a wire format is configured, the type is qualified with it so that a transformer for the format is
+     * selected.
+     *
+     * @param metadata the binding metadata
+     * @return the transport type
+     */
+    private DataType getTransportType(ZeroMQMetadata metadata) {
+        String wireFormat = metadata.getWireFormat();
+        if (wireFormat == null || wireFormat.isEmpty()) {
+            return BYTES;
+        }
+        return new JavaType(byte[].class, wireFormat);
+    }
+
+    private EventStreamHandler createSubscriberHandlers(ChannelConnection connection, ZeroMQMetadata metadata, ClassLoader loader) throws Fabric3Exception {
         DataType dataType = getEventType(connection.getEventStream());
         EventStreamHandler head;
         if (dataType.getType().equals(byte[][].class)) {
@@ -333,7 +348,7 @@ public class ZeroMQPubSubBrokerImpl implements ZeroMQPubSubBroker, Fabric3EventL
             head = handlerFactory.createHandler(TWO_DIMENSIONAL_BYTES, dataType, Collections.<Class<?>>emptyList(), loader);
         } else {
             // single frame data
-            head = handlerFactory.createHandler(BYTES, dataType, Collections.<Class<?>>emptyList(), loader);
+            head = handlerFactory.createHandler(getTransportType(metadata), dataType, Collections.<Class<?>>emptyList(), loader);
         }
         return head;
     }
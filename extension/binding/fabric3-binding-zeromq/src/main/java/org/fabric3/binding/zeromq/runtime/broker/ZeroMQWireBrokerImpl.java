@@ -22,6 +22,7 @@ import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,7 @@ import org.fabric3.binding.zeromq.runtime.interceptor.OneWayInterceptor;
 import org.fabric3.binding.zeromq.runtime.interceptor.RequestReplyInterceptor;
 import org.fabric3.binding.zeromq.runtime.interceptor.UnwrappingInterceptor;
 import org.fabric3.binding.zeromq.runtime.interceptor.WrappingInterceptor;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManager;
 import org.fabric3.binding.zeromq.runtime.management.ZeroMQManagementService;
 import org.fabric3.binding.zeromq.runtime.message.DelegatingOneWaySender;
 import org.fabric3.binding.zeromq.runtime.message.DynamicOneWaySender;
@@ -92,6 +94,7 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
     private HostInfo info;
     private ZeroMQManagementService managementService;
     private ExecutorService executorService;
+    private IOThreadManager ioManager;
     private MessagingMonitor monitor;
     private long pollTimeout = 10000000;
     private TransformerInterceptorFactory interceptorFactory;
@@ -105,6 +108,7 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
                                 @Reference(required = false) DiscoveryAgent discoveryAgent,
                                 @Reference PortAllocator allocator,
                                 @Reference(name = "executorService") ExecutorService executorService,
+                                @Reference IOThreadManager ioManager,
                                 @Reference ZeroMQManagementService managementService,
                                 @Reference EventService eventService,
                                 @Reference TransformerInterceptorFactory interceptorFactory,
@@ -114,6 +118,7 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
         this.discoveryAgent = discoveryAgent;
         this.allocator = allocator;
         this.executorService = executorService;
+        this.ioManager = ioManager;
         this.managementService = managementService;
         this.eventService = eventService;
         this.interceptorFactory = interceptorFactory;
@@ -165,11 +170,12 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
             holder = createSender(uri.toString(), oneWay, metadata);
             managementService.registerSender(id, holder.getSender());
         }
+        List<DataType> transportTypes = getTransportTypes(metadata);
         for (int i = 0, chainsSize = chains.size(); i < chainsSize; i++) {
             InvocationChain chain = chains.get(i);
             PhysicalOperation physicalOperation = chain.getPhysicalOperation();
             List<DataType> sourceTypes = createTypes(physicalOperation);
-            Interceptor interceptor = interceptorFactory.createInterceptor(physicalOperation, sourceTypes, TRANSPORT_TYPES, loader, loader);
+            Interceptor interceptor = interceptorFactory.createInterceptor(physicalOperation, sourceTypes, transportTypes, loader, loader);
             chain.addInterceptor(interceptor);
             chain.addInterceptor(new UnwrappingInterceptor());
             interceptor = createInterceptor(holder, i);
@@ -226,14 +232,14 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
             address = new SocketAddress("tcp", host, port);
         }
 
-        addTransformer(chains, loader);
+        addTransformer(chains, metadata, loader);
 
         boolean oneWay = isOneWay(chains, uri);
         Receiver receiver;
         if (oneWay) {
-            receiver = new NonReliableOneWayReceiver(manager, address, chains, executorService, metadata, monitor);
+            receiver = new NonReliableOneWayReceiver(manager, address, chains, executorService, ioManager, metadata, monitor);
         } else {
-            receiver = new NonReliableRequestReplyReceiver(manager, address, chains, executorService, pollTimeout, metadata, monitor);
+            receiver = new NonReliableRequestReplyReceiver(manager, address, chains, executorService, ioManager, metadata, monitor);
         }
         receiver.start();
 
@@ -351,9 +357,9 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
 
         Sender sender;
         if (oneWay) {
-            sender = new NonReliableOneWaySender(endpointId, manager, addresses, pollTimeout, metadata, monitor);
+            sender = new NonReliableOneWaySender(endpointId, manager, addresses, ioManager, metadata, monitor);
         } else {
-            sender = new NonReliableRequestReplySender(endpointId, manager, addresses, pollTimeout, metadata, monitor);
+            sender = new NonReliableRequestReplySender(endpointId, manager, addresses, pollTimeout, ioManager, metadata, monitor);
         }
         SenderHolder holder = new SenderHolder(sender);
         sender.start();
@@ -382,16 +388,32 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
         return chains.get(0).getPhysicalOperation().isOneWay();
     }
 
-    private void addTransformer(List<InvocationChain> chains, ClassLoader loader) throws Fabric3Exception {
+    private void addTransformer(List<InvocationChain> chains, ZeroMQMetadata metadata, ClassLoader loader) throws Fabric3Exception {
+        List<DataType> transportTypes = getTransportTypes(metadata);
         for (InvocationChain chain : chains) {
             PhysicalOperation physicalOperation = chain.getPhysicalOperation();
             List<DataType> targetTypes = createTypes(physicalOperation);
-            Interceptor interceptor = interceptorFactory.createInterceptor(physicalOperation, TRANSPORT_TYPES, targetTypes, loader, loader);
+            Interceptor interceptor = interceptorFactory.createInterceptor(physicalOperation, transportTypes, targetTypes, loader, loader);
             chain.addInterceptor(new WrappingInterceptor());
             chain.addInterceptor(interceptor);
         }
     }
 
+    /**
+     * Returns the transport types for the binding. If a wire format is configured, the byte array transport type is qualified with it so that a transformer
+     * for the format, e.g. a binary JSON encoding, is selected.
+     *
+     * @param metadata the binding metadata
+     * @return the transport types
+     */
+    private List<DataType> getTransportTypes(ZeroMQMetadata metadata) {
+        String wireFormat = metadata.getWireFormat();
+        if (wireFormat == null || wireFormat.isEmpty()) {
+            return TRANSPORT_TYPES;
+        }
+        return Collections.singletonList(new JavaType(byte[].class, wireFormat));
+    }
+
     @SuppressWarnings({"unchecked"})
     private List<DataType> createTypes(PhysicalOperation physicalOperation) throws Fabric3Exception {
         List<DataType> dataTypes = new ArrayList<>();
@@ -35,10 +35,10 @@ public class PublisherHandler implements EventStreamHandler {
     public void handle(Object event, boolean endOfBatch) {
         if ((event instanceof byte[])) {
             // single frame message
-            publisher.publish((byte[]) event);
+            publisher.publish((byte[]) event, endOfBatch);
         } else if (event instanceof byte[][]) {
             // multi-frame message
-            publisher.publish((byte[][]) event);
+            publisher.publish((byte[][]) event, endOfBatch);
         } else {
             throw new ServiceRuntimeException("Event must be serialized: " + event);
         }
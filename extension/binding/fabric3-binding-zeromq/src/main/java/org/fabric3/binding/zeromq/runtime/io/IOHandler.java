@@ -0,0 +1,83 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.io;
+
+import java.util.Collection;
+
+import org.zeromq.ZMQ;
+
+/**
+ * Performs socket I/O on a thread managed by the {@link IOThreadManager}.
+ *
+ * ZeroMQ requires a socket only be accessed by the thread that created it. All callbacks are therefore invoked on the I/O thread the handler is assigned to,
+ * which opens, uses and closes the handler sockets. Other threads communicate with the handler through queues and signal pending work using {@link
+ * IORegistration#wakeup()}.
+ */
+public interface IOHandler {
+
+    /**
+     * Returns the unique handler id.
+     *
+     * @return the handler id
+     */
+    String getId();
+
+    /**
+     * Opens the handler sockets. Called when the handler is assigned to an I/O thread.
+     *
+     * @param registration the registration the handler may use to signal the I/O thread
+     */
+    void open(IORegistration registration);
+
+    /**
+     * Performs pending work such as sending queued messages or reconnecting sockets. Called after the handler is woken or when the time it requested has
+     * elapsed.
+     *
+     * @return the time in nanoseconds after which the handler must be called again or -1 if it only needs to be called when woken
+     */
+    long process();
+
+    /**
+     * Returns the sockets the I/O thread polls for input on behalf of the handler. Called after the handler is opened and after {@link
+     * IORegistration#refresh()}.
+     *
+     * @return the sockets
+     */
+    Collection<ZMQ.Socket> getReadSockets();
+
+    /**
+     * Reads a message from a socket that has pending input.
+     *
+     * @param socket the socket
+     */
+    void read(ZMQ.Socket socket);
+
+    /**
+     * Closes the handler sockets. Called when the handler is unregistered or the I/O thread shuts down.
+     */
+    void close();
+
+    /**
+     * Returns the number of messages waiting to be processed by the handler.
+     *
+     * @return the number of waiting messages
+     */
+    default int getQueueDepth() {
+        return 0;
+    }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.io;
+
+/**
+ * The assignment of an {@link IOHandler} to an I/O thread. Methods may be called from any thread.
+ */
+public interface IORegistration {
+
+    /**
+     * Signals the I/O thread that the handler has pending work. The thread will call {@link IOHandler#process()}.
+     */
+    void wakeup();
+
+    /**
+     * Signals the I/O thread that the handler read sockets have changed. The thread will call {@link IOHandler#getReadSockets()} on its next pass.
+     */
+    void refresh();
+
+}
@@ -0,0 +1,395 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fabric3.api.annotation.management.Management;
+import org.fabric3.api.annotation.management.ManagementOperation;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
+import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.zeromq.ZMQ;
+
+/**
+ * An event loop that multiplexes the sockets of its assigned {@link IOHandler}s using a single ZeroMQ poller.
+ *
+ * Other threads signal the loop through a pipe registered with the poller, avoiding access to ZeroMQ sockets from threads that do not own them. The loop
+ * also listens on the runtime control socket and closes all handlers when the ZeroMQ context is shut down.
+ */
+@Management
+public class IOThread implements Runnable {
+    private static final long IDLE_TIMEOUT = 1000;  // milliseconds
+
+    private String name;
+    private ContextManager manager;
+    private MessagingMonitor monitor;
+
+    private Pipe pipe;
+    private ByteBuffer drainBuffer = ByteBuffer.allocate(64);
+    private AtomicBoolean signalled = new AtomicBoolean();
+    private volatile boolean active = true;
+    private volatile boolean dirty = true;
+
+    private Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private Queue<Registration> woken = new ConcurrentLinkedQueue<>();
+    private List<Registration> registrations = new CopyOnWriteArrayList<>();
+    private AtomicInteger handlerCount = new AtomicInteger();
+
+    // the poller and the owners of its sockets, indexed by poll item; only accessed by the loop thread
+    private ZMQ.Poller poller;
+    private Registration[] owners;
+    private ZMQ.Socket[] sockets;
+
+    // statistics are only written by the loop thread
+    private volatile long passes;
+    private volatile long totalLatency;
+    private volatile long lastLatency;
+    private volatile long maxLatency;
+
+    /**
+     * Constructor.
+     *
+     * @param name    the thread name
+     * @param manager the ZeroMQ context manager
+     * @param monitor the monitor
+     * @throws Fabric3Exception if the signalling pipe cannot be opened
+     */
+    public IOThread(String name, ContextManager manager, MessagingMonitor monitor) throws Fabric3Exception {
+        this.name = name;
+        this.manager = manager;
+        this.monitor = monitor;
+        try {
+            pipe = Pipe.open();
+            pipe.source().configureBlocking(false);
+        } catch (IOException e) {
+            throw new Fabric3Exception(e);
+        }
+    }
+
+    @ManagementOperation(description = "The thread name")
+    public String getName() {
+        return name;
+    }
+
+    @ManagementOperation(description = "The number of socket handlers assigned to the thread")
+    public int getHandlerCount() {
+        return handlerCount.get();
+    }
+
+    @ManagementOperation(description = "The number of messages and tasks waiting to be processed by the thread")
+    public int getQueueDepth() {
+        int depth = tasks.size() + woken.size();
+        for (Registration registration : registrations) {
+            depth += registration.handler.getQueueDepth();
+        }
+        return depth;
+    }
+
+    @ManagementOperation(description = "The time in microseconds spent processing the last pass of the poll loop")
+    public long getLoopLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(lastLatency);
+    }
+
+    @ManagementOperation(description = "The average time in microseconds spent processing a pass of the poll loop")
+    public long getAverageLoopLatency() {
+        long count = passes;
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatency / count);
+    }
+
+    @ManagementOperation(description = "The maximum time in microseconds spent processing a pass of the poll loop")
+    public long getMaxLoopLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLatency);
+    }
+
+    /**
+     * Assigns a handler to this thread. The handler is opened on the next pass of the loop.
+     *
+     * @param handler the handler
+     * @return the registration
+     */
+    public IORegistration register(IOHandler handler) {
+        handlerCount.incrementAndGet();
+        Registration registration = new Registration(handler);
+        tasks.add(() -> {
+            registrations.add(registration);
+            registration.open = true;
+            try {
+                handler.open(registration);
+                process(registration, System.nanoTime());
+            } catch (RuntimeException e) {
+                monitor.error(e);
+            }
+            dirty = true;
+        });
+        signal();
+        return registration;
+    }
+
+    /**
+     * Removes a handler from this thread. The handler is closed on the next pass of the loop.
+     *
+     * @param handler the handler
+     */
+    public void unregister(IOHandler handler) {
+        handlerCount.decrementAndGet();
+        tasks.add(() -> {
+            for (Registration registration : registrations) {
+                if (registration.handler == handler) {
+                    registrations.remove(registration);
+                    close(registration);
+                    dirty = true;
+                    return;
+                }
+            }
+        });
+        signal();
+    }
+
+    /**
+     * Signals the loop to close all handlers and exit.
+     */
+    public void shutdown() {
+        active = false;
+        signal();
+    }
+
+    public void run() {
+        manager.reserve(name);
+        ZMQ.Socket controlSocket = null;
+        try {
+            controlSocket = manager.createControlSocket();
+            long timeout = 0;
+            while (active) {
+                if (dirty) {
+                    dirty = false;
+                    createPoller(controlSocket);
+                }
+                poller.poll(timeout);
+
+                long start = System.nanoTime();
+                if (poller.pollin(0) && controlSocket.recv(ZMQ.NOBLOCK) != null) {
+                    // the context is being shut down
+                    return;
+                }
+                if (poller.pollin(1)) {
+                    drainSignal();
+                }
+                for (int i = 2; i < owners.length; i++) {
+                    if (poller.pollin(i) && owners[i].open) {
+                        read(owners[i], sockets[i]);
+                    }
+                }
+
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                Registration registration;
+                while ((registration = woken.poll()) != null) {
+                    if (registration.open) {
+                        process(registration, start);
+                    }
+                }
+                long next = processExpired();
+
+                long latency = System.nanoTime() - start;
+                lastLatency = latency;
+                totalLatency += latency;
+                passes++;
+                if (latency > maxLatency) {
+                    maxLatency = latency;
+                }
+                timeout = next < 0 ? IDLE_TIMEOUT : (next + 999999) / 1000000;
+            }
+        } finally {
+            for (Registration registration : registrations) {
+                close(registration);
+            }
+            registrations.clear();
+            try {
+                if (controlSocket != null) {
+                    controlSocket.close();
+                }
+                closePipe();
+            } finally {
+                manager.release(name);
+            }
+        }
+    }
+
+    /**
+     * Processes handlers whose requested time has elapsed.
+     *
+     * @return the time in nanoseconds until the next handler must be processed or -1 if no handler requested a time
+     */
+    private long processExpired() {
+        long now = System.nanoTime();
+        long next = -1;
+        for (Registration registration : registrations) {
+            if (registration.deadline < 0) {
+                continue;
+            }
+            long remaining = registration.deadline - now;
+            if (remaining <= 0) {
+                process(registration, now);
+                if (registration.deadline < 0) {
+                    continue;
+                }
+                remaining = Math.max(0, registration.deadline - now);
+            }
+            if (next < 0 || remaining < next) {
+                next = remaining;
+            }
+        }
+        return next;
+    }
+
+    private void process(Registration registration, long now) {
+        registration.scheduled.set(false);
+        try {
+            long next = registration.handler.process();
+            registration.deadline = next < 0 ? -1 : now + next;
+        } catch (RuntimeException e) {
+            registration.deadline = -1;
+            monitor.error(e);
+        }
+    }
+
+    private void read(Registration registration, ZMQ.Socket socket) {
+        try {
+            registration.handler.read(socket);
+        } catch (RuntimeException e) {
+            monitor.error(e);
+        }
+    }
+
+    private void close(Registration registration) {
+        if (!registration.open) {
+            return;
+        }
+        registration.open = false;
+        try {
+            registration.handler.close();
+        } catch (RuntimeException e) {
+            monitor.error(e);
+        }
+    }
+
+    /**
+     * Creates a poller for the control socket, the signalling pipe and the read sockets of all open handlers.
+     *
+     * @param controlSocket the control socket
+     */
+    private void createPoller(ZMQ.Socket controlSocket) {
+        List<Registration> socketOwners = new ArrayList<>();
+        List<ZMQ.Socket> readSockets = new ArrayList<>();
+        socketOwners.add(null);
+        readSockets.add(controlSocket);
+        socketOwners.add(null);
+        readSockets.add(null);
+        for (Registration registration : registrations) {
+            if (!registration.open) {
+                continue;
+            }
+            Collection<ZMQ.Socket> handlerSockets = registration.handler.getReadSockets();
+            for (ZMQ.Socket socket : handlerSockets) {
+                socketOwners.add(registration);
+                readSockets.add(socket);
+            }
+        }
+        owners = socketOwners.toArray(new Registration[socketOwners.size()]);
+        sockets = readSockets.toArray(new ZMQ.Socket[readSockets.size()]);
+
+        poller = new ZMQ.Poller(sockets.length);
+        poller.register(controlSocket, ZMQ.Poller.POLLIN);
+        poller.register(pipe.source(), ZMQ.Poller.POLLIN);
+        for (int i = 2; i < sockets.length; i++) {
+            poller.register(sockets[i], ZMQ.Poller.POLLIN);
+        }
+    }
+
+    private void signal() {
+        if (signalled.compareAndSet(false, true)) {
+            try {
+                pipe.sink().write(ByteBuffer.wrap(new byte[1]));
+            } catch (IOException e) {
+                // the pipe is closed when the thread exits
+                signalled.set(false);
+            }
+        }
+    }
+
+    private void drainSignal() {
+        // reset the flag before draining so signals raised while handlers are processed are not lost
+        signalled.set(false);
+        try {
+            drainBuffer.clear();
+            while (pipe.source().read(drainBuffer) > 0) {
+                drainBuffer.clear();
+            }
+        } catch (IOException e) {
+            monitor.error(e);
+        }
+    }
+
+    private void closePipe() {
+        try {
+            pipe.sink().close();
+            pipe.source().close();
+        } catch (IOException e) {
+            monitor.error(e);
+        }
+    }
+
+    private class Registration implements IORegistration {
+        private IOHandler handler;
+        private AtomicBoolean scheduled = new AtomicBoolean();
+
+        // only accessed by the loop thread
+        private boolean open;
+        private long deadline = -1;
+
+        private Registration(IOHandler handler) {
+            this.handler = handler;
+        }
+
+        public void wakeup() {
+            if (scheduled.compareAndSet(false, true)) {
+                woken.add(this);
+                signal();
+            }
+        }
+
+        public void refresh() {
+            dirty = true;
+            signal();
+        }
+    }
+
+}
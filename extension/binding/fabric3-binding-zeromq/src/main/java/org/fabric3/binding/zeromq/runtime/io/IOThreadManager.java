@@ -0,0 +1,39 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.io;
+
+/**
+ * Manages a fixed set of threads that perform ZeroMQ socket I/O. Each thread multiplexes the sockets of many {@link IOHandler}s using a single poller.
+ */
+public interface IOThreadManager {
+
+    /**
+     * Assigns a handler to an I/O thread. The handler is opened asynchronously on the assigned thread.
+     *
+     * @param handler the handler
+     * @return the registration used to signal the I/O thread
+     */
+    IORegistration register(IOHandler handler);
+
+    /**
+     * Removes a handler from its I/O thread. The handler is closed asynchronously on the assigned thread.
+     *
+     * @param handler the handler
+     */
+    void unregister(IOHandler handler);
+
+}
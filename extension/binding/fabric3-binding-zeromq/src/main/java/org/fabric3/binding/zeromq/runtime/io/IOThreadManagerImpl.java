@@ -0,0 +1,143 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fabric3.api.annotation.Source;
+import org.fabric3.api.annotation.monitor.Monitor;
+import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
+import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.fabric3.binding.zeromq.runtime.management.ZeroMQManagementService;
+import org.fabric3.spi.container.invocation.Fabric3Thread;
+import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Init;
+import org.oasisopen.sca.annotation.Property;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Default {@link IOThreadManager} implementation. Handlers are assigned to the I/O thread with the fewest handlers.
+ */
+@EagerInit
+public class IOThreadManagerImpl implements IOThreadManager {
+    private ContextManager manager;
+    private ZeroMQManagementService managementService;
+    private MessagingMonitor monitor;
+
+    private int threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private long joinTimeout = 5000;
+
+    private List<IOThread> ioThreads = new ArrayList<>();
+    private List<Thread> threads = new ArrayList<>();
+    private Map<IOHandler, IOThread> assignments = new ConcurrentHashMap<>();
+
+    public IOThreadManagerImpl(@Reference ContextManager manager,
+                               @Reference ZeroMQManagementService managementService,
+                               @Monitor MessagingMonitor monitor) {
+        this.manager = manager;
+        this.managementService = managementService;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Sets the number of I/O threads.
+     *
+     * @param count the number of I/O threads
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:zeromq.binding/@io.threads")
+    public void setThreadCount(int count) {
+        this.threadCount = count;
+    }
+
+    /**
+     * Sets the time in milliseconds to wait for an I/O thread to terminate on shutdown.
+     *
+     * @param timeout the timeout in milliseconds
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:zeromq.binding/@io.join.timeout")
+    public void setJoinTimeout(long timeout) {
+        this.joinTimeout = timeout;
+    }
+
+    @Init
+    public void init() {
+        if (threadCount < 1) {
+            monitor.warn("Invalid ZeroMQ I/O thread count, defaulting to 1: " + threadCount);
+            threadCount = 1;
+        }
+        SecurityManager s = System.getSecurityManager();
+        ThreadGroup group = (s != null) ? s.getThreadGroup() : Thread.currentThread().getThreadGroup();
+        for (int i = 0; i < threadCount; i++) {
+            String name = "zeromq-io-" + i;
+            IOThread ioThread = new IOThread(name, manager, monitor);
+            Thread thread = new Fabric3Thread(group, ioThread, name, 0);
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler((t, e) -> monitor.error(e));
+            ioThreads.add(ioThread);
+            threads.add(thread);
+            thread.start();
+            managementService.registerIOThread(name, ioThread);
+        }
+    }
+
+    @Destroy
+    public void destroy() {
+        for (IOThread ioThread : ioThreads) {
+            ioThread.shutdown();
+        }
+        for (int i = 0; i < threads.size(); i++) {
+            Thread thread = threads.get(i);
+            try {
+                thread.join(joinTimeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            managementService.unregisterIOThread(ioThreads.get(i).getName());
+        }
+        ioThreads.clear();
+        threads.clear();
+        assignments.clear();
+    }
+
+    public IORegistration register(IOHandler handler) {
+        IOThread selected = null;
+        for (IOThread ioThread : ioThreads) {
+            if (selected == null || ioThread.getHandlerCount() < selected.getHandlerCount()) {
+                selected = ioThread;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("ZeroMQ I/O threads not started");
+        }
+        assignments.put(handler, selected);
+        return selected.register(handler);
+    }
+
+    public void unregister(IOHandler handler) {
+        IOThread ioThread = assignments.remove(handler);
+        if (ioThread != null) {
+            ioThread.unregister(handler);
+        }
+    }
+
+}
@@ -20,6 +20,7 @@ package org.fabric3.binding.zeromq.runtime.management;
 
 import java.net.URI;
 
+import org.fabric3.binding.zeromq.runtime.io.IOThread;
 import org.fabric3.binding.zeromq.runtime.message.Publisher;
 import org.fabric3.binding.zeromq.runtime.message.Receiver;
 import org.fabric3.binding.zeromq.runtime.message.Sender;
@@ -91,4 +92,19 @@ public interface ZeroMQManagementService {
      * @param id the receiver id
      */
     void unregisterReceiver(String id);
+
+    /**
+     * Registers an {@link IOThread} for management.
+     *
+     * @param name     the thread name
+     * @param ioThread the I/O thread
+     */
+    void registerIOThread(String name, IOThread ioThread);
+
+    /**
+     * Unregisters an {@link IOThread}.
+     *
+     * @param name the thread name
+     */
+    void unregisterIOThread(String name);
 }
@@ -26,6 +26,7 @@ import org.fabric3.api.annotation.management.Management;
 import org.fabric3.api.annotation.management.ManagementOperation;
 import org.fabric3.api.annotation.monitor.Monitor;
 import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.binding.zeromq.runtime.io.IOThread;
 import org.fabric3.binding.zeromq.runtime.message.Publisher;
 import org.fabric3.binding.zeromq.runtime.message.Receiver;
 import org.fabric3.binding.zeromq.runtime.message.Sender;
@@ -44,11 +45,13 @@ public class ZeroMQManagementServiceImpl implements ZeroMQManagementService {
     private static final String PUBLISHERS_PATH = "transports/zeromq/publishers/";
     private static final String SENDERS_PATH = "transports/zeromq/senders/";
     private static final String RECEIVERS_PATH = "transports/zeromq/receivers/";
+    private static final String IO_THREADS_PATH = "transports/zeromq/io/";
 
     private Set<String> subscribers = new HashSet<>();
     private Set<String> publishers = new HashSet<>();
     private Set<String> senders = new HashSet<>();
     private Set<String> receivers = new HashSet<>();
+    private Set<String> ioThreads = new HashSet<>();
 
     private ManagementService managementService;
     private ManagementMonitor monitor;
@@ -78,6 +81,11 @@ public class ZeroMQManagementServiceImpl implements ZeroMQManagementService {
         return receivers;
     }
 
+    @ManagementOperation
+    public Set<String> getIOThreads() {
+        return ioThreads;
+    }
+
     public void register(String channelName, URI subscriberId, Subscriber subscriber) {
         try {
             subscribers.add(channelName);
@@ -149,4 +157,22 @@ public class ZeroMQManagementServiceImpl implements ZeroMQManagementService {
             monitor.error("Error unregistering receiver: " + id, e);
         }
     }
+
+    public void registerIOThread(String name, IOThread ioThread) {
+        ioThreads.add(name);
+        try {
+            managementService.export(IO_THREADS_PATH + name, "", "", ioThread);
+        } catch (Fabric3Exception e) {
+            monitor.error("Error registering I/O thread: " + name, e);
+        }
+    }
+
+    public void unregisterIOThread(String name) {
+        ioThreads.remove(name);
+        try {
+            managementService.remove(IO_THREADS_PATH + name, "");
+        } catch (Fabric3Exception e) {
+            monitor.error("Error unregistering I/O thread: " + name, e);
+        }
+    }
 }
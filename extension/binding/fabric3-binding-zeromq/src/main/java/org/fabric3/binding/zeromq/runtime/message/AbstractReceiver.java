@@ -18,16 +18,20 @@
  */
 package org.fabric3.binding.zeromq.runtime.message;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
 import org.fabric3.binding.zeromq.runtime.context.ContextManager;
-import org.fabric3.spi.container.invocation.CallbackReferenceSerializer;
+import org.fabric3.binding.zeromq.runtime.io.IOHandler;
+import org.fabric3.binding.zeromq.runtime.io.IORegistration;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManager;
 import org.fabric3.spi.container.invocation.WorkContext;
 import org.fabric3.spi.container.invocation.WorkContextCache;
 import org.fabric3.spi.container.wire.Interceptor;
@@ -39,13 +43,14 @@ import org.zeromq.ZMQ;
 import org.zeromq.ZMQ.Socket;
 
 /**
- *
+ * Base {@link Receiver} implementation. The receiver socket is opened, polled and closed on a ZeroMQ I/O thread.
  */
-public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExceptionHandler {
+public abstract class AbstractReceiver implements Receiver {
 
     protected ContextManager manager;
     protected SocketAddress address;
     protected ExecutorService executorService;
+    protected IOThreadManager ioManager;
 
     protected int socketType;
 
@@ -53,9 +58,14 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
     protected MessagingMonitor monitor;
 
     protected Receiver receiver;
+    private volatile IORegistration registration;
     protected ZeroMQMetadata metadata;
     protected String id = getClass().getName() + ":" + UUID.randomUUID().toString();
 
+    // reused by the receiver thread when reading multipart messages
+    private List<byte[]> frameBuffer = new ArrayList<>();
+    private CallbackFrameCache callbackCache = new CallbackFrameCache();
+
     /**
      * Constructor.
      *
@@ -65,6 +75,7 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
      * @param socketType      the socket type as defined by ZeroMQ
      * @param metadata        metadata
      * @param executorService the executor for scheduling work
+     * @param ioManager       the I/O thread manager
      * @param monitor         the monitor
      */
     public AbstractReceiver(ContextManager manager,
@@ -73,10 +84,12 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
                             int socketType,
                             ZeroMQMetadata metadata,
                             ExecutorService executorService,
+                            IOThreadManager ioManager,
                             MessagingMonitor monitor) {
         this.manager = manager;
         this.address = address;
         this.executorService = executorService;
+        this.ioManager = ioManager;
         this.interceptors = new Interceptor[chains.size()];
         for (int i = 0, chainsSize = chains.size(); i < chainsSize; i++) {
             InvocationChain chain = chains.get(i);
@@ -90,15 +103,16 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
     public void start() {
         if (receiver == null) {
             receiver = new Receiver();
-            schedule();
+            registration = ioManager.register(receiver);
         }
     }
 
     public void stop() {
         try {
-            receiver.stop();
+            ioManager.unregister(receiver);
         } finally {
             receiver = null;
+            registration = null;
         }
     }
 
@@ -106,12 +120,14 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
         return address;
     }
 
-    public void uncaughtException(Thread t, Throwable e) {
-        monitor.error(e);
-    }
-
-    private void schedule() {
-        executorService.submit(receiver);
+    /**
+     * Signals the I/O thread to call {@link #response(Socket)}. May be called from any thread.
+     */
+    protected void wakeup() {
+        IORegistration current = registration;
+        if (current != null) {
+            current.wakeup();
+        }
     }
 
     /**
@@ -130,7 +146,7 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
                 return workContext;
             }
 
-            List<String> stack = CallbackReferenceSerializer.deserialize(header);
+            List<String> stack = callbackCache.deserialize(header);
             // add the last callback twice as it will be needed when the callback is made back through the binding
             if (!stack.isEmpty()) {
                 stack.add(stack.get(stack.size() - 1));
@@ -142,91 +158,110 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
         }
     }
 
+    /**
+     * Reads the messages contained in the next multipart message received on the socket. If the sender batched messages, the batch is unpacked.
+     *
+     * Must only be called from the receiver thread.
+     *
+     * @param socket the socket
+     * @return the messages, each represented by its frames
+     */
+    protected List<byte[][]> receiveMessages(Socket socket) {
+        byte[][] frames = receiveFrames(socket);
+        if (MessageBatch.isBatch(frames)) {
+            return MessageBatch.unpack(frames);
+        }
+        return Collections.singletonList(frames);
+    }
+
+    /**
+     * Reads all frames of the next multipart message received on the socket.
+     *
+     * Must only be called from the receiver thread.
+     *
+     * @param socket the socket
+     * @return the frames
+     */
+    protected byte[][] receiveFrames(Socket socket) {
+        return Frames.read(socket, frameBuffer);
+    }
+
+    /**
+     * Reads a request from the socket and dispatches it. Called on the I/O thread when the socket has pending input.
+     *
+     * @param socket the socket
+     * @return true if a request was dispatched
+     */
     protected abstract boolean invoke(Socket socket);
 
+    /**
+     * Sends pending responses. Called on the I/O thread after the receiver is woken using {@link #wakeup()}.
+     *
+     * @param socket the socket
+     */
     protected abstract void response(Socket socket);
 
     /**
-     * The message receiver. Responsible for creating socket connections to publishers and polling for messages.
+     * The message receiver. Responsible for binding the socket and dispatching messages when the I/O thread polls it as readable.
      */
-    private class Receiver implements Runnable {
+    private class Receiver implements IOHandler {
         private Socket socket;
-        private Socket controlSocket;
 
-        private ZMQ.Poller poller;
-        private AtomicBoolean active = new AtomicBoolean(true);
+        public String getId() {
+            return id;
+        }
 
-        /**
-         * Signals to stops polling and close the receiver socket, if one is open. Note that the socket cannot be closed in this method, as it will be called on
-         * a different thread than {@link #run()}, which opened the socket. ZeroMQ requires a socket only be accessed by the thread that created it.
-         */
-        public synchronized void stop() {
-            active.set(false);
+        public void open(IORegistration registration) {
+            bind();
         }
 
-        public void run() {
-            try {
-                bind();
-                while (active.get()) {
-                    if (poller == null) {
-                        // the socket or poller could not be created, abort
-                        monitor.error("Failed to initialize ZeroMQ socket, aborting receiver");
-                        return;
-                    }
-                    long val = poller.poll();
-                    if (val > 0) {
-                        byte[] controlPayload = controlSocket.recv(ZMQ.NOBLOCK);
-                        if (controlPayload != null) {
-                            try {
-                                socket.close();
-                                controlSocket.close();
-                            } finally {
-                                manager.release(id);
-                            }
-                            return;
-                        }
-
-                        if (!invoke(socket)) {
-                            continue;
-                        }
-                        response(socket);
-                    }
-                }
-                // the socket must be closed here on this thread!
-                if (socket != null) {
-                    try {
-                        socket.close();
-                        controlSocket.close();
-                    } finally {
-                        manager.release(id);
-                    }
-                    socket = null;
-                }
-            } catch (RuntimeException e) {
-                // exception, make sure the thread is rescheduled
-                manager.release(id);
-                schedule();
-                throw e;
+        public long process() {
+            if (socket != null) {
+                response(socket);
             }
+            return -1;
+        }
 
+        public Collection<Socket> getReadSockets() {
+            if (socket == null) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(socket);
         }
 
-        private void bind() {
+        public void read(Socket socket) {
+            invoke(socket);
+        }
+
+        public void close() {
+            // the socket must be closed here on the I/O thread!
             if (socket != null) {
-                // Socket is still active, ignore. This can happen if bind is called after the receiver has been rescheduled
-                return;
+                try {
+                    socket.close();
+                } finally {
+                    manager.release(id);
+                }
+                socket = null;
             }
-            manager.reserve(id);
-            socket = manager.getContext().socket(socketType);
-            SocketHelper.configure(socket, metadata);
-            address.getPort().bind(Port.TYPE.TCP);
-            socket.bind(address.toProtocolString());
-
-            controlSocket = manager.createControlSocket();
+        }
 
-            poller = manager.getContext().poller();
-            poller.register(controlSocket, ZMQ.Poller.POLLIN);
-            poller.register(socket, ZMQ.Poller.POLLIN);
+        private void bind() {
+            manager.reserve(id);
+            try {
+                socket = manager.getContext().socket(socketType);
+                SocketHelper.configure(socket, metadata);
+                address.getPort().bind(Port.TYPE.TCP);
+                socket.bind(address.toProtocolString());
+            } catch (RuntimeException e) {
+                // the socket could not be created, abort
+                monitor.error("Failed to initialize ZeroMQ socket, aborting receiver");
+                if (socket != null) {
+                    socket.close();
+                    socket = null;
+                }
+                manager.release(id);
+                throw e;
+            }
         }
 
     }
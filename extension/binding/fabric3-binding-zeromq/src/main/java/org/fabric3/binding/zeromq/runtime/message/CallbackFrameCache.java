@@ -0,0 +1,82 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.container.invocation.CallbackReferenceSerializer;
+
+/**
+ * Caches the serialized form of the most recently used callback reference stack.
+ *
+ * Invocations flowing through a wire typically carry the same callback references, so the stack only needs to be serialized or deserialized when it changes.
+ * Instances are thread-safe.
+ */
+public class CallbackFrameCache {
+    private volatile Entry last;
+
+    /**
+     * Serializes a callback reference stack.
+     *
+     * @param stack the stack
+     * @return the serialized stack or null if the stack is empty
+     * @throws Fabric3Exception if a serialization error is encountered
+     */
+    public byte[] serialize(List<String> stack) throws Fabric3Exception {
+        if (stack == null || stack.isEmpty()) {
+            return null;
+        }
+        Entry entry = last;
+        if (entry != null && entry.stack.equals(stack)) {
+            return entry.bytes;
+        }
+        byte[] bytes = CallbackReferenceSerializer.serializeToBytes(stack);
+        last = new Entry(new ArrayList<>(stack), bytes);
+        return bytes;
+    }
+
+    /**
+     * Deserializes a callback reference stack.
+     *
+     * @param bytes the serialized stack
+     * @return a new, modifiable stack
+     * @throws Fabric3Exception if a deserialization error is encountered
+     */
+    public List<String> deserialize(byte[] bytes) throws Fabric3Exception {
+        Entry entry = last;
+        if (entry != null && Arrays.equals(entry.bytes, bytes)) {
+            return new ArrayList<>(entry.stack);
+        }
+        List<String> stack = CallbackReferenceSerializer.deserialize(bytes);
+        last = new Entry(new ArrayList<>(stack), bytes);
+        return stack;
+    }
+
+    private static class Entry {
+        private List<String> stack;
+        private byte[] bytes;
+
+        private Entry(List<String> stack, byte[] bytes) {
+            this.stack = stack;
+            this.bytes = bytes;
+        }
+    }
+
+}
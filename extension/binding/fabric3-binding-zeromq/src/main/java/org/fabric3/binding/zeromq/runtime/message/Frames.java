@@ -0,0 +1,85 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.zeromq.ZMQ;
+
+/**
+ * Reads and writes message frames without allocating on the steady-state messaging path.
+ *
+ * Operation index frames are precomputed and shared. Since ZeroMQ implementations may retain a reference to a sent frame until it is transmitted, shared
+ * frames must never be modified.
+ */
+public final class Frames {
+    private static final int CACHED_INDEXES = 256;
+    private static final byte[][] INDEX_FRAMES = new byte[CACHED_INDEXES][];
+
+    static {
+        for (int i = 0; i < CACHED_INDEXES; i++) {
+            INDEX_FRAMES[i] = ByteBuffer.allocate(4).putInt(i).array();
+        }
+    }
+
+    private Frames() {
+    }
+
+    /**
+     * Returns the frame for an operation index.
+     *
+     * @param index the operation index
+     * @return the frame, which must not be modified
+     */
+    public static byte[] index(int index) {
+        if (index >= 0 && index < CACHED_INDEXES) {
+            return INDEX_FRAMES[index];
+        }
+        return ByteBuffer.allocate(4).putInt(index).array();
+    }
+
+    /**
+     * Reads an operation index frame.
+     *
+     * @param frame the frame
+     * @return the operation index
+     */
+    public static int readIndex(byte[] frame) {
+        return (frame[0] & 0xFF) << 24 | (frame[1] & 0xFF) << 16 | (frame[2] & 0xFF) << 8 | (frame[3] & 0xFF);
+    }
+
+    /**
+     * Reads all frames of the next multipart message received on the socket.
+     *
+     * @param socket the socket
+     * @param buffer a reusable list used to collect the frames; it is cleared before returning
+     * @return the frames
+     */
+    public static byte[][] read(ZMQ.Socket socket, List<byte[]> buffer) {
+        try {
+            buffer.add(socket.recv(0));
+            while (socket.hasReceiveMore()) {
+                buffer.add(socket.recv(0));
+            }
+            return buffer.toArray(new byte[buffer.size()][]);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+}
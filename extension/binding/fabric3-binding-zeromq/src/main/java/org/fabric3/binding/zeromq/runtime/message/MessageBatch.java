@@ -0,0 +1,191 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.zeromq.ZMQ;
+
+/**
+ * Coalesces multiple messages into a single multipart ZeroMQ message and unpacks received batches.
+ *
+ * A batch is sent as a header frame followed by the frames of each message in order. The header frame contains a marker, the number of messages and the number
+ * of frames in each message. A batch containing a single message is sent without a header so that unbatched traffic is unchanged on the wire.
+ *
+ * Instances are reused across sends and are not thread-safe; they must only be accessed by the thread that owns the socket.
+ */
+public class MessageBatch {
+    private static final int MARKER = 0xF3BA7C11;
+
+    private List<Object> messages = new ArrayList<>();
+    private int frameCount;
+    private long started;
+
+    /**
+     * Adds a single frame message to the batch.
+     *
+     * @param message the message
+     */
+    public void add(byte[] message) {
+        addEntry(message, 1);
+    }
+
+    /**
+     * Adds a multi-frame message to the batch.
+     *
+     * @param message the message frames
+     */
+    public void add(byte[][] message) {
+        addEntry(message, message.length);
+    }
+
+    /**
+     * Returns the number of messages in the batch.
+     *
+     * @return the number of messages in the batch
+     */
+    public int size() {
+        return messages.size();
+    }
+
+    /**
+     * Returns true if the batch is empty.
+     *
+     * @return true if the batch is empty
+     */
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    /**
+     * Returns the time in nanoseconds elapsed since the first message was added to the batch.
+     *
+     * @return the elapsed time in nanoseconds or 0 if the batch is empty
+     */
+    public long elapsed() {
+        return messages.isEmpty() ? 0 : System.nanoTime() - started;
+    }
+
+    /**
+     * Sends the batch over the socket and clears it.
+     *
+     * @param socket the socket
+     */
+    public void send(ZMQ.Socket socket) {
+        int size = messages.size();
+        if (size == 0) {
+            return;
+        }
+        if (size > 1) {
+            socket.send(createHeader(), ZMQ.SNDMORE);
+        }
+        int remaining = frameCount;
+        for (Object message : messages) {
+            if (message instanceof byte[]) {
+                remaining--;
+                socket.send((byte[]) message, remaining > 0 ? ZMQ.SNDMORE : 0);
+            } else {
+                for (byte[] frame : (byte[][]) message) {
+                    remaining--;
+                    socket.send(frame, remaining > 0 ? ZMQ.SNDMORE : 0);
+                }
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Clears the batch.
+     */
+    public void clear() {
+        messages.clear();
+        frameCount = 0;
+    }
+
+    /**
+     * Returns true if the received frames contain a batch.
+     *
+     * @param frames the received frames
+     * @return true if the frames contain a batch
+     */
+    public static boolean isBatch(byte[][] frames) {
+        if (frames == null || frames.length < 3) {
+            return false;
+        }
+        byte[] header = frames[0];
+        if (header == null || header.length < 8 || (header.length - 8) % 4 != 0) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        if (buffer.getInt() != MARKER) {
+            return false;
+        }
+        int count = buffer.getInt();
+        if (count < 2 || header.length != 8 + count * 4) {
+            return false;
+        }
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += buffer.getInt();
+        }
+        return total == frames.length - 1;
+    }
+
+    /**
+     * Unpacks the messages contained in a batch. The frames must be a batch as determined by {@link #isBatch(byte[][])}.
+     *
+     * @param frames the received frames
+     * @return the messages, each represented by its frames
+     */
+    public static List<byte[][]> unpack(byte[][] frames) {
+        ByteBuffer buffer = ByteBuffer.wrap(frames[0]);
+        buffer.getInt();  // marker
+        int count = buffer.getInt();
+        List<byte[][]> unpacked = new ArrayList<>(count);
+        int position = 1;
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            byte[][] message = new byte[length][];
+            System.arraycopy(frames, position, message, 0, length);
+            position += length;
+            unpacked.add(message);
+        }
+        return unpacked;
+    }
+
+    private void addEntry(Object message, int frames) {
+        if (messages.isEmpty()) {
+            started = System.nanoTime();
+        }
+        messages.add(message);
+        frameCount += frames;
+    }
+
+    private byte[] createHeader() {
+        int size = messages.size();
+        ByteBuffer buffer = ByteBuffer.allocate(8 + size * 4);
+        buffer.putInt(MARKER);
+        buffer.putInt(size);
+        for (Object message : messages) {
+            buffer.putInt(message instanceof byte[] ? 1 : ((byte[][]) message).length);
+        }
+        return buffer.array();
+    }
+
+}
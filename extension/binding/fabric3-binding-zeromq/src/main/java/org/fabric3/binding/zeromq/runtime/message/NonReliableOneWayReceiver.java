@@ -18,7 +18,6 @@
  */
 package org.fabric3.binding.zeromq.runtime.message;
 
-import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
@@ -26,6 +25,7 @@ import org.fabric3.api.annotation.management.Management;
 import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
 import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
 import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManager;
 import org.fabric3.spi.container.invocation.Message;
 import org.fabric3.spi.container.invocation.MessageCache;
 import org.fabric3.spi.container.invocation.WorkContext;
@@ -37,12 +37,12 @@ import org.zeromq.ZMQ;
 /**
  * Implementation of a {@link Receiver} the implements one-way with no qualities of service.
  *
- * Since ZeroMQ requires the creating socket thread to receive messages, a polling thread is used for reading messages from the ZeroMQ socket. The receiver
+ * Since ZeroMQ requires the creating socket thread to receive messages, the socket is polled and read on a ZeroMQ I/O thread. The receiver
  * listens for address updates (e.g. a sender coming online or going away). Since ZeroMQ does not implement disconnect semantics on a socket, if an update is
  * received the original socket will be closed and a new one created to connect to the updated set of addresses.
  */
 @Management
-public class NonReliableOneWayReceiver extends AbstractReceiver implements Thread.UncaughtExceptionHandler {
+public class NonReliableOneWayReceiver extends AbstractReceiver {
 
     /**
      * Constructor.
@@ -51,6 +51,7 @@ public class NonReliableOneWayReceiver extends AbstractReceiver implements Threa
      * @param address         the address to receive messages on
      * @param chains          the invocation chains for dispatching invocations
      * @param executorService the runtime executor service
+     * @param ioManager       the I/O thread manager
      * @param metadata        metadata
      * @param monitor         the monitor
      */
@@ -58,42 +59,41 @@ public class NonReliableOneWayReceiver extends AbstractReceiver implements Threa
                                      SocketAddress address,
                                      List<InvocationChain> chains,
                                      ExecutorService executorService,
+                                     IOThreadManager ioManager,
                                      ZeroMQMetadata metadata,
                                      MessagingMonitor monitor) {
-        super(manager, address, chains, ZMQ.PULL, metadata, executorService, monitor);
+        super(manager, address, chains, ZMQ.PULL, metadata, executorService, ioManager, monitor);
     }
 
     @Override
     protected boolean invoke(ZMQ.Socket socket) {
-        final byte[][] frames = new byte[3][];
-        int i = 1;
-        frames[0] = socket.recv(0);
-        while (socket.hasReceiveMore()) {
-            if (i > 2) {
-                monitor.error("Invalid message: received more than three frames");
+        List<byte[][]> messages = receiveMessages(socket);
+        for (byte[][] frames : messages) {
+            if (frames.length < 2 || frames.length > 3) {
+                monitor.error("Invalid message: received " + frames.length + " frames");
                 return false;
             }
-            frames[i] = socket.recv(0);
-            i++;
         }
-        executorService.submit(new Runnable() {
-            public void run() {
-                Message request = MessageCache.getAndResetMessage();
-                try {
-                    request.setBody(frames[0]);
-                    int methodIndex = ByteBuffer.wrap(frames[1]).getInt();
-                    WorkContext context = setWorkContext(frames[2]);
+        for (final byte[][] frames : messages) {
+            executorService.submit(new Runnable() {
+                public void run() {
+                    Message request = MessageCache.getAndResetMessage();
+                    try {
+                        request.setBody(frames[0]);
+                        int methodIndex = Frames.readIndex(frames[1]);
+                        WorkContext context = setWorkContext(frames.length > 2 ? frames[2] : null);
 
-                    request.setWorkContext(context);
+                        request.setWorkContext(context);
 
-                    Interceptor interceptor = interceptors[methodIndex];
+                        Interceptor interceptor = interceptors[methodIndex];
 
-                    interceptor.invoke(request);
-                } finally {
-                    request.reset();
+                        interceptor.invoke(request);
+                    } finally {
+                        request.reset();
+                    }
                 }
-            }
-        });
+            });
+        }
         return true;
     }
 
@@ -18,10 +18,10 @@
  */
 package org.fabric3.binding.zeromq.runtime.message;
 
-import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -30,7 +30,9 @@ import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
 import org.fabric3.binding.zeromq.runtime.context.ContextManager;
-import org.fabric3.spi.container.invocation.CallbackReferenceSerializer;
+import org.fabric3.binding.zeromq.runtime.io.IOHandler;
+import org.fabric3.binding.zeromq.runtime.io.IORegistration;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManager;
 import org.fabric3.spi.container.invocation.WorkContext;
 import org.fabric3.spi.discovery.EntryChange;
 import org.fabric3.spi.discovery.ServiceEntry;
@@ -39,50 +41,56 @@ import org.oasisopen.sca.ServiceRuntimeException;
 import org.zeromq.ZMQ;
 
 /**
+ * Implements one-way dispatch to a service with no qualities of service.
  *
+ * Requests are queued and sent by a dispatcher running on a ZeroMQ I/O thread that owns the sockets. If batching is enabled, queued requests are coalesced
+ * into a single multipart send of up to the configured batch size, holding a partial batch for at most the configured batch latency.
  */
 @Management
-public class NonReliableOneWaySender implements OneWaySender, Thread.UncaughtExceptionHandler {
-    private static final Request SHUTDOWN = new Request(null, 0, null);
+public class NonReliableOneWaySender implements OneWaySender {
     private String id;
     private List<SocketAddress> addresses;
+    private IOThreadManager ioManager;
     private MessagingMonitor monitor;
 
     private SocketMultiplexer multiplexer;
-    private Dispatcher dispatcher;
+    private volatile Dispatcher dispatcher;
+    private volatile IORegistration registration;
 
-    private LinkedBlockingQueue<Request> queue;
-    private long pollTimeout;
+    private ConcurrentLinkedQueue<Request> queue;
+    private CallbackFrameCache callbackCache = new CallbackFrameCache();
+    private int batchSize;
+    private long batchLatency;
 
     public NonReliableOneWaySender(String id,
                                    ContextManager manager,
                                    List<SocketAddress> addresses,
-                                   long pollTimeout,
+                                   IOThreadManager ioManager,
                                    ZeroMQMetadata metadata,
                                    MessagingMonitor monitor) {
         this.id = id;
         this.addresses = addresses;
-        this.pollTimeout = pollTimeout;
+        this.ioManager = ioManager;
         this.monitor = monitor;
-        queue = new LinkedBlockingQueue<>();
+        this.batchSize = Math.max(1, metadata.getBatchSize());
+        this.batchLatency = TimeUnit.MILLISECONDS.toNanos(metadata.getBatchLatency());
+        queue = new ConcurrentLinkedQueue<>();
         multiplexer = new RoundRobinSocketMultiplexer(manager, ZMQ.PUSH, metadata);
     }
 
     public void start() {
         if (dispatcher == null) {
             dispatcher = new Dispatcher();
-            schedule();
+            registration = ioManager.register(dispatcher);
         }
     }
 
     public void stop() {
         try {
-            dispatcher.stop();
-            queue.put(SHUTDOWN);
-        } catch (InterruptedException e) {
-            monitor.error(e);
+            ioManager.unregister(dispatcher);
         } finally {
             dispatcher = null;
+            registration = null;
         }
     }
 
@@ -93,32 +101,30 @@ public class NonReliableOneWaySender implements OneWaySender, Thread.UncaughtExc
     public void accept(EntryChange change, ServiceEntry entry) {
         // refresh socket
         this.addresses = AddressUpdater.accept(change, entry, addresses);
-        dispatcher.refresh();
+        Dispatcher currentDispatcher = dispatcher;
+        IORegistration currentRegistration = registration;
+        if (currentDispatcher == null || currentRegistration == null) {
+            // not started; the addresses are applied when the dispatcher is opened
+            return;
+        }
+        currentDispatcher.refresh();
+        currentRegistration.wakeup();
     }
 
     public void send(byte[] message, int index, WorkContext workContext) {
+        IORegistration currentRegistration = registration;
+        if (currentRegistration == null) {
+            throw new ServiceRuntimeException("Sender is not started: " + id);
+        }
         try {
             Request request = new Request(message, index, serialize(workContext));
-            queue.put(request);
-        } catch (InterruptedException e) {
-            Thread.interrupted();
-            throw new ServiceRuntimeException(e);
+            queue.add(request);
+            currentRegistration.wakeup();
         } catch (Fabric3Exception e) {
             throw new ServiceRuntimeException(e);
         }
     }
 
-    public void uncaughtException(Thread t, Throwable e) {
-        monitor.error(e);
-    }
-
-    private void schedule() {
-        // TODO use runtime thread pool
-        Thread thread = new Thread(dispatcher);
-        thread.setUncaughtExceptionHandler(this);
-        thread.start();
-    }
-
     /**
      * Serializes the work context.
      *
@@ -126,21 +132,17 @@ public class NonReliableOneWaySender implements OneWaySender, Thread.UncaughtExc
      * @return the serialized work context
      * @throws Fabric3Exception if a serialization error is encountered
      */
-    private byte[] serialize(WorkContext workContext)  {
-        List<String> stack = workContext.getCallbackReferences();
-        if (stack == null || stack.isEmpty()) {
-            return null;
-        }
-
-        return CallbackReferenceSerializer.serializeToBytes(stack);
+    private byte[] serialize(WorkContext workContext) {
+        return callbackCache.serialize(workContext.getCallbackReferences());
     }
 
     /**
-     * Dispatches requests to the ZeroMQ socket.
+     * Dispatches requests to the ZeroMQ socket. Called on the assigned I/O thread.
      */
-    private class Dispatcher implements Runnable {
-        private AtomicBoolean active = new AtomicBoolean(true);
+    private class Dispatcher implements IOHandler {
         private AtomicBoolean doRefresh = new AtomicBoolean(true);
+        private MessageBatch batch = new MessageBatch();
+        private ZMQ.Socket socket;
 
         /**
          * Signals to closes the old socket and establish a new one when publisher addresses have changed in the domain.
@@ -149,69 +151,71 @@ public class NonReliableOneWaySender implements OneWaySender, Thread.UncaughtExc
             doRefresh.set(true);
         }
 
-        /**
-         * Stops polling and closes the existing socket.
-         */
-        public void stop() {
-            active.set(false);
-        }
-
-        public void run() {
-            while (active.get()) {
-                try {
-                    reconnect();
-
-                    // handle pending requests
-                    List<Request> drained = new ArrayList<>();
-                    Request value = queue.poll(pollTimeout, TimeUnit.MICROSECONDS);
-                    if (SHUTDOWN == value) {
-                        multiplexer.close();
-                        return;
-                    }
-                    // if no available socket, drop the message
-                    if (!multiplexer.isAvailable()) {
-                        monitor.dropMessage();
-                        continue;
-                    }
-
-                    if (value != null) {
-                        drained.add(value);
-                        queue.drainTo(drained);
-                    }
-                    for (Request request : drained) {
-                        if (SHUTDOWN == request) {
-                            multiplexer.close();
-                            return;
-                        }
-                        ZMQ.Socket socket = multiplexer.get();
-
-                        // serialize the request payload
-                        socket.send(request.getPayload(), ZMQ.SNDMORE);
-
-                        // serialize the operation index
-                        int index = request.getIndex();
-                        byte[] context = request.getWorkContext();
-
-                        byte[] serializedIndex = ByteBuffer.allocate(4).putInt(index).array();
-
-                        if (context != null && context.length > 0) {
-                            socket.send(serializedIndex, ZMQ.SNDMORE);
-                            socket.send(context, 0);
-                        } else {
-                            socket.send(serializedIndex, 0);
-                        }
-                    }
-                } catch (RuntimeException e) {
-                    // exception, make sure the thread is rescheduled
-                    schedule();
-                    throw e;
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+        public String getId() {
+            return id;
+        }
+
+        public void open(IORegistration registration) {
+            reconnect();
+        }
+
+        public long process() {
+            if (batch.isEmpty()) {
+                // only switch sockets between batches
+                reconnect();
+            }
+            // if no available socket, drop pending messages
+            if (!multiplexer.isAvailable()) {
+                if (!queue.isEmpty() || !batch.isEmpty()) {
+                    monitor.dropMessage();
+                }
+                queue.clear();
+                batch.clear();
+                return -1;
+            }
+
+            Request request;
+            while ((request = queue.poll()) != null) {
+                if (batch.isEmpty()) {
+                    socket = multiplexer.get();
+                }
+                batch.add(request.getFrames());
+                if (batch.size() >= batchSize) {
+                    batch.send(socket);
                 }
             }
+            if (batch.isEmpty()) {
+                // no pending work; park until woken
+                return -1;
+            }
+            long elapsed = batch.elapsed();
+            if (elapsed >= batchLatency) {
+                batch.send(socket);
+                return -1;
+            }
+            // hold the partial batch for the remaining latency budget
+            return batchLatency - elapsed;
+        }
+
+        public Collection<ZMQ.Socket> getReadSockets() {
+            return Collections.emptyList();
+        }
+
+        public void read(ZMQ.Socket socket) {
+            // no-op
+        }
+
+        public void close() {
+            if (!batch.isEmpty() && multiplexer.isAvailable()) {
+                batch.send(socket);
+            }
             multiplexer.close();
         }
 
+        public int getQueueDepth() {
+            return queue.size() + batch.size();
+        }
+
         /**
          * Updates the multiplexer with new endpoint addresses.
          */
@@ -246,6 +250,19 @@ public class NonReliableOneWaySender implements OneWaySender, Thread.UncaughtExc
             return workContext;
         }
 
+        /**
+         * Returns the message frames: the payload, the operation index and, if present, the serialized work context.
+         *
+         * @return the frames
+         */
+        public byte[][] getFrames() {
+            byte[] serializedIndex = Frames.index(index);
+            if (workContext != null && workContext.length > 0) {
+                return new byte[][]{payload, serializedIndex, workContext};
+            }
+            return new byte[][]{payload, serializedIndex};
+        }
+
     }
 
 }
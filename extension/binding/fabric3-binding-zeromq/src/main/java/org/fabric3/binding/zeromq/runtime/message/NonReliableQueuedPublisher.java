@@ -41,13 +41,19 @@ import org.zeromq.ZMQ.Socket;
  *
  * Since ZeroMQ requires the creating socket thread to dispatch messages, a looping thread is used for publishing messages. Messages are provided to the thread
  * via a queue.
+ *
+ * If batching is enabled, queued messages are coalesced into a single multipart send of up to the configured batch size. A partial batch is held for at most
+ * the configured batch latency or until an upstream end-of-batch marker is received.
  */
 @Management
 public class NonReliableQueuedPublisher implements Publisher, Thread.UncaughtExceptionHandler {
     private static final byte[] SHUTDOWN = new byte[0];
+    private static final Object FLUSH = new Object();
     private ContextManager manager;
     private SocketAddress address;
     private long pollTimeout;
+    private int batchSize;
+    private long batchLatency;
     private ZeroMQMetadata metadata;
     private MessagingMonitor monitor;
 
@@ -62,6 +68,8 @@ public class NonReliableQueuedPublisher implements Publisher, Thread.UncaughtExc
         this.pollTimeout = pollTimeout;
         this.metadata = metadata;
         this.monitor = monitor;
+        this.batchSize = Math.max(1, metadata.getBatchSize());
+        this.batchLatency = TimeUnit.MILLISECONDS.toNanos(metadata.getBatchLatency());
         this.queue = new LinkedBlockingQueue<>();
     }
 
@@ -92,26 +100,48 @@ public class NonReliableQueuedPublisher implements Publisher, Thread.UncaughtExc
         return address.toString();
     }
 
+    @ManagementOperation(description = "The maximum number of messages coalesced into a single send")
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @ManagementOperation(description = "The number of messages waiting to be published")
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
     public void publish(byte[] message) {
-        try {
-            queue.put(message);
-        } catch (InterruptedException e) {
-            Thread.interrupted();
-        }
+        publish(message, false);
     }
 
     public void publish(byte[][] message) {
+        publish(message, false);
+    }
+
+    public void publish(byte[] message, boolean endOfBatch) {
+        enqueue(message, endOfBatch);
+    }
+
+    public void publish(byte[][] message, boolean endOfBatch) {
+        enqueue(message, endOfBatch);
+    }
+
+    public void uncaughtException(Thread t, Throwable e) {
+        monitor.error(e);
+    }
+
+    private void enqueue(Object message, boolean endOfBatch) {
         try {
             queue.put(message);
+            if (endOfBatch && batchLatency > 0) {
+                // signal the dispatcher not to hold the current batch for additional messages
+                queue.put(FLUSH);
+            }
         } catch (InterruptedException e) {
             Thread.interrupted();
         }
     }
 
-    public void uncaughtException(Thread t, Throwable e) {
-        monitor.error(e);
-    }
-
     private void schedule() {
         Thread thread = new Thread(dispatcher);
         thread.setUncaughtExceptionHandler(this);
@@ -133,37 +163,42 @@ public class NonReliableQueuedPublisher implements Publisher, Thread.UncaughtExc
             address.getPort().bind(Port.TYPE.TCP);
             socket.bind(address.toProtocolString());
 
+            List<Object> drained = new ArrayList<>();
+            MessageBatch batch = new MessageBatch();
             while (active.get()) {
                 try {
-
-                    Object value = queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
-                    if (SHUTDOWN == value) {
-                        close(id);
-                        return;
-                    }
-                    if (value == null) {
-                        continue;
-                    }
-                    List<Object> drained = new ArrayList<>();
-                    drained.add(value);
-                    queue.drainTo(drained);
-                    for (Object object : drained) {
-                        if (object instanceof byte[]) {
-                            // single frame message
-                            socket.send((byte[]) object, 0);
-                        } else if (object instanceof byte[][]) {
-                            // multi-frame message - send each frame
-                            byte[][] byteArray = (byte[][]) object;
-                            int length = byteArray.length;
-                            for (int i = 0; i < length - 1; i++) {
-                                byte[] bytes = byteArray[i];
-                                socket.send(bytes, ZMQ.SNDMORE);
+                    // wait for the remaining latency budget if a partial batch is held, otherwise the poll timeout
+                    long timeout = batch.isEmpty() ? TimeUnit.MILLISECONDS.toNanos(pollTimeout) : Math.max(0, batchLatency - batch.elapsed());
+                    Object value = queue.poll(timeout, TimeUnit.NANOSECONDS);
+                    boolean flush = false;
+                    if (value != null) {
+                        drained.add(value);
+                        queue.drainTo(drained);
+                        for (Object object : drained) {
+                            if (SHUTDOWN == object) {
+                                batch.send(socket);
+                                close(id);
+                                return;
+                            } else if (FLUSH == object) {
+                                flush = true;
+                            } else if (object instanceof byte[]) {
+                                // single frame message
+                                batch.add((byte[]) object);
+                            } else if (object instanceof byte[][]) {
+                                // multi-frame message
+                                batch.add((byte[][]) object);
+                            } else {
+                                // programming error
+                                monitor.error("Unknown object type:" + object.getClass().getName());
+                            }
+                            if (batch.size() >= batchSize) {
+                                batch.send(socket);
                             }
-                            socket.send(byteArray[length - 1], 0);
-                        } else {
-                            // programming error
-                            monitor.error("Unknown object type:" + object.getClass().getName());
                         }
+                        drained.clear();
+                    }
+                    if (flush || batch.elapsed() >= batchLatency) {
+                        batch.send(socket);
                     }
                 } catch (RuntimeException e) {
                     // exception, make sure the thread is rescheduled
@@ -175,6 +210,7 @@ public class NonReliableQueuedPublisher implements Publisher, Thread.UncaughtExc
                 }
 
             }
+            batch.send(socket);
             close(id);
         }
 
@@ -18,17 +18,15 @@
  */
 package org.fabric3.binding.zeromq.runtime.message;
 
-import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 
 import org.fabric3.api.annotation.management.Management;
 import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
 import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
 import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManager;
 import org.fabric3.spi.container.invocation.Message;
 import org.fabric3.spi.container.invocation.MessageCache;
 import org.fabric3.spi.container.invocation.WorkContext;
@@ -42,15 +40,13 @@ import org.zeromq.ZMQ.Socket;
 /**
  * A {@link Receiver} that implements request-reply with no qualities of service.
  *
- * Since ZeroMQ requires the creating socket thread to receive messages, a polling thread is used for reading messages from the ZeroMQ socket. The receiver
+ * Since ZeroMQ requires the creating socket thread to receive messages, the socket is polled and read on a ZeroMQ I/O thread. The receiver
  * listens for address updates (e.g. a sender coming online or going away). Since ZeroMQ does not implement disconnect semantics on a socket, if an update is
  * received the original socket will be closed and a new one created to connect to the update set of addresses.
  */
 @Management
-public class NonReliableRequestReplyReceiver extends AbstractReceiver implements Thread.UncaughtExceptionHandler {
-    private static final Response SHUTDOWN = new Response(null, null);
-    private LinkedBlockingQueue<Response> queue;
-    private final long pollTimeout;
+public class NonReliableRequestReplyReceiver extends AbstractReceiver {
+    private ConcurrentLinkedQueue<Response> queue;
 
     /**
      * Constructor.
@@ -59,47 +55,38 @@ public class NonReliableRequestReplyReceiver extends AbstractReceiver implements
      * @param address         the address to receive messages on
      * @param chains          the invocation chains for dispatching invocations
      * @param executorService the runtime executor service
+     * @param ioManager       the I/O thread manager
      * @param metadata        metadata
-     * @param pollTimeout     timeout for polling operations in microseconds
      * @param monitor         the monitor
      */
     public NonReliableRequestReplyReceiver(ContextManager manager,
                                            SocketAddress address,
                                            List<InvocationChain> chains,
                                            ExecutorService executorService,
-                                           long pollTimeout,
+                                           IOThreadManager ioManager,
                                            ZeroMQMetadata metadata,
                                            MessagingMonitor monitor) {
-        super(manager, address, chains, ZMQ.XREP, metadata, executorService, monitor);
-        this.pollTimeout = pollTimeout;
-        queue = new LinkedBlockingQueue<>();
+        super(manager, address, chains, ZMQ.XREP, metadata, executorService, ioManager, monitor);
+        queue = new ConcurrentLinkedQueue<>();
     }
 
     protected boolean invoke(Socket socket) {
-        // read the message
-        final byte[] clientId = socket.recv(ZMQ.NOBLOCK);
-        if (clientId == null) {
-            // nothing was received, just return
+        // read the message: the client id followed by the payload, operation index and optional work context
+        byte[][] message = receiveFrames(socket);
+        if (message.length < 3 || message.length > 4) {
+            monitor.error("Invalid message: received " + message.length + " frames");
             return false;
         }
+        final byte[] clientId = message[0];
         final byte[][] frames = new byte[3][];
-        int i = 1;
-        frames[0] = socket.recv(0);
-        while (socket.hasReceiveMore()) {
-            if (i > 2) {
-                monitor.error("Invalid message: received more than three frames");
-                return false;
-            }
-            frames[i] = socket.recv(0);
-            i++;
-        }
+        System.arraycopy(message, 1, frames, 0, message.length - 1);
         executorService.execute(new Runnable() {
             public void run() {
                 Message request = MessageCache.getAndResetMessage();
                 try {
 
                     request.setBody(frames[0]);
-                    int methodIndex = ByteBuffer.wrap(frames[1]).getInt();
+                    int methodIndex = Frames.readIndex(frames[1]);
                     WorkContext context = setWorkContext(frames[2]);
 
                     request.setWorkContext(context);
@@ -114,12 +101,9 @@ public class NonReliableRequestReplyReceiver extends AbstractReceiver implements
                         throw new ServiceRuntimeException("Return value not serialized");
                     }
 
-                    // queue the response
-                    try {
-                        queue.put(new Response(clientId, (byte[]) responseBody));
-                    } catch (InterruptedException e) {
-                        Thread.interrupted();
-                    }
+                    // queue the response and signal the I/O thread to send it
+                    queue.add(new Response(clientId, (byte[]) responseBody));
+                    wakeup();
                 } finally {
                     request.reset();
                     //                    context.reset();
@@ -132,25 +116,10 @@ public class NonReliableRequestReplyReceiver extends AbstractReceiver implements
     }
 
     protected void response(Socket socket) {
-        try {
-            Response first = queue.poll(pollTimeout, TimeUnit.MICROSECONDS);
-            if (first == null || SHUTDOWN == first) {
-                // don't close socket in case of shutdown as it is handled in the superclass
-                return;
-            }
-            List<Response> drained = new ArrayList<>();
-            drained.add(first);
-            queue.drainTo(drained);
-
-            for (Response response : drained) {
-                if (SHUTDOWN == response){
-                    return;
-                }
-                socket.send(response.clientId, ZMQ.SNDMORE);
-                socket.send(response.body, 0);
-            }
-        } catch (InterruptedException e) {
-            Thread.interrupted();
+        Response response;
+        while ((response = queue.poll()) != null) {
+            socket.send(response.clientId, ZMQ.SNDMORE);
+            socket.send(response.body, 0);
         }
     }
 
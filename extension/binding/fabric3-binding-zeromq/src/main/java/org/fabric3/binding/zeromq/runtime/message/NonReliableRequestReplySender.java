@@ -18,17 +18,13 @@
  */
 package org.fabric3.binding.zeromq.runtime.message;
 
-import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -37,7 +33,9 @@ import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
 import org.fabric3.binding.zeromq.runtime.context.ContextManager;
-import org.fabric3.spi.container.invocation.CallbackReferenceSerializer;
+import org.fabric3.binding.zeromq.runtime.io.IOHandler;
+import org.fabric3.binding.zeromq.runtime.io.IORegistration;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManager;
 import org.fabric3.spi.container.invocation.WorkContext;
 import org.fabric3.spi.discovery.EntryChange;
 import org.fabric3.spi.discovery.ServiceEntry;
@@ -50,58 +48,71 @@ import org.zeromq.ZMQ.Socket;
 /**
  * A {@link RequestReplySender} that provides no qualities of service.
  *
- * Since ZeroMQ requires the creating socket thread to dispatch messages, a looping thread is used for sending messages. Messages are provided to the thread via
- * a queue.
+ * Since ZeroMQ requires the creating socket thread to dispatch messages, requests are sent by a dispatcher running on a ZeroMQ I/O thread. Messages are
+ * provided to the dispatcher via a queue. One request is outstanding at a time; its response is read when the I/O thread polls the socket as readable.
  */
-public class NonReliableRequestReplySender implements RequestReplySender, Thread.UncaughtExceptionHandler {
+public class NonReliableRequestReplySender implements RequestReplySender {
     private static final Callable<byte[]> CALLABLE = () -> null;
-    private static final Request SHUTDOWN = new Request(null, 0, null);
 
     private String id;
     private ContextManager manager;
     private List<SocketAddress> addresses;
     private long pollTimeout;
+    private ZeroMQMetadata metadata;
+    private IOThreadManager ioManager;
     private MessagingMonitor monitor;
 
-    private Dispatcher dispatcher;
+    private volatile Dispatcher dispatcher;
+    private volatile IORegistration registration;
 
     private RoundRobinSocketMultiplexer multiplexer;
-    private Map<Socket, ZMQ.Poller> pollers;
 
-    private LinkedBlockingQueue<Request> queue;
+    private ConcurrentLinkedQueue<Request> queue;
+    private CallbackFrameCache callbackCache = new CallbackFrameCache();
 
+    /**
+     * Constructor.
+     *
+     * @param id          the sender id
+     * @param manager     the ZeroMQ Context manager
+     * @param addresses   the service addresses
+     * @param pollTimeout the time in microseconds to wait for a response
+     * @param ioManager   the I/O thread manager
+     * @param metadata    metadata
+     * @param monitor     the monitor
+     */
     public NonReliableRequestReplySender(String id,
                                          ContextManager manager,
                                          List<SocketAddress> addresses,
                                          long pollTimeout,
+                                         IOThreadManager ioManager,
                                          ZeroMQMetadata metadata,
                                          MessagingMonitor monitor) {
         this.id = id;
         this.manager = manager;
         this.addresses = addresses;
         this.pollTimeout = pollTimeout;
+        this.metadata = metadata;
+        this.ioManager = ioManager;
         this.monitor = monitor;
         multiplexer = new RoundRobinSocketMultiplexer(manager, ZMQ.XREQ, metadata);
-        queue = new LinkedBlockingQueue<>();
-        pollers = new ConcurrentHashMap<>();
+        queue = new ConcurrentLinkedQueue<>();
     }
 
     public void start() {
         if (dispatcher == null) {
             dispatcher = new Dispatcher();
-            schedule();
+            registration = ioManager.register(dispatcher);
         }
 
     }
 
     public void stop() {
         try {
-            dispatcher.stop();
-            queue.put(SHUTDOWN);
-        } catch (InterruptedException e) {
-            monitor.error(e);
+            ioManager.unregister(dispatcher);
         } finally {
             dispatcher = null;
+            registration = null;
         }
     }
 
@@ -112,14 +123,26 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
     public void accept(EntryChange change, ServiceEntry entry) {
         // refresh socket
         this.addresses = AddressUpdater.accept(change, entry, addresses);
-        dispatcher.refresh();
+        Dispatcher currentDispatcher = dispatcher;
+        IORegistration currentRegistration = registration;
+        if (currentDispatcher == null || currentRegistration == null) {
+            // not started; the addresses are applied when the dispatcher is opened
+            return;
+        }
+        currentDispatcher.refresh();
+        currentRegistration.wakeup();
     }
 
     public byte[] sendAndReply(byte[] message, int index, WorkContext workContext) {
+        IORegistration currentRegistration = registration;
+        if (currentRegistration == null) {
+            throw new ServiceRuntimeException("Sender is not started: " + id);
+        }
         try {
             byte[] serializedWorkContext = serialize(workContext);
             Request request = new Request(message, index, serializedWorkContext);
-            queue.put(request);
+            queue.add(request);
+            currentRegistration.wakeup();
             return request.get(100000, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.interrupted();
@@ -131,17 +154,6 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
         }
     }
 
-    public void uncaughtException(Thread t, Throwable e) {
-        monitor.error(e);
-    }
-
-    private void schedule() {
-        // TODO use runtime thread pool
-        Thread thread = new Thread(dispatcher);
-        thread.setUncaughtExceptionHandler(this);
-        thread.start();
-    }
-
     /**
      * Serializes the work context.
      *
@@ -150,20 +162,20 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
      * @throws Fabric3Exception if a serialization error is encountered
      */
     private byte[] serialize(WorkContext workContext) {
-        List<String> stack = workContext.getCallbackReferences();
-        if (stack == null || stack.isEmpty()) {
-            return null;
-        }
-        return CallbackReferenceSerializer.serializeToBytes(stack);
+        return callbackCache.serialize(workContext.getCallbackReferences());
     }
 
     /**
-     * Dispatches requests to the ZeroMQ socket.
+     * Dispatches requests to the ZeroMQ socket and reads responses. Called on the assigned I/O thread.
      */
-    private class Dispatcher implements Runnable {
-        private AtomicBoolean active = new AtomicBoolean(true);
+    private class Dispatcher implements IOHandler {
         private AtomicBoolean doRefresh = new AtomicBoolean(true);
-        private Socket controlSocket;
+        private IORegistration registration;
+
+        // the request awaiting a response
+        private Request outstanding;
+        private Socket outstandingSocket;
+        private long sent;
 
         /**
          * Signals to closes the old socket and establish a new one when publisher addresses have changed in the domain.
@@ -172,89 +184,99 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
             doRefresh.set(true);
         }
 
-        /**
-         * Stops polling and closes the existing socket.
-         */
-        public void stop() {
-            active.set(false);
+        public String getId() {
+            return id;
         }
 
-        public void run() {
-            while (active.get()) {
-                try {
-                    reconnect();
-
-                    // handle pending requests
-                    List<Request> drained = new ArrayList<>();
-                    Request value = queue.poll(pollTimeout, TimeUnit.MICROSECONDS);
-                    if (SHUTDOWN == value) {
-                        multiplexer.close();
-                        controlSocket.close();
-                        return;
-                    }
-                    // if no available socket, drop the message
-                    if (!multiplexer.isAvailable()) {
-                        monitor.dropMessage();
-                        continue;
-                    }
-
-                    if (value != null) {
-                        drained.add(value);
-                        queue.drainTo(drained);
-                    }
-                    for (Request request : drained) {
-                        Socket socket = multiplexer.get();
-
-                        socket.send(request.getPayload(), ZMQ.SNDMORE);
-
-                        // serialize the operation index
-                        int index = request.getIndex();
-                        byte[] serializedIndex = ByteBuffer.allocate(4).putInt(index).array();
-
-                        byte[] context = request.getWorkContext();
-                        if (context != null && context.length > 0) {
-                            socket.send(serializedIndex, ZMQ.SNDMORE);
-                            socket.send(context, 0);
-                        } else {
-                            socket.send(serializedIndex, 0);
-                        }
-
-                        ZMQ.Poller poller = pollers.get(socket);
-                        long val = poller.poll(pollTimeout);
-                        if (val < 0) {
-                            // response timed out, return an error to the waiting thread
-                            //noinspection ThrowableInstanceNeverThrown
-                            request.setException(new ServiceUnavailableException("Timeout waiting on response"));
-                            request.run();
-                            continue;
-                        }
-                        byte[] controlPayload = controlSocket.recv(ZMQ.NOBLOCK);
-                        if (controlPayload != null) {
-                            multiplexer.close();
-                            if (controlSocket != null) {
-                                controlSocket.close();
-                            }
-                            return;
-                        }
-
-                        byte[] response = socket.recv(0);
-                        request.set(response);
-                        request.run();
-                    }
-                } catch (RuntimeException e) {
-                    // exception, make sure the thread is rescheduled
-                    schedule();
-                    throw e;
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+        public void open(IORegistration registration) {
+            this.registration = registration;
+            reconnect();
+        }
+
+        public long process() {
+            long timeout = TimeUnit.MICROSECONDS.toNanos(pollTimeout);
+            if (outstanding != null) {
+                long elapsed = System.nanoTime() - sent;
+                if (elapsed < timeout) {
+                    return timeout - elapsed;
                 }
+                // response timed out, return an error to the waiting thread
+                //noinspection ThrowableInstanceNeverThrown
+                outstanding.setException(new ServiceUnavailableException("Timeout waiting on response"));
+                outstanding = null;
+                outstandingSocket = null;
+                // recreate the sockets so a late response is not returned for a subsequent request
+                multiplexer.close();
+                multiplexer = new RoundRobinSocketMultiplexer(manager, ZMQ.XREQ, metadata);
+                doRefresh.set(true);
+            }
+            reconnect();
 
+            Request request = queue.poll();
+            if (request == null) {
+                return -1;
             }
-            multiplexer.close();
-            if (controlSocket != null) {
-                controlSocket.close();
+            // if no available socket, drop the message
+            if (!multiplexer.isAvailable()) {
+                monitor.dropMessage();
+                request.setException(new ServiceUnavailableException("No endpoints available for " + id));
+                return 0;
+            }
+            Socket socket = multiplexer.get();
+
+            socket.send(request.getPayload(), ZMQ.SNDMORE);
+
+            // serialize the operation index
+            int index = request.getIndex();
+            byte[] serializedIndex = Frames.index(index);
+
+            byte[] context = request.getWorkContext();
+            if (context != null && context.length > 0) {
+                socket.send(serializedIndex, ZMQ.SNDMORE);
+                socket.send(context, 0);
+            } else {
+                socket.send(serializedIndex, 0);
             }
+            outstanding = request;
+            outstandingSocket = socket;
+            sent = System.nanoTime();
+            return timeout;
+        }
+
+        public Collection<Socket> getReadSockets() {
+            return multiplexer.getAll();
+        }
 
+        public void read(Socket socket) {
+            byte[] response = socket.recv(0);
+            while (socket.hasReceiveMore()) {
+                socket.recv(0);
+            }
+            if (outstanding == null || socket != outstandingSocket) {
+                // a late response for a request that timed out
+                return;
+            }
+            outstanding.set(response);
+            outstanding = null;
+            outstandingSocket = null;
+            // send the next queued request
+            registration.wakeup();
+        }
+
+        public void close() {
+            if (outstanding != null) {
+                outstanding.setException(new ServiceUnavailableException("Sender closed: " + id));
+                outstanding = null;
+            }
+            Request request;
+            while ((request = queue.poll()) != null) {
+                request.setException(new ServiceUnavailableException("Sender closed: " + id));
+            }
+            multiplexer.close();
+        }
+
+        public int getQueueDepth() {
+            return queue.size() + (outstanding != null ? 1 : 0);
         }
 
         /**
@@ -264,19 +286,8 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
             if (!doRefresh.getAndSet(false)) {
                 return;
             }
-            if (controlSocket == null) {
-                controlSocket = manager.createControlSocket();
-            }
-
             multiplexer.update(addresses);
-            Collection<Socket> sockets = multiplexer.getAll();
-            pollers.clear();
-            for (Socket socket : sockets) {
-                ZMQ.Poller poller = manager.getContext().poller();
-                poller.register(socket, ZMQ.Poller.POLLIN);
-                poller.register(controlSocket, ZMQ.Poller.POLLIN);
-                pollers.put(socket, poller);
-            }
+            registration.refresh();
         }
     }
 
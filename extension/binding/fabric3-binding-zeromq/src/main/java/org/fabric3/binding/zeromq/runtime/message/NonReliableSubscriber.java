@@ -18,6 +18,7 @@
  */
 package org.fabric3.binding.zeromq.runtime.message;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -151,6 +152,9 @@ public class NonReliableSubscriber implements Subscriber, BiConsumer<EntryChange
         private AtomicBoolean active = new AtomicBoolean(true);
         private AtomicBoolean doRefresh = new AtomicBoolean(true);
 
+        // reused when reading multipart messages
+        private List<byte[]> frameBuffer = new ArrayList<>();
+
         /**
          * Signals to closes the old socket and establish a new one when publisher addresses have changed in the domain.
          */
@@ -179,23 +183,16 @@ public class NonReliableSubscriber implements Subscriber, BiConsumer<EntryChange
                             closeSocket();
                             return;
                         }
-                        byte[][] frames = null;
-                        byte[] payload = socket.recv(0);
-                        int index = 1;
-                        while (socket.hasReceiveMore()) {
-                            if (frames == null) {
-                                frames = new byte[2][];
-                                frames[0] = payload;
-                            } else {
-                                byte[][] newArray = new byte[frames.length + 1][];
-                                System.arraycopy(frames, 0, newArray, 0, frames.length);
-                                frames = newArray;
+                        byte[][] frames = Frames.read(socket, frameBuffer);
+                        if (frames.length == 1) {
+                            handler.handle(frames[0], true);
+                        } else if (MessageBatch.isBatch(frames)) {
+                            // dispatch batched messages individually, signalling the end of the batch on the last one
+                            List<byte[][]> messages = MessageBatch.unpack(frames);
+                            for (int i = 0, size = messages.size(); i < size; i++) {
+                                byte[][] message = messages.get(i);
+                                handler.handle(message.length == 1 ? message[0] : message, i == size - 1);
                             }
-                            frames[index] = socket.recv(0);
-                            index++;
-                        }
-                        if (frames == null) {
-                            handler.handle(payload, true);
                         } else {
                             handler.handle(frames, true);
                         }
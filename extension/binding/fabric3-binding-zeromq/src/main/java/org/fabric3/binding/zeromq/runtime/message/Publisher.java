@@ -48,4 +48,26 @@ public interface Publisher {
      */
     void publish(byte[][] message);
 
+    /**
+     * Sends a single frame message over the socket. Implementations that coalesce messages into batches may treat the end-of-batch marker as a signal to flush
+     * pending messages.
+     *
+     * @param message    the serialized message
+     * @param endOfBatch true if the message is the last in a batch provided by the upstream channel
+     */
+    default void publish(byte[] message, boolean endOfBatch) {
+        publish(message);
+    }
+
+    /**
+     * Sends a multi-frame message over the socket. Implementations that coalesce messages into batches may treat the end-of-batch marker as a signal to flush
+     * pending messages.
+     *
+     * @param message    the serialized message
+     * @param endOfBatch true if the message is the last in a batch provided by the upstream channel
+     */
+    default void publish(byte[][] message, boolean endOfBatch) {
+        publish(message);
+    }
+
 }
@@ -36,6 +36,7 @@ import org.fabric3.spi.introspection.IntrospectionContext;
 public class ZeroMQBindingLoaderTestCase extends TestCase {
     private static final String BINDING_CONFIG =
             "<binding.zeromq name='zmq' addresses='localhost:8080 localhost:8181' high.water='1' multicast.rate='2' multicast.recovery='3' send.buffer='4' receive.buffer='5'/>";
+    private static final String BATCH_CONFIG = "<binding.zeromq name='zmq' batch.size='64' batch.latency='5'/>";
 
     private XMLInputFactory xmlFactory;
     private ZeroMQBindingLoader loader;
@@ -61,7 +62,20 @@ public class ZeroMQBindingLoaderTestCase extends TestCase {
         assertEquals(4, metadata.getSendBuffer());
         assertEquals(5, metadata.getReceiveBuffer());
 
+        // batching is disabled by default
+        assertEquals(1, metadata.getBatchSize());
+        assertEquals(0, metadata.getBatchLatency());
+    }
+
+    public void testLoadBatchConfiguration() throws Exception {
+        XMLStreamReader reader = createReader(BATCH_CONFIG);
+        IntrospectionContext context = new DefaultIntrospectionContext();
+        ZeroMQBinding definition = loader.load(reader, context);
+        assertFalse(context.hasErrors());
 
+        ZeroMQMetadata metadata = definition.getZeroMQMetadata();
+        assertEquals(64, metadata.getBatchSize());
+        assertEquals(5, metadata.getBatchLatency());
     }
 
     @Override
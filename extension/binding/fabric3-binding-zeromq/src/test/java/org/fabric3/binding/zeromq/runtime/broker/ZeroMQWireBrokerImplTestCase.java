@@ -30,6 +30,9 @@ import org.fabric3.api.host.runtime.HostInfo;
 import org.fabric3.binding.zeromq.runtime.JDK7WorkaroundHelper;
 import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
 import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.fabric3.binding.zeromq.runtime.io.IOHandler;
+import org.fabric3.binding.zeromq.runtime.io.IORegistration;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManager;
 import org.fabric3.binding.zeromq.runtime.management.ZeroMQManagementService;
 import org.fabric3.binding.zeromq.runtime.message.OneWaySender;
 import org.fabric3.spi.container.wire.Interceptor;
@@ -52,6 +55,7 @@ public class ZeroMQWireBrokerImplTestCase extends TestCase {
     private ContextManager manager;
     private DiscoveryAgent discoveryAgent;
     private ExecutorService executorService;
+    private IOThreadManager ioManager;
     private MessagingMonitor monitor;
     private ZMQ.Context context;
     private ZeroMQWireBrokerImpl broker;
@@ -85,9 +89,10 @@ public class ZeroMQWireBrokerImplTestCase extends TestCase {
                                                              EasyMock.isA(ClassLoader.class),
                                                              EasyMock.isA(ClassLoader.class))).andReturn(transformInterceptor);
 
-        EasyMock.expect(executorService.submit(EasyMock.isA(Runnable.class))).andReturn(null);
+        EasyMock.expect(ioManager.register(EasyMock.isA(IOHandler.class))).andReturn(EasyMock.createMock(IORegistration.class));
+        ioManager.unregister(EasyMock.isA(IOHandler.class));
 
-        EasyMock.replay(manager, discoveryAgent, executorService, monitor, allocator, info, managementService, interceptorFactory);
+        EasyMock.replay(manager, discoveryAgent, executorService, ioManager, monitor, allocator, info, managementService, interceptorFactory);
 
         PhysicalOperation definition = new PhysicalOperation();
         definition.setOneWay(true);
@@ -106,7 +111,18 @@ public class ZeroMQWireBrokerImplTestCase extends TestCase {
         broker.connectToReceiver(URI.create("wire"), chains, metadata, getClass().getClassLoader());
         broker.releaseReceiver(URI.create("wire"));
 
-        EasyMock.verify(manager, discoveryAgent, executorService, monitor, allocator, info, chain, interceptor, port, managementService, interceptorFactory);
+        EasyMock.verify(manager,
+                        discoveryAgent,
+                        executorService,
+                        ioManager,
+                        monitor,
+                        allocator,
+                        info,
+                        chain,
+                        interceptor,
+                        port,
+                        managementService,
+                        interceptorFactory);
     }
 
     public void testConnectToSenderRelease() throws Exception {
@@ -124,8 +140,11 @@ public class ZeroMQWireBrokerImplTestCase extends TestCase {
                                                              EasyMock.isA(ClassLoader.class),
                                                              EasyMock.isA(ClassLoader.class))).andReturn(transformInterceptor);
 
+        EasyMock.expect(ioManager.register(EasyMock.isA(IOHandler.class))).andReturn(EasyMock.createMock(IORegistration.class));
+        ioManager.unregister(EasyMock.isA(IOHandler.class));
+
         EasyMock.replay(context);
-        EasyMock.replay(manager, discoveryAgent, executorService, monitor, allocator, info, managementService, interceptorFactory);
+        EasyMock.replay(manager, discoveryAgent, executorService, ioManager, monitor, allocator, info, managementService, interceptorFactory);
 
         PhysicalOperation definition = new PhysicalOperation();
         definition.setOneWay(true);
@@ -142,7 +161,7 @@ public class ZeroMQWireBrokerImplTestCase extends TestCase {
         broker.releaseSender("id", URI.create("wire"));
 
         JDK7WorkaroundHelper.workaroundLinuxJDK7Assertion(context);
-        EasyMock.verify(manager, discoveryAgent, executorService, monitor, allocator, info, chain, managementService, interceptorFactory);
+        EasyMock.verify(manager, discoveryAgent, executorService, ioManager, monitor, allocator, info, chain, managementService, interceptorFactory);
     }
 
     @Override
@@ -155,6 +174,8 @@ public class ZeroMQWireBrokerImplTestCase extends TestCase {
 
         executorService = EasyMock.createMock(ExecutorService.class);
 
+        ioManager = EasyMock.createMock(IOThreadManager.class);
+
         allocator = EasyMock.createMock(PortAllocator.class);
 
         info = EasyMock.createMock(HostInfo.class);
@@ -170,6 +191,7 @@ public class ZeroMQWireBrokerImplTestCase extends TestCase {
                                           discoveryAgent,
                                           allocator,
                                           executorService,
+                                          ioManager,
                                           managementService,
                                           eventService,
                                           interceptorFactory,
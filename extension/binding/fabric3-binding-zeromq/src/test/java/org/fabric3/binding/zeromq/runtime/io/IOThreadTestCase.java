@@ -0,0 +1,125 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.io;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
+import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.zeromq.ZMQ;
+
+/**
+ *
+ */
+public class IOThreadTestCase extends TestCase {
+    private ZMQ.Context context;
+    private ContextManager manager;
+    private IOThread ioThread;
+    private Thread thread;
+
+    public void testWakeupAndUnregister() throws Exception {
+        MockHandler handler = new MockHandler();
+        IORegistration registration = ioThread.register(handler);
+        assertEquals(1, ioThread.getHandlerCount());
+
+        // the handler is opened and processed when registered
+        assertTrue(handler.opened.await(5, TimeUnit.SECONDS));
+
+        registration.wakeup();
+        assertTrue(handler.processed.await(5, TimeUnit.SECONDS));
+
+        ioThread.unregister(handler);
+        assertTrue(handler.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, ioThread.getHandlerCount());
+    }
+
+    public void testCloseOnShutdown() throws Exception {
+        MockHandler handler = new MockHandler();
+        ioThread.register(handler);
+        assertTrue(handler.opened.await(5, TimeUnit.SECONDS));
+
+        ioThread.shutdown();
+        assertTrue(handler.closed.await(5, TimeUnit.SECONDS));
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        context = ZMQ.context(1);
+        ZMQ.Socket controlSocket = context.socket(ZMQ.SUB);
+        controlSocket.setLinger(0);
+        controlSocket.subscribe(new byte[0]);
+        controlSocket.connect("inproc://fabric3.test");
+
+        manager = EasyMock.createMock(ContextManager.class);
+        manager.reserve("io");
+        EasyMock.expect(manager.createControlSocket()).andReturn(controlSocket);
+        manager.release("io");
+        EasyMock.replay(manager);
+
+        ioThread = new IOThread("io", manager, EasyMock.createNiceMock(MessagingMonitor.class));
+        thread = new Thread(ioThread);
+        thread.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        ioThread.shutdown();
+        thread.join(5000);
+        EasyMock.verify(manager);
+        context.term();
+    }
+
+    private class MockHandler implements IOHandler {
+        private CountDownLatch opened = new CountDownLatch(1);
+        // processed once on registration and once on wakeup
+        private CountDownLatch processed = new CountDownLatch(2);
+        private CountDownLatch closed = new CountDownLatch(1);
+
+        public String getId() {
+            return "handler";
+        }
+
+        public void open(IORegistration registration) {
+            opened.countDown();
+        }
+
+        public long process() {
+            processed.countDown();
+            return -1;
+        }
+
+        public Collection<ZMQ.Socket> getReadSockets() {
+            return Collections.emptyList();
+        }
+
+        public void read(ZMQ.Socket socket) {
+        }
+
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
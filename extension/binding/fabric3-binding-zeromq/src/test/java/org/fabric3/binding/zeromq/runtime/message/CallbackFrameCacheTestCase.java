@@ -0,0 +1,51 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.fabric3.spi.container.invocation.CallbackReferenceSerializer;
+
+/**
+ *
+ */
+public class CallbackFrameCacheTestCase extends TestCase {
+    private CallbackFrameCache cache = new CallbackFrameCache();
+
+    public void testSerializeReuse() throws Exception {
+        byte[] serialized = cache.serialize(Arrays.asList("foo", "bar"));
+        assertSame(serialized, cache.serialize(Arrays.asList("foo", "bar")));
+        assertTrue(Arrays.equals(CallbackReferenceSerializer.serializeToBytes(Arrays.asList("foo", "bar")), serialized));
+        assertNotSame(serialized, cache.serialize(Arrays.asList("foo", "baz")));
+    }
+
+    public void testSerializeEmpty() throws Exception {
+        assertNull(cache.serialize(null));
+        assertNull(cache.serialize(Arrays.<String>asList()));
+    }
+
+    public void testDeserializeReturnsCopy() throws Exception {
+        byte[] serialized = CallbackReferenceSerializer.serializeToBytes(Arrays.asList("foo", "bar"));
+        List<String> first = cache.deserialize(serialized);
+        first.add("baz");
+        List<String> second = cache.deserialize(serialized.clone());
+        assertEquals(Arrays.asList("foo", "bar"), second);
+    }
+
+}
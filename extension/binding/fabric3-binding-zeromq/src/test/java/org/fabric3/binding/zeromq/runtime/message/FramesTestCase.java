@@ -0,0 +1,42 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class FramesTestCase extends TestCase {
+
+    public void testCachedIndex() throws Exception {
+        assertSame(Frames.index(10), Frames.index(10));
+        assertEquals(10, Frames.readIndex(Frames.index(10)));
+    }
+
+    public void testUncachedIndex() throws Exception {
+        assertEquals(100000, Frames.readIndex(Frames.index(100000)));
+    }
+
+    public void testWireFormat() throws Exception {
+        assertEquals(300, ByteBuffer.wrap(Frames.index(300)).getInt());
+        assertEquals(7, Frames.readIndex(ByteBuffer.allocate(4).putInt(7).array()));
+    }
+
+}
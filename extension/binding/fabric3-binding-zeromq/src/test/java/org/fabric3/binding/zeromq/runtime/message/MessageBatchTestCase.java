@@ -0,0 +1,64 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class MessageBatchTestCase extends TestCase {
+    private static final int MARKER = 0xF3BA7C11;
+
+    public void testUnpack() throws Exception {
+        byte[] header = ByteBuffer.allocate(16).putInt(MARKER).putInt(2).putInt(2).putInt(1).array();
+        byte[][] frames = {header, "payload1".getBytes(), "index".getBytes(), "payload2".getBytes()};
+
+        assertTrue(MessageBatch.isBatch(frames));
+        List<byte[][]> messages = MessageBatch.unpack(frames);
+        assertEquals(2, messages.size());
+        assertEquals(2, messages.get(0).length);
+        assertEquals("payload1", new String(messages.get(0)[0]));
+        assertEquals("index", new String(messages.get(0)[1]));
+        assertEquals(1, messages.get(1).length);
+        assertEquals("payload2", new String(messages.get(1)[0]));
+    }
+
+    public void testNotBatch() throws Exception {
+        assertFalse(MessageBatch.isBatch(new byte[][]{"payload".getBytes(), "index".getBytes(), "context".getBytes()}));
+    }
+
+    public void testFrameCountMismatch() throws Exception {
+        byte[] header = ByteBuffer.allocate(16).putInt(MARKER).putInt(2).putInt(2).putInt(2).array();
+        assertFalse(MessageBatch.isBatch(new byte[][]{header, "payload1".getBytes(), "index".getBytes(), "payload2".getBytes()}));
+    }
+
+    public void testBatchSize() throws Exception {
+        MessageBatch batch = new MessageBatch();
+        assertTrue(batch.isEmpty());
+        assertEquals(0, batch.elapsed());
+        batch.add("payload".getBytes());
+        batch.add(new byte[][]{"payload".getBytes(), "index".getBytes()});
+        assertEquals(2, batch.size());
+        batch.clear();
+        assertTrue(batch.isEmpty());
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
+import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
+import org.fabric3.binding.zeromq.runtime.SocketAddress;
+import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.fabric3.binding.zeromq.runtime.io.IOHandler;
+import org.fabric3.binding.zeromq.runtime.io.IORegistration;
+import org.fabric3.binding.zeromq.runtime.io.IOThreadManager;
+import org.fabric3.spi.container.invocation.WorkContext;
+import org.fabric3.spi.discovery.EntryChange;
+import org.fabric3.spi.discovery.ServiceEntry;
+import org.fabric3.spi.host.Port;
+import org.oasisopen.sca.ServiceRuntimeException;
+import org.zeromq.ZMQ;
+
+/**
+ *
+ */
+public class NonReliableOneWaySenderTestCase extends TestCase {
+    private ZMQ.Context context;
+    private ContextManager contextManager;
+    private IOThreadManager ioManager;
+    private IORegistration registration;
+    private Capture<IOHandler> handler;
+    private NonReliableOneWaySender sender;
+
+    public void testIdleDispatcherParks() throws Exception {
+        sender.start();
+        handler.getValue().open(registration);
+
+        // no queued messages: the dispatcher must not request a timed wakeup
+        assertEquals(-1, handler.getValue().process());
+
+        sender.send("test".getBytes(), 0, new WorkContext());
+        assertTrue(handler.getValue().process() > 0);
+        Thread.sleep(20);
+        assertEquals(-1, handler.getValue().process());
+        assertEquals(-1, handler.getValue().process());
+
+        sender.stop();
+        handler.getValue().close();
+    }
+
+    public void testSendAfterStop() throws Exception {
+        sender.start();
+        sender.stop();
+        try {
+            sender.send("test".getBytes(), 0, new WorkContext());
+            fail();
+        } catch (ServiceRuntimeException e) {
+            // expected
+        }
+    }
+
+    public void testAcceptAfterStop() throws Exception {
+        sender.start();
+        sender.stop();
+        ServiceEntry entry = new ServiceEntry("sender", "localhost", 9998, "tcp");
+        sender.accept(EntryChange.SET, entry);
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        context = ZMQ.context(1);
+        contextManager = EasyMock.createNiceMock(ContextManager.class);
+        EasyMock.expect(contextManager.getContext()).andReturn(context).anyTimes();
+
+        registration = EasyMock.createNiceMock(IORegistration.class);
+
+        handler = new Capture<>();
+        ioManager = EasyMock.createMock(IOThreadManager.class);
+        EasyMock.expect(ioManager.register(EasyMock.capture(handler))).andReturn(registration);
+        ioManager.unregister(EasyMock.isA(IOHandler.class));
+        EasyMock.expectLastCall().anyTimes();
+
+        MessagingMonitor monitor = EasyMock.createNiceMock(MessagingMonitor.class);
+        EasyMock.replay(contextManager, registration, ioManager, monitor);
+
+        ZeroMQMetadata metadata = new ZeroMQMetadata();
+        metadata.setBatchSize(10);
+        metadata.setBatchLatency(5);
+
+        SocketAddress address = new SocketAddress("tcp", "localhost", new Port() {
+            public String getName() {
+                return null;
+            }
+
+            public int getNumber() {
+                return 9999;
+            }
+
+            public void bind(TYPE type) {
+            }
+
+            public void release() {
+            }
+        });
+        sender = new NonReliableOneWaySender("sender", contextManager, new ArrayList<>(Collections.singletonList(address)), ioManager, metadata, monitor);
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        context.term();
+    }
+}
@@ -30,6 +30,7 @@ import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.YieldingWaitStrategy;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.model.type.component.RingBufferData;
+import org.fabric3.channel.disruptor.impl.ConsumerThreadManager;
 import org.fabric3.channel.disruptor.impl.RingBufferChannel;
 import org.fabric3.spi.container.builder.ChannelBuilder;
 import org.fabric3.spi.container.channel.Channel;
@@ -42,9 +43,12 @@ import org.oasisopen.sca.annotation.Reference;
  */
 public class RingBufferChannelBuilder implements ChannelBuilder {
     private ExecutorService executorService;
+    private ConsumerThreadManager threadManager;
 
-    public RingBufferChannelBuilder(@Reference(name = "executorService") ExecutorService executorService) {
+    public RingBufferChannelBuilder(@Reference(name = "executorService") ExecutorService executorService,
+                                    @Reference ConsumerThreadManager threadManager) {
         this.executorService = executorService;
+        this.threadManager = threadManager;
     }
 
     public Channel build(PhysicalChannel physicalChannel) throws Fabric3Exception {
@@ -53,12 +57,13 @@ public class RingBufferChannelBuilder implements ChannelBuilder {
 
         RingBufferData data = physicalChannel.getMetadata(RingBufferData.class);
         int size = data.getRingSize();
+        int partitions = data.getPartitions();
 
         WaitStrategy strategy = createWaitStrategy(data);
 
         ChannelSide channelSide = physicalChannel.getChannelSide();
 
-        return new RingBufferChannel(uri, deployable, size, strategy, channelSide, executorService);
+        return new RingBufferChannel(uri, deployable, size, partitions, strategy, channelSide, executorService, threadManager);
     }
 
     public void dispose(PhysicalChannel physicalChannel, Channel channel) throws Fabric3Exception {
@@ -0,0 +1,44 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.channel.disruptor.impl;
+
+import java.net.URI;
+
+import com.lmax.disruptor.EventProcessor;
+
+/**
+ * Runs event processors for consumers subscribed to a ring buffer channel after it has been started. Each processor is run on a dedicated thread so that
+ * consumers do not occupy threads in the runtime pool.
+ */
+public interface ConsumerThreadManager {
+
+    /**
+     * Starts the processor on a dedicated thread.
+     *
+     * @param channelUri the URI of the channel the processor consumes from
+     * @param processor  the processor
+     */
+    void start(URI channelUri, EventProcessor processor);
+
+    /**
+     * Halts the processor and waits for its thread to terminate.
+     *
+     * @param processor the processor
+     */
+    void stop(EventProcessor processor);
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.channel.disruptor.impl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.lmax.disruptor.EventProcessor;
+import org.fabric3.api.annotation.Source;
+import org.fabric3.api.annotation.management.Management;
+import org.fabric3.api.annotation.management.ManagementOperation;
+import org.fabric3.api.annotation.monitor.Monitor;
+import org.fabric3.spi.container.invocation.Fabric3Thread;
+import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Property;
+
+/**
+ * Default {@link ConsumerThreadManager} implementation that creates a named thread per processor and tracks live threads for management.
+ */
+@EagerInit
+@Management(path = "/runtime/channels/ringbuffer", description = "Manages ring buffer consumer threads")
+public class ConsumerThreadManagerImpl implements ConsumerThreadManager {
+    private ConsumerThreadMonitor monitor;
+    private long joinTimeout = 5000;
+    private boolean daemon = true;
+
+    private ThreadGroup group;
+    private AtomicInteger number = new AtomicInteger(1);
+    private Map<EventProcessor, Thread> threads = new ConcurrentHashMap<>();
+
+    public ConsumerThreadManagerImpl(@Monitor ConsumerThreadMonitor monitor) {
+        this.monitor = monitor;
+        SecurityManager s = System.getSecurityManager();
+        group = (s != null) ? s.getThreadGroup() : Thread.currentThread().getThreadGroup();
+    }
+
+    /**
+     * Sets the time in milliseconds to wait for a halted consumer thread to terminate.
+     *
+     * @param timeout the timeout in milliseconds
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:ring.buffer/@join.timeout")
+    public void setJoinTimeout(long timeout) {
+        this.joinTimeout = timeout;
+    }
+
+    /**
+     * Sets whether consumer threads are daemon threads.
+     *
+     * @param daemon true if consumer threads are daemon threads
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:ring.buffer/@daemon")
+    public void setDaemon(boolean daemon) {
+        this.daemon = daemon;
+    }
+
+    @ManagementOperation(description = "Time in milliseconds to wait for a halted consumer thread to terminate")
+    public long getJoinTimeout() {
+        return joinTimeout;
+    }
+
+    @ManagementOperation(description = "The number of live consumer threads")
+    public int getLiveThreadCount() {
+        int count = 0;
+        for (Thread thread : threads.values()) {
+            if (thread.isAlive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @ManagementOperation(description = "The names of live consumer threads")
+    public List<String> getThreadNames() {
+        List<String> names = new ArrayList<>();
+        for (Thread thread : threads.values()) {
+            if (thread.isAlive()) {
+                names.add(thread.getName());
+            }
+        }
+        return names;
+    }
+
+    @Destroy
+    public void destroy() {
+        for (EventProcessor processor : new ArrayList<>(threads.keySet())) {
+            stop(processor);
+        }
+    }
+
+    public void start(URI channelUri, EventProcessor processor) {
+        String name = "ringbuffer:" + channelUri + ":" + number.getAndIncrement();
+        Thread thread = new Fabric3Thread(group, processor, name, 0);
+        thread.setDaemon(daemon);
+        thread.setUncaughtExceptionHandler((t, e) -> monitor.threadError(e));
+        threads.put(processor, thread);
+        thread.start();
+    }
+
+    public void stop(EventProcessor processor) {
+        Thread thread = threads.remove(processor);
+        processor.halt();
+        if (thread == null || thread == Thread.currentThread()) {
+            // not managed or halted from within the consumer itself, in which case it will exit after the current event is processed
+            return;
+        }
+        try {
+            thread.join(joinTimeout);
+            if (thread.isAlive()) {
+                monitor.joinTimeout(thread.getName(), joinTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
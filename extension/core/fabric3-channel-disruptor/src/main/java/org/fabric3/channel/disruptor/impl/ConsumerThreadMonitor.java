@@ -0,0 +1,33 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.channel.disruptor.impl;
+
+import org.fabric3.api.annotation.monitor.Severe;
+import org.fabric3.api.annotation.monitor.Warning;
+
+/**
+ *
+ */
+public interface ConsumerThreadMonitor {
+
+    @Severe("The following exception was raised in a ring buffer consumer thread")
+    void threadError(Throwable t);
+
+    @Warning("Ring buffer consumer thread {0} did not terminate within {1} milliseconds")
+    void joinTimeout(String threadName, long timeout);
+
+}
@@ -18,7 +18,10 @@ package org.fabric3.channel.disruptor.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 
@@ -38,7 +41,22 @@ public class EventHandlerHelper {
      * @return the sorted Map
      */
     public static NavigableMap<Integer, List<EventHandler<RingBufferEvent>>> createAndSort(Collection<ChannelConnection> connections) {
+        return createAndSort(connections, 0);
+    }
+
+    /**
+     * Creates event handlers from a collection of {@link ChannelConnection}s and returns a Map sorted by connection sequence value.
+     *
+     * Connections that are members of the same consumer group and sequence are served by a set of {@link PartitionedEventHandler}s, each of which receives a
+     * disjoint subset of the events. Partitions are assigned to group members in turn.
+     *
+     * @param connections the connections
+     * @param partitions  the number of partitions per consumer group. If less than the number of group members, one partition per member is created.
+     * @return the sorted Map
+     */
+    public static NavigableMap<Integer, List<EventHandler<RingBufferEvent>>> createAndSort(Collection<ChannelConnection> connections, int partitions) {
         NavigableMap<Integer, List<EventHandler<RingBufferEvent>>> sorted = new TreeMap<>();
+        Map<Integer, Map<String, List<ChannelConnection>>> groups = new HashMap<>();
 
         for (ChannelConnection connection : connections) {
             Integer sequence = connection.getSequence();
@@ -47,9 +65,21 @@ public class EventHandlerHelper {
                 handlers = new ArrayList<>();
                 sorted.put(sequence, handlers);
             }
+            String group = connection.getGroup();
+            if (group != null) {
+                groups.computeIfAbsent(sequence, k -> new LinkedHashMap<>()).computeIfAbsent(group, k -> new ArrayList<>()).add(connection);
+                continue;
+            }
             boolean channelEvent = isChannelEvent(connection);
             handlers.add(new ChannelEventHandler(connection, channelEvent));
         }
+
+        for (Map.Entry<Integer, Map<String, List<ChannelConnection>>> entry : groups.entrySet()) {
+            List<EventHandler<RingBufferEvent>> handlers = sorted.get(entry.getKey());
+            for (List<ChannelConnection> members : entry.getValue().values()) {
+                handlers.addAll(createPartitions(members, partitions));
+            }
+        }
         return sorted;
     }
 
@@ -57,6 +87,17 @@ public class EventHandlerHelper {
         return ChannelEvent.class.isAssignableFrom(connection.getEventStream().getEventType());
     }
 
+    private static List<EventHandler<RingBufferEvent>> createPartitions(List<ChannelConnection> members, int partitions) {
+        int count = Math.max(partitions, members.size());
+        List<EventHandler<RingBufferEvent>> handlers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ChannelConnection member = members.get(i % members.size());
+            ChannelEventHandler delegate = new ChannelEventHandler(member, isChannelEvent(member));
+            handlers.add(new PartitionedEventHandler(i, count, delegate));
+        }
+        return handlers;
+    }
+
     private EventHandlerHelper() {
     }
 }
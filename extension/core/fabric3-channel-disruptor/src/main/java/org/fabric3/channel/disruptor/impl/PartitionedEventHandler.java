@@ -0,0 +1,68 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.channel.disruptor.impl;
+
+import com.lmax.disruptor.EventHandler;
+
+/**
+ * Dispatches the subset of events assigned to a partition of a consumer group.
+ *
+ * Events carrying a key are assigned by key hash so that events with the same key are always processed in order by the same partition. Other events are
+ * assigned round-robin using their ring buffer sequence.
+ *
+ * The last event of a ring buffer batch may be assigned to another partition. To ensure the delegate is signalled at the end of every batch it received
+ * events in, dispatch of an assigned event is deferred until the next assigned event or the end of the batch. Deferred events remain valid as the ring buffer
+ * does not reuse their slots until the batch has been processed.
+ */
+public class PartitionedEventHandler implements EventHandler<RingBufferEvent> {
+    private final int ordinal;
+    private final int partitions;
+    private final EventHandler<RingBufferEvent> delegate;
+
+    private RingBufferEvent pending;
+    private long pendingSequence;
+
+    /**
+     * Constructor.
+     *
+     * @param ordinal    the partition handled by this handler
+     * @param partitions the total number of partitions in the group
+     * @param delegate   the handler to dispatch assigned events to
+     */
+    public PartitionedEventHandler(int ordinal, int partitions, EventHandler<RingBufferEvent> delegate) {
+        this.ordinal = ordinal;
+        this.partitions = partitions;
+        this.delegate = delegate;
+    }
+
+    public void onEvent(RingBufferEvent event, long sequence, boolean endOfBatch) throws Exception {
+        long hash = event.isKeyed() ? event.getKeyHash() & Integer.MAX_VALUE : sequence;
+        if (hash % partitions == ordinal) {
+            if (pending != null) {
+                delegate.onEvent(pending, pendingSequence, false);
+            }
+            pending = event;
+            pendingSequence = sequence;
+        }
+        if (endOfBatch && pending != null) {
+            RingBufferEvent last = pending;
+            pending = null;
+            delegate.onEvent(last, pendingSequence, true);
+        }
+    }
+
+}
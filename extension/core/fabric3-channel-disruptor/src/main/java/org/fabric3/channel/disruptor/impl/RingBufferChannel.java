@@ -25,8 +25,8 @@ import java.util.concurrent.ExecutorService;
 
 import com.lmax.disruptor.BatchEventProcessor;
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventProcessor;
 import com.lmax.disruptor.RingBuffer;
-import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
 import com.lmax.disruptor.SequenceGroup;
 import com.lmax.disruptor.WaitStrategy;
@@ -49,28 +49,39 @@ public class RingBufferChannel implements Channel, EventStreamHandler {
     private URI uri;
     private QName deployable;
     private int size;
+    private int partitions;
     private WaitStrategy waitStrategy;
     private ChannelSide channelSide;
     private ExecutorService executorService;
+    private ConsumerThreadManager threadManager;
 
     private RingBuffer<RingBufferEvent> ringBuffer;
     private Disruptor<RingBufferEvent> disruptor;
 
     private Map<URI, ChannelConnection> subscribers;
-    private Map<URI, Sequence> sequences;
+    private Map<URI, EventProcessor> processors;
 
     private int numberProducers;
     private SequenceGroup sequenceGroup;
 
-    public RingBufferChannel(URI uri, QName deployable, int size, WaitStrategy waitStrategy, ChannelSide channelSide, ExecutorService executorService) {
+    public RingBufferChannel(URI uri,
+                             QName deployable,
+                             int size,
+                             int partitions,
+                             WaitStrategy waitStrategy,
+                             ChannelSide channelSide,
+                             ExecutorService executorService,
+                             ConsumerThreadManager threadManager) {
         this.uri = uri;
         this.deployable = deployable;
         this.size = size;
+        this.partitions = partitions;
         this.waitStrategy = waitStrategy;
         this.channelSide = channelSide;
         this.executorService = executorService;
+        this.threadManager = threadManager;
         subscribers = new HashMap<>();
-        sequences = new HashMap<>();
+        processors = new HashMap<>();
     }
 
     @SuppressWarnings("unchecked")
@@ -78,7 +89,7 @@ public class RingBufferChannel implements Channel, EventStreamHandler {
         ProducerType producerType = numberProducers > 1 ? ProducerType.MULTI : ProducerType.SINGLE;
         disruptor = new Disruptor<>(EVENT_FACTORY, size, executorService, producerType, waitStrategy);
 
-        Map<Integer, List<EventHandler<RingBufferEvent>>> sorted = EventHandlerHelper.createAndSort(subscribers.values());
+        Map<Integer, List<EventHandler<RingBufferEvent>>> sorted = EventHandlerHelper.createAndSort(subscribers.values(), partitions);
 
         EventHandlerGroup group = null;
         for (List<EventHandler<RingBufferEvent>> handlers : sorted.values()) {
@@ -95,6 +106,11 @@ public class RingBufferChannel implements Channel, EventStreamHandler {
     }
 
     public void stop() {
+        for (EventProcessor processor : processors.values()) {
+            threadManager.stop(processor);
+            sequenceGroup.remove(processor.getSequence());
+        }
+        processors.clear();
         disruptor.shutdown();
     }
 
@@ -133,26 +149,27 @@ public class RingBufferChannel implements Channel, EventStreamHandler {
         if (ringBuffer == null) {
             subscribers.put(uri, connection);
         } else {
-            // ring buffer already started, add dynamically
+            // ring buffer already started, add dynamically; consumer groups are not partitioned as existing processors cannot be rebalanced
             boolean channelEvent = EventHandlerHelper.isChannelEvent(connection);
             ChannelEventHandler handler = new ChannelEventHandler(connection, channelEvent);
             SequenceBarrier barrier = ringBuffer.newBarrier();
             BatchEventProcessor<RingBufferEvent> processor = new BatchEventProcessor<>(ringBuffer, barrier, handler);
-            Sequence sequence = processor.getSequence();
-            sequenceGroup.addWhileRunning(ringBuffer, sequence);
-            executorService.execute(processor);
+            sequenceGroup.addWhileRunning(ringBuffer, processor.getSequence());
+            // run on a dedicated thread so that dynamic subscribers do not permanently occupy runtime pool threads
+            threadManager.start(this.uri, processor);
 
-            sequences.put(uri, sequence);
+            processors.put(uri, processor);
             subscribers.put(uri, connection);
         }
     }
 
     public ChannelConnection unsubscribe(URI uri) {
         ChannelConnection connection = subscribers.remove(uri);
-        Sequence sequence = sequences.get(uri);
-        if (sequence != null) {
-            // may be null if registered prior to channel start
-            sequenceGroup.remove(sequence);
+        EventProcessor processor = processors.remove(uri);
+        if (processor != null) {
+            // may be null if registered prior to channel start; halt the processor before removing its sequence so entries it is reading are not overwritten
+            threadManager.stop(processor);
+            sequenceGroup.remove(processor.getSequence());
         }
         return connection;
     }
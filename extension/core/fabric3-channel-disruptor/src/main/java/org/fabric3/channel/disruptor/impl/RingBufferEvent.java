@@ -26,6 +26,8 @@ public class RingBufferEvent implements ChannelEvent {
     private Object parsed;
     private boolean endOfBatch;
     private long sequence =-1;
+    private boolean keyed;
+    private int keyHash;
 
     public <T> T getEvent(Class<T> type) {
         return type.cast(event);
@@ -58,4 +60,38 @@ public class RingBufferEvent implements ChannelEvent {
     public void setSequence(long sequence) {
         this.sequence = sequence;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns true if the event carries a partitioning key.
+     *
+     * @return true if the event carries a partitioning key
+     */
+    public boolean isKeyed() {
+        return keyed;
+    }
+
+    /**
+     * Returns the spread hash of the partitioning key. Only valid if {@link #isKeyed()} returns true.
+     *
+     * @return the key hash
+     */
+    public int getKeyHash() {
+        return keyHash;
+    }
+
+    /**
+     * Sets the partitioning key. A null key clears the key.
+     *
+     * @param key the key or null
+     */
+    public void setKey(Object key) {
+        if (key == null) {
+            keyed = false;
+            keyHash = 0;
+        } else {
+            int h = key.hashCode();
+            keyed = true;
+            keyHash = h ^ (h >>> 16);
+        }
+    }
+}
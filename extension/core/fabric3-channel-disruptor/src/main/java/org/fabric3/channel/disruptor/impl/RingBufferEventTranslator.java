@@ -17,6 +17,7 @@
 package org.fabric3.channel.disruptor.impl;
 
 import com.lmax.disruptor.EventTranslatorOneArg;
+import org.fabric3.api.KeyedEvent;
 
 /**
  * Populates {@link RingBufferEvent}s with an event.
@@ -25,5 +26,7 @@ public class RingBufferEventTranslator implements EventTranslatorOneArg<RingBuff
 
     public void translateTo(RingBufferEvent bufferEvent, long sequence, Object event) {
         bufferEvent.setEvent(event);
+        // always set the key as ring buffer entries are reused
+        bufferEvent.setKey(event instanceof KeyedEvent ? ((KeyedEvent) event).getKey() : null);
     }
 }
@@ -38,8 +38,10 @@ public class RingBufferChannelTypeLoader implements ChannelTypeLoader {
     private static final String SPIN_TIMEOUT = "spin.timeout";
     private static final String YIELD_TIMEOUT = "yield.timeout";
     private static final String PHASED_BLOCKING_TYPE = "phased.blocking.type";
+    private static final String PARTITIONS = "partitions";
 
-    private static final String[] ATTRIBUTES = new String[]{RING_SIZE, WAIT_STRATEGY, BLOCKING_TIMEOUT, SPIN_TIMEOUT, YIELD_TIMEOUT, PHASED_BLOCKING_TYPE};
+    private static final String[] ATTRIBUTES = new String[]{RING_SIZE, WAIT_STRATEGY, BLOCKING_TIMEOUT, SPIN_TIMEOUT, YIELD_TIMEOUT, PHASED_BLOCKING_TYPE,
+                                                            PARTITIONS};
 
     private static final int DEFAULT_RING_SIZE = 65536;
     private static final long DEFAULT_BLOCKING_TIMEOUT = 1000;
@@ -87,6 +89,9 @@ public class RingBufferChannelTypeLoader implements ChannelTypeLoader {
             }
 
         }
+        int partitions = parsePartitions(definition, reader, startLocation, context);
+        data.setPartitions(partitions);
+
         definition.setConnectionTypes(RingBuffer.class);
         definition.setMetadata(data);
     }
@@ -104,6 +109,22 @@ public class RingBufferChannelTypeLoader implements ChannelTypeLoader {
         return ringSize;
     }
 
+    private int parsePartitions(Channel definition, XMLStreamReader reader, Location startLocation, IntrospectionContext context) {
+        String partitionsStr = reader.getAttributeValue(null, PARTITIONS);
+        int partitions = 0;
+        if (partitionsStr != null) {
+            try {
+                partitions = Integer.parseInt(partitionsStr);
+                if (partitions < 0) {
+                    context.addError(new InvalidValue("Invalid number of partitions: " + partitionsStr, startLocation, definition));
+                }
+            } catch (NumberFormatException e) {
+                context.addError(new InvalidValue("Invalid number of partitions: " + partitionsStr, startLocation, definition));
+            }
+        }
+        return partitions;
+    }
+
     private long parseLong(Channel definition,
                            XMLStreamReader reader,
                            Location startLocation,
@@ -23,6 +23,7 @@ import java.util.concurrent.ExecutorService;
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
 import org.fabric3.api.model.type.component.RingBufferData;
+import org.fabric3.channel.disruptor.impl.ConsumerThreadManager;
 import org.fabric3.spi.container.channel.Channel;
 import org.fabric3.spi.model.physical.DeliveryType;
 import org.fabric3.spi.model.physical.PhysicalChannel;
@@ -55,7 +56,10 @@ public class RingBufferChannelBuilderTestCase extends TestCase {
         ExecutorService executorService = EasyMock.createMock(ExecutorService.class);
         EasyMock.replay(executorService);
 
-        builder = new RingBufferChannelBuilder(executorService);
+        ConsumerThreadManager threadManager = EasyMock.createMock(ConsumerThreadManager.class);
+        EasyMock.replay(threadManager);
+
+        builder = new RingBufferChannelBuilder(executorService, threadManager);
 
         physicalChannel = new PhysicalChannel(URI, DEPLOYABLE, "ring.buffer", DeliveryType.ASYNCHRONOUS_WORKER);
         physicalChannel.setMetadata(new RingBufferData());
@@ -37,16 +37,19 @@ public class EventHandlerHelperTestCase extends TestCase {
         EventStream stream = EasyMock.createMock(EventStream.class);
         ChannelConnection conn1 = EasyMock.createMock(ChannelConnection.class);
         EasyMock.expect(conn1.getSequence()).andReturn(0);
+        EasyMock.expect(conn1.getGroup()).andReturn(null);
         EasyMock.expect(conn1.getEventStream()).andReturn(stream).atLeastOnce();
 
         EasyMock.expect(stream.getEventType()).andReturn(Cast.cast(Object.class)).atLeastOnce();
 
         ChannelConnection conn2 = EasyMock.createMock(ChannelConnection.class);
         EasyMock.expect(conn2.getSequence()).andReturn(1);
+        EasyMock.expect(conn2.getGroup()).andReturn(null);
         EasyMock.expect(conn2.getEventStream()).andReturn(stream).atLeastOnce();
 
         ChannelConnection conn3 = EasyMock.createMock(ChannelConnection.class);
         EasyMock.expect(conn3.getSequence()).andReturn(2);
+        EasyMock.expect(conn3.getGroup()).andReturn(null);
         EasyMock.expect(conn3.getEventStream()).andReturn(stream).atLeastOnce();
 
         EasyMock.replay(conn1, conn2, conn3, stream);
@@ -68,4 +71,46 @@ public class EventHandlerHelperTestCase extends TestCase {
         EasyMock.verify(conn1, conn2, conn3, stream);
     }
 
+    public void testPartitionGroup() throws Exception {
+        EventStream stream = EasyMock.createMock(EventStream.class);
+        EasyMock.expect(stream.getEventType()).andReturn(Cast.cast(Object.class)).atLeastOnce();
+
+        ChannelConnection conn1 = EasyMock.createMock(ChannelConnection.class);
+        EasyMock.expect(conn1.getSequence()).andReturn(0);
+        EasyMock.expect(conn1.getGroup()).andReturn("group");
+        EasyMock.expect(conn1.getEventStream()).andReturn(stream).atLeastOnce();
+
+        ChannelConnection conn2 = EasyMock.createMock(ChannelConnection.class);
+        EasyMock.expect(conn2.getSequence()).andReturn(0);
+        EasyMock.expect(conn2.getGroup()).andReturn("group");
+        EasyMock.expect(conn2.getEventStream()).andReturn(stream).atLeastOnce();
+
+        ChannelConnection conn3 = EasyMock.createMock(ChannelConnection.class);
+        EasyMock.expect(conn3.getSequence()).andReturn(0);
+        EasyMock.expect(conn3.getGroup()).andReturn(null);
+        EasyMock.expect(conn3.getEventStream()).andReturn(stream).atLeastOnce();
+
+        EasyMock.replay(conn1, conn2, conn3, stream);
+
+        List<ChannelConnection> connections = new ArrayList<>();
+        connections.add(conn1);
+        connections.add(conn2);
+        connections.add(conn3);
+
+        NavigableMap<Integer, List<EventHandler<RingBufferEvent>>> map = EventHandlerHelper.createAndSort(connections, 4);
+        assertEquals(1, map.size());
+        List<EventHandler<RingBufferEvent>> handlers = map.get(0);
+        // one ungrouped handler plus four partitions shared by the two group members
+        assertEquals(5, handlers.size());
+        int partitioned = 0;
+        for (EventHandler<RingBufferEvent> handler : handlers) {
+            if (handler instanceof PartitionedEventHandler) {
+                partitioned++;
+            }
+        }
+        assertEquals(4, partitioned);
+
+        EasyMock.verify(conn1, conn2, conn3, stream);
+    }
+
 }
@@ -0,0 +1,85 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.channel.disruptor.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.lmax.disruptor.EventHandler;
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class PartitionedEventHandlerTestCase extends TestCase {
+
+    public void testEndOfBatchWhenLastEventInOtherPartition() throws Exception {
+        RecordingHandler delegate0 = new RecordingHandler();
+        RecordingHandler delegate1 = new RecordingHandler();
+        PartitionedEventHandler handler0 = new PartitionedEventHandler(0, 2, delegate0);
+        PartitionedEventHandler handler1 = new PartitionedEventHandler(1, 2, delegate1);
+
+        // the batch ends with sequence 2, which is assigned to partition 0
+        for (long sequence = 0; sequence < 3; sequence++) {
+            RingBufferEvent event = new RingBufferEvent();
+            handler0.onEvent(event, sequence, sequence == 2);
+            handler1.onEvent(event, sequence, sequence == 2);
+        }
+
+        assertEquals("0:false 2:true", delegate0.toString());
+        // partition 1 is signalled at the end of the batch even though it did not receive the last event
+        assertEquals("1:true", delegate1.toString());
+    }
+
+    public void testEndOfBatchPerBatch() throws Exception {
+        RecordingHandler delegate = new RecordingHandler();
+        PartitionedEventHandler handler = new PartitionedEventHandler(1, 2, delegate);
+
+        // first batch: sequences 0-4; second batch: sequence 5-6; third batch: sequence 7-8
+        long[] ends = {4, 6, 8};
+        long sequence = 0;
+        for (long end : ends) {
+            for (; sequence <= end; sequence++) {
+                handler.onEvent(new RingBufferEvent(), sequence, sequence == end);
+            }
+        }
+
+        assertEquals("1:false 3:true 5:true 7:true", delegate.toString());
+    }
+
+    public void testNoSignalWithoutAssignedEvents() throws Exception {
+        RecordingHandler delegate = new RecordingHandler();
+        PartitionedEventHandler handler = new PartitionedEventHandler(1, 2, delegate);
+
+        handler.onEvent(new RingBufferEvent(), 0, true);
+
+        assertEquals("", delegate.toString());
+    }
+
+    private class RecordingHandler implements EventHandler<RingBufferEvent> {
+        private List<String> received = new ArrayList<>();
+
+        public void onEvent(RingBufferEvent event, long sequence, boolean endOfBatch) throws Exception {
+            received.add(sequence + ":" + endOfBatch);
+        }
+
+        public String toString() {
+            return String.join(" ", received);
+        }
+    }
+
+}
@@ -18,12 +18,19 @@ package org.fabric3.channel.disruptor.impl;
 
 import javax.xml.namespace.QName;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import com.lmax.disruptor.BlockingWaitStrategy;
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
+import org.fabric3.api.KeyedEvent;
 import org.fabric3.spi.container.channel.ChannelConnection;
 import org.fabric3.spi.container.channel.EventStream;
 import org.fabric3.spi.container.channel.EventStreamHandler;
@@ -40,9 +47,11 @@ public class RingBufferChannelTestCase extends TestCase {
         RingBufferChannel channel = new RingBufferChannel(URI.create("channel"),
                                                           new QName("test", "test"),
                                                           1024,
+                                                          0,
                                                           new BlockingWaitStrategy(),
                                                           ChannelSide.CONSUMER,
-                                                          Executors.newScheduledThreadPool(4));
+                                                          Executors.newScheduledThreadPool(4),
+                                                          EasyMock.createMock(ConsumerThreadManager.class));
 
         MockConsumer consumer = new MockConsumer();
 
@@ -52,6 +61,7 @@ public class RingBufferChannelTestCase extends TestCase {
 
         ChannelConnection connection = EasyMock.createMock(ChannelConnection.class);
         EasyMock.expect(connection.getSequence()).andReturn(0);
+        EasyMock.expect(connection.getGroup()).andReturn(null);
         EasyMock.expect(connection.getEventStream()).andReturn(stream).atLeastOnce();
 
         EasyMock.replay(connection, stream);
@@ -71,6 +81,129 @@ public class RingBufferChannelTestCase extends TestCase {
         EasyMock.verify(connection, stream);
     }
 
+    public void testPartitionedDispatch() throws Exception {
+        RingBufferChannel channel = new RingBufferChannel(URI.create("channel"),
+                                                          new QName("test", "test"),
+                                                          1024,
+                                                          4,
+                                                          new BlockingWaitStrategy(),
+                                                          ChannelSide.CONSUMER,
+                                                          Executors.newCachedThreadPool(),
+                                                          EasyMock.createMock(ConsumerThreadManager.class));
+
+        KeyRecordingConsumer consumer = new KeyRecordingConsumer(100);
+
+        EventStream stream = EasyMock.createMock(EventStream.class);
+        EasyMock.expect(stream.getEventType()).andReturn(Cast.cast(Object.class)).atLeastOnce();
+        EasyMock.expect(stream.getHeadHandler()).andReturn(consumer).atLeastOnce();
+
+        ChannelConnection connection = EasyMock.createMock(ChannelConnection.class);
+        EasyMock.expect(connection.getSequence()).andReturn(0);
+        EasyMock.expect(connection.getGroup()).andReturn("group");
+        EasyMock.expect(connection.getEventStream()).andReturn(stream).atLeastOnce();
+
+        EasyMock.replay(connection, stream);
+
+        PassThroughHandler producer = new PassThroughHandler();
+
+        channel.subscribe(URI.create("test"), connection);
+        channel.attach(producer);
+
+        channel.start();
+
+        for (int i = 0; i < 100; i++) {
+            producer.handle(new TestKeyedEvent(i % 5, i), true);
+        }
+
+        assertTrue(consumer.latch.await(5, TimeUnit.SECONDS));
+
+        // each event is delivered exactly once and in order per key
+        assertEquals(100, consumer.received.size());
+        for (List<Integer> values : consumer.byKey.values()) {
+            for (int i = 1; i < values.size(); i++) {
+                assertTrue(values.get(i - 1) < values.get(i));
+            }
+        }
+        channel.stop();
+        EasyMock.verify(connection, stream);
+    }
+
+    public void testDynamicSubscribeUnsubscribe() throws Exception {
+        ConsumerThreadMonitor monitor = EasyMock.createMock(ConsumerThreadMonitor.class);
+        EasyMock.replay(monitor);
+        ConsumerThreadManagerImpl threadManager = new ConsumerThreadManagerImpl(monitor);
+
+        RingBufferChannel channel = new RingBufferChannel(URI.create("channel"),
+                                                          new QName("test", "test"),
+                                                          1024,
+                                                          0,
+                                                          new BlockingWaitStrategy(),
+                                                          ChannelSide.CONSUMER,
+                                                          Executors.newCachedThreadPool(),
+                                                          threadManager);
+
+        MockConsumer consumer = new MockConsumer();
+
+        EventStream stream = EasyMock.createMock(EventStream.class);
+        EasyMock.expect(stream.getEventType()).andReturn(Cast.cast(Object.class)).atLeastOnce();
+        EasyMock.expect(stream.getHeadHandler()).andReturn(consumer).atLeastOnce();
+
+        ChannelConnection connection = EasyMock.createMock(ChannelConnection.class);
+        EasyMock.expect(connection.getEventStream()).andReturn(stream).atLeastOnce();
+
+        EasyMock.replay(connection, stream);
+
+        PassThroughHandler producer = new PassThroughHandler();
+        channel.attach(producer);
+        channel.start();
+
+        channel.subscribe(URI.create("test"), connection);
+        assertEquals(1, threadManager.getLiveThreadCount());
+
+        producer.handle(new Object(), true);
+        producer.handle(new Object(), true);
+        assertTrue(consumer.latch.await(5, TimeUnit.SECONDS));
+
+        assertSame(connection, channel.unsubscribe(URI.create("test")));
+        // the processor thread is halted and joined on unsubscribe
+        assertEquals(0, threadManager.getLiveThreadCount());
+
+        channel.stop();
+        EasyMock.verify(connection, stream, monitor);
+    }
+
+    private class TestKeyedEvent implements KeyedEvent {
+        private Integer key;
+        private int value;
+
+        public TestKeyedEvent(Integer key, int value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public Object getKey() {
+            return key;
+        }
+    }
+
+    private class KeyRecordingConsumer implements EventStreamHandler {
+        private CountDownLatch latch;
+        private Map<Object, List<Integer>> byKey = new ConcurrentHashMap<>();
+        private Set<Integer> received = ConcurrentHashMap.newKeySet();
+
+        public KeyRecordingConsumer(int count) {
+            latch = new CountDownLatch(count);
+        }
+
+        public void handle(Object event, boolean endOfBatch) {
+            TestKeyedEvent keyedEvent = (TestKeyedEvent) event;
+            // per-key lists are only modified by the partition owning the key
+            byKey.computeIfAbsent(keyedEvent.getKey(), k -> new ArrayList<>()).add(keyedEvent.value);
+            received.add(keyedEvent.value);
+            latch.countDown();
+        }
+    }
+
     private class MockConsumer implements EventStreamHandler {
         private CountDownLatch latch = new CountDownLatch(2);
 
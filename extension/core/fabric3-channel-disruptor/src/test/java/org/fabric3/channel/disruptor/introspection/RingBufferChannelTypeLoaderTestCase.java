@@ -43,6 +43,7 @@ public class RingBufferChannelTypeLoaderTestCase extends TestCase {
     private static final byte[] BLOCKING_TIMEOUT = "<channel name = 'channel' blocking.timeout = '10'/>".getBytes();
     private static final byte[] SPIN_TIMEOUT = "<channel name = 'channel' spin.timeout = '10'/>".getBytes();
     private static final byte[] YIELD_TIMEOUT = "<channel name = 'channel' yield.timeout = '10'/>".getBytes();
+    private static final byte[] PARTITIONS = "<channel name = 'channel' partitions = '4'/>".getBytes();
 
     private RingBufferChannelTypeLoader loader;
     private IntrospectionContext context;
@@ -168,6 +169,16 @@ public class RingBufferChannelTypeLoaderTestCase extends TestCase {
         assertEquals(10, data.getYieldTimeoutNanos());
     }
 
+    public void testPartitions() throws Exception {
+        XMLStreamReader reader = getReader(PARTITIONS);
+
+        loader.load(definition, reader, context);
+
+        assertFalse(context.hasErrors());
+        RingBufferData data = definition.getMetadata(RingBufferData.class);
+        assertEquals(4, data.getPartitions());
+    }
+
     private XMLStreamReader getReader(byte[] xml) throws XMLStreamException {
         XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(xml));
         reader.nextTag();
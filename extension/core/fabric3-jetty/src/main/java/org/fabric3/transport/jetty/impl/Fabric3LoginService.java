@@ -32,6 +32,7 @@ import org.fabric3.api.Role;
 import org.fabric3.api.SecuritySubject;
 import org.fabric3.spi.security.AuthenticationException;
 import org.fabric3.spi.security.AuthenticationService;
+import org.fabric3.spi.security.BasicSecuritySubject;
 import org.fabric3.spi.security.UsernamePasswordToken;
 
 /**
@@ -54,13 +55,7 @@ public class Fabric3LoginService implements LoginService {
         try {
             SecuritySubject subject = authenticationService.authenticate(token);
             Subject jaasSubject = subject.getJaasSubject();
-            Set<Role> roles = subject.getRoles();
-            String[] roleNames = new String[roles.size()];
-            int i = 0;
-            for (Role role : roles) {
-                roleNames[i] = role.getName();
-                i++;
-            }
+            String[] roleNames = getRoleNames(subject);
             UserPrincipal principal = new UserPrincipal(username);
             return new DefaultUserIdentity(jaasSubject, principal, roleNames);
         } catch (AuthenticationException e) {
@@ -69,6 +64,21 @@ public class Fabric3LoginService implements LoginService {
         }
     }
 
+    private String[] getRoleNames(SecuritySubject subject) {
+        if (subject instanceof BasicSecuritySubject) {
+            // role names are computed once when the subject is created
+            return ((BasicSecuritySubject) subject).getRoleNames();
+        }
+        Set<Role> roles = subject.getRoles();
+        String[] roleNames = new String[roles.size()];
+        int i = 0;
+        for (Role role : roles) {
+            roleNames[i] = role.getName();
+            i++;
+        }
+        return roleNames;
+    }
+
     public boolean validate(UserIdentity user) {
         return true;
     }
@@ -28,10 +28,17 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 
+import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.HttpConfiguration;
@@ -42,12 +49,14 @@ import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
 import org.eclipse.jetty.server.handler.RequestLogHandler;
 import org.eclipse.jetty.server.session.HashSessionIdManager;
 import org.eclipse.jetty.server.session.SessionHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.servlet.ServletMapping;
+import org.eclipse.jetty.servlets.gzip.GzipHandler;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.eclipse.jetty.util.thread.ExecutorThreadPool;
 import org.eclipse.jetty.util.thread.ThreadPool;
@@ -67,6 +76,7 @@ import org.fabric3.spi.security.KeyStoreManager;
 import org.fabric3.spi.transport.Transport;
 import org.fabric3.transport.jetty.JettyService;
 import org.fabric3.transport.jetty.management.ManagedHashSessionManager;
+import org.fabric3.transport.jetty.management.ManagedQueuedThreadPool;
 import org.fabric3.transport.jetty.management.ManagedServletHandler;
 import org.fabric3.transport.jetty.management.ManagedServletHolder;
 import org.fabric3.transport.jetty.management.ManagedStatisticsHandler;
@@ -95,6 +105,14 @@ public class JettyServiceImpl implements JettyService, Transport {
 
     private static final String ROOT = "/";
 
+    private static final String[] DEFAULT_COMPRESSION_MIME_TYPES = {"application/json",
+                                                                    "application/xml",
+                                                                    "application/javascript",
+                                                                    "text/html",
+                                                                    "text/plain",
+                                                                    "text/xml",
+                                                                    "text/css"};
+
     private ExecutorService executorService;
     private ManagementService managementService;
     private PortAllocator portAllocator;
@@ -135,6 +153,26 @@ public class JettyServiceImpl implements JettyService, Transport {
     private boolean logServer;
     private boolean logDispatch;
 
+    // connector tuning; -1 uses the Jetty defaults
+    private int acceptors = -1;
+    private int selectors = -1;
+    private long idleTimeout = -1;
+
+    // response compression attributes
+    private boolean compressionEnabled;
+    private int compressionMinSize = 1024;
+    private Set<String> compressionMimeTypes = new HashSet<>(Arrays.asList(DEFAULT_COMPRESSION_MIME_TYPES));
+
+    // dedicated worker pool attributes
+    private boolean workerPoolEnabled;
+    private int workerMinThreads = 10;
+    private int workerMaxThreads = 200;
+    private int workerIdleTimeout = 60000;
+    private int workerQueueSize = 1024;
+    private long overloadQueueTime = -1;
+    private int overloadRetryAfter = 5;
+    private ManagedQueuedThreadPool workerPool;
+
     private boolean sendServerVersion;
     private boolean debug;
     private Server server;
@@ -247,6 +285,77 @@ public class JettyServiceImpl implements JettyService, Transport {
         this.sendServerVersion = sendServerVersion;
     }
 
+    @Property(required = false)
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    @Property(required = false)
+    public void setSelectors(int selectors) {
+        this.selectors = selectors;
+    }
+
+    @Property(required = false)
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Property(required = false)
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    @Property(required = false)
+    public void setCompressionMinSize(int compressionMinSize) {
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    @Property(required = false)
+    public void setCompressionMimeTypes(String mimeTypes) {
+        compressionMimeTypes = new HashSet<>();
+        for (String type : mimeTypes.split(",")) {
+            type = type.trim();
+            if (!type.isEmpty()) {
+                compressionMimeTypes.add(type);
+            }
+        }
+    }
+
+    @Property(required = false)
+    public void setWorkerPoolEnabled(boolean workerPoolEnabled) {
+        this.workerPoolEnabled = workerPoolEnabled;
+    }
+
+    @Property(required = false)
+    public void setWorkerMinThreads(int workerMinThreads) {
+        this.workerMinThreads = workerMinThreads;
+    }
+
+    @Property(required = false)
+    public void setWorkerMaxThreads(int workerMaxThreads) {
+        this.workerMaxThreads = workerMaxThreads;
+    }
+
+    @Property(required = false)
+    public void setWorkerIdleTimeout(int workerIdleTimeout) {
+        this.workerIdleTimeout = workerIdleTimeout;
+    }
+
+    @Property(required = false)
+    public void setWorkerQueueSize(int workerQueueSize) {
+        this.workerQueueSize = workerQueueSize;
+    }
+
+    @Property(required = false)
+    public void setOverloadQueueTime(long overloadQueueTime) {
+        this.overloadQueueTime = overloadQueueTime;
+    }
+
+    @Property(required = false)
+    public void setOverloadRetryAfter(int overloadRetryAfter) {
+        this.overloadRetryAfter = overloadRetryAfter;
+    }
+
     @Property(required = false)
     public void setDebug(boolean val) {
         debug = val;
@@ -464,6 +573,8 @@ public class JettyServiceImpl implements JettyService, Transport {
 
     public synchronized void registerMapping(String path, Servlet servlet) {
         ServletHolder holder = new ManagedServletHolder(servlet);
+        // allow servlets to suspend requests so that worker threads are not held while waiting on a response
+        holder.setAsyncSupported(true);
         servletHandler.addServlet(holder);
         ServletMapping mapping = new ServletMapping();
         mapping.setServletName(holder.getName());
@@ -575,7 +686,7 @@ public class JettyServiceImpl implements JettyService, Transport {
             HttpConfiguration httpConfig = new HttpConfiguration();
             httpConfig.setSendServerVersion(sendServerVersion);
             httpConfig.setSecurePort(selectedHttps.getNumber());
-            httpConnector = new ServerConnector(server, new HttpConnectionFactory(httpConfig));
+            httpConnector = createConnector(new HttpConnectionFactory(httpConfig));
             httpConnector.setPort(selectedHttp.getNumber());
 
             SslContextFactory sslContextFactory = new SslContextFactory();
@@ -597,7 +708,7 @@ public class JettyServiceImpl implements JettyService, Transport {
             httpsConfig.setSendServerVersion(sendServerVersion);
             httpsConfig.addCustomizer(new SecureRequestCustomizer());
             HttpConnectionFactory factory = new HttpConnectionFactory(httpsConfig);
-            sslConnector = new ServerConnector(server, new SslConnectionFactory(sslContextFactory, "http/1.1"), factory);
+            sslConnector = createConnector(new SslConnectionFactory(sslContextFactory, "http/1.1"), factory);
 
             sslConnector.setPort(selectedHttps.getNumber());
             sslConnector.setHost(configuredHttpsHost);
@@ -606,7 +717,7 @@ public class JettyServiceImpl implements JettyService, Transport {
         } else {
             // setup HTTP
             HttpConfiguration httpConfig = new HttpConfiguration();
-            httpConnector = new ServerConnector(server, new HttpConnectionFactory(httpConfig));
+            httpConnector = createConnector(new HttpConnectionFactory(httpConfig));
             httpConnector.setPort(selectedHttp.getNumber());
             httpConnector.setSoLingerTime(-1);
             httpConnector.setHost(configuredHttpHost);
@@ -614,6 +725,20 @@ public class JettyServiceImpl implements JettyService, Transport {
         }
     }
 
+    /**
+     * Creates a connector for the given connection factories, applying the configured acceptor, selector and idle timeout settings.
+     *
+     * @param factories the connection factories in protocol negotiation order
+     * @return the connector
+     */
+    private ServerConnector createConnector(ConnectionFactory... factories) {
+        ServerConnector connector = new ServerConnector(server, null, null, null, acceptors, selectors, factories);
+        if (idleTimeout > 0) {
+            connector.setIdleTimeout(idleTimeout);
+        }
+        return connector;
+    }
+
     /**
      * Registers HTTP and HTTPS socket information with the topology service if it is available.
      */
@@ -678,6 +803,13 @@ public class JettyServiceImpl implements JettyService, Transport {
     }
 
     private ThreadPool createThreadPool() {
+        if (workerPoolEnabled) {
+            // bound the queue so excess requests are rejected instead of accumulating; a non-positive size leaves it unbounded
+            BlockingQueue<Runnable> queue = workerQueueSize > 0 ? new ArrayBlockingQueue<>(workerQueueSize) : new LinkedBlockingQueue<>();
+            workerPool = new ManagedQueuedThreadPool(workerMinThreads, workerMaxThreads, workerIdleTimeout, queue);
+            return workerPool;
+        }
+        workerPool = null;
         return executorService == null ? new ExecutorThreadPool(100) : new Fabric3ThreadPool();
     }
 
@@ -690,18 +822,34 @@ public class JettyServiceImpl implements JettyService, Transport {
             server.setHandler(statisticsHandler);
         }
 
+        statisticsHandler.setThreadPool(workerPool);
+
         ExecutionContextHandler executionHandler = new ExecutionContextHandler();
+        HandlerWrapper next = executionHandler;
+        if (workerPool != null && overloadQueueTime >= 0) {
+            OverloadHandler overloadHandler = new OverloadHandler(workerPool, overloadQueueTime, overloadRetryAfter);
+            overloadHandler.setHandler(executionHandler);
+            next = overloadHandler;
+        }
         if (redirectHttp) {
             int port = redirectHttpsPort > 0 ? redirectHttpsPort : selectedHttps.getNumber();
             SecurityRedirectHandler securityHandler = new SecurityRedirectHandler(port);
             statisticsHandler.setHandler(securityHandler);
-            securityHandler.setHandler(executionHandler);
+            securityHandler.setHandler(next);
         } else {
-            statisticsHandler.setHandler(executionHandler);
+            statisticsHandler.setHandler(next);
         }
 
         rootHandler = new ContextHandlerCollection();
-        executionHandler.setHandler(rootHandler);
+        if (compressionEnabled) {
+            GzipHandler gzipHandler = new GzipHandler();
+            gzipHandler.setMinGzipSize(compressionMinSize);
+            gzipHandler.setMimeTypes(compressionMimeTypes);
+            executionHandler.setHandler(gzipHandler);
+            gzipHandler.setHandler(rootHandler);
+        } else {
+            executionHandler.setHandler(rootHandler);
+        }
 
         contextHandler = new ServletContextHandler(rootHandler, ROOT);
         sessionManager = new ManagedHashSessionManager();
@@ -0,0 +1,61 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.transport.jetty.impl;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.fabric3.transport.jetty.management.ManagedQueuedThreadPool;
+
+/**
+ * Sheds load by rejecting requests with a 503 and a Retry-After header when they waited longer than a threshold for a worker thread.
+ */
+public class OverloadHandler extends HandlerWrapper {
+    private ManagedQueuedThreadPool threadPool;
+    private long maxQueueTime;
+    private String retryAfter;
+
+    /**
+     * Constructor.
+     *
+     * @param threadPool   the worker pool requests are dispatched on
+     * @param maxQueueTime the maximum time in milliseconds a request may wait for a worker thread before it is rejected
+     * @param retryAfter   the number of seconds clients are asked to wait before retrying a rejected request
+     */
+    public OverloadHandler(ManagedQueuedThreadPool threadPool, long maxQueueTime, int retryAfter) {
+        this.threadPool = threadPool;
+        this.maxQueueTime = maxQueueTime;
+        this.retryAfter = String.valueOf(retryAfter);
+    }
+
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        // only new requests are rejected; re-dispatches of suspended requests must complete
+        if (DispatcherType.REQUEST == baseRequest.getDispatcherType() && ManagedQueuedThreadPool.getCurrentQueueTime() > maxQueueTime) {
+            threadPool.overloaded();
+            response.setHeader("Retry-After", retryAfter);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            baseRequest.setHandled(true);
+        } else {
+            getHandler().handle(target, baseRequest, request, response);
+        }
+    }
+}
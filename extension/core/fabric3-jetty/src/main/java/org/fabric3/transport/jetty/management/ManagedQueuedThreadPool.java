@@ -0,0 +1,113 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.transport.jetty.management;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+/**
+ * A bounded Jetty worker pool dedicated to HTTP request handling. Tracks the time jobs wait in the queue so that request handlers can shed load when
+ * the pool is saturated.
+ */
+public class ManagedQueuedThreadPool extends QueuedThreadPool {
+    private static final ThreadLocal<Long> QUEUE_TIME = new ThreadLocal<>();
+
+    private BlockingQueue<Runnable> queue;
+    private AtomicLong overloaded = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param minThreads  the number of threads kept available for request handling
+     * @param maxThreads  the maximum number of threads
+     * @param idleTimeout the time in milliseconds an idle thread above the minimum is kept alive
+     * @param queue       the queue jobs are held in until a thread becomes available
+     */
+    public ManagedQueuedThreadPool(int minThreads, int maxThreads, int idleTimeout, BlockingQueue<Runnable> queue) {
+        super(maxThreads, minThreads, idleTimeout, queue);
+        this.queue = queue;
+        setName("f3-http");
+    }
+
+    public boolean dispatch(Runnable job) {
+        return super.dispatch(new QueuedJob(job));
+    }
+
+    /**
+     * Returns the time in milliseconds the job running on the current thread waited in the queue, or 0 if the current thread is not a pool thread.
+     *
+     * @return the queue time in milliseconds
+     */
+    public static long getCurrentQueueTime() {
+        Long time = QUEUE_TIME.get();
+        return time == null ? 0 : time;
+    }
+
+    /**
+     * Records a request that was rejected because the pool was overloaded.
+     */
+    public void overloaded() {
+        overloaded.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of jobs waiting for a thread.
+     *
+     * @return the number of jobs waiting for a thread
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of requests rejected because the pool was overloaded.
+     *
+     * @return the number of rejected requests
+     */
+    public long getOverloadedRequests() {
+        return overloaded.get();
+    }
+
+    /**
+     * Records the time a job is queued and makes its queue time available to the thread that runs it.
+     */
+    private static class QueuedJob implements Runnable {
+        private Runnable job;
+        private long queued = System.nanoTime();
+
+        public QueuedJob(Runnable job) {
+            this.job = job;
+        }
+
+        public void run() {
+            QUEUE_TIME.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queued));
+            try {
+                job.run();
+            } finally {
+                QUEUE_TIME.remove();
+            }
+        }
+
+        public String toString() {
+            return job.toString();
+        }
+    }
+
+}
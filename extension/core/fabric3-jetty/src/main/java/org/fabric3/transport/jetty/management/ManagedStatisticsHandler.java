@@ -42,6 +42,17 @@ public class ManagedStatisticsHandler extends StatisticsHandler {
     private AtomicLong statsStartedAt = new AtomicLong();
     private AtomicLong statsEndedAt = new AtomicLong(-1);
 
+    private ManagedQueuedThreadPool threadPool;
+
+    /**
+     * Sets the dedicated worker pool whose metrics are reported by this handler.
+     *
+     * @param threadPool the worker pool
+     */
+    public void setThreadPool(ManagedQueuedThreadPool threadPool) {
+        this.threadPool = threadPool;
+    }
+
     @Override
     public void handle(String path, Request request, HttpServletRequest httpRequest, HttpServletResponse httpResponse)
             throws IOException, ServletException {
@@ -186,5 +197,29 @@ public class ManagedStatisticsHandler extends StatisticsHandler {
         return super.getResponsesBytesTotal();
     }
 
+    @ManagementOperation(description = "The number of threads in the HTTP worker pool or -1 if the runtime pool is used")
+    public int getPoolThreads() {
+        return threadPool == null ? -1 : threadPool.getThreads();
+    }
+
+    @ManagementOperation(description = "The number of idle threads in the HTTP worker pool or -1 if the runtime pool is used")
+    public int getPoolIdleThreads() {
+        return threadPool == null ? -1 : threadPool.getIdleThreads();
+    }
+
+    @ManagementOperation(description = "The maximum number of threads in the HTTP worker pool or -1 if the runtime pool is used")
+    public int getPoolMaxThreads() {
+        return threadPool == null ? -1 : threadPool.getMaxThreads();
+    }
+
+    @ManagementOperation(description = "The number of jobs waiting for an HTTP worker thread or -1 if the runtime pool is used")
+    public int getPoolQueueSize() {
+        return threadPool == null ? -1 : threadPool.getQueueSize();
+    }
+
+    @ManagementOperation(description = "The number of requests rejected with a 503 because the HTTP worker pool was overloaded")
+    public long getOverloadedRequests() {
+        return threadPool == null ? 0 : threadPool.getOverloadedRequests();
+    }
 
-}
\ No newline at end of file
+}
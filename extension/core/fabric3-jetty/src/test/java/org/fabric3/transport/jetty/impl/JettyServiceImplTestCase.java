@@ -28,8 +28,11 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
@@ -38,6 +41,7 @@ import org.fabric3.api.host.runtime.HostInfo;
 import org.fabric3.spi.host.Port;
 import org.fabric3.spi.host.PortAllocator;
 import org.fabric3.spi.runtime.event.EventService;
+import org.fabric3.transport.jetty.management.ManagedQueuedThreadPool;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.getCurrentArguments;
@@ -121,6 +125,74 @@ public class JettyServiceImplTestCase extends TestCase {
     //        assertTrue(servlet.invoked);
     //    }
 
+    public void testCompression() throws Exception {
+        service.setHttpPort(String.valueOf(HTTP_PORT));
+        service.setCompressionEnabled(true);
+        service.setCompressionMinSize(256);
+        service.setAcceptors(1);
+        service.setSelectors(1);
+        service.setIdleTimeout(5000);
+        service.init();
+        service.registerMapping("/large", new JsonServlet(1024));
+        service.registerMapping("/small", new JsonServlet(16));
+
+        assertTrue(request("/large").contains("Content-Encoding: gzip"));
+        assertFalse(request("/small").contains("Content-Encoding: gzip"));
+        service.destroy();
+    }
+
+    public void testWorkerPool() throws Exception {
+        service.setHttpPort(String.valueOf(HTTP_PORT));
+        service.setWorkerPoolEnabled(true);
+        service.setWorkerMinThreads(4);
+        service.setWorkerMaxThreads(20);
+        service.setOverloadQueueTime(5000);
+        service.init();
+        TestServlet servlet = new TestServlet();
+        service.registerMapping("/", servlet);
+
+        assertTrue(request("/").startsWith("HTTP/1.1 200"));
+        assertTrue(servlet.invoked);
+        assertTrue(service.getServer().getThreadPool() instanceof ManagedQueuedThreadPool);
+        service.destroy();
+    }
+
+    public void testOverloaded() throws Exception {
+        service.setHttpPort(String.valueOf(HTTP_PORT));
+        service.setAcceptors(1);
+        service.setSelectors(1);
+        // one thread each for the acceptor and selector leaves a single worker thread for requests
+        service.setWorkerPoolEnabled(true);
+        service.setWorkerMinThreads(3);
+        service.setWorkerMaxThreads(3);
+        service.setOverloadQueueTime(100);
+        service.setOverloadRetryAfter(7);
+        service.init();
+        BlockingServlet blockingServlet = new BlockingServlet();
+        service.registerMapping("/block", blockingServlet);
+        TestServlet servlet = new TestServlet();
+        service.registerMapping("/", servlet);
+
+        // occupy the worker thread
+        Future<String> blocked = executor.submit(() -> request("/block"));
+        assertTrue(blockingServlet.entered.await(5, TimeUnit.SECONDS));
+
+        // release the worker after the next request has been queued longer than the overload threshold
+        executor.submit(() -> {
+            Thread.sleep(500);
+            blockingServlet.release.countDown();
+            return null;
+        });
+        String response = request("/");
+
+        assertTrue(response.startsWith("HTTP/1.1 503"));
+        assertTrue(response.contains("Retry-After: 7"));
+        assertFalse(servlet.invoked);
+        assertTrue(blocked.get(5, TimeUnit.SECONDS).startsWith("HTTP/1.1 200"));
+        assertEquals(1, ((ManagedQueuedThreadPool) service.getServer().getThreadPool()).getOverloadedRequests());
+        service.destroy();
+    }
+
     public void testRestart() throws Exception {
         service.setHttpPort(String.valueOf(HTTP_PORT));
         service.init();
@@ -182,6 +254,14 @@ public class JettyServiceImplTestCase extends TestCase {
 
     }
 
+    private static String request(String path) throws IOException {
+        Socket client = new Socket("127.0.0.1", HTTP_PORT);
+        OutputStream os = client.getOutputStream();
+        os.write(("GET " + path + " HTTP/1.1\nHost: localhost\nAccept-Encoding: gzip\nConnection: close\n\n").getBytes());
+        os.flush();
+        return read(client);
+    }
+
     private static String read(Socket socket) throws IOException {
         BufferedReader reader = null;
         try {
@@ -189,7 +269,7 @@ public class JettyServiceImplTestCase extends TestCase {
             StringBuilder sb = new StringBuilder();
             String str;
             while ((str = reader.readLine()) != null) {
-                sb.append(str);
+                sb.append(str).append("\n");
             }
             return sb.toString();
         } finally {
@@ -213,4 +293,43 @@ public class JettyServiceImplTestCase extends TestCase {
         }
 
     }
+
+    private class BlockingServlet extends HttpServlet {
+        private static final long serialVersionUID = 1L;
+        private CountDownLatch entered = new CountDownLatch(1);
+        private CountDownLatch release = new CountDownLatch(1);
+
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try (OutputStream writer = resp.getOutputStream()) {
+                writer.write("result".getBytes());
+            }
+        }
+    }
+
+    private class JsonServlet extends HttpServlet {
+        private static final long serialVersionUID = 1L;
+        private int size;
+
+        private JsonServlet(int size) {
+            this.size = size;
+        }
+
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+            resp.setContentType("application/json");
+            StringBuilder builder = new StringBuilder("\"");
+            for (int i = 0; i < size; i++) {
+                builder.append('a');
+            }
+            builder.append("\"");
+            try (OutputStream writer = resp.getOutputStream()) {
+                writer.write(builder.toString().getBytes());
+            }
+        }
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.transport.jetty.management;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class ManagedQueuedThreadPoolTestCase extends TestCase {
+    private ManagedQueuedThreadPool pool;
+
+    public void testQueueTime() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicLong queueTime = new AtomicLong(-1);
+
+        pool.execute(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        pool.execute(() -> {
+            queueTime.set(ManagedQueuedThreadPool.getCurrentQueueTime());
+            done.countDown();
+        });
+        assertEquals(1, pool.getQueueSize());
+
+        Thread.sleep(100);
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertTrue(queueTime.get() >= 100);
+        assertEquals(0, ManagedQueuedThreadPool.getCurrentQueueTime());
+    }
+
+    public void testOverloaded() throws Exception {
+        pool.overloaded();
+        assertEquals(1, pool.getOverloadedRequests());
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        pool = new ManagedQueuedThreadPool(1, 1, 60000, new ArrayBlockingQueue<>(10));
+        pool.start();
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        pool.stop();
+    }
+}
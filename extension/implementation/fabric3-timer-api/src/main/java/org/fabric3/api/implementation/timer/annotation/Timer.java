@@ -20,6 +20,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
 import org.fabric3.api.annotation.model.Implementation;
+import org.fabric3.api.implementation.timer.model.MisfirePolicy;
 import org.fabric3.api.implementation.timer.model.TimerType;
 
 /**
@@ -71,4 +72,40 @@ public @interface Timer {
      */
     long fireOnce() default -1;
 
+    /**
+     * Specifies the cron expression for a {@link TimerType#CRON} timer, e.g. <code>0 15 2 * * MON-FRI</code>.
+     *
+     * @return the cron expression
+     */
+    String cron() default "";
+
+    /**
+     * Specifies the time zone ID a {@link TimerType#CRON} timer expression is evaluated in. If not specified, the runtime default time zone is used.
+     *
+     * @return the time zone ID
+     */
+    String timeZone() default "";
+
+    /**
+     * Specifies how a {@link TimerType#CRON} timer handles missed fire times.
+     *
+     * @return the misfire policy
+     */
+    MisfirePolicy misfirePolicy() default MisfirePolicy.FIRE_ONCE;
+
+    /**
+     * Specifies the time a {@link MisfirePolicy#SKIP} timer execution may start late before it is skipped.
+     *
+     * @return the threshold in milliseconds
+     */
+    long misfireThreshold() default 1000;
+
+    /**
+     * Specifies if a domain-scoped timer is assigned to one of the zone participants instead of always running on the zone leader. Completion is not
+     * recorded across participants: if the timer is reassigned, once and recurring timers are scheduled again from the start on the new participant.
+     *
+     * @return true if the timer is sharded
+     */
+    boolean sharded() default false;
+
 }
@@ -16,6 +16,7 @@
  */
 package org.fabric3.api.implementation.timer.builder;
 
+import org.fabric3.api.implementation.timer.model.MisfirePolicy;
 import org.fabric3.api.implementation.timer.model.TimerData;
 import org.fabric3.api.implementation.timer.model.TimerImplementation;
 import org.fabric3.api.implementation.timer.model.TimerType;
@@ -79,6 +80,45 @@ public class TimerComponentBuilder extends ComponentBuilder<TimerComponentBuilde
         return this;
     }
 
+    public TimerComponentBuilder cron(String expression) {
+        checkState();
+        TimerData data = component.getImplementation().getTimerData();
+        checkType(data, "cron", TimerType.CRON);
+        data.setCronExpression(expression);
+        return this;
+    }
+
+    public TimerComponentBuilder timeZone(String zoneId) {
+        checkState();
+        TimerData data = component.getImplementation().getTimerData();
+        checkType(data, "timeZone", TimerType.CRON);
+        data.setTimeZone(zoneId);
+        return this;
+    }
+
+    public TimerComponentBuilder misfirePolicy(MisfirePolicy policy) {
+        checkState();
+        TimerData data = component.getImplementation().getTimerData();
+        checkType(data, "misfirePolicy", TimerType.CRON);
+        data.setMisfirePolicy(policy);
+        return this;
+    }
+
+    public TimerComponentBuilder misfireThreshold(long value) {
+        checkState();
+        TimerData data = component.getImplementation().getTimerData();
+        checkType(data, "misfireThreshold", TimerType.CRON);
+        data.setMisfireThreshold(value);
+        return this;
+    }
+
+    public TimerComponentBuilder sharded(boolean value) {
+        checkState();
+        TimerData data = component.getImplementation().getTimerData();
+        data.setSharded(value);
+        return this;
+    }
+
     public TimerComponentBuilder initialDelay(long value) {
         checkState();
         TimerData data = component.getImplementation().getTimerData();
@@ -0,0 +1,34 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.api.implementation.timer.model;
+
+/**
+ * Defines how a {@link TimerType#CRON} timer handles fire times that are missed, for example because a previous execution overran or the timer pool was
+ * saturated.
+ */
+public enum MisfirePolicy {
+
+    /**
+     * Missed fire times are coalesced into a single execution that takes place as soon as possible.
+     */
+    FIRE_ONCE,
+
+    /**
+     * Missed fire times are skipped. An execution starting later than the misfire threshold is not performed.
+     */
+    SKIP
+}
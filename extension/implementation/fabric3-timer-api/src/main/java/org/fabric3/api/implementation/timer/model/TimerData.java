@@ -31,6 +31,8 @@ public class TimerData implements Serializable {
 
     public static final long UNSPECIFIED = -1;
 
+    public static final long DEFAULT_MISFIRE_THRESHOLD = 1000;
+
     private TimerType type = TimerType.INTERVAL;
     private String poolName = DEFAULT_POOL;
     private String intervalClass;
@@ -40,6 +42,11 @@ public class TimerData implements Serializable {
     private long fixedRate = UNSPECIFIED;
     private long repeatInterval = UNSPECIFIED;
     private long fireOnce = UNSPECIFIED;
+    private String cronExpression;
+    private String timeZone;
+    private MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE;
+    private long misfireThreshold = DEFAULT_MISFIRE_THRESHOLD;
+    private boolean sharded;
 
     public TimerType getType() {
         return type;
@@ -112,4 +119,60 @@ public class TimerData implements Serializable {
     public void setIntervalMethod(boolean intervalMethod) {
         this.intervalMethod = intervalMethod;
     }
+
+    public String getCronExpression() {
+        return cronExpression;
+    }
+
+    public void setCronExpression(String cronExpression) {
+        this.cronExpression = cronExpression;
+    }
+
+    /**
+     * Returns the time zone ID cron expressions are evaluated in or null if the runtime default time zone is used.
+     *
+     * @return the time zone ID or null
+     */
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    public void setMisfirePolicy(MisfirePolicy misfirePolicy) {
+        this.misfirePolicy = misfirePolicy;
+    }
+
+    /**
+     * Returns the time in milliseconds a {@link MisfirePolicy#SKIP} timer execution may start late before it is skipped.
+     *
+     * @return the misfire threshold in milliseconds
+     */
+    public long getMisfireThreshold() {
+        return misfireThreshold;
+    }
+
+    public void setMisfireThreshold(long misfireThreshold) {
+        this.misfireThreshold = misfireThreshold;
+    }
+
+    /**
+     * Returns true if domain-scoped timer components are distributed across zone participants instead of being scheduled only on the zone leader. Once
+     * and recurring timers are scheduled again from the start when a timer is reassigned to another participant.
+     *
+     * @return true if the timer is sharded
+     */
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    public void setSharded(boolean sharded) {
+        this.sharded = sharded;
+    }
 }
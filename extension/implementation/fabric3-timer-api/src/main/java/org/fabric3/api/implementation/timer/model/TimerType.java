@@ -25,5 +25,6 @@ public enum TimerType {
     ONCE,
     FIXED_RATE,
     INTERVAL,
-    RECURRING
+    RECURRING,
+    CRON
 }
@@ -22,8 +22,11 @@ import javax.xml.stream.Location;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import java.lang.reflect.Method;
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.concurrent.TimeUnit;
 
+import org.fabric3.api.implementation.timer.model.MisfirePolicy;
 import org.fabric3.api.implementation.timer.model.TimerData;
 import org.fabric3.api.implementation.timer.model.TimerImplementation;
 import org.fabric3.api.implementation.timer.model.TimerType;
@@ -35,6 +38,7 @@ import org.fabric3.spi.introspection.xml.AbstractValidatingTypeLoader;
 import org.fabric3.spi.introspection.xml.InvalidValue;
 import org.fabric3.spi.introspection.xml.LoaderUtil;
 import org.fabric3.spi.introspection.xml.MissingAttribute;
+import org.fabric3.timer.spi.CronExpression;
 import org.oasisopen.sca.annotation.Reference;
 import static org.fabric3.api.implementation.timer.model.TimerData.UNSPECIFIED;
 
@@ -46,7 +50,21 @@ public class TimerImplementationLoader extends AbstractValidatingTypeLoader<Time
 
     public TimerImplementationLoader(@Reference JavaImplementationIntrospector introspector) {
         this.introspector = introspector;
-        addAttributes("class", "intervalClass", "fixedRate", "repeatInterval", "fireOnce", "initialDelay", "unit", "requires", "policySets", "poolName");
+        addAttributes("class",
+                      "intervalClass",
+                      "fixedRate",
+                      "repeatInterval",
+                      "fireOnce",
+                      "cron",
+                      "timeZone",
+                      "misfirePolicy",
+                      "misfireThreshold",
+                      "initialDelay",
+                      "unit",
+                      "requires",
+                      "policySets",
+                      "poolName",
+                      "sharded");
     }
 
     public TimerImplementation load(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -69,12 +87,14 @@ public class TimerImplementationLoader extends AbstractValidatingTypeLoader<Time
         if (poolName != null) {
             data.setPoolName(poolName);
         }
+        data.setSharded(Boolean.parseBoolean(reader.getAttributeValue(null, "sharded")));
         processInitialDelay(data, reader, startLocation, context);
         processTimeUnit(data, reader, startLocation, context);
         processIntervalClass(reader, context, implementation);
         processRepeatInterval(reader, startLocation, context, implementation);
         processRepeatFixedRate(reader, startLocation, context, implementation);
         processFireOnce(reader, startLocation, context, implementation);
+        processCron(reader, startLocation, context, implementation);
         processIntervalMethod(context, implementation);
         validateData(startLocation, context, data);
 
@@ -114,9 +134,9 @@ public class TimerImplementationLoader extends AbstractValidatingTypeLoader<Time
 
     private void validateData(Location startLocation, IntrospectionContext context, TimerData data) {
         if (!data.isIntervalMethod() && data.getIntervalClass() == null && data.getFixedRate() == UNSPECIFIED && data.getRepeatInterval() == UNSPECIFIED
-            && data.getFireOnce() == UNSPECIFIED) {
-            MissingAttribute failure = new MissingAttribute("A task, fixed rate, repeat interval, or time must be specified on the timer component",
-                                                            startLocation);
+            && data.getFireOnce() == UNSPECIFIED && data.getCronExpression() == null) {
+            String message = "A task, fixed rate, repeat interval, time, or cron expression must be specified on the timer component";
+            MissingAttribute failure = new MissingAttribute(message, startLocation);
             context.addError(failure);
         }
     }
@@ -273,4 +293,61 @@ public class TimerImplementationLoader extends AbstractValidatingTypeLoader<Time
         }
     }
 
-}
\ No newline at end of file
+    private void processCron(XMLStreamReader reader, Location startLocation, IntrospectionContext introspectionContext, TimerImplementation implementation) {
+        TimerData data = implementation.getTimerData();
+        String cron = reader.getAttributeValue(null, "cron");
+        if (cron == null) {
+            return;
+        }
+        if (data.getIntervalClass() != null) {
+            InvalidTimerExpression failure = new InvalidTimerExpression("A task and cron expression are both specified", startLocation, implementation);
+            introspectionContext.addError(failure);
+        }
+        if (data.getRepeatInterval() != UNSPECIFIED || data.getFixedRate() != UNSPECIFIED || data.getFireOnce() != UNSPECIFIED) {
+            InvalidTimerExpression failure = new InvalidTimerExpression("A cron expression cannot be combined with an interval, fixed rate, or fire once time",
+                                                                        startLocation,
+                                                                        implementation);
+            introspectionContext.addError(failure);
+        }
+        try {
+            CronExpression.parse(cron);
+            data.setType(TimerType.CRON);
+            data.setCronExpression(cron);
+        } catch (IllegalArgumentException e) {
+            InvalidTimerExpression failure = new InvalidTimerExpression("Cron expression is invalid: " + cron, startLocation, e, implementation);
+            introspectionContext.addError(failure);
+        }
+
+        String timeZone = reader.getAttributeValue(null, "timeZone");
+        if (timeZone != null) {
+            try {
+                ZoneId.of(timeZone);
+                data.setTimeZone(timeZone);
+            } catch (DateTimeException e) {
+                InvalidValue failure = new InvalidValue("Invalid time zone: " + timeZone, startLocation, e);
+                introspectionContext.addError(failure);
+            }
+        }
+
+        String policy = reader.getAttributeValue(null, "misfirePolicy");
+        if (policy != null) {
+            try {
+                data.setMisfirePolicy(MisfirePolicy.valueOf(policy.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                InvalidValue failure = new InvalidValue("Invalid misfire policy: " + policy, startLocation);
+                introspectionContext.addError(failure);
+            }
+        }
+
+        String threshold = reader.getAttributeValue(null, "misfireThreshold");
+        if (threshold != null) {
+            try {
+                data.setMisfireThreshold(Long.parseLong(threshold));
+            } catch (NumberFormatException e) {
+                InvalidValue failure = new InvalidValue("Invalid misfire threshold: " + threshold, startLocation, e);
+                introspectionContext.addError(failure);
+            }
+        }
+    }
+
+}
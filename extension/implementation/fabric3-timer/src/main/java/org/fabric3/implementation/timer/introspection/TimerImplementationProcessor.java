@@ -16,6 +16,9 @@
  */
 package org.fabric3.implementation.timer.introspection;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
 import org.fabric3.api.annotation.wire.Key;
 import org.fabric3.api.implementation.timer.annotation.Timer;
 import org.fabric3.api.implementation.timer.model.TimerData;
@@ -29,6 +32,7 @@ import org.fabric3.spi.introspection.IntrospectionContext;
 import org.fabric3.spi.introspection.java.IntrospectionHelper;
 import org.fabric3.spi.introspection.java.InvalidAnnotation;
 import org.fabric3.spi.introspection.java.contract.JavaContractProcessor;
+import org.fabric3.timer.spi.CronExpression;
 import org.oasisopen.sca.annotation.EagerInit;
 import org.oasisopen.sca.annotation.Reference;
 
@@ -57,6 +61,8 @@ public class TimerImplementationProcessor extends AbstractPojoImplementationProc
 
         data.setPoolName(annotation.pool());
 
+        data.setSharded(annotation.sharded());
+
         TimerType type = annotation.type();
         data.setType(type);
         switch (type) {
@@ -93,11 +99,42 @@ public class TimerImplementationProcessor extends AbstractPojoImplementationProc
                     data.setIntervalMethod(true);
                 }
                 break;
+            case CRON:
+                processCron(clazz, annotation, data, context);
+                break;
         }
         implementation.setTimerData(data);
         return implementation;
     }
 
+    private void processCron(Class<?> clazz, Timer annotation, TimerData data, IntrospectionContext context) {
+        String cron = annotation.cron();
+        if (cron.isEmpty()) {
+            InvalidAnnotation error = new InvalidAnnotation("The cron attribute must be specified for the timer", clazz, annotation, clazz);
+            context.addError(error);
+            return;
+        }
+        try {
+            CronExpression.parse(cron);
+        } catch (IllegalArgumentException e) {
+            InvalidAnnotation error = new InvalidAnnotation("Invalid cron expression: " + cron, clazz, annotation, clazz, e);
+            context.addError(error);
+        }
+        data.setCronExpression(cron);
+        String timeZone = annotation.timeZone();
+        if (!timeZone.isEmpty()) {
+            try {
+                ZoneId.of(timeZone);
+            } catch (DateTimeException e) {
+                InvalidAnnotation error = new InvalidAnnotation("Invalid time zone: " + timeZone, clazz, annotation, clazz, e);
+                context.addError(error);
+            }
+            data.setTimeZone(timeZone);
+        }
+        data.setMisfirePolicy(annotation.misfirePolicy());
+        data.setMisfireThreshold(annotation.misfireThreshold());
+    }
+
     private boolean isInterval(Class<?> clazz) {
         try {
             clazz.getMethod("nextInterval");
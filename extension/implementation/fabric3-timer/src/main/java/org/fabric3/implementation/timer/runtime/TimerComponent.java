@@ -22,11 +22,14 @@ import javax.transaction.TransactionManager;
 import javax.xml.namespace.QName;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.time.ZoneId;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.runtime.HostInfo;
+import org.fabric3.api.implementation.timer.model.MisfirePolicy;
 import org.fabric3.api.implementation.timer.model.TimerData;
 import org.fabric3.api.model.type.RuntimeMode;
 import org.fabric3.api.model.type.component.Scope;
@@ -34,11 +37,17 @@ import org.fabric3.implementation.java.runtime.JavaComponent;
 import org.fabric3.implementation.pojo.manager.ImplementationManagerFactory;
 import org.fabric3.spi.container.component.ScopeContainer;
 import org.fabric3.spi.discovery.DiscoveryAgent;
+import org.fabric3.timer.spi.CronExpression;
 import org.fabric3.timer.spi.Task;
 import org.fabric3.timer.spi.TimerService;
 
 /**
  * A timer component implementation.
+ * <p>
+ * Sharded timers are scheduled only on the runtime that owns them. Ownership is not coordinated with executions: when ownership moves, the previous
+ * owner stops scheduling further executions and the new owner schedules the timer. Fixed-rate timers continue on the shared tick sequence. Interval
+ * timers start on the next shared tick and then repeat with the configured delay after each execution, so only their first tick on an owner is aligned.
+ * Completion is not recorded across runtimes, so once and recurring timers are scheduled again from the start on the new owner.
  */
 public class TimerComponent extends JavaComponent {
     private TimerData data;
@@ -46,6 +55,7 @@ public class TimerComponent extends JavaComponent {
     private TimerService timerService;
     private ScheduledFuture<?> future;
     private DiscoveryAgent discoveryAgent;
+    private TimerShardManager shardManager;
     private InvokerMonitor monitor;
     private boolean scheduleOnStart;
     private Scope scope;
@@ -56,6 +66,11 @@ public class TimerComponent extends JavaComponent {
 
     private Consumer<Boolean> callback = this::onLeaderElected;
 
+    // sharded timer state
+    private boolean sharded;
+    private volatile boolean owner;
+    private boolean runtimeStarted;
+
     public TimerComponent(URI componentId,
                           QName deployable,
                           TimerData data,
@@ -66,6 +81,7 @@ public class TimerComponent extends JavaComponent {
                           TimerService timerService,
                           TransactionManager tm,
                           DiscoveryAgent discoveryAgent,
+                          TimerShardManager shardManager,
                           HostInfo info,
                           InvokerMonitor monitor,
                           boolean scheduleOnStart) {
@@ -75,8 +91,10 @@ public class TimerComponent extends JavaComponent {
         this.transactional = transactional;
         this.timerService = timerService;
         this.discoveryAgent = discoveryAgent;
+        this.shardManager = shardManager;
         this.monitor = monitor;
         this.scheduleOnStart = scheduleOnStart;
+        this.runtimeStarted = scheduleOnStart;
         this.scope = scopeContainer.getScope();
         this.tm = tm;
         this.info = info;
@@ -85,6 +103,12 @@ public class TimerComponent extends JavaComponent {
 
     public void start() throws Fabric3Exception {
         super.start();
+        if (Scope.DOMAIN.equals(scope) && data.isSharded() && shardManager != null && RuntimeMode.NODE == info.getRuntimeMode()) {
+            // the shard manager invokes the callback with the initial ownership state, which schedules the timer if this runtime owns it
+            sharded = true;
+            shardManager.register(getUri(), this::onOwnershipChange);
+            return;
+        }
         if (Scope.DOMAIN.equals(scope)) {
             if (discoveryAgent != null) {
                 discoveryAgent.registerLeadershipListener(callback);
@@ -102,12 +126,12 @@ public class TimerComponent extends JavaComponent {
 
     public void stop() throws Fabric3Exception {
         super.stop();
-        if (discoveryAgent != null && Scope.DOMAIN.equals(scope)) {
+        if (sharded) {
+            shardManager.unregister(getUri());
+        } else if (discoveryAgent != null && Scope.DOMAIN.equals(scope)) {
             discoveryAgent.unRegisterLeadershipListener(callback);
         }
-        if (future != null && !future.isCancelled() && !future.isDone()) {
-            future.cancel(true);
-        }
+        cancel();
     }
 
     public void onLeaderElected(boolean value) {
@@ -122,21 +146,72 @@ public class TimerComponent extends JavaComponent {
         schedule();
     }
 
-    public void schedule() {
+    /**
+     * Called by the {@link TimerShardManager} when ownership of a sharded timer changes. This method does not wait for an in-flight execution since it
+     * is called while membership changes are processed. When ownership is lost, an in-flight execution runs to completion and subsequent executions
+     * are skipped.
+     *
+     * @param value true if this runtime owns the timer
+     */
+    public synchronized void onOwnershipChange(boolean value) {
+        owner = value;
+        if (!value) {
+            // another runtime took over the timer
+            cancel();
+        } else if (runtimeStarted && !isScheduled()) {
+            doSchedule();
+        }
+    }
+
+    public synchronized void schedule() {
+        runtimeStarted = true;
+        if (sharded && !owner) {
+            // another runtime owns the timer
+            return;
+        }
+        if (sharded && isScheduled()) {
+            // already scheduled when ownership was acquired
+            return;
+        }
+        doSchedule();
+    }
+
+    private boolean isScheduled() {
+        return future != null && !future.isDone();
+    }
+
+    private synchronized void cancel() {
+        if (future != null && !future.isCancelled() && !future.isDone()) {
+            future.cancel(false);
+        }
+    }
+
+    private void doSchedule() {
         Runnable invoker;
         if (transactional) {
             invoker = new TransactionalTimerInvoker(this, tm, monitor);
         } else {
             invoker = new NonTransactionalTimerInvoker(this, monitor);
         }
+        if (sharded) {
+            invoker = new OwnerInvoker(invoker);
+        }
         String name = data.getPoolName();
         long delay = data.getInitialDelay();
 
         switch (data.getType()) {
             case FIXED_RATE:
+                if (sharded) {
+                    scheduleAligned(invoker, data.getFixedRate(), true);
+                    break;
+                }
                 future = timerService.scheduleAtFixedRate(name, invoker, delay, data.getFixedRate(), data.getTimeUnit());
                 break;
             case INTERVAL:
+                if (sharded) {
+                    scheduleAligned(invoker, data.getRepeatInterval(), false);
+                    break;
+                }
                 future = timerService.scheduleWithFixedDelay(name, invoker, delay, data.getRepeatInterval(), data.getTimeUnit());
                 break;
             case RECURRING:
@@ -145,9 +220,47 @@ public class TimerComponent extends JavaComponent {
             case ONCE:
                 future = timerService.schedule(data.getPoolName(), invoker, data.getFireOnce(), data.getTimeUnit());
                 break;
+            case CRON:
+                scheduleCron(invoker);
+                break;
+        }
+    }
+
+    /**
+     * Schedules a sharded timer so that its first execution fires on a tick aligned to the epoch offset by the initial delay. All zone participants share
+     * the same ticks, which allows a runtime taking over the timer to continue with the next tick instead of restarting the schedule. Fixed-rate timers
+     * remain on the shared ticks. Fixed-delay timers drift from them by the execution time of each run.
+     *
+     * @param invoker   the invoker
+     * @param period    the period or interval in the configured time unit
+     * @param fixedRate true if the timer fires at a fixed rate, false if it fires with a fixed delay
+     */
+    private void scheduleAligned(Runnable invoker, long period, boolean fixedRate) {
+        TimeUnit unit = data.getTimeUnit();
+        long delay = data.getInitialDelay();
+        long periodMillis = unit.toMillis(period);
+        if (periodMillis > 0) {
+            // sub-millisecond periods are not aligned
+            long elapsed = System.currentTimeMillis() - unit.toMillis(delay);
+            delay = periodMillis - Math.floorMod(elapsed, periodMillis);
+            period = periodMillis;
+            unit = TimeUnit.MILLISECONDS;
+        }
+        String name = data.getPoolName();
+        if (fixedRate) {
+            future = timerService.scheduleAtFixedRate(name, invoker, delay, period, unit);
+        } else {
+            future = timerService.scheduleWithFixedDelay(name, invoker, delay, period, unit);
         }
     }
 
+    private void scheduleCron(Runnable invoker) {
+        CronExpression expression = CronExpression.parse(data.getCronExpression());
+        ZoneId zone = data.getTimeZone() == null ? ZoneId.systemDefault() : ZoneId.of(data.getTimeZone());
+        long threshold = MisfirePolicy.SKIP == data.getMisfirePolicy() ? data.getMisfireThreshold() : TimerData.UNSPECIFIED;
+        future = timerService.scheduleCron(data.getPoolName(), invoker, expression, zone, threshold);
+    }
+
     private void scheduleRecurring(Runnable invoker) {
         try {
             Task task;
@@ -168,4 +281,22 @@ public class TimerComponent extends JavaComponent {
         }
     }
 
+    /**
+     * Guards executions of a sharded timer: an execution is skipped if ownership was lost after it was triggered.
+     */
+    private class OwnerInvoker implements Runnable {
+        private Runnable delegate;
+
+        public OwnerInvoker(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        public void run() {
+            if (!owner) {
+                return;
+            }
+            delegate.run();
+        }
+    }
+
 }
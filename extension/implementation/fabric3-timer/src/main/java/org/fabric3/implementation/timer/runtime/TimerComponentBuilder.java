@@ -65,6 +65,9 @@ public class TimerComponentBuilder extends PojoComponentBuilder<TimerPhysicalCom
     @Reference(required = false)
     protected DiscoveryAgent discoveryAgent;
 
+    @Reference(required = false)
+    protected TimerShardManager shardManager;
+
     public TimerComponentBuilder(@Reference ScopeRegistry scopeRegistry,
                                  @Reference ImplementationManagerFactoryBuilder factoryBuilder,
                                  @Reference ClassLoaderRegistry classLoaderRegistry,
@@ -111,6 +114,7 @@ public class TimerComponentBuilder extends PojoComponentBuilder<TimerPhysicalCom
                                                       timerService,
                                                       tm,
                                                       discoveryAgent,
+                                                      shardManager,
                                                       info,
                                                       monitor,
                                                       runtimeStarted);
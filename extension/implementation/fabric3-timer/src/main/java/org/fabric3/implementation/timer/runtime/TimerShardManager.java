@@ -0,0 +1,53 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.implementation.timer.runtime;
+
+import java.net.URI;
+import java.util.function.Consumer;
+
+/**
+ * Distributes sharded timer components across the runtimes participating in a zone. Each component is owned by exactly one participant, determined by
+ * consistent hashing of the component URI over the current membership. When participants join or leave, only the components whose owner changes are
+ * moved.
+ */
+public interface TimerShardManager {
+
+    /**
+     * Registers a timer component. The callback is invoked with the current ownership state and subsequently with true when this runtime becomes owner of
+     * the component and false when ownership moves to another runtime.
+     *
+     * @param uri      the timer component URI
+     * @param callback the ownership callback
+     */
+    void register(URI uri, Consumer<Boolean> callback);
+
+    /**
+     * Removes a timer component registration.
+     *
+     * @param uri the timer component URI
+     */
+    void unregister(URI uri);
+
+    /**
+     * Returns true if this runtime owns the timer component.
+     *
+     * @param uri the timer component URI
+     * @return true if this runtime owns the timer component
+     */
+    boolean isOwner(URI uri);
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.implementation.timer.runtime;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.fabric3.api.host.runtime.HostInfo;
+import org.fabric3.spi.discovery.DiscoveryAgent;
+import org.fabric3.spi.discovery.EntryChange;
+import org.fabric3.spi.discovery.ServiceEntry;
+import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Tracks zone participants by registering a membership entry with the {@link DiscoveryAgent} and listening for membership entries of other runtimes.
+ * Participants are placed on a hash ring using a number of virtual nodes each to even out the distribution of components.
+ *
+ * If no discovery agent is available, the current runtime owns all components.
+ */
+public class TimerShardManagerImpl implements TimerShardManager {
+    public static final String MEMBERSHIP = "f3.timer.members";
+    private static final String TRANSPORT = "timer";
+    private static final int VIRTUAL_NODES = 64;
+
+    private HostInfo info;
+
+    @Reference(required = false)
+    protected DiscoveryAgent discoveryAgent;
+
+    private BiConsumer<EntryChange, ServiceEntry> listener = this::onMembershipChange;
+    private Map<URI, Registration> registrations = new ConcurrentHashMap<>();
+    private Set<String> members = new HashSet<>();
+    private volatile TreeMap<Long, String> ring = new TreeMap<>();
+    private boolean joined;
+
+    public TimerShardManagerImpl(@Reference HostInfo info) {
+        this.info = info;
+    }
+
+    @Destroy
+    public synchronized void destroy() {
+        if (joined) {
+            discoveryAgent.unregisterServiceListener(MEMBERSHIP, listener);
+            discoveryAgent.unregisterService(MEMBERSHIP);
+            joined = false;
+        }
+    }
+
+    public synchronized void register(URI uri, Consumer<Boolean> callback) {
+        join();
+        Registration registration = new Registration(callback);
+        registrations.put(uri, registration);
+        registration.owned = isOwner(uri);
+        callback.accept(registration.owned);
+    }
+
+    public synchronized void unregister(URI uri) {
+        registrations.remove(uri);
+    }
+
+    public boolean isOwner(URI uri) {
+        String runtimeName = info.getRuntimeName();
+        TreeMap<Long, String> current = ring;
+        if (current.isEmpty()) {
+            return true;
+        }
+        Map.Entry<Long, String> entry = current.ceilingEntry(hash(uri.toString()));
+        if (entry == null) {
+            entry = current.firstEntry();
+        }
+        return runtimeName.equals(entry.getValue());
+    }
+
+    /**
+     * Joins the zone membership when the first component is registered so that runtimes without sharded timers are not assigned components.
+     */
+    private void join() {
+        if (joined) {
+            return;
+        }
+        members.add(info.getRuntimeName());
+        if (discoveryAgent != null) {
+            discoveryAgent.registerServiceListener(MEMBERSHIP, listener);
+            ServiceEntry entry = new ServiceEntry();
+            entry.setName(MEMBERSHIP);
+            entry.setAddress(info.getRuntimeName());
+            entry.setTransport(TRANSPORT);
+            discoveryAgent.register(entry);
+            for (ServiceEntry member : discoveryAgent.getServiceEntries(MEMBERSHIP)) {
+                members.add(member.getAddress());
+            }
+        }
+        joined = true;
+        rebuild();
+    }
+
+    private synchronized void onMembershipChange(EntryChange change, ServiceEntry entry) {
+        if (!MEMBERSHIP.equals(entry.getName()) || entry.getAddress() == null) {
+            return;
+        }
+        boolean changed;
+        if (EntryChange.SET == change) {
+            changed = members.add(entry.getAddress());
+        } else {
+            // this runtime remains a member until it is destroyed
+            changed = !info.getRuntimeName().equals(entry.getAddress()) && members.remove(entry.getAddress());
+        }
+        if (changed) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the hash ring from the current membership and notifies components whose ownership changed.
+     */
+    private void rebuild() {
+        TreeMap<Long, String> newRing = new TreeMap<>();
+        for (String member : members) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                newRing.put(hash(member + "#" + i), member);
+            }
+        }
+        ring = newRing;
+        for (Map.Entry<URI, Registration> entry : registrations.entrySet()) {
+            Registration registration = entry.getValue();
+            boolean owned = isOwner(entry.getKey());
+            if (owned != registration.owned) {
+                registration.owned = owned;
+                registration.callback.accept(owned);
+            }
+        }
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash with a final avalanche step. The hash must be stable across runtimes so that all participants agree on ownership.
+     *
+     * @param value the value to hash
+     * @return the hash
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private class Registration {
+        private Consumer<Boolean> callback;
+        private boolean owned;
+
+        private Registration(Consumer<Boolean> callback) {
+            this.callback = callback;
+        }
+    }
+}
@@ -28,7 +28,10 @@ import java.util.concurrent.TimeUnit;
 
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
+import org.fabric3.api.implementation.timer.model.MisfirePolicy;
+import org.fabric3.api.implementation.timer.model.TimerData;
 import org.fabric3.api.implementation.timer.model.TimerImplementation;
+import org.fabric3.api.implementation.timer.model.TimerType;
 import org.fabric3.api.model.type.java.InjectingComponentType;
 import org.fabric3.implementation.java.introspection.JavaImplementationIntrospector;
 import org.fabric3.spi.introspection.DefaultIntrospectionContext;
@@ -50,6 +53,11 @@ public class TimerImplementationLoaderTestCase extends TestCase {
 
     private static final String FIRE_ONCE = "<implementation.timer fireOnce='1000' unit='seconds' class='" + TestTimer.class.getName() + "' />";
 
+    private static final String CRON = "<implementation.timer cron='0 15 2 * * MON-FRI' timeZone='Europe/Berlin' misfirePolicy='skip' misfireThreshold='500' "
+                                       + "class='" + TestTimer.class.getName() + "' />";
+
+    private static final String INVALID_CRON = "<implementation.timer cron='0 15 25 * * MON-FRI' class='" + TestTimer.class.getName() + "' />";
+
     private static final String ILLEGAL_ATTRIBUTE = "<implementation.timer fireOnce='1000' foo='seconds' class='" + TestTimer.class.getName() + "' />";
 
     private static final String ILLEGAL_FIXED_AND_REPEAT = "<implementation.timer fixedRate='1000' repeatInterval='2000' class='" + TestTimer.class.getName()
@@ -101,6 +109,23 @@ public class TimerImplementationLoaderTestCase extends TestCase {
         assertFalse(context.hasErrors());
     }
 
+    public void testCronLoad() throws Exception {
+        TimerImplementation implementation = loader.load(createReader(CRON), context);
+        assertFalse(context.hasErrors());
+        TimerData data = implementation.getTimerData();
+        assertEquals(TimerType.CRON, data.getType());
+        assertEquals("0 15 2 * * MON-FRI", data.getCronExpression());
+        assertEquals("Europe/Berlin", data.getTimeZone());
+        assertEquals(MisfirePolicy.SKIP, data.getMisfirePolicy());
+        assertEquals(500, data.getMisfireThreshold());
+    }
+
+    public void testInvalidCron() throws Exception {
+        loader.load(createReader(INVALID_CRON), context);
+        assertTrue(context.hasErrors());
+        assertEquals(InvalidTimerExpression.class, context.getErrors().get(0).getClass());
+    }
+
     public void testIllegalAttribute() throws Exception {
         loader.load(createReader(ILLEGAL_ATTRIBUTE), context);
         assertTrue(context.hasErrors());
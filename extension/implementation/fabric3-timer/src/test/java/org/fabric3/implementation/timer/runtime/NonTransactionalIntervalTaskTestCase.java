@@ -62,7 +62,7 @@ public class NonTransactionalIntervalTaskTestCase extends TestCase {
 
         EasyMock.replay(container, factory);
 
-        return new TimerComponent(null, null, null, TimerInstance.class, false, factory, container, null, null, null, null, null, true);
+        return new TimerComponent(null, null, null, TimerInstance.class, false, factory, container, null, null, null, null, null, null, true);
     }
 
     private interface TimerInstance extends Runnable {
@@ -60,7 +60,7 @@ public class NonTransactionalTimerInvokerTestCase extends TestCase {
 
         EasyMock.replay(container, factory);
 
-        return new TimerComponent(null, null, null, TimerInstance.class, false, factory, container, null, null, null, null, null, true);
+        return new TimerComponent(null, null, null, TimerInstance.class, false, factory, container, null, null, null, null, null, null, true);
     }
 
 
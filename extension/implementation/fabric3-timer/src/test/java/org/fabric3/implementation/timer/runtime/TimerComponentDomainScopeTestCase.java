@@ -18,8 +18,15 @@
  */
 package org.fabric3.implementation.timer.runtime;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import junit.framework.TestCase;
@@ -41,6 +48,11 @@ public class TimerComponentDomainScopeTestCase extends TestCase {
     private TimerComponent component;
     private DiscoveryAgent discoveryAgent;
     private TimerService timerService;
+    private TimerData data;
+    private ScopeContainer container;
+    private ImplementationManagerFactory factory;
+    private HostInfo info;
+    private InvokerMonitor monitor;
 
     @SuppressWarnings("unchecked")
     public void testNotLeaderNoSchedule() throws Exception {
@@ -83,11 +95,191 @@ public class TimerComponentDomainScopeTestCase extends TestCase {
         EasyMock.verify(timerService, discoveryAgent, future);
     }
 
+    @SuppressWarnings("unchecked")
+    public void testShardedSchedulesWhenOwner() throws Exception {
+        data.setSharded(true);
+        ScheduledFuture<?> future = EasyMock.createNiceMock(ScheduledFuture.class);
+        // sharded timers are aligned to the schedule epoch
+        timerService.scheduleWithFixedDelay(EasyMock.eq("testPool"),
+                                            EasyMock.isA(Runnable.class),
+                                            EasyMock.and(EasyMock.geq(1l), EasyMock.leq(1000l)),
+                                            EasyMock.eq(1000l),
+                                            EasyMock.eq(TimeUnit.MILLISECONDS));
+        EasyMock.expectLastCall().andReturn(future);
+
+        TimerShardManager shardManager = EasyMock.createMock(TimerShardManager.class);
+        shardManager.register(EasyMock.anyObject(), EasyMock.isA(Consumer.class));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            ((Consumer<Boolean>) EasyMock.getCurrentArguments()[1]).accept(true);
+            return null;
+        });
+        shardManager.unregister(EasyMock.anyObject());
+
+        EasyMock.replay(timerService, discoveryAgent, future, shardManager);
+
+        component = createComponent(shardManager);
+        component.start();
+        // a second ownership notification does not reschedule the timer
+        component.onOwnershipChange(true);
+        component.stop();
+
+        EasyMock.verify(timerService, discoveryAgent, shardManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testShardedNotOwnerNoSchedule() throws Exception {
+        data.setSharded(true);
+        TimerShardManager shardManager = EasyMock.createMock(TimerShardManager.class);
+        shardManager.register(EasyMock.anyObject(), EasyMock.isA(Consumer.class));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            ((Consumer<Boolean>) EasyMock.getCurrentArguments()[1]).accept(false);
+            return null;
+        });
+        shardManager.unregister(EasyMock.anyObject());
+
+        EasyMock.replay(timerService, discoveryAgent, shardManager);
+
+        component = createComponent(shardManager);
+        component.start();
+        // scheduling on runtime start is ignored when another runtime owns the timer
+        component.schedule();
+        component.stop();
+
+        EasyMock.verify(timerService, discoveryAgent, shardManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testShardedHandoverFiresOncePerTick() throws Exception {
+        data.setSharded(true);
+        data.setType(TimerType.FIXED_RATE);
+        data.setFixedRate(100);
+        data.setInitialDelay(0);
+
+        TickRecorder recorder = new TickRecorder();
+        container = EasyMock.createNiceMock(ScopeContainer.class);
+        EasyMock.expect(container.getScope()).andReturn(Scope.DOMAIN).anyTimes();
+        EasyMock.expect(container.getInstance(EasyMock.isA(TimerComponent.class))).andReturn(recorder).anyTimes();
+
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        timerService.scheduleAtFixedRate(EasyMock.eq("testPool"),
+                                         EasyMock.isA(Runnable.class),
+                                         EasyMock.anyLong(),
+                                         EasyMock.eq(100l),
+                                         EasyMock.eq(TimeUnit.MILLISECONDS));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            Object[] args = EasyMock.getCurrentArguments();
+            return executor.scheduleAtFixedRate((Runnable) args[1], (Long) args[2], (Long) args[3], (TimeUnit) args[4]);
+        }).times(2);
+
+        EasyMock.replay(container, timerService, discoveryAgent);
+
+        TimerComponent first = createComponent(createShardManager(true));
+        TimerComponent second = createComponent(createShardManager(false));
+        try {
+            first.start();
+            second.start();
+
+            recorder.await(3);
+            while (!recorder.running) {
+                Thread.sleep(1);
+            }
+            // the in-flight execution completes before the new owner fires the next tick
+            first.onOwnershipChange(false);
+            second.onOwnershipChange(true);
+            int handover = recorder.getTicks().size();
+
+            recorder.await(handover + 3);
+            first.stop();
+            second.stop();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> ticks = recorder.getTicks();
+        for (int i = 1; i < ticks.size(); i++) {
+            assertEquals("Tick missed or fired twice: " + ticks, ticks.get(i - 1) + 1, (long) ticks.get(i));
+        }
+        EasyMock.verify(timerService);
+    }
+
+    public void testShardedOwnershipLossDoesNotWaitForExecution() throws Exception {
+        data.setSharded(true);
+        data.setType(TimerType.FIXED_RATE);
+        data.setFixedRate(100);
+        data.setInitialDelay(0);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        TimerInstance instance = new TimerInstance() {
+            public void run() {
+                executions.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            public long nextInterval() {
+                return 0;
+            }
+        };
+        container = EasyMock.createNiceMock(ScopeContainer.class);
+        EasyMock.expect(container.getScope()).andReturn(Scope.DOMAIN).anyTimes();
+        EasyMock.expect(container.getInstance(EasyMock.isA(TimerComponent.class))).andReturn(instance).anyTimes();
+
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        timerService.scheduleAtFixedRate(EasyMock.eq("testPool"),
+                                         EasyMock.isA(Runnable.class),
+                                         EasyMock.anyLong(),
+                                         EasyMock.eq(100l),
+                                         EasyMock.eq(TimeUnit.MILLISECONDS));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            Object[] args = EasyMock.getCurrentArguments();
+            return executor.scheduleAtFixedRate((Runnable) args[1], (Long) args[2], (Long) args[3], (TimeUnit) args[4]);
+        });
+
+        EasyMock.replay(container, timerService, discoveryAgent);
+
+        component = createComponent(createShardManager(true));
+        try {
+            component.start();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // membership processing must not block on a running execution
+            Future<?> change = executor.submit(() -> component.onOwnershipChange(false));
+            change.get(5, TimeUnit.SECONDS);
+
+            release.countDown();
+            Thread.sleep(300);
+            component.stop();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        EasyMock.verify(timerService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TimerShardManager createShardManager(boolean owner) {
+        TimerShardManager shardManager = EasyMock.createNiceMock(TimerShardManager.class);
+        shardManager.register(EasyMock.anyObject(), EasyMock.isA(Consumer.class));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            ((Consumer<Boolean>) EasyMock.getCurrentArguments()[1]).accept(owner);
+            return null;
+        });
+        EasyMock.replay(shardManager);
+        return shardManager;
+    }
+
     @SuppressWarnings({"unchecked"})
     @Override
     protected void setUp() throws Exception {
         super.setUp();
-        TimerData data = new TimerData();
+        data = new TimerData();
         data.setPoolName("testPool");
         data.setType(TimerType.INTERVAL);
         data.setRepeatInterval(1000);
@@ -95,38 +287,87 @@ public class TimerComponentDomainScopeTestCase extends TestCase {
 
         timerService = EasyMock.createMock(TimerService.class);
 
-        InvokerMonitor monitor = EasyMock.createNiceMock(InvokerMonitor.class);
+        monitor = EasyMock.createNiceMock(InvokerMonitor.class);
 
-        ScopeContainer container = EasyMock.createNiceMock(ScopeContainer.class);
-        EasyMock.expect(container.getScope()).andReturn(Scope.DOMAIN);
+        container = EasyMock.createNiceMock(ScopeContainer.class);
+        EasyMock.expect(container.getScope()).andReturn(Scope.DOMAIN).anyTimes();
 
-        HostInfo info = EasyMock.createMock(HostInfo.class);
-        EasyMock.expect(info.getRuntimeMode()).andReturn(RuntimeMode.NODE);
+        info = EasyMock.createMock(HostInfo.class);
+        EasyMock.expect(info.getRuntimeMode()).andReturn(RuntimeMode.NODE).anyTimes();
 
-        ImplementationManagerFactory factory = EasyMock.createMock(ImplementationManagerFactory.class);
-        EasyMock.expect(factory.getImplementationClass()).andReturn((Class) TimerInstance.class);
+        factory = EasyMock.createMock(ImplementationManagerFactory.class);
+        EasyMock.expect(factory.getImplementationClass()).andReturn((Class) TimerInstance.class).anyTimes();
 
         EasyMock.replay(container, monitor, factory, info);
 
         discoveryAgent = EasyMock.createMock(DiscoveryAgent.class);
 
-        component = new TimerComponent(null,
-                                       null,
-                                       data,
-                                       TimerInstance.class,
-                                       false,
-                                       factory,
-                                       container,
-                                       timerService,
-                                       null, discoveryAgent,
-                                       info,
-                                       monitor,
-                                       true);
+        component = createComponent(null);
+    }
+
+    private TimerComponent createComponent(TimerShardManager shardManager) {
+        return new TimerComponent(null,
+                                  null,
+                                  data,
+                                  TimerInstance.class,
+                                  false,
+                                  factory,
+                                  container,
+                                  timerService,
+                                  null,
+                                  discoveryAgent,
+                                  shardManager,
+                                  info,
+                                  monitor,
+                                  true);
     }
 
     private interface TimerInstance extends Runnable {
         long nextInterval();
     }
 
+    /**
+     * Records the schedule tick of each execution, assuming ticks are aligned to the epoch.
+     */
+    private class TickRecorder implements TimerInstance {
+        private final List<Long> ticks = new ArrayList<>();
+        private volatile boolean running;
+
+        public void run() {
+            running = true;
+            synchronized (ticks) {
+                ticks.add(Math.round(System.currentTimeMillis() / 100.0));
+                ticks.notifyAll();
+            }
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running = false;
+        }
+
+        public long nextInterval() {
+            return 0;
+        }
+
+        public List<Long> getTicks() {
+            synchronized (ticks) {
+                return new ArrayList<>(ticks);
+            }
+        }
+
+        public void await(int count) throws InterruptedException {
+            long timeout = System.currentTimeMillis() + 5000;
+            synchronized (ticks) {
+                while (ticks.size() < count) {
+                    long remaining = timeout - System.currentTimeMillis();
+                    assertTrue("Timer did not fire", remaining > 0);
+                    ticks.wait(remaining);
+                }
+            }
+        }
+    }
+
 }
 
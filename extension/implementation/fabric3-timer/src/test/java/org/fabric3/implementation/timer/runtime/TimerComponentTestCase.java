@@ -186,7 +186,20 @@ public class TimerComponentTestCase extends TestCase {
 
         EasyMock.replay(container, monitor, factory);
 
-        return new TimerComponent(null, null, data, TimerInstance.class, transactional, factory, container, timerService, null, null, null, monitor, true);
+        return new TimerComponent(null,
+                                  null,
+                                  data,
+                                  TimerInstance.class,
+                                  transactional,
+                                  factory,
+                                  container,
+                                  timerService,
+                                  null,
+                                  null,
+                                  null,
+                                  null,
+                                  monitor,
+                                  true);
     }
 
     private interface TimerInstance extends Runnable {
@@ -0,0 +1,155 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.implementation.timer.runtime;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import junit.framework.TestCase;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.fabric3.api.host.runtime.HostInfo;
+import org.fabric3.spi.discovery.DiscoveryAgent;
+import org.fabric3.spi.discovery.EntryChange;
+import org.fabric3.spi.discovery.ServiceEntry;
+
+/**
+ *
+ */
+public class TimerShardManagerImplTestCase extends TestCase {
+    private static final int COMPONENTS = 200;
+
+    private DiscoveryAgent discoveryAgent;
+    private Capture<BiConsumer<EntryChange, ServiceEntry>> listener;
+
+    public void testOwnerWithoutDiscovery() throws Exception {
+        TimerShardManagerImpl manager = new TimerShardManagerImpl(createInfo("runtime1"));
+        Map<URI, Boolean> ownership = new HashMap<>();
+        register(manager, ownership);
+        assertFalse(ownership.containsValue(false));
+    }
+
+    public void testDistributeAndRebalance() throws Exception {
+        EasyMock.expect(discoveryAgent.getServiceEntries(TimerShardManagerImpl.MEMBERSHIP)).andReturn(createEntries("runtime1", "runtime2"));
+        EasyMock.replay(discoveryAgent);
+
+        TimerShardManagerImpl manager1 = createManager("runtime1");
+        Map<URI, Boolean> ownership = new HashMap<>();
+        register(manager1, ownership);
+
+        // components are split between the participants
+        int owned = count(ownership);
+        assertTrue(owned > COMPONENTS / 4 && owned < COMPONENTS * 3 / 4);
+
+        // exactly one participant owns each component
+        DiscoveryAgent discoveryAgent2 = EasyMock.createNiceMock(DiscoveryAgent.class);
+        EasyMock.expect(discoveryAgent2.getServiceEntries(TimerShardManagerImpl.MEMBERSHIP)).andReturn(createEntries("runtime1", "runtime2"));
+        EasyMock.replay(discoveryAgent2);
+        TimerShardManagerImpl manager2 = new TimerShardManagerImpl(createInfo("runtime2"));
+        manager2.discoveryAgent = discoveryAgent2;
+        manager2.register(URI.create("dummy"), o -> {
+        });
+        for (Map.Entry<URI, Boolean> entry : ownership.entrySet()) {
+            assertTrue(entry.getValue() != manager2.isOwner(entry.getKey()));
+        }
+
+        // the other participant leaves and all components move to this runtime
+        listener.getValue().accept(EntryChange.EXPIRE, createEntry("runtime2"));
+        assertEquals(COMPONENTS, count(ownership));
+
+        // the participant rejoins and receives the same components as before
+        Map<URI, Boolean> previous = new HashMap<>(ownership);
+        listener.getValue().accept(EntryChange.SET, createEntry("runtime2"));
+        assertEquals(owned, count(ownership));
+        assertFalse(previous.equals(ownership));
+    }
+
+    public void testMinimalMovement() throws Exception {
+        EasyMock.expect(discoveryAgent.getServiceEntries(TimerShardManagerImpl.MEMBERSHIP)).andReturn(createEntries("runtime1", "runtime2", "runtime3"));
+        EasyMock.replay(discoveryAgent);
+
+        TimerShardManagerImpl manager = createManager("runtime1");
+        Map<URI, Boolean> ownership = new HashMap<>();
+        register(manager, ownership);
+        Map<URI, Boolean> before = new HashMap<>(ownership);
+
+        // a new participant only takes components, it does not move components between existing participants
+        listener.getValue().accept(EntryChange.SET, createEntry("runtime4"));
+        for (Map.Entry<URI, Boolean> entry : ownership.entrySet()) {
+            if (entry.getValue()) {
+                assertTrue(before.get(entry.getKey()));
+            }
+        }
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        discoveryAgent = EasyMock.createNiceMock(DiscoveryAgent.class);
+        listener = new Capture<>();
+        discoveryAgent.registerServiceListener(EasyMock.eq(TimerShardManagerImpl.MEMBERSHIP), EasyMock.capture(listener));
+        EasyMock.expectLastCall().anyTimes();
+    }
+
+    private TimerShardManagerImpl createManager(String runtimeName) {
+        TimerShardManagerImpl manager = new TimerShardManagerImpl(createInfo(runtimeName));
+        manager.discoveryAgent = discoveryAgent;
+        return manager;
+    }
+
+    private void register(TimerShardManagerImpl manager, Map<URI, Boolean> ownership) {
+        for (int i = 0; i < COMPONENTS; i++) {
+            URI uri = URI.create("fabric3://domain/timer" + i);
+            manager.register(uri, owned -> ownership.put(uri, owned));
+        }
+    }
+
+    private int count(Map<URI, Boolean> ownership) {
+        int count = 0;
+        for (Boolean owned : ownership.values()) {
+            if (owned) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private HostInfo createInfo(String runtimeName) {
+        HostInfo info = EasyMock.createMock(HostInfo.class);
+        EasyMock.expect(info.getRuntimeName()).andReturn(runtimeName).anyTimes();
+        EasyMock.replay(info);
+        return info;
+    }
+
+    private List<ServiceEntry> createEntries(String... names) {
+        List<ServiceEntry> entries = new ArrayList<>();
+        for (String name : names) {
+            entries.add(createEntry(name));
+        }
+        return entries;
+    }
+
+    private ServiceEntry createEntry(String runtimeName) {
+        ServiceEntry entry = new ServiceEntry();
+        entry.setName(TimerShardManagerImpl.MEMBERSHIP);
+        entry.setAddress(runtimeName);
+        return entry;
+    }
+}
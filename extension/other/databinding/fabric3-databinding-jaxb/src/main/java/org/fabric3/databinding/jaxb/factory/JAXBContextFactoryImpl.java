@@ -18,11 +18,26 @@ package org.fabric3.databinding.jaxb.factory;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fabric3.spi.classloader.MultiParentClassLoader;
+import org.fabric3.spi.contribution.Contribution;
+import org.fabric3.spi.contribution.ContributionServiceListener;
 
 /**
  * Default implementation of JAXBContextFactory.
+ *
+ * Contexts are cached by the set of classes they recognize. Since classes are compared by identity, contexts for classes loaded by different contribution
+ * classloaders are cached separately. Contexts that reference classes from a contribution are evicted when the contribution is uninstalled.
  */
-public class JAXBContextFactoryImpl implements JAXBContextFactory {
+public class JAXBContextFactoryImpl implements JAXBContextFactory, ContributionServiceListener {
+    private Map<Set<Class<?>>, JAXBContext> cache = new ConcurrentHashMap<>();
 
     /**
      * Constructs a JAXB context by introspecting a set of classnames.
@@ -32,6 +47,42 @@ public class JAXBContextFactoryImpl implements JAXBContextFactory {
      * @throws JAXBException if an error occurs creating the JAXB context
      */
     public JAXBContext createJAXBContext(Class<?>... classes) throws JAXBException {
+        Set<Class<?>> key = classes == null ? Collections.<Class<?>>emptySet() : new HashSet<>(Arrays.asList(classes));
+        JAXBContext context = cache.get(key);
+        if (context != null) {
+            return context;
+        }
+        context = newContext(classes);
+        JAXBContext previous = cache.putIfAbsent(key, context);
+        return previous != null ? previous : context;
+    }
+
+    public void onUninstall(Contribution contribution) {
+        URI uri = contribution.getUri();
+        cache.keySet().removeIf(key -> key.stream().anyMatch(type -> isContained(type, uri)));
+    }
+
+    public void onStore(Contribution contribution) {
+        // no-op
+    }
+
+    public void onProcessManifest(Contribution contribution) {
+        // no-op
+    }
+
+    public void onInstall(Contribution contribution) {
+        // no-op
+    }
+
+    public void onUpdate(Contribution contribution) {
+        // no-op
+    }
+
+    public void onRemove(Contribution contribution) {
+        // no-op
+    }
+
+    private JAXBContext newContext(Class<?>... classes) throws JAXBException {
         ClassLoader old = Thread.currentThread().getContextClassLoader();
         try {
             ClassLoader cl = getClass().getClassLoader();
@@ -44,4 +95,9 @@ public class JAXBContextFactoryImpl implements JAXBContextFactory {
             Thread.currentThread().setContextClassLoader(old);
         }
     }
+
+    private boolean isContained(Class<?> type, URI uri) {
+        ClassLoader loader = type.getClassLoader();
+        return loader instanceof MultiParentClassLoader && uri.equals(((MultiParentClassLoader) loader).getName());
+    }
 }
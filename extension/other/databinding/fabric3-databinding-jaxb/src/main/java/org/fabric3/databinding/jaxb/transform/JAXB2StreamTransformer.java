@@ -0,0 +1,64 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayOutputStream;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ * Marshals a JAXB instance directly to UTF-8 encoded XML bytes. If the type is not annotated with XmlRootElement, it is wrapped in a JAXBElement using the
+ * configured element name.
+ */
+public class JAXB2StreamTransformer implements Transformer<Object, byte[]> {
+    private JAXBPool pool;
+    private QName name;
+
+    /**
+     * Constructor.
+     *
+     * @param pool the marshaller pool
+     * @param name the element name to wrap instances with or null if the type is annotated with XmlRootElement
+     */
+    public JAXB2StreamTransformer(JAXBPool pool, QName name) {
+        this.pool = pool;
+        this.name = name;
+    }
+
+    public byte[] transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        try {
+            Object value = name == null ? source : wrap(source.getClass(), source);
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            Marshaller marshaller = pool.acquireMarshaller();
+            marshaller.marshal(value, stream);
+            pool.release(marshaller);
+            return stream.toByteArray();
+        } catch (JAXBException e) {
+            throw new Fabric3Exception(e);
+        }
+    }
+
+    private <T> JAXBElement<T> wrap(Class<T> type, Object source) {
+        return new JAXBElement<>(name, type, type.cast(source));
+    }
+
+}
@@ -33,12 +33,12 @@ import org.w3c.dom.Document;
  * Transforms from a JAXB instance not annotated with XmlRootElement to a DOM Document.
  */
 public class JAXBElement2DocumentTransformer implements Transformer<Object, Document> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
     private DocumentBuilderFactory factory;
     private QName name = null;
 
     public JAXBElement2DocumentTransformer(JAXBContext jaxbContext, QName name) {
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
         this.name = name;
         factory = DocumentBuilderFactory.newInstance();
         factory.setNamespaceAware(true);
@@ -49,11 +49,12 @@ public class JAXBElement2DocumentTransformer implements Transformer<Object, Docu
         try {
             DocumentBuilder builder = factory.newDocumentBuilder();
             Document document = builder.newDocument();
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            Marshaller marshaller = pool.acquireMarshaller();
 
             Class<?> type = source.getClass();
             JAXBElement<?> element = new JAXBElement(name, type, source);
             marshaller.marshal(element, document);
+            pool.release(marshaller);
 
             /*
             Source s1 = new DOMSource(document);
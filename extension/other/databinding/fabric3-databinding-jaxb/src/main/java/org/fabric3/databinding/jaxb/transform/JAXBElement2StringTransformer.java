@@ -30,22 +30,23 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms from a JAXB instance not annotated with XmlRootElement to a serialized String.
  */
 public class JAXBElement2StringTransformer implements Transformer<Object, String> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
     private QName name = null;
 
     public JAXBElement2StringTransformer(JAXBContext jaxbContext, QName name) {
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
         this.name = name;
     }
 
     @SuppressWarnings({"unchecked"})
     public String transform(Object source, ClassLoader loader) throws Fabric3Exception {
         try {
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            Marshaller marshaller = pool.acquireMarshaller();
             Class<?> type = source.getClass();
             JAXBElement<?> element = new JAXBElement(name, type, source);
             StringWriter writer = new StringWriter();
             marshaller.marshal(element, writer);
+            pool.release(marshaller);
             return writer.toString();
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
@@ -31,11 +31,11 @@ import org.w3c.dom.Document;
  * Transforms from a JAXB top-level element instance to a DOM Document.
  */
 public class JAXBObject2DocumentTransformer implements Transformer<Object, Document> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
     private DocumentBuilderFactory factory;
 
     public JAXBObject2DocumentTransformer(JAXBContext jaxbContext) {
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
         factory = DocumentBuilderFactory.newInstance();
         factory.setNamespaceAware(true);
     }
@@ -44,8 +44,9 @@ public class JAXBObject2DocumentTransformer implements Transformer<Object, Docum
         try {
             DocumentBuilder builder = factory.newDocumentBuilder();
             Document document = builder.newDocument();
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            Marshaller marshaller = pool.acquireMarshaller();
             marshaller.marshal(source, document);
+            pool.release(marshaller);
             return document;
         } catch (JAXBException | ParserConfigurationException e) {
             throw new Fabric3Exception(e);
@@ -28,17 +28,18 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms from a JAXB top-level element instance to a serialized String.
  */
 public class JAXBObject2StringTransformer implements Transformer<Object, String> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
 
     public JAXBObject2StringTransformer(JAXBContext jaxbContext) {
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
     }
 
     public String transform(Object source, ClassLoader loader) throws Fabric3Exception {
         try {
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            Marshaller marshaller = pool.acquireMarshaller();
             StringWriter writer = new StringWriter();
             marshaller.marshal(source, writer);
+            pool.release(marshaller);
             return writer.toString();
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
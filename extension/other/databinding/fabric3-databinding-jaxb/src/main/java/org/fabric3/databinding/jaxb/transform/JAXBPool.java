@@ -0,0 +1,81 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pools marshallers and unmarshallers for a JAXBContext since they are not thread-safe and are expensive to create for every transformation.
+ *
+ * Instances are created on demand, so the number of pooled instances does not exceed the peak number of concurrent transformations. Instances that were in
+ * use when an error occurred should not be released as their state is undefined.
+ */
+public class JAXBPool {
+    private JAXBContext jaxbContext;
+    private Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+    private Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+
+    public JAXBPool(JAXBContext jaxbContext) {
+        this.jaxbContext = jaxbContext;
+    }
+
+    /**
+     * Returns a pooled marshaller or creates one if none are available.
+     *
+     * @return the marshaller
+     * @throws JAXBException if there is an error creating the marshaller
+     */
+    public Marshaller acquireMarshaller() throws JAXBException {
+        Marshaller marshaller = marshallers.poll();
+        return marshaller != null ? marshaller : jaxbContext.createMarshaller();
+    }
+
+    /**
+     * Returns a marshaller to the pool.
+     *
+     * @param marshaller the marshaller
+     */
+    public void release(Marshaller marshaller) {
+        marshallers.offer(marshaller);
+    }
+
+    /**
+     * Returns a pooled unmarshaller or creates one if none are available.
+     *
+     * @return the unmarshaller
+     * @throws JAXBException if there is an error creating the unmarshaller
+     */
+    public Unmarshaller acquireUnmarshaller() throws JAXBException {
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        return unmarshaller != null ? unmarshaller : jaxbContext.createUnmarshaller();
+    }
+
+    /**
+     * Returns an unmarshaller to the pool.
+     *
+     * @param unmarshaller the unmarshaller
+     */
+    public void release(Unmarshaller unmarshaller) {
+        unmarshallers.offer(unmarshaller);
+    }
+
+}
@@ -18,6 +18,7 @@ package org.fabric3.databinding.jaxb.transform;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
@@ -27,11 +28,11 @@ import org.w3c.dom.Node;
  * Converts from a DOM Node to a JAXB type serialized as a JAXBElement.
  */
 public class Node2JAXBElementTransformer implements Transformer<Node, Object> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
     private Class<?> declaredType;
 
     public Node2JAXBElementTransformer(JAXBContext jaxbContext, Class<?> declaredType) {
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
         this.declaredType = declaredType;
     }
 
@@ -39,7 +40,10 @@ public class Node2JAXBElementTransformer implements Transformer<Node, Object> {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(loader);
-            return jaxbContext.createUnmarshaller().unmarshal(source, declaredType).getValue();
+            Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+            Object result = unmarshaller.unmarshal(source, declaredType).getValue();
+            pool.release(unmarshaller);
+            return result;
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
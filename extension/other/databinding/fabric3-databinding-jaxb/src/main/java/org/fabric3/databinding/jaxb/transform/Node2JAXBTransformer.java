@@ -18,6 +18,7 @@ package org.fabric3.databinding.jaxb.transform;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
@@ -27,18 +28,21 @@ import org.w3c.dom.Node;
  * Converts from a DOM Node to a JAXB type.
  */
 public class Node2JAXBTransformer implements Transformer<Node, Object> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
 
     public Node2JAXBTransformer(JAXBContext jaxbContext) {
 
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
     }
 
     public Object transform(Node source, ClassLoader loader) throws Fabric3Exception {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(loader);
-            return jaxbContext.createUnmarshaller().unmarshal(source);
+            Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+            Object result = unmarshaller.unmarshal(source);
+            pool.release(unmarshaller);
+            return result;
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
@@ -18,6 +18,7 @@ package org.fabric3.databinding.jaxb.transform;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
@@ -29,10 +30,10 @@ import org.w3c.dom.NodeList;
  * Converts from a component property represented as a DOM Node to a JAXB type. The DOM node representation contains a root &lt;value&gt; element.
  */
 public class PropertyValue2JAXBTransformer implements Transformer<Node, Object> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
 
     public PropertyValue2JAXBTransformer(JAXBContext jaxbContext) {
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
     }
 
     public Object transform(Node source, ClassLoader loader) throws Fabric3Exception {
@@ -43,14 +44,14 @@ public class PropertyValue2JAXBTransformer implements Transformer<Node, Object>
                 NodeList children = source.getChildNodes();
                 for (int i = 0; i < children.getLength(); i++) {
                     if (children.item(i) instanceof Element) {
-                        return jaxbContext.createUnmarshaller().unmarshal(children.item(i));
+                        return unmarshal(children.item(i));
                     }
                 }
                 throw new Fabric3Exception("Unexpected content");
 
             } else {
                 // global element
-                return jaxbContext.createUnmarshaller().unmarshal(source);
+                return unmarshal(source);
             }
 
         } catch (JAXBException e) {
@@ -60,4 +61,11 @@ public class PropertyValue2JAXBTransformer implements Transformer<Node, Object>
         }
     }
 
+    private Object unmarshal(Node node) throws JAXBException {
+        Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+        Object result = unmarshaller.unmarshal(node);
+        pool.release(unmarshaller);
+        return result;
+    }
+
 }
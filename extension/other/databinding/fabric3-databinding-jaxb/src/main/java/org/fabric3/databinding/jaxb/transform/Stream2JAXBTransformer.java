@@ -0,0 +1,101 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ * Unmarshals a JAXB instance from XML bytes, an InputStream or an XMLStreamReader using StAX. XML strings are also accepted since transports may receive
+ * XML as text from runtimes that do not stream.
+ */
+public class Stream2JAXBTransformer implements Transformer<Object, Object> {
+    private static final XMLInputFactory INPUT_FACTORY;
+
+    static {
+        INPUT_FACTORY = XMLInputFactory.newFactory();
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private JAXBPool pool;
+    private Class<?> declaredType;
+
+    /**
+     * Constructor.
+     *
+     * @param pool         the unmarshaller pool
+     * @param declaredType the type to unmarshal or null if the type is annotated with XmlRootElement
+     */
+    public Stream2JAXBTransformer(JAXBPool pool, Class<?> declaredType) {
+        this.pool = pool;
+        this.declaredType = declaredType;
+    }
+
+    public Object transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        XMLStreamReader reader = null;
+        try {
+            Thread.currentThread().setContextClassLoader(loader);
+            reader = createReader(source);
+            Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+            Object result = declaredType == null ? unmarshaller.unmarshal(reader) : unmarshaller.unmarshal(reader, declaredType).getValue();
+            pool.release(unmarshaller);
+            return result;
+        } catch (JAXBException | XMLStreamException e) {
+            throw new Fabric3Exception(e);
+        } finally {
+            close(reader, source);
+            Thread.currentThread().setContextClassLoader(cl);
+        }
+    }
+
+    private XMLStreamReader createReader(Object source) throws XMLStreamException {
+        if (source instanceof XMLStreamReader) {
+            return (XMLStreamReader) source;
+        } else if (source instanceof InputStream) {
+            return INPUT_FACTORY.createXMLStreamReader((InputStream) source);
+        } else if (source instanceof byte[]) {
+            return INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream((byte[]) source));
+        } else if (source instanceof String) {
+            return INPUT_FACTORY.createXMLStreamReader(new StringReader((String) source));
+        }
+        throw new Fabric3Exception("Unsupported XML source type: " + source.getClass().getName());
+    }
+
+    private void close(XMLStreamReader reader, Object source) {
+        if (reader == null || reader == source) {
+            // readers passed in are owned by the caller
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // ignore
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package org.fabric3.databinding.jaxb.transform;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
 import java.io.StringReader;
 
@@ -28,11 +29,11 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms a serialized XML String to a JAXBElement.
  */
 public class String2JAXBElementTransformer implements Transformer<String, Object> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
     private Class<?> declaredType;
 
     public String2JAXBElementTransformer(JAXBContext jaxbContext, Class<?> declaredType) {
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
         this.declaredType = declaredType;
     }
 
@@ -42,7 +43,10 @@ public class String2JAXBElementTransformer implements Transformer<String, Object
             Thread.currentThread().setContextClassLoader(loader);
             StringReader reader = new StringReader(source);
             StreamSource streamSource = new StreamSource(reader);
-            return jaxbContext.createUnmarshaller().unmarshal(streamSource, declaredType).getValue();
+            Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+            Object result = unmarshaller.unmarshal(streamSource, declaredType).getValue();
+            pool.release(unmarshaller);
+            return result;
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
@@ -18,6 +18,7 @@ package org.fabric3.databinding.jaxb.transform;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 import java.io.StringReader;
 
 import org.fabric3.api.host.Fabric3Exception;
@@ -27,10 +28,10 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms a serialized XML String to a JAXB object.
  */
 public class String2JAXBObjectTransformer implements Transformer<String, Object> {
-    private JAXBContext jaxbContext;
+    private JAXBPool pool;
 
     public String2JAXBObjectTransformer(JAXBContext jaxbContext) {
-        this.jaxbContext = jaxbContext;
+        this.pool = new JAXBPool(jaxbContext);
     }
 
     public Object transform(String source, ClassLoader loader) throws Fabric3Exception {
@@ -38,7 +39,10 @@ public class String2JAXBObjectTransformer implements Transformer<String, Object>
         try {
             Thread.currentThread().setContextClassLoader(loader);
             StringReader reader = new StringReader(source);
-            return jaxbContext.createUnmarshaller().unmarshal(reader);
+            Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+            Object result = unmarshaller.unmarshal(reader);
+            pool.release(unmarshaller);
+            return result;
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
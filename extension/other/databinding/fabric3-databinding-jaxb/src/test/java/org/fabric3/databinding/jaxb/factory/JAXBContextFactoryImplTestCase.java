@@ -0,0 +1,66 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.factory;
+
+import javax.xml.bind.JAXBContext;
+import java.net.URI;
+import java.net.URL;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.databinding.jaxb.format.Foo;
+import org.fabric3.spi.classloader.MultiParentClassLoader;
+import org.fabric3.spi.contribution.Contribution;
+
+/**
+ *
+ */
+public class JAXBContextFactoryImplTestCase extends TestCase {
+    private JAXBContextFactoryImpl factory;
+
+    public void testCacheByClassSet() throws Exception {
+        JAXBContext context = factory.createJAXBContext(Foo.class, String.class);
+        assertSame(context, factory.createJAXBContext(String.class, Foo.class));
+        assertNotSame(context, factory.createJAXBContext(Foo.class));
+    }
+
+    public void testEvictOnUninstall() throws Exception {
+        URI uri = URI.create("contribution");
+        URL location = Foo.class.getProtectionDomain().getCodeSource().getLocation();
+        // load the class in a contribution classloader that does not delegate to the test classpath
+        MultiParentClassLoader loader = new MultiParentClassLoader(uri, new URL[]{location}, getClass().getClassLoader().getParent());
+        Class<?> contributionFoo = loader.loadClass(Foo.class.getName());
+
+        JAXBContext context = factory.createJAXBContext(contributionFoo);
+        JAXBContext otherContext = factory.createJAXBContext(Foo.class);
+
+        Contribution contribution = EasyMock.createMock(Contribution.class);
+        EasyMock.expect(contribution.getUri()).andReturn(uri);
+        EasyMock.replay(contribution);
+
+        factory.onUninstall(contribution);
+
+        assertNotSame(context, factory.createJAXBContext(contributionFoo));
+        assertSame(otherContext, factory.createJAXBContext(Foo.class));
+        EasyMock.verify(contribution);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        factory = new JAXBContextFactoryImpl();
+    }
+}
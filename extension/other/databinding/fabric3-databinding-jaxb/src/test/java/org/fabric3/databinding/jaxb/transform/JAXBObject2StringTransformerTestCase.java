@@ -0,0 +1,51 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+import org.fabric3.databinding.jaxb.format.Foo;
+
+/**
+ *
+ */
+public class JAXBObject2StringTransformerTestCase extends TestCase {
+
+    public void testConcurrentRoundTrip() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Foo.class);
+        JAXBObject2StringTransformer marshal = new JAXBObject2StringTransformer(context);
+        String2JAXBObjectTransformer unmarshal = new String2JAXBObjectTransformer(context);
+        ClassLoader loader = getClass().getClassLoader();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(executor.submit(() -> unmarshal.transform(marshal.transform(new Foo(), loader), loader)));
+        }
+        for (Future<Object> future : futures) {
+            assertTrue(future.get() instanceof Foo);
+        }
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.fabric3.databinding.jaxb.factory.JAXBContextFactoryImpl;
+import org.fabric3.databinding.jaxb.format.Foo;
+import org.fabric3.databinding.jaxb.mapper.JAXBQNameMapperImpl;
+import org.fabric3.spi.model.physical.PhysicalDataTypes;
+import org.fabric3.spi.model.type.java.JavaType;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ *
+ */
+public class StreamTransformerTestCase extends TestCase {
+    private static final JavaType FOO_TYPE = new JavaType(Foo.class);
+    private static final List<Class<?>> TYPES = Collections.<Class<?>>singletonList(Foo.class);
+
+    private JAXB2StreamTransformerFactory marshalFactory;
+    private Stream2JAXBTransformerFactory unmarshalFactory;
+    private ClassLoader loader;
+
+    @SuppressWarnings("unchecked")
+    public void testRoundTrip() throws Exception {
+        assertTrue(marshalFactory.canTransform(FOO_TYPE, PhysicalDataTypes.JAXB_STREAM));
+        assertTrue(unmarshalFactory.canTransform(PhysicalDataTypes.JAXB_STREAM, FOO_TYPE));
+
+        Transformer<Object, byte[]> marshaller = (Transformer<Object, byte[]>) marshalFactory.create(FOO_TYPE, PhysicalDataTypes.JAXB_STREAM, TYPES, TYPES);
+        Transformer<Object, Object> unmarshaller = (Transformer<Object, Object>) unmarshalFactory.create(PhysicalDataTypes.JAXB_STREAM, FOO_TYPE, TYPES, TYPES);
+
+        byte[] bytes = marshaller.transform(new Foo(), loader);
+        assertTrue(new String(bytes, "UTF-8").contains("foo"));
+        assertTrue(unmarshaller.transform(bytes, loader) instanceof Foo);
+        assertTrue(unmarshaller.transform(new ByteArrayInputStream(bytes), loader) instanceof Foo);
+
+        XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(bytes));
+        assertTrue(unmarshaller.transform(reader, loader) instanceof Foo);
+
+        // XML received as text
+        assertTrue(unmarshaller.transform(new String(bytes, "UTF-8"), loader) instanceof Foo);
+    }
+
+    public void testNoTransformForNonJAXBBytes() throws Exception {
+        JavaType bytes = new JavaType(byte[].class);
+        assertFalse(marshalFactory.canTransform(FOO_TYPE, bytes));
+        assertFalse(unmarshalFactory.canTransform(bytes, FOO_TYPE));
+        assertFalse(marshalFactory.canTransform(FOO_TYPE, PhysicalDataTypes.JAXB));
+        assertFalse(unmarshalFactory.canTransform(new JavaType(XMLStreamReader.class), FOO_TYPE));
+        assertFalse(unmarshalFactory.canTransform(PhysicalDataTypes.JAXB, FOO_TYPE));
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        JAXBContextFactoryImpl contextFactory = new JAXBContextFactoryImpl();
+        marshalFactory = new JAXB2StreamTransformerFactory(contextFactory, new JAXBQNameMapperImpl());
+        unmarshalFactory = new Stream2JAXBTransformerFactory(contextFactory);
+        loader = getClass().getClassLoader();
+    }
+}
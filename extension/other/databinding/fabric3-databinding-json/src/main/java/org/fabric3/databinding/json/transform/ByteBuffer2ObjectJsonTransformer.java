@@ -0,0 +1,53 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ * Transforms JSON contained in a ByteBuffer to a Java object. The position of the source buffer is not modified.
+ */
+public class ByteBuffer2ObjectJsonTransformer implements Transformer<ByteBuffer, Object> {
+    private ObjectReader reader;
+
+    public ByteBuffer2ObjectJsonTransformer(ObjectReader reader) {
+        this.reader = reader;
+    }
+
+    public Object transform(ByteBuffer source, ClassLoader loader) throws Fabric3Exception {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(loader);
+            if (source.hasArray()) {
+                return reader.readValue(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            }
+            // direct buffers are read in place
+            return reader.readValue(new ByteBufferBackedInputStream(source.duplicate()));
+        } catch (IOException e) {
+            throw new Fabric3Exception(e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(cl);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ * Transforms a JSON byte array to a Java object.
+ */
+public class Bytes2ObjectJsonTransformer implements Transformer<byte[], Object> {
+    private ObjectReader reader;
+
+    public Bytes2ObjectJsonTransformer(ObjectReader reader) {
+        this.reader = reader;
+    }
+
+    public Object transform(byte[] source, ClassLoader loader) throws Fabric3Exception {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(loader);
+            return reader.readValue(source);
+        } catch (IOException e) {
+            throw new Fabric3Exception(e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(cl);
+        }
+    }
+
+}
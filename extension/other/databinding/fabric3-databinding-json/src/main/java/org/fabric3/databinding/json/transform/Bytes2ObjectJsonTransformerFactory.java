@@ -0,0 +1,62 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.fabric3.api.model.type.contract.DataType;
+import org.fabric3.spi.model.type.java.JavaType;
+import org.fabric3.spi.transform.Transformer;
+import org.fabric3.spi.transform.TransformerFactory;
+
+/**
+ * Creates Transformers capable of deserializing text or binary JSON contained in a byte array or ByteBuffer to Java types.
+ */
+public class Bytes2ObjectJsonTransformerFactory implements TransformerFactory {
+    private Map<JsonFormat, ObjectMapper> mappers = new EnumMap<>(JsonFormat.class);
+
+    public Bytes2ObjectJsonTransformerFactory() {
+        for (JsonFormat format : JsonFormat.values()) {
+            mappers.put(format, format.createMapper());
+        }
+    }
+
+    public int getOrder() {
+        return 0;
+    }
+
+    public boolean canTransform(DataType source, DataType target) {
+        Class<?> type = source.getType();
+        return JsonFormat.fromDatabinding(source.getDatabinding()) != null && (byte[].class.equals(type) || ByteBuffer.class.isAssignableFrom(type))
+               && target instanceof JavaType;
+    }
+
+    public Transformer<?, Object> create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
+        ObjectMapper mapper = mappers.get(JsonFormat.fromDatabinding(source.getDatabinding()));
+        ObjectReader reader = JsonTypes.createReader(mapper, target);
+        if (byte[].class.equals(source.getType())) {
+            return new Bytes2ObjectJsonTransformer(reader);
+        }
+        return new ByteBuffer2ObjectJsonTransformer(reader);
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.jaxrs.cfg.Annotations;
+import com.fasterxml.jackson.jaxrs.json.JsonMapperConfigurator;
+
+/**
+ * The JSON encodings supported by the databinding. Binary encodings use the same data model and annotation configuration as text JSON but are more
+ * compact and cheaper to parse. They are intended for runtime-to-runtime communication where both ends are Fabric3 runtimes.
+ */
+public enum JsonFormat {
+    JSON("JSON"), SMILE("JSON-SMILE"), CBOR("JSON-CBOR");
+
+    private static final Annotations[] DEFAULT_ANNOTATIONS = {Annotations.JACKSON, Annotations.JAXB};
+
+    private String databinding;
+
+    JsonFormat(String databinding) {
+        this.databinding = databinding;
+    }
+
+    /**
+     * Returns the databinding name used to select the format on a data type.
+     *
+     * @return the databinding name
+     */
+    public String getDatabinding() {
+        return databinding;
+    }
+
+    /**
+     * Creates a mapper for the format configured with Jackson and JAXB annotation support.
+     *
+     * @return the mapper
+     */
+    public ObjectMapper createMapper() {
+        if (this == JSON) {
+            return new JsonMapperConfigurator(null, DEFAULT_ANNOTATIONS).getDefaultMapper();
+        }
+        JsonFactory factory = this == SMILE ? new SmileFactory() : new CBORFactory();
+        JsonMapperConfigurator configurator = new JsonMapperConfigurator(new ObjectMapper(factory), DEFAULT_ANNOTATIONS);
+        configurator.setAnnotationsToUse(DEFAULT_ANNOTATIONS);
+        return configurator.getConfiguredMapper();
+    }
+
+    /**
+     * Returns the format for the given databinding or null if the databinding is not a JSON format.
+     *
+     * @param databinding the databinding
+     * @return the format or null
+     */
+    public static JsonFormat fromDatabinding(String databinding) {
+        for (JsonFormat format : values()) {
+            if (format.databinding.equals(databinding)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
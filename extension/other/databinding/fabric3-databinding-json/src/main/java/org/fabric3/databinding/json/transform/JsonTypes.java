@@ -0,0 +1,96 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.fabric3.api.model.type.contract.DataType;
+import org.fabric3.spi.model.type.java.JavaGenericType;
+import org.fabric3.spi.model.type.java.JavaTypeInfo;
+
+/**
+ * Creates readers and writers for operation types when a transformer is created. Readers and writers are immutable and resolve the root type and its
+ * (de)serializer once instead of on every transformation.
+ */
+public final class JsonTypes {
+
+    private JsonTypes() {
+    }
+
+    /**
+     * Creates a reader for the given target type, including its generic parameter types if present.
+     *
+     * @param mapper the mapper
+     * @param target the target type
+     * @return the reader
+     */
+    public static ObjectReader createReader(ObjectMapper mapper, DataType target) {
+        return mapper.reader(toJacksonType(mapper.getTypeFactory(), target));
+    }
+
+    /**
+     * Creates a writer for the given source type. The writer is bound to the declared type only if the type determines the serializer, i.e. it is final or
+     * generic. Otherwise the runtime type of serialized instances is used so subtype properties are not dropped.
+     *
+     * @param mapper      the mapper
+     * @param source      the source type or null
+     * @param sourceTypes the source parameter types or null
+     * @return the writer
+     */
+    public static ObjectWriter createWriter(ObjectMapper mapper, DataType source, List<Class<?>> sourceTypes) {
+        if (source instanceof JavaGenericType && !((JavaGenericType) source).getTypeInfo().getParameterTypesInfos().isEmpty()) {
+            return mapper.writerWithType(toJacksonType(mapper.getTypeFactory(), source));
+        }
+        Class<?> type = sourceTypes != null && sourceTypes.size() == 1 ? sourceTypes.get(0) : null;
+        if (type != null && !type.isPrimitive() && Modifier.isFinal(type.getModifiers())) {
+            return mapper.writerWithType(type);
+        }
+        return mapper.writer();
+    }
+
+    /**
+     * Converts a data type to a Jackson type.
+     *
+     * @param factory the Jackson type factory
+     * @param type    the data type
+     * @return the Jackson type
+     */
+    public static com.fasterxml.jackson.databind.JavaType toJacksonType(TypeFactory factory, DataType type) {
+        if (type instanceof JavaGenericType) {
+            return toJacksonType(factory, ((JavaGenericType) type).getTypeInfo());
+        }
+        return factory.constructType(type.getType());
+    }
+
+    private static com.fasterxml.jackson.databind.JavaType toJacksonType(TypeFactory factory, JavaTypeInfo info) {
+        List<JavaTypeInfo> parameters = info.getParameterTypesInfos();
+        if (parameters.isEmpty()) {
+            return factory.constructType(info.getRawType());
+        }
+        com.fasterxml.jackson.databind.JavaType[] parameterTypes = new com.fasterxml.jackson.databind.JavaType[parameters.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            parameterTypes[i] = toJacksonType(factory, parameters.get(i));
+        }
+        return factory.constructParametricType(info.getRawType(), parameterTypes);
+    }
+
+}
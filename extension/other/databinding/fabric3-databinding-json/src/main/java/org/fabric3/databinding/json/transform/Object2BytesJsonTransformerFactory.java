@@ -16,24 +16,28 @@
  */
 package org.fabric3.databinding.json.transform;
 
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.jaxrs.cfg.Annotations;
-import com.fasterxml.jackson.jaxrs.json.JsonMapperConfigurator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.spi.model.type.java.JavaType;
+import org.fabric3.spi.transform.Transformer;
 import org.fabric3.spi.transform.TransformerFactory;
 
 /**
- * Creates Transformers capable of serializing Java types to a byte array using JSON.
+ * Creates Transformers capable of serializing Java types to a byte array or ByteBuffer using text or binary JSON formats.
  */
 public class Object2BytesJsonTransformerFactory implements TransformerFactory {
-    private final static Annotations[] DEFAULT_ANNOTATIONS = {Annotations.JACKSON, Annotations.JAXB};
-    private JsonMapperConfigurator configurator;
+    private Map<JsonFormat, ObjectMapper> mappers = new EnumMap<>(JsonFormat.class);
 
     public Object2BytesJsonTransformerFactory() {
-        configurator = new JsonMapperConfigurator(null, DEFAULT_ANNOTATIONS);
+        for (JsonFormat format : JsonFormat.values()) {
+            mappers.put(format, format.createMapper());
+        }
     }
 
     public int getOrder() {
@@ -41,12 +45,18 @@ public class Object2BytesJsonTransformerFactory implements TransformerFactory {
     }
 
     public boolean canTransform(DataType source, DataType target) {
-        return "JSON".equals(target.getDatabinding()) && byte[].class.equals(target.getType()) && source instanceof JavaType;
+        Class<?> type = target.getType();
+        return JsonFormat.fromDatabinding(target.getDatabinding()) != null && (byte[].class.equals(type) || ByteBuffer.class.isAssignableFrom(type))
+               && source instanceof JavaType;
     }
 
-    public Object2BytesJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
-        ObjectMapper mapper = configurator.getDefaultMapper();
-        return new Object2BytesJsonTransformer(mapper);
+    public Transformer<Object, ?> create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
+        ObjectMapper mapper = mappers.get(JsonFormat.fromDatabinding(target.getDatabinding()));
+        ObjectWriter writer = JsonTypes.createWriter(mapper, source, sourceTypes);
+        if (byte[].class.equals(target.getType())) {
+            return new Object2BytesJsonTransformer(writer);
+        }
+        return new Object2ByteBufferJsonTransformer(writer);
     }
 
 }
\ No newline at end of file
@@ -46,7 +46,7 @@ public class Object2StringJsonTransformerFactory implements TransformerFactory {
 
     public Object2StringJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
         ObjectMapper mapper = configurator.getDefaultMapper();
-        return new Object2StringJsonTransformer(mapper);
+        return new Object2StringJsonTransformer(JsonTypes.createWriter(mapper, source, sourceTypes));
     }
 
 
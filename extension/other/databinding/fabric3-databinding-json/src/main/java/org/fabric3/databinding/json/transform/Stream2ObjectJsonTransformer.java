@@ -20,7 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
 
@@ -28,12 +28,10 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms a serialized XML String received as an input stream to a Java object using JSON.
  */
 public class Stream2ObjectJsonTransformer implements Transformer<InputStream, Object> {
-    private ObjectMapper mapper;
-    private Class<?> type;
+    private ObjectReader reader;
 
-    public Stream2ObjectJsonTransformer(Class<?> type, ObjectMapper mapper) {
-        this.type = type;
-        this.mapper = mapper;
+    public Stream2ObjectJsonTransformer(ObjectReader reader) {
+        this.reader = reader;
     }
 
     public Object transform(InputStream source, ClassLoader loader) throws Fabric3Exception {
@@ -41,10 +39,10 @@ public class Stream2ObjectJsonTransformer implements Transformer<InputStream, Ob
         try {
             Thread.currentThread().setContextClassLoader(loader);
 
-            JsonParser jp = mapper.getFactory().createParser(source);
+            JsonParser jp = reader.getFactory().createParser(source);
             // do not to close the underlying stream after mapping
             jp.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
-            return mapper.readValue(jp, type);
+            return reader.readValue(jp);
         } catch (IOException e) {
             throw new Fabric3Exception(e);
         } finally {
@@ -17,24 +17,25 @@
 package org.fabric3.databinding.json.transform;
 
 import java.io.InputStream;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.jaxrs.cfg.Annotations;
-import com.fasterxml.jackson.jaxrs.json.JsonMapperConfigurator;
 import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.spi.model.type.java.JavaType;
 import org.fabric3.spi.transform.TransformerFactory;
 
 /**
- * Creates Transformers capable of marshalling serialized XML Strings received as an input stream to Java types using JSON.
+ * Creates Transformers capable of deserializing JSON received as an input stream to Java types. Text and binary JSON formats are supported.
  */
 public class Stream2ObjectJsonTransformerFactory implements TransformerFactory {
-    private final static Annotations[] DEFAULT_ANNOTATIONS = {Annotations.JACKSON, Annotations.JAXB};
-    private JsonMapperConfigurator configurator;
+    private Map<JsonFormat, ObjectMapper> mappers = new EnumMap<>(JsonFormat.class);
 
     public Stream2ObjectJsonTransformerFactory() {
-        configurator = new JsonMapperConfigurator(null, DEFAULT_ANNOTATIONS);
+        for (JsonFormat format : JsonFormat.values()) {
+            mappers.put(format, format.createMapper());
+        }
     }
 
     public int getOrder() {
@@ -42,14 +43,14 @@ public class Stream2ObjectJsonTransformerFactory implements TransformerFactory {
     }
 
     public boolean canTransform(DataType source, DataType target) {
-        return "JSON".equals(source.getDatabinding()) && InputStream.class.isAssignableFrom(source.getType()) && target instanceof JavaType;
+        return JsonFormat.fromDatabinding(source.getDatabinding()) != null && InputStream.class.isAssignableFrom(source.getType())
+               && target instanceof JavaType;
     }
 
     public Stream2ObjectJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
-        JavaType type = (JavaType) target;
-        ObjectMapper mapper = configurator.getDefaultMapper();
-        Class clazz = type.getType();
-        return new Stream2ObjectJsonTransformer(clazz, mapper);
+        JsonFormat format = source == null ? null : JsonFormat.fromDatabinding(source.getDatabinding());
+        ObjectMapper mapper = mappers.get(format == null ? JsonFormat.JSON : format);
+        return new Stream2ObjectJsonTransformer(JsonTypes.createReader(mapper, target));
     }
 
 }
\ No newline at end of file
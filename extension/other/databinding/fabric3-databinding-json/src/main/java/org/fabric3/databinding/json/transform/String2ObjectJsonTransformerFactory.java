@@ -45,10 +45,8 @@ public class String2ObjectJsonTransformerFactory implements TransformerFactory {
     }
 
     public String2ObjectJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
-        JavaType type = (JavaType) target;
         ObjectMapper mapper = configurator.getDefaultMapper();
-        Class clazz = type.getType();
-        return new String2ObjectJsonTransformer(clazz, mapper);
+        return new String2ObjectJsonTransformer(JsonTypes.createReader(mapper, target));
     }
 
 
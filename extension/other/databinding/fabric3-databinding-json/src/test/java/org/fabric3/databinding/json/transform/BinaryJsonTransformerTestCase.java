@@ -0,0 +1,134 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import org.fabric3.spi.model.type.java.JavaType;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ *
+ */
+public class BinaryJsonTransformerTestCase extends TestCase {
+    private static final JavaType FOO_TYPE = new JavaType(Foo.class);
+
+    private Object2BytesJsonTransformerFactory writerFactory = new Object2BytesJsonTransformerFactory();
+    private Bytes2ObjectJsonTransformerFactory readerFactory = new Bytes2ObjectJsonTransformerFactory();
+    private ClassLoader loader = getClass().getClassLoader();
+
+    public void testSmileRoundTrip() throws Exception {
+        roundTrip(JsonFormat.SMILE);
+    }
+
+    public void testCborRoundTrip() throws Exception {
+        roundTrip(JsonFormat.CBOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testStreamSmile() throws Exception {
+        JavaType bytesType = new JavaType(byte[].class, JsonFormat.SMILE.getDatabinding());
+        JavaType streamType = new JavaType(InputStream.class, JsonFormat.SMILE.getDatabinding());
+
+        Stream2ObjectJsonTransformerFactory streamFactory = new Stream2ObjectJsonTransformerFactory();
+        assertTrue(streamFactory.canTransform(streamType, FOO_TYPE));
+
+        Transformer<Object, byte[]> writer = (Transformer<Object, byte[]>) writerFactory.create(FOO_TYPE, bytesType, Collections.singletonList(Foo.class), null);
+        Transformer<InputStream, Object> reader = streamFactory.create(streamType, FOO_TYPE, null, null);
+
+        byte[] bytes = writer.transform(createFoo(), loader);
+        assertEquals("bar", ((Foo) reader.transform(new ByteArrayInputStream(bytes), loader)).getBar());
+    }
+
+    public void testBinaryIsNotText() throws Exception {
+        byte[] text = write(JsonFormat.JSON, createFoo());
+        byte[] smile = write(JsonFormat.SMILE, createFoo());
+        assertEquals('{', text[0]);
+        // Smile content starts with the ':)' header
+        assertEquals(':', smile[0]);
+        assertEquals(')', smile[1]);
+    }
+
+    public void testUnknownDatabinding() throws Exception {
+        assertNull(JsonFormat.fromDatabinding("JAXB"));
+        assertFalse(readerFactory.canTransform(new JavaType(byte[].class, "JAXB"), FOO_TYPE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void roundTrip(JsonFormat format) throws Exception {
+        JavaType bufferType = new JavaType(ByteBuffer.class, format.getDatabinding());
+        assertTrue(writerFactory.canTransform(FOO_TYPE, bufferType));
+        assertTrue(readerFactory.canTransform(bufferType, FOO_TYPE));
+
+        Transformer<Object, ByteBuffer> writer = (Transformer<Object, ByteBuffer>) writerFactory.create(FOO_TYPE,
+                                                                                                         bufferType,
+                                                                                                         Collections.<Class<?>>singletonList(Foo.class),
+                                                                                                         null);
+        Transformer<ByteBuffer, Object> reader = (Transformer<ByteBuffer, Object>) readerFactory.create(bufferType, FOO_TYPE, null, null);
+
+        Foo result = (Foo) reader.transform(writer.transform(createFoo(), loader), loader);
+        assertEquals("bar", result.getBar());
+        assertEquals(3, result.getCount());
+
+        byte[] bytes = write(format, createFoo());
+        Transformer<byte[], Object> bytesReader = (Transformer<byte[], Object>) readerFactory.create(new JavaType(byte[].class, format.getDatabinding()),
+                                                                                                     FOO_TYPE,
+                                                                                                     null,
+                                                                                                     null);
+        assertEquals("bar", ((Foo) bytesReader.transform(bytes, loader)).getBar());
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] write(JsonFormat format, Foo foo) throws Exception {
+        JavaType bytesType = new JavaType(byte[].class, format.getDatabinding());
+        Transformer<Object, byte[]> writer = (Transformer<Object, byte[]>) writerFactory.create(FOO_TYPE, bytesType, Collections.singletonList(Foo.class), null);
+        return writer.transform(foo, loader);
+    }
+
+    private Foo createFoo() {
+        Foo foo = new Foo();
+        foo.setBar("bar");
+        foo.setCount(3);
+        return foo;
+    }
+
+    public static class Foo {
+        private String bar;
+        private int count;
+
+        public String getBar() {
+            return bar;
+        }
+
+        public void setBar(String bar) {
+            this.bar = bar;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.fabric3.spi.model.type.java.JavaGenericType;
+import org.fabric3.spi.model.type.java.JavaType;
+import org.fabric3.spi.model.type.java.JavaTypeInfo;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ *
+ */
+public class Bytes2ObjectJsonTransformerTestCase extends TestCase {
+    private static final JavaType BYTES_TYPE = new JavaType(byte[].class, "JSON");
+    private static final JavaType BUFFER_TYPE = new JavaType(ByteBuffer.class, "JSON");
+    private static final byte[] FOO = "{\"bar\":\"bar\"}".getBytes();
+
+    private Bytes2ObjectJsonTransformerFactory factory = new Bytes2ObjectJsonTransformerFactory();
+    private ClassLoader loader = getClass().getClassLoader();
+
+    @SuppressWarnings("unchecked")
+    public void testTransformBytes() throws Exception {
+        JavaType javaType = new JavaType(Foo.class);
+        assertTrue(factory.canTransform(BYTES_TYPE, javaType));
+        Transformer<byte[], Object> transformer = (Transformer<byte[], Object>) factory.create(BYTES_TYPE, javaType, null, null);
+        Foo result = (Foo) transformer.transform(FOO, loader);
+        assertEquals("bar", result.getBar());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testTransformBuffers() throws Exception {
+        JavaType javaType = new JavaType(Foo.class);
+        assertTrue(factory.canTransform(BUFFER_TYPE, javaType));
+        Transformer<ByteBuffer, Object> transformer = (Transformer<ByteBuffer, Object>) factory.create(BUFFER_TYPE, javaType, null, null);
+
+        ByteBuffer heap = ByteBuffer.wrap(FOO);
+        assertEquals("bar", ((Foo) transformer.transform(heap, loader)).getBar());
+        assertEquals(0, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(FOO.length);
+        direct.put(FOO).flip();
+        assertEquals("bar", ((Foo) transformer.transform(direct, loader)).getBar());
+        assertEquals(0, direct.position());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testTransformGenericType() throws Exception {
+        JavaTypeInfo info = new JavaTypeInfo(List.class, Collections.singletonList(new JavaTypeInfo(Foo.class)));
+        JavaGenericType javaType = new JavaGenericType(info);
+        Transformer<byte[], Object> transformer = (Transformer<byte[], Object>) factory.create(BYTES_TYPE, javaType, null, null);
+        List<Foo> result = (List<Foo>) transformer.transform("[{\"bar\":\"bar\"}]".getBytes(), loader);
+        assertEquals("bar", result.get(0).getBar());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testRoundTripByteBuffer() throws Exception {
+        Object2BytesJsonTransformerFactory writerFactory = new Object2BytesJsonTransformerFactory();
+        JavaType javaType = new JavaType(Foo.class);
+        assertTrue(writerFactory.canTransform(javaType, BUFFER_TYPE));
+        Transformer<Object, ByteBuffer> writer = (Transformer<Object, ByteBuffer>) writerFactory.create(javaType,
+                                                                                                         BUFFER_TYPE,
+                                                                                                         Collections.<Class<?>>singletonList(Foo.class),
+                                                                                                         null);
+        Transformer<ByteBuffer, Object> reader = (Transformer<ByteBuffer, Object>) factory.create(BUFFER_TYPE, javaType, null, null);
+        Foo foo = new Foo();
+        foo.setBar("bar");
+        assertEquals("bar", ((Foo) reader.transform(writer.transform(foo, loader), loader)).getBar());
+    }
+
+    public static class Foo {
+        private String bar;
+
+        public String getBar() {
+            return bar;
+        }
+
+        public void setBar(String bar) {
+            this.bar = bar;
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.fabric3.spi.model.type.java.JavaType;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ * Compares encoded size and serialization round-trip throughput of the text and binary JSON formats. This is not run as part of the test suite; execute
+ * the main method directly.
+ */
+public class JsonFormatBenchmark {
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 200000;
+
+    public static void main(String... args) throws Exception {
+        ClassLoader loader = JsonFormatBenchmark.class.getClassLoader();
+        Order order = createOrder();
+        JavaType orderType = new JavaType(Order.class);
+
+        Object2BytesJsonTransformerFactory writerFactory = new Object2BytesJsonTransformerFactory();
+        Bytes2ObjectJsonTransformerFactory readerFactory = new Bytes2ObjectJsonTransformerFactory();
+
+        for (JsonFormat format : JsonFormat.values()) {
+            JavaType bytesType = new JavaType(byte[].class, format.getDatabinding());
+            Transformer<Object, byte[]> writer = cast(writerFactory.create(orderType, bytesType, Collections.singletonList(Order.class), null));
+            Transformer<byte[], Object> reader = cast(readerFactory.create(bytesType, orderType, null, null));
+
+            for (int i = 0; i < WARMUP; i++) {
+                reader.transform(writer.transform(order, loader), loader);
+            }
+            int size = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                byte[] bytes = writer.transform(order, loader);
+                size = bytes.length;
+                reader.transform(bytes, loader);
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-10s %6d bytes %10.0f round trips/s%n", format.getDatabinding(), size, ITERATIONS / (elapsed / 1e9));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object o) {
+        return (T) o;
+    }
+
+    private static Order createOrder() {
+        Order order = new Order();
+        order.setId(12345678L);
+        order.setCustomer("customer-0001");
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Item item = new Item();
+            item.setSku("sku-" + i);
+            item.setQuantity(i + 1);
+            item.setPrice(9.99 * (i + 1));
+            items.add(item);
+        }
+        order.setItems(items);
+        return order;
+    }
+
+    public static class Order {
+        private long id;
+        private String customer;
+        private List<Item> items;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(String customer) {
+            this.customer = customer;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public void setItems(List<Item> items) {
+            this.items = items;
+        }
+    }
+
+    public static class Item {
+        private String sku;
+        private int quantity;
+        private double price;
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+    }
+}
@@ -26,22 +26,40 @@ import org.fabric3.spi.security.AuthenticationToken;
 import org.fabric3.spi.security.BasicSecuritySubject;
 import org.fabric3.spi.security.UsernamePasswordToken;
 import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Property;
 import org.oasisopen.sca.annotation.Reference;
 import org.oasisopen.sca.annotation.Service;
 
 /**
  * Basic authentication and service that relies on a SecurityStore for subject information. This implementation may also be used to authenticate JMX
  * credentials.
+ *
+ * Stored passwords may be salted hashes (see {@link PasswordHasher}). Successfully verified credentials are held in a bounded, time-limited cache so
+ * that repeated requests from the same client do not pay the cost of re-hashing.
  */
 @Service({AuthenticationService.class, JMXAuthenticator.class})
 @EagerInit
 public class AuthenticationServiceImpl implements AuthenticationService, JMXAuthenticator {
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+    private static final long DEFAULT_CACHE_TTL = 300000;
+
     private SecurityStore store;
+    private CredentialCache cache = new CredentialCache(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TTL);
 
     public AuthenticationServiceImpl(@Reference SecurityStore store) {
         this.store = store;
     }
 
+    @Property(required = false)
+    public void setCredentialCacheSize(int size) {
+        cache.setMaxSize(size);
+    }
+
+    @Property(required = false)
+    public void setCredentialCacheTtl(long ttl) {
+        cache.setTtl(ttl);
+    }
+
     public SecuritySubject authenticate(AuthenticationToken<?, ?> token) throws AuthenticationException {
         if (token == null) {
             throw new IllegalArgumentException("Null token");
@@ -58,9 +76,17 @@ public class AuthenticationServiceImpl implements AuthenticationService, JMXAuth
         if (subject == null) {
             throw new InvalidAuthenticationException("Invalid authentication information");
         }
-        if (!userToken.getCredentials().equals(subject.getPassword())) {
+        String credentials = userToken.getCredentials();
+        if (credentials == null) {
+            throw new InvalidAuthenticationException("Invalid authentication information");
+        }
+        if (cache.isVerified(subject, credentials)) {
+            return subject;
+        }
+        if (!PasswordHasher.verify(credentials, subject.getPassword())) {
             throw new InvalidAuthenticationException("Invalid authentication information");
         }
+        cache.put(subject, credentials);
         return subject;
     }
 
@@ -23,6 +23,7 @@ import org.fabric3.spi.security.AuthorizationException;
 import org.fabric3.spi.security.AuthorizationService;
 import org.fabric3.spi.security.BasicSecuritySubject;
 import org.fabric3.spi.security.NotAuthorizedException;
+import org.fabric3.spi.security.RoleSet;
 
 /**
  * Basic implementation of the AuthorizationService.
@@ -44,6 +45,13 @@ public class AuthorizationServiceImpl implements AuthorizationService {
         }
     }
 
+    public void checkRoles(SecuritySubject subject, RoleSet roles) throws AuthorizationException {
+        BasicSecuritySubject basicSubject = subject.getDelegate(BasicSecuritySubject.class);
+        if (!basicSubject.getRoleSet().containsAll(roles)) {
+            throw new NotAuthorizedException("Subject not authorized for role");
+        }
+    }
+
     public void checkPermission(SecuritySubject subject, String role) throws AuthorizationException {
         throw new UnsupportedOperationException();
     }
@@ -0,0 +1,150 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.security.impl;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.fabric3.spi.security.BasicSecuritySubject;
+
+/**
+ * A bounded, time-limited cache of successfully verified credentials. Credentials are not stored; instead an HMAC of the presented password keyed with
+ * a per-instance random secret is kept so that repeated authentication of the same credentials avoids the cost of a slow password hash.
+ */
+public class CredentialCache {
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final byte[] secret = new byte[32];
+    private final Map<String, Entry> entries;
+    private volatile int maxSize;
+    private volatile long ttl;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize the maximum number of cached entries
+     * @param ttl     the time in milliseconds an entry remains valid. A non-positive value disables caching.
+     */
+    public CredentialCache(int maxSize, long ttl) {
+        this.maxSize = maxSize;
+        this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+        new SecureRandom().nextBytes(secret);
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = -3410215937418253652L;
+
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CredentialCache.this.maxSize;
+            }
+        };
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        clear();
+    }
+
+    public void setTtl(long ttl) {
+        this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+        clear();
+    }
+
+    /**
+     * Returns true if the password was previously verified for the subject and the entry has not expired.
+     *
+     * @param subject  the subject the password is presented for
+     * @param password the presented password
+     * @return true if the credentials were previously verified
+     */
+    public boolean isVerified(BasicSecuritySubject subject, String password) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(subject.getUsername());
+        }
+        if (entry == null || entry.subject != subject) {
+            return false;
+        }
+        if (System.nanoTime() - entry.expires > 0) {
+            synchronized (entries) {
+                entries.remove(subject.getUsername(), entry);
+            }
+            return false;
+        }
+        return MessageDigest.isEqual(entry.digest, digest(password));
+    }
+
+    /**
+     * Records verified credentials.
+     *
+     * @param subject  the authenticated subject
+     * @param password the verified password
+     */
+    public void put(BasicSecuritySubject subject, String password) {
+        if (!isEnabled()) {
+            return;
+        }
+        Entry entry = new Entry(subject, digest(password), System.nanoTime() + ttl);
+        synchronized (entries) {
+            entries.put(subject.getUsername(), entry);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private boolean isEnabled() {
+        return maxSize > 0 && ttl > 0;
+    }
+
+    private byte[] digest(String password) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private BasicSecuritySubject subject;
+        private byte[] digest;
+        private long expires;
+
+        private Entry(BasicSecuritySubject subject, byte[] digest, long expires) {
+            this.subject = subject;
+            this.digest = digest;
+            this.expires = expires;
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.security.impl;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Hashes and verifies passwords using salted PBKDF2. Hashed passwords are stored in the form <code>{PBKDF2}iterations:salt:hash</code>, where the salt
+ * and hash are Base64 encoded. Stored values without the prefix are treated as plaintext for backward compatibility.
+ *
+ * A hash for the security configuration can be generated by running this class with the password as its argument.
+ */
+public final class PasswordHasher {
+    public static final String PREFIX = "{PBKDF2}";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int DEFAULT_ITERATIONS = 65536;
+    private static final int SALT_LENGTH = 16;
+    private static final int KEY_LENGTH = 256;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Returns a salted hash of the password.
+     *
+     * @param password the password
+     * @return the encoded hash
+     */
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, DEFAULT_ITERATIONS, KEY_LENGTH);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return PREFIX + DEFAULT_ITERATIONS + ":" + encoder.encodeToString(salt) + ":" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Returns true if the stored value is a hash produced by {@link #hash(String)}.
+     *
+     * @param stored the stored value
+     * @return true if the value is hashed
+     */
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /**
+     * Verifies a password against a stored value, which may be a hash or plaintext.
+     *
+     * @param password the presented password
+     * @param stored   the stored value
+     * @return true if the password matches
+     */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] tokens = stored.substring(PREFIX.length()).split(":");
+        if (tokens.length != 3) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(tokens[0]);
+            byte[] salt = Base64.getDecoder().decode(tokens[1]);
+            byte[] expected = Base64.getDecoder().decode(tokens[2]);
+            byte[] actual = pbkdf2(password, salt, iterations, expected.length * 8);
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            // malformed iteration count or encoding
+            return false;
+        }
+    }
+
+    public static void main(String... args) {
+        if (args.length != 1) {
+            System.out.println("Usage: PasswordHasher <password>");
+            return;
+        }
+        System.out.println(hash(args[0]));
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations, int keyLength) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, keyLength);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+}
@@ -70,4 +70,34 @@ public class AuthenticationServiceImplTestCase extends TestCase {
         }
     }
 
+    public void testAuthenticateHashed() throws Exception {
+        BasicSecuritySubject subject = new BasicSecuritySubject("foo", PasswordHasher.hash("bar"), Collections.<Role>emptySet());
+        SecurityStore store = EasyMock.createMock(SecurityStore.class);
+        EasyMock.expect(store.find(EasyMock.eq("foo"))).andReturn(subject).times(3);
+        EasyMock.replay(store);
+        AuthenticationService service = new AuthenticationServiceImpl(store);
+        assertSame(subject, service.authenticate(new UsernamePasswordToken("foo", "bar")));
+        // second authentication is served from the credential cache
+        assertSame(subject, service.authenticate(new UsernamePasswordToken("foo", "bar")));
+        try {
+            service.authenticate(new UsernamePasswordToken("foo", "baz"));
+            fail();
+        } catch (AuthenticationException e) {
+            // expected
+        }
+        EasyMock.verify(store);
+    }
+
+    public void testCacheDisabled() throws Exception {
+        BasicSecuritySubject subject = new BasicSecuritySubject("foo", "bar", Collections.<Role>emptySet());
+        SecurityStore store = EasyMock.createMock(SecurityStore.class);
+        EasyMock.expect(store.find(EasyMock.eq("foo"))).andReturn(subject).times(2);
+        EasyMock.replay(store);
+        AuthenticationServiceImpl service = new AuthenticationServiceImpl(store);
+        service.setCredentialCacheTtl(0);
+        service.authenticate(new UsernamePasswordToken("foo", "bar"));
+        service.authenticate(new UsernamePasswordToken("foo", "bar"));
+        EasyMock.verify(store);
+    }
+
 }
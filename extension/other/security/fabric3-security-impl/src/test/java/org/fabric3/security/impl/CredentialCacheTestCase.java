@@ -0,0 +1,56 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.security.impl;
+
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import org.fabric3.api.Role;
+import org.fabric3.spi.security.BasicSecuritySubject;
+
+/**
+ *
+ */
+public class CredentialCacheTestCase extends TestCase {
+    private BasicSecuritySubject foo = new BasicSecuritySubject("foo", "bar", Collections.<Role>emptySet());
+    private BasicSecuritySubject baz = new BasicSecuritySubject("baz", "bar", Collections.<Role>emptySet());
+
+    public void testVerified() throws Exception {
+        CredentialCache cache = new CredentialCache(10, 60000);
+        assertFalse(cache.isVerified(foo, "bar"));
+        cache.put(foo, "bar");
+        assertTrue(cache.isVerified(foo, "bar"));
+        assertFalse(cache.isVerified(foo, "wrong"));
+        // a replaced subject instance must be re-verified
+        assertFalse(cache.isVerified(new BasicSecuritySubject("foo", "bar", Collections.<Role>emptySet()), "bar"));
+    }
+
+    public void testExpired() throws Exception {
+        CredentialCache cache = new CredentialCache(10, 1);
+        cache.put(foo, "bar");
+        Thread.sleep(10);
+        assertFalse(cache.isVerified(foo, "bar"));
+    }
+
+    public void testBounded() throws Exception {
+        CredentialCache cache = new CredentialCache(1, 60000);
+        cache.put(foo, "bar");
+        cache.put(baz, "bar");
+        assertFalse(cache.isVerified(foo, "bar"));
+        assertTrue(cache.isVerified(baz, "bar"));
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.security.impl;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class PasswordHasherTestCase extends TestCase {
+
+    public void testHashAndVerify() throws Exception {
+        String hash = PasswordHasher.hash("secret");
+        assertTrue(PasswordHasher.isHashed(hash));
+        assertTrue(PasswordHasher.verify("secret", hash));
+        assertFalse(PasswordHasher.verify("wrong", hash));
+    }
+
+    public void testSalted() throws Exception {
+        assertFalse(PasswordHasher.hash("secret").equals(PasswordHasher.hash("secret")));
+    }
+
+    public void testPlaintext() throws Exception {
+        assertTrue(PasswordHasher.verify("secret", "secret"));
+        assertFalse(PasswordHasher.verify("wrong", "secret"));
+        assertFalse(PasswordHasher.verify(null, "secret"));
+    }
+
+    public void testMalformedHash() throws Exception {
+        assertFalse(PasswordHasher.verify("secret", PasswordHasher.PREFIX + "abc"));
+        assertFalse(PasswordHasher.verify("secret", PasswordHasher.PREFIX + "x:y:z"));
+    }
+}
@@ -26,6 +26,7 @@ import org.fabric3.spi.container.invocation.WorkContext;
 import org.fabric3.spi.container.wire.Interceptor;
 import org.fabric3.spi.security.AuthorizationException;
 import org.fabric3.spi.security.AuthorizationService;
+import org.fabric3.spi.security.RoleSet;
 import org.oasisopen.sca.ServiceRuntimeException;
 
 /**
@@ -33,11 +34,11 @@ import org.oasisopen.sca.ServiceRuntimeException;
  */
 public class RoleBasedAuthorizationInterceptor implements Interceptor {
     private Interceptor next;
-    private final List<String> roles;
+    private final RoleSet roles;
     private final AuthorizationService authorizationService;
 
     public RoleBasedAuthorizationInterceptor(List<String> roles, AuthorizationService authorizationService) {
-        this.roles = roles;
+        this.roles = RoleSet.of(roles);
         this.authorizationService = authorizationService;
     }
 
@@ -32,6 +32,10 @@ public class TimerPoolResourceGenerator implements ResourceGenerator<TimerPoolRe
 
     public PhysicalResource generateResource(LogicalResource<TimerPoolResource> logicalResource) throws Fabric3Exception {
         TimerPoolResource resource = logicalResource.getDefinition();
-        return new PhysicalTimerPoolResource(resource.getName(), resource.getCoreSize());
+        return new PhysicalTimerPoolResource(resource.getName(),
+                                             resource.getCoreSize(),
+                                             resource.getType(),
+                                             resource.getTickDuration(),
+                                             resource.getTicksPerWheel());
     }
 }
\ No newline at end of file
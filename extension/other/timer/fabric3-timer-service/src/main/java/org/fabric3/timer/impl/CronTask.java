@@ -0,0 +1,96 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.timer.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.fabric3.timer.spi.CronExpression;
+import org.fabric3.timer.spi.Task;
+
+/**
+ * A {@link Task} that fires at the times matched by a cron expression. The next fire time is calculated from the previous one, not from the time an
+ * execution completed, so executions do not drift.
+ */
+public class CronTask implements Task {
+    private Runnable delegate;
+    private CronExpression expression;
+    private Clock clock;
+    private long misfireThreshold;
+
+    private volatile ZonedDateTime scheduled;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate         the task to execute
+     * @param expression       the cron expression
+     * @param zone             the time zone the expression is evaluated in
+     * @param misfireThreshold the time in milliseconds an execution may start late before it is skipped or -1 to always execute missed fire times once
+     */
+    public CronTask(Runnable delegate, CronExpression expression, ZoneId zone, long misfireThreshold) {
+        this(delegate, expression, Clock.system(zone), misfireThreshold);
+    }
+
+    CronTask(Runnable delegate, CronExpression expression, Clock clock, long misfireThreshold) {
+        this.delegate = delegate;
+        this.expression = expression;
+        this.clock = clock;
+        this.misfireThreshold = misfireThreshold;
+    }
+
+    public long nextInterval() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime next = expression.next(scheduled == null ? now : scheduled);
+        if (next == null) {
+            return Task.DONE;
+        }
+        if (next.isBefore(now)) {
+            // one or more fire times passed while the previous execution was running
+            if (misfireThreshold < 0) {
+                // coalesce the missed fire times into a single execution
+                scheduled = now;
+                return 0;
+            }
+            next = expression.next(now);
+            if (next == null) {
+                return Task.DONE;
+            }
+        }
+        scheduled = next;
+        return Duration.between(now, next).toMillis();
+    }
+
+    public void run() {
+        if (misfireThreshold >= 0 && scheduled != null && clock.millis() - scheduled.toInstant().toEpochMilli() > misfireThreshold) {
+            // the execution started too late, e.g. because the pool was saturated or the host was suspended
+            return;
+        }
+        delegate.run();
+    }
+
+    /**
+     * Returns the time the task is next scheduled to fire or null if it has not been scheduled.
+     *
+     * @return the next fire time or null
+     */
+    public ZonedDateTime getScheduled() {
+        return scheduled;
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.fabric3.timer.impl;
 
+import java.time.ZoneId;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -25,17 +26,21 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.fabric3.api.annotation.monitor.Monitor;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.management.ManagementService;
+import org.fabric3.timer.spi.CronExpression;
 import org.fabric3.timer.spi.Task;
 import org.fabric3.timer.spi.TimerService;
 import org.oasisopen.sca.annotation.Destroy;
@@ -84,13 +89,17 @@ public class ExecutorTimerService implements TimerService, ScheduledExecutorServ
         ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(coreSize);
         TimerThreadFactory threadFactory = new TimerThreadFactory(poolName, monitor);
         executor.setThreadFactory(threadFactory);
-        executors.put(poolName, executor);
-        TimerPoolStatistics statistics = new TimerPoolStatistics(poolName, coreSize);
-        statistics.start();
-        statisticsCache.put(poolName, statistics);
-        if (managementService != null) {
-            managementService.export(encodeName(poolName), "timer pools", "Timer pools", statistics);
+        register(poolName, coreSize, executor);
+    }
+
+    public void allocateWheel(String poolName, int workers, long tickDuration, TimeUnit unit, int ticksPerWheel) throws Fabric3Exception {
+        if (executors.containsKey(poolName)) {
+            throw new IllegalStateException("Pool already allocated: " + poolName);
         }
+        TimerThreadFactory threadFactory = new TimerThreadFactory(poolName, monitor);
+        ExecutorService workerPool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        HashedWheelScheduler scheduler = new HashedWheelScheduler(tickDuration, unit, ticksPerWheel, workerPool, threadFactory);
+        register(poolName, workers, scheduler);
     }
 
     public void deallocate(String poolName) throws Fabric3Exception {
@@ -110,6 +119,13 @@ public class ExecutorTimerService implements TimerService, ScheduledExecutorServ
         return recurring.schedule();
     }
 
+    public ScheduledFuture<?> scheduleCron(String poolName, Runnable command, CronExpression expression, ZoneId zone, long misfireThreshold) {
+        if (command == null) {
+            throw new NullPointerException("Command cannot be null");
+        }
+        return scheduleRecurring(poolName, new CronTask(command, expression, zone, misfireThreshold));
+    }
+
     public ScheduledFuture<?> scheduleAtFixedRate(String poolName, Runnable command, long initialDelay, long period, TimeUnit unit) {
         ScheduledExecutorService executor = getExecutor(poolName);
         return executor.scheduleAtFixedRate(command, initialDelay, period, unit);
@@ -199,6 +215,16 @@ public class ExecutorTimerService implements TimerService, ScheduledExecutorServ
         throw new UnsupportedOperationException();
     }
 
+    private void register(String poolName, int coreSize, ScheduledExecutorService executor) {
+        executors.put(poolName, executor);
+        TimerPoolStatistics statistics = new TimerPoolStatistics(poolName, coreSize);
+        statistics.start();
+        statisticsCache.put(poolName, statistics);
+        if (managementService != null) {
+            managementService.export(encodeName(poolName), "timer pools", "Timer pools", statistics);
+        }
+    }
+
     private ScheduledExecutorService getExecutor(String poolName) {
         ScheduledExecutorService executor = executors.get(poolName);
         if (executor == null) {
@@ -0,0 +1,354 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.timer.impl;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A scheduled executor backed by a hashed timing wheel. Timers are hashed into a fixed number of buckets by their expiration tick; timers expiring more than
+ * one revolution in the future carry a count of the remaining revolutions. Scheduling and cancelling a timer are constant time operations that add to a
+ * lock-free queue. A single ticker thread transfers new timers into the wheel, removes cancelled ones and hands expired timers to a worker pool for
+ * execution.
+ *
+ * Timers fire with a precision of one tick. Timers pending when the scheduler is shut down are cancelled.
+ */
+public class HashedWheelScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    // bounds the work done by the ticker in a single tick if a large number of timers are scheduled at once
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final ExecutorService workers;
+    private final Thread ticker;
+    private final long startTime;
+
+    private final Queue<WheelTimeout<?>> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout<?>> cancelled = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean shutdown;
+
+    // the current tick, only accessed by the ticker thread
+    private long tick;
+
+    /**
+     * Constructor.
+     *
+     * @param tickDuration  the duration of a tick
+     * @param unit          the tick duration unit
+     * @param ticksPerWheel the number of buckets in the wheel, rounded up to a power of two
+     * @param workers       the executor expired timers are dispatched to
+     * @param threadFactory the factory for creating the ticker thread
+     */
+    public HashedWheelScheduler(long tickDuration, TimeUnit unit, int ticksPerWheel, ExecutorService workers, ThreadFactory threadFactory) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be greater than 0: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("Invalid number of ticks per wheel: " + ticksPerWheel);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        size = Math.max(size, 1);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.workers = workers;
+        this.startTime = System.nanoTime();
+        this.ticker = threadFactory.newThread(this::tick);
+        ticker.start();
+    }
+
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return enqueue(new WheelTimeout<>(Executors.callable(command, null), triggerTime(delay, unit), 0));
+    }
+
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return enqueue(new WheelTimeout<>(callable, triggerTime(delay, unit), 0));
+    }
+
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be greater than 0: " + period);
+        }
+        return enqueue(new WheelTimeout<>(Executors.callable(command, null), triggerTime(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay must be greater than 0: " + delay);
+        }
+        return enqueue(new WheelTimeout<>(Executors.callable(command, null), triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        workers.execute(command);
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        LockSupport.unpark(ticker);
+        workers.shutdown();
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        ticker.interrupt();
+        return workers.shutdownNow();
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        return shutdown && !ticker.isAlive() && workers.isTerminated();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        TimeUnit.NANOSECONDS.timedJoin(ticker, Math.max(1, deadline - System.nanoTime()));
+        return workers.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS) && !ticker.isAlive();
+    }
+
+    private <V> WheelTimeout<V> enqueue(WheelTimeout<V> timeout) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private long now() {
+        return System.nanoTime() - startTime;
+    }
+
+    private long triggerTime(long delay, TimeUnit unit) {
+        long nanos = unit.toNanos(Math.max(delay, 0));
+        // avoid overflow for very long delays
+        return now() + Math.min(nanos, Long.MAX_VALUE >> 1);
+    }
+
+    /**
+     * The ticker loop.
+     */
+    private void tick() {
+        while (!shutdown) {
+            if (!waitForNextTick()) {
+                break;
+            }
+            removeCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+        // cancel timers that will not fire
+        for (Bucket bucket : wheel) {
+            bucket.clear();
+        }
+        WheelTimeout<?> timeout;
+        while ((timeout = pending.poll()) != null) {
+            timeout.cancel(false);
+        }
+        cancelled.clear();
+    }
+
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleep = deadline - now();
+            if (sleep <= 0) {
+                return true;
+            }
+            LockSupport.parkNanos(this, sleep);
+            if (shutdown || Thread.interrupted()) {
+                return false;
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        WheelTimeout<?> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout<?> timeout = pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            // timers that have already expired are placed in the current bucket
+            long ticks = Math.max(expirationTick, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void dispatch(WheelTimeout<?> timeout) {
+        try {
+            workers.execute(timeout);
+        } catch (RejectedExecutionException e) {
+            timeout.cancel(false);
+        }
+    }
+
+    /**
+     * A bucket of timers expiring in the same tick of a revolution. Only accessed by the ticker thread.
+     */
+    private class Bucket {
+        private WheelTimeout<?> head;
+        private WheelTimeout<?> tail;
+
+        private void add(WheelTimeout<?> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void remove(WheelTimeout<?> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private void expire() {
+            WheelTimeout<?> timeout = head;
+            while (timeout != null) {
+                WheelTimeout<?> next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    dispatch(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void clear() {
+            WheelTimeout<?> timeout = head;
+            while (timeout != null) {
+                WheelTimeout<?> next = timeout.next;
+                remove(timeout);
+                timeout.cancel(false);
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * A scheduled timer. Periodic timers are re-queued after each successful execution.
+     */
+    private class WheelTimeout<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        // positive for fixed rate, negative for fixed delay and zero for one-shot timers
+        private final long period;
+        private volatile long deadline;
+
+        // bucket state, only accessed by the ticker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout<?> next;
+        private WheelTimeout<?> prev;
+
+        private WheelTimeout(Callable<V> callable, long deadline, long period) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - now(), TimeUnit.NANOSECONDS);
+        }
+
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean result = super.cancel(mayInterruptIfRunning);
+            if (result && !shutdown) {
+                // the ticker removes the timer from its bucket
+                cancelled.add(this);
+            }
+            return result;
+        }
+
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset()) {
+                deadline = period > 0 ? deadline + period : now() - period;
+                if (!shutdown) {
+                    pending.add(this);
+                }
+            }
+        }
+    }
+}
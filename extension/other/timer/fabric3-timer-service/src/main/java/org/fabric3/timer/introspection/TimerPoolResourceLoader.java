@@ -21,6 +21,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
 import org.fabric3.api.model.type.resource.timer.TimerPoolResource;
+import org.fabric3.api.model.type.resource.timer.TimerPoolType;
 import org.fabric3.spi.introspection.IntrospectionContext;
 import org.fabric3.spi.introspection.xml.AbstractValidatingTypeLoader;
 import org.fabric3.spi.introspection.xml.InvalidValue;
@@ -34,7 +35,7 @@ import org.oasisopen.sca.annotation.EagerInit;
 @EagerInit
 public class TimerPoolResourceLoader extends AbstractValidatingTypeLoader<TimerPoolResource> {
     public TimerPoolResourceLoader() {
-        addAttributes("name", "size");
+        addAttributes("name", "size", "type", "tickDuration", "ticksPerWheel");
     }
 
     public TimerPoolResource load(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -59,10 +60,53 @@ public class TimerPoolResourceLoader extends AbstractValidatingTypeLoader<TimerP
                 return new TimerPoolResource(name);
             }
         }
+        parseWheel(reader, resource, startLocation, context);
         validateAttributes(reader, context, resource);
 
         LoaderUtil.skipToEndElement(reader);
         return resource;
     }
 
+    private void parseWheel(XMLStreamReader reader, TimerPoolResource resource, Location startLocation, IntrospectionContext context) {
+        String type = reader.getAttributeValue(null, "type");
+        if (type != null) {
+            try {
+                resource.setType(TimerPoolType.valueOf(type.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                InvalidValue error = new InvalidValue("Invalid timer pool type: " + type, startLocation);
+                context.addError(error);
+            }
+        }
+        String tickDuration = reader.getAttributeValue(null, "tickDuration");
+        if (tickDuration != null) {
+            try {
+                long duration = Long.parseLong(tickDuration);
+                if (duration <= 0) {
+                    InvalidValue error = new InvalidValue("Tick duration must be greater than 0: " + tickDuration, startLocation);
+                    context.addError(error);
+                } else {
+                    resource.setTickDuration(duration);
+                }
+            } catch (NumberFormatException e) {
+                InvalidValue error = new InvalidValue("Invalid tick duration specified for timer pool", startLocation, e);
+                context.addError(error);
+            }
+        }
+        String ticksPerWheel = reader.getAttributeValue(null, "ticksPerWheel");
+        if (ticksPerWheel != null) {
+            try {
+                int ticks = Integer.parseInt(ticksPerWheel);
+                if (ticks <= 0) {
+                    InvalidValue error = new InvalidValue("Ticks per wheel must be greater than 0: " + ticksPerWheel, startLocation);
+                    context.addError(error);
+                } else {
+                    resource.setTicksPerWheel(ticks);
+                }
+            } catch (NumberFormatException e) {
+                InvalidValue error = new InvalidValue("Invalid ticks per wheel specified for timer pool", startLocation, e);
+                context.addError(error);
+            }
+        }
+    }
+
 }
\ No newline at end of file
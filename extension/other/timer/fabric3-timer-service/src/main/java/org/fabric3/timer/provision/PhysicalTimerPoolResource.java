@@ -16,6 +16,7 @@
  */
 package org.fabric3.timer.provision;
 
+import org.fabric3.api.model.type.resource.timer.TimerPoolType;
 import org.fabric3.spi.model.physical.PhysicalResource;
 
 /**
@@ -25,12 +26,22 @@ public class PhysicalTimerPoolResource extends PhysicalResource {
 
     private String name;
     private int coreSize;
+    private TimerPoolType type = TimerPoolType.EXECUTOR;
+    private long tickDuration;
+    private int ticksPerWheel;
 
     public PhysicalTimerPoolResource(String name, int coreSize) {
         this.name = name;
         this.coreSize = coreSize;
     }
 
+    public PhysicalTimerPoolResource(String name, int coreSize, TimerPoolType type, long tickDuration, int ticksPerWheel) {
+        this(name, coreSize);
+        this.type = type;
+        this.tickDuration = tickDuration;
+        this.ticksPerWheel = ticksPerWheel;
+    }
+
     public String getName() {
         return name;
     }
@@ -38,4 +49,16 @@ public class PhysicalTimerPoolResource extends PhysicalResource {
     public int getCoreSize() {
         return coreSize;
     }
-}
\ No newline at end of file
+
+    public TimerPoolType getType() {
+        return type;
+    }
+
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    public int getTicksPerWheel() {
+        return ticksPerWheel;
+    }
+}
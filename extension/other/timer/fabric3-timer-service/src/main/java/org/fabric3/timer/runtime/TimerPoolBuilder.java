@@ -16,6 +16,9 @@
  */
 package org.fabric3.timer.runtime;
 
+import java.util.concurrent.TimeUnit;
+
+import org.fabric3.api.model.type.resource.timer.TimerPoolType;
 import org.fabric3.spi.container.builder.ResourceBuilder;
 import org.fabric3.timer.provision.PhysicalTimerPoolResource;
 import org.fabric3.timer.spi.TimerService;
@@ -34,7 +37,11 @@ public class TimerPoolBuilder implements ResourceBuilder<PhysicalTimerPoolResour
     }
 
     public void build(PhysicalTimerPoolResource resource) {
-        service.allocate(resource.getName(), resource.getCoreSize());
+        if (TimerPoolType.WHEEL == resource.getType()) {
+            service.allocateWheel(resource.getName(), resource.getCoreSize(), resource.getTickDuration(), TimeUnit.MILLISECONDS, resource.getTicksPerWheel());
+        } else {
+            service.allocate(resource.getName(), resource.getCoreSize());
+        }
     }
 
     public void remove(PhysicalTimerPoolResource resource) {
@@ -0,0 +1,115 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.timer.impl;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import junit.framework.TestCase;
+import org.fabric3.timer.spi.CronExpression;
+
+/**
+ *
+ */
+public class CronTaskTestCase extends TestCase {
+    private static final ZoneId UTC = ZoneOffset.UTC;
+
+    private MutableClock clock = new MutableClock();
+    private CountingRunnable runnable = new CountingRunnable();
+
+    public void testNextInterval() throws Exception {
+        clock.set(ZonedDateTime.of(2026, 10, 19, 10, 0, 0, 0, UTC));
+        CronTask task = new CronTask(runnable, CronExpression.parse("0 0/5 * * * *"), clock, -1);
+
+        assertEquals(5 * 60 * 1000, task.nextInterval());
+
+        // the next interval is calculated from the scheduled time, not the completion time
+        clock.set(ZonedDateTime.of(2026, 10, 19, 10, 5, 2, 0, UTC));
+        task.run();
+        assertEquals(1, runnable.count);
+        assertEquals(5 * 60 * 1000 - 2000, task.nextInterval());
+    }
+
+    public void testMisfireFireOnce() throws Exception {
+        clock.set(ZonedDateTime.of(2026, 10, 19, 10, 0, 0, 0, UTC));
+        CronTask task = new CronTask(runnable, CronExpression.parse("0 * * * * *"), clock, -1);
+        task.nextInterval();
+
+        // the execution overran several fire times
+        clock.set(ZonedDateTime.of(2026, 10, 19, 10, 3, 30, 0, UTC));
+        task.run();
+        assertEquals(1, runnable.count);
+        // the missed fire times are coalesced into an immediate execution
+        assertEquals(0, task.nextInterval());
+        task.run();
+        assertEquals(2, runnable.count);
+        assertEquals(30 * 1000, task.nextInterval());
+    }
+
+    public void testMisfireSkip() throws Exception {
+        clock.set(ZonedDateTime.of(2026, 10, 19, 10, 0, 0, 0, UTC));
+        CronTask task = new CronTask(runnable, CronExpression.parse("0 * * * * *"), clock, 1000);
+        task.nextInterval();
+
+        // started too late
+        clock.set(ZonedDateTime.of(2026, 10, 19, 10, 1, 5, 0, UTC));
+        task.run();
+        assertEquals(0, runnable.count);
+        assertEquals(55 * 1000, task.nextInterval());
+
+        // started within the threshold
+        clock.set(ZonedDateTime.of(2026, 10, 19, 10, 2, 0, 500000000, UTC));
+        task.run();
+        assertEquals(1, runnable.count);
+
+        // the missed fire times are skipped
+        clock.set(ZonedDateTime.of(2026, 10, 19, 10, 5, 30, 0, UTC));
+        assertEquals(30 * 1000, task.nextInterval());
+        assertEquals(ZonedDateTime.of(2026, 10, 19, 10, 6, 0, 0, UTC), task.getScheduled());
+    }
+
+    private class CountingRunnable implements Runnable {
+        private int count;
+
+        public void run() {
+            count++;
+        }
+    }
+
+    private class MutableClock extends Clock {
+        private Instant instant;
+
+        public void set(ZonedDateTime time) {
+            instant = time.toInstant();
+        }
+
+        public ZoneId getZone() {
+            return UTC;
+        }
+
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -51,6 +51,16 @@ public class ExecutorTimerServiceTestCase extends TestCase {
         assertEquals(3, task.getCounter());
     }
 
+    public void testWheelRecurringTask() throws Exception {
+        timerService.allocateWheel("wheel", 2, 5, TimeUnit.MILLISECONDS, 64);
+        CountDownLatch latch = new CountDownLatch(4);
+        IntervalTask task = new IntervalTask(latch);
+        timerService.scheduleRecurring("wheel", task);
+        assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+        assertEquals(3, task.getCounter());
+        timerService.deallocate("wheel");
+    }
+
     public void testRecurringTaskEnds() throws Exception {
         timerService.allocate("test", 10);
         CountDownLatch latch = new CountDownLatch(5);
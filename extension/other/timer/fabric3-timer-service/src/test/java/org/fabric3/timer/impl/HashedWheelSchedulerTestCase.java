@@ -0,0 +1,107 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.timer.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class HashedWheelSchedulerTestCase extends TestCase {
+    private ExecutorService workers;
+    private HashedWheelScheduler scheduler;
+
+    public void testSchedule() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        scheduler.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    public void testScheduleCallable() throws Exception {
+        ScheduledFuture<String> future = scheduler.schedule(() -> "test", 10, TimeUnit.MILLISECONDS);
+        assertEquals("test", future.get(1000, TimeUnit.MILLISECONDS));
+    }
+
+    public void testMultipleRevolutions() throws Exception {
+        // the wheel has 8 buckets of 5ms so a 100ms delay requires more than one revolution
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        scheduler.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    public void testCancel() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler.schedule(counter::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        assertTrue(future.cancel(false));
+        Thread.sleep(150);
+        assertEquals(0, counter.get());
+        assertTrue(future.isCancelled());
+    }
+
+    public void testFixedRate() throws Exception {
+        CountDownLatch latch = new CountDownLatch(5);
+        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+        assertTrue(future.cancel(false));
+    }
+
+    public void testFixedDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        ScheduledFuture<?> future = scheduler.scheduleWithFixedDelay(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+        assertTrue(future.cancel(false));
+    }
+
+    public void testManyTimers() throws Exception {
+        int count = 10000;
+        CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            scheduler.schedule(latch::countDown, i % 100, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+    }
+
+    public void testShutdown() throws Exception {
+        ScheduledFuture<?> future = scheduler.schedule(() -> {
+        }, 10, TimeUnit.SECONDS);
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(1000, TimeUnit.MILLISECONDS));
+        assertTrue(future.isCancelled());
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        workers = Executors.newFixedThreadPool(2);
+        scheduler = new HashedWheelScheduler(5, TimeUnit.MILLISECONDS, 8, workers, Executors.defaultThreadFactory());
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        scheduler.shutdownNow();
+    }
+}
@@ -22,6 +22,7 @@ import java.io.ByteArrayInputStream;
 
 import junit.framework.TestCase;
 import org.fabric3.api.model.type.resource.timer.TimerPoolResource;
+import org.fabric3.api.model.type.resource.timer.TimerPoolType;
 import org.fabric3.spi.introspection.DefaultIntrospectionContext;
 import org.fabric3.spi.introspection.xml.MissingAttribute;
 
@@ -32,6 +33,7 @@ public class TimerPoolResourceLoaderTestCase extends TestCase {
 
     private static final String XML = "<timer.pool name='test' size='5'/>";
     private static final String XML_MISSING_NAME = "<timer.pool size='5'/>";
+    private static final String XML_WHEEL = "<timer.pool name='test' size='5' type='wheel' tickDuration='20' ticksPerWheel='1024'/>";
     private static final String XML_DEFAULT_SIZE = "<timer.pool name='test'/>";
 
     private TimerPoolResourceLoader loader = new TimerPoolResourceLoader();
@@ -47,6 +49,19 @@ public class TimerPoolResourceLoaderTestCase extends TestCase {
         assertEquals(5, resource.getCoreSize());
     }
 
+    public void testParseWheel() throws Exception {
+        ByteArrayInputStream stream = new ByteArrayInputStream(XML_WHEEL.getBytes());
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(stream);
+        reader.next();
+        DefaultIntrospectionContext context = new DefaultIntrospectionContext();
+        TimerPoolResource resource = loader.load(reader, context);
+        assertFalse(context.hasErrors());
+        assertEquals(TimerPoolType.WHEEL, resource.getType());
+        assertEquals(5, resource.getCoreSize());
+        assertEquals(20, resource.getTickDuration());
+        assertEquals(1024, resource.getTicksPerWheel());
+    }
+
     public void testDefaultSize() throws Exception {
         ByteArrayInputStream stream = new ByteArrayInputStream(XML_DEFAULT_SIZE.getBytes());
         XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(stream);
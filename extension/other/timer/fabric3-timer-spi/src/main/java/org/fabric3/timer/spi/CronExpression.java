@@ -0,0 +1,225 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.timer.spi;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * A parsed cron expression. Expressions contain six space-separated fields:
+ * <pre>
+ * second minute hour day-of-month month day-of-week
+ * </pre>
+ * The seconds field may be omitted, in which case it defaults to 0. Fields may contain <code>*</code>, single values, ranges (<code>1-5</code>), lists
+ * (<code>1,15,30</code>) and steps (<code>0/15</code> or <code>*&#47;15</code>). Months and days of the week may also be specified using three-letter
+ * English names (<code>JAN</code>, <code>MON-FRI</code>). Sunday is 0 or 7. The day-of-month and day-of-week fields may contain <code>?</code> as a synonym
+ * for <code>*</code>. If both day fields are restricted, a date matches if either field matches.
+ *
+ * Expressions are parsed once into bit sets so that calculating the next fire time does not require re-parsing or iterating second by second.
+ */
+public class CronExpression implements Serializable {
+    private static final long serialVersionUID = -2585012385617469211L;
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAYS = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    // the number of years to search before determining an expression will never fire, e.g. 0 0 0 30 FEB ?
+    private static final int MAX_YEARS = 8;
+
+    private String expression;
+    private BitSet seconds;
+    private BitSet minutes;
+    private BitSet hours;
+    private BitSet daysOfMonth;
+    private BitSet months;
+    private BitSet daysOfWeek;
+    private boolean daysOfMonthRestricted;
+    private boolean daysOfWeekRestricted;
+
+    /**
+     * Parses a cron expression.
+     *
+     * @param expression the expression
+     * @return the parsed expression
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static CronExpression parse(String expression) throws IllegalArgumentException {
+        return new CronExpression(expression);
+    }
+
+    private CronExpression(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Cron expression cannot be null");
+        }
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length == 5) {
+            String[] expanded = new String[6];
+            expanded[0] = "0";
+            System.arraycopy(fields, 0, expanded, 1, 5);
+            fields = expanded;
+        } else if (fields.length != 6) {
+            throw new IllegalArgumentException("Cron expression must contain 5 or 6 fields: " + expression);
+        }
+        this.expression = expression;
+        seconds = parseField(fields[0], 0, 59, null, expression);
+        minutes = parseField(fields[1], 0, 59, null, expression);
+        hours = parseField(fields[2], 0, 23, null, expression);
+        daysOfMonthRestricted = isRestricted(fields[3]);
+        daysOfMonth = parseField(fields[3], 1, 31, null, expression);
+        months = parseField(fields[4], 1, 12, MONTHS, expression);
+        daysOfWeekRestricted = isRestricted(fields[5]);
+        daysOfWeek = parseField(fields[5], 0, 7, DAYS, expression);
+        if (daysOfWeek.get(7)) {
+            // 7 is an alias for Sunday
+            daysOfWeek.set(0);
+            daysOfWeek.clear(7);
+        }
+    }
+
+    /**
+     * Returns the first time matching the expression that is strictly after the given time. The returned time is in the same zone as the given time. Local
+     * times skipped by a daylight saving transition fire at the equivalent time after the transition; local times repeated by a transition fire once.
+     *
+     * @param after the time to start from
+     * @return the next matching time or null if the expression will never match
+     */
+    public ZonedDateTime next(ZonedDateTime after) {
+        LocalDateTime time = after.toLocalDateTime().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        int maxYear = time.getYear() + MAX_YEARS;
+        while (time.getYear() <= maxYear) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).plusMonths(1);
+                continue;
+            }
+            if (!matchesDay(time)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+                continue;
+            }
+            int hour = hours.nextSetBit(time.getHour());
+            if (hour < 0) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+                continue;
+            } else if (hour != time.getHour()) {
+                time = time.truncatedTo(ChronoUnit.DAYS).withHour(hour);
+            }
+            int minute = minutes.nextSetBit(time.getMinute());
+            if (minute < 0) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                continue;
+            } else if (minute != time.getMinute()) {
+                time = time.truncatedTo(ChronoUnit.HOURS).withMinute(minute);
+            }
+            int second = seconds.nextSetBit(time.getSecond());
+            if (second < 0) {
+                time = time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+                continue;
+            } else if (second != time.getSecond()) {
+                time = time.withSecond(second);
+            }
+            ZonedDateTime next = ZonedDateTime.ofLocal(time, after.getZone(), null);
+            if (next.isAfter(after)) {
+                return next;
+            }
+            // the local time was repeated by a daylight saving transition and has already fired
+            time = time.plusSeconds(1);
+        }
+        return null;
+    }
+
+    public String toString() {
+        return expression;
+    }
+
+    private boolean matchesDay(LocalDateTime time) {
+        boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeek = daysOfWeek.get(toCronDay(time.getDayOfWeek()));
+        if (daysOfMonthRestricted && daysOfWeekRestricted) {
+            return dayOfMonth || dayOfWeek;
+        }
+        return dayOfMonth && dayOfWeek;
+    }
+
+    private int toCronDay(DayOfWeek day) {
+        return day.getValue() % 7;
+    }
+
+    private boolean isRestricted(String field) {
+        return !"*".equals(field) && !"?".equals(field);
+    }
+
+    private static BitSet parseField(String field, int min, int max, String[] names, String expression) {
+        BitSet bits = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            if (part.isEmpty()) {
+                throw new IllegalArgumentException("Empty value in cron expression: " + expression);
+            }
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseValue(part.substring(slash + 1), 1, Integer.MAX_VALUE, null, expression);
+                part = part.substring(0, slash);
+            }
+            int start;
+            int end;
+            if ("*".equals(part) || "?".equals(part)) {
+                start = min;
+                end = max;
+            } else {
+                int dash = part.indexOf('-');
+                if (dash > 0) {
+                    start = parseValue(part.substring(0, dash), min, max, names, expression);
+                    end = parseValue(part.substring(dash + 1), min, max, names, expression);
+                    if (end < start) {
+                        throw new IllegalArgumentException("Invalid range " + part + " in cron expression: " + expression);
+                    }
+                } else {
+                    start = parseValue(part, min, max, names, expression);
+                    // a step applied to a single value repeats until the end of the field range
+                    end = slash >= 0 ? max : start;
+                }
+            }
+            for (int i = start; i <= end; i += step) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static int parseValue(String value, int min, int max, String[] names, String expression) {
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equalsIgnoreCase(value)) {
+                    // month names are one-based, day names are zero-based
+                    return min == 1 ? i + 1 : i;
+                }
+            }
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException("Value " + value + " out of range in cron expression: " + expression);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value " + value + " in cron expression: " + expression);
+        }
+    }
+}
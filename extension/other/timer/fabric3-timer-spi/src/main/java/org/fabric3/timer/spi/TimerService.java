@@ -18,6 +18,7 @@
  */
 package org.fabric3.timer.spi;
 
+import java.time.ZoneId;
 import java.util.concurrent.Callable;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
@@ -40,6 +41,19 @@ public interface TimerService {
      */
     void allocate(String poolName, int coreSize) throws Fabric3Exception;
 
+    /**
+     * Allocates a timer pool backed by a hashed timing wheel. Scheduling and cancelling timers are constant time operations, at the cost of timers firing
+     * with a precision of one tick. Expired timers are executed by a pool of worker threads.
+     *
+     * @param poolName      the pool name
+     * @param workers       the number of worker threads
+     * @param tickDuration  the duration of a tick
+     * @param unit          the tick duration unit
+     * @param ticksPerWheel the number of buckets in the wheel
+     * @throws Fabric3Exception if there is an error allocating the pool
+     */
+    void allocateWheel(String poolName, int workers, long tickDuration, TimeUnit unit, int ticksPerWheel) throws Fabric3Exception;
+
     /**
      * Shuts down and de-allocates a timer thread pool.
      *
@@ -125,5 +139,23 @@ public interface TimerService {
      */
     ScheduledFuture<?> scheduleWithFixedDelay(String poolName, Runnable command, long initialDelay, long delay, TimeUnit unit);
 
+    /**
+     * Creates and executes an action at the times matched by a cron expression. The next fire time is calculated when the action is scheduled and after each
+     * execution completes, so the action is not woken up between fire times.
+     *
+     * If a fire time is missed, for example because a previous execution overran, the action is either executed once as soon as possible or, if the
+     * execution starts later than the misfire threshold, skipped until the next fire time.
+     *
+     * @param poolName         the timer thread pool to schedule the task with
+     * @param command          the task to execute
+     * @param expression       the cron expression
+     * @param zone             the time zone the expression is evaluated in
+     * @param misfireThreshold the time in milliseconds an execution may start late before it is skipped or -1 to always execute missed fire times once
+     * @return a ScheduledFuture representing pending completion of the task and whose <tt>get()</tt> method will return <tt>null</tt> upon
+     *         completion
+     * @throws RejectedExecutionException if the task cannot be scheduled for execution
+     * @throws NullPointerException       if command is null
+     */
+    ScheduledFuture<?> scheduleCron(String poolName, Runnable command, CronExpression expression, ZoneId zone, long misfireThreshold);
 
 }
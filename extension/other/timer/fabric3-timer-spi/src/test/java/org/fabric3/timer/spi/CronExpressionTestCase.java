@@ -0,0 +1,99 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.timer.spi;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class CronExpressionTestCase extends TestCase {
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    public void testWeekdays() throws Exception {
+        CronExpression expression = CronExpression.parse("0 15 2 * * MON-FRI");
+        // Friday after the fire time
+        ZonedDateTime next = expression.next(ZonedDateTime.of(2026, 10, 16, 3, 0, 0, 0, BERLIN));
+        assertEquals(ZonedDateTime.of(2026, 10, 19, 2, 15, 0, 0, BERLIN), next);
+        next = expression.next(next);
+        assertEquals(ZonedDateTime.of(2026, 10, 20, 2, 15, 0, 0, BERLIN), next);
+    }
+
+    public void testSteps() throws Exception {
+        CronExpression expression = CronExpression.parse("*/15 * * * * *");
+        ZonedDateTime next = expression.next(ZonedDateTime.of(2026, 10, 16, 10, 0, 7, 500, BERLIN));
+        assertEquals(ZonedDateTime.of(2026, 10, 16, 10, 0, 15, 0, BERLIN), next);
+        next = expression.next(ZonedDateTime.of(2026, 10, 16, 10, 59, 45, 0, BERLIN));
+        assertEquals(ZonedDateTime.of(2026, 10, 16, 11, 0, 0, 0, BERLIN), next);
+    }
+
+    public void testFiveFields() throws Exception {
+        CronExpression expression = CronExpression.parse("30 8 1 * *");
+        ZonedDateTime next = expression.next(ZonedDateTime.of(2026, 12, 1, 9, 0, 0, 0, BERLIN));
+        assertEquals(ZonedDateTime.of(2027, 1, 1, 8, 30, 0, 0, BERLIN), next);
+    }
+
+    public void testDayOfMonthOrDayOfWeek() throws Exception {
+        CronExpression expression = CronExpression.parse("0 0 0 13 * FRI");
+        ZonedDateTime next = expression.next(ZonedDateTime.of(2026, 10, 1, 0, 0, 0, 0, BERLIN));
+        assertEquals(ZonedDateTime.of(2026, 10, 2, 0, 0, 0, 0, BERLIN), next);
+    }
+
+    public void testSundayAlias() throws Exception {
+        CronExpression expression = CronExpression.parse("0 0 12 ? * 7");
+        ZonedDateTime next = expression.next(ZonedDateTime.of(2026, 10, 19, 0, 0, 0, 0, BERLIN));
+        assertEquals(ZonedDateTime.of(2026, 10, 25, 12, 0, 0, 0, BERLIN), next);
+    }
+
+    public void testDaylightSavingGap() throws Exception {
+        CronExpression expression = CronExpression.parse("0 30 2 * * *");
+        // 02:30 does not exist on 2026-03-29 in Berlin
+        ZonedDateTime next = expression.next(ZonedDateTime.of(2026, 3, 29, 1, 0, 0, 0, BERLIN));
+        assertEquals(ZonedDateTime.of(2026, 3, 29, 3, 30, 0, 0, BERLIN), next);
+        next = expression.next(next);
+        assertEquals(ZonedDateTime.of(2026, 3, 30, 2, 30, 0, 0, BERLIN), next);
+    }
+
+    public void testDaylightSavingOverlap() throws Exception {
+        CronExpression expression = CronExpression.parse("0 30 2 * * *");
+        // 02:30 occurs twice on 2026-10-25 in Berlin
+        ZonedDateTime next = expression.next(ZonedDateTime.of(2026, 10, 25, 2, 0, 0, 0, BERLIN));
+        assertEquals(ZonedDateTime.of(2026, 10, 25, 2, 30, 0, 0, BERLIN).withEarlierOffsetAtOverlap(), next);
+        next = expression.next(next);
+        assertEquals(ZonedDateTime.of(2026, 10, 26, 2, 30, 0, 0, BERLIN), next);
+    }
+
+    public void testNeverFires() throws Exception {
+        CronExpression expression = CronExpression.parse("0 0 0 30 FEB ?");
+        assertNull(expression.next(ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, BERLIN)));
+    }
+
+    public void testInvalidExpressions() throws Exception {
+        String[] invalid = {"0 60 * * * *", "* * *", "0 0 0 ? XYZ *", "0 0 5-1 * * *", "0 0 0 1,,2 * *", "0 0 0 * * MON/0"};
+        for (String expression : invalid) {
+            try {
+                CronExpression.parse(expression);
+                fail("Expected invalid expression: " + expression);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.api;
+
+/**
+ * An event that carries a partitioning key.
+ *
+ * Channels that support partitioned consumer groups use the key to assign the event to a group member. Events with the same key are delivered in the order
+ * they were published to the same member. Events that do not implement this interface are distributed round-robin.
+ */
+public interface KeyedEvent {
+
+    /**
+     * Returns the partitioning key.
+     *
+     * @return the key
+     */
+    Object getKey();
+
+}
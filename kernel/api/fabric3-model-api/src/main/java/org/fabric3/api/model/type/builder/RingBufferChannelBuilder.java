@@ -84,6 +84,12 @@ public class RingBufferChannelBuilder extends AbstractBuilder {
         return this;
     }
 
+    public RingBufferChannelBuilder partitions(int partitions) {
+        checkState();
+        data.setPartitions(partitions);
+        return this;
+    }
+
     public RingBufferChannelBuilder yieldTimeout(long nanos) {
         checkState();
         data.setYieldTimeoutNanos(nanos);
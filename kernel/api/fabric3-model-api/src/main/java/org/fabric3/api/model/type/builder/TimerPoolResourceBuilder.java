@@ -17,6 +17,7 @@
 package org.fabric3.api.model.type.builder;
 
 import org.fabric3.api.model.type.resource.timer.TimerPoolResource;
+import org.fabric3.api.model.type.resource.timer.TimerPoolType;
 
 /**
  * Creates {@link TimerPoolResource}s.
@@ -42,6 +43,21 @@ public class TimerPoolResourceBuilder extends AbstractBuilder {
         return new TimerPoolResourceBuilder(name, coreSize);
     }
 
+    public TimerPoolResourceBuilder type(TimerPoolType type) {
+        resource.setType(type);
+        return this;
+    }
+
+    public TimerPoolResourceBuilder tickDuration(long milliseconds) {
+        resource.setTickDuration(milliseconds);
+        return this;
+    }
+
+    public TimerPoolResourceBuilder ticksPerWheel(int ticks) {
+        resource.setTicksPerWheel(ticks);
+        return this;
+    }
+
     public TimerPoolResource build() {
         return resource;
     }
@@ -37,6 +37,7 @@ public class RingBufferData implements Serializable {
     private long spinTimeoutNanos = 1000;
     private long yieldTimeoutNanos = 1000;
     private PhasedBlockingType phasedBlockingType = PhasedBlockingType.LOCK;
+    private int partitions;
 
     private WaitStrategyType waitStrategy = WaitStrategyType.BLOCKING;
 
@@ -80,6 +81,24 @@ public class RingBufferData implements Serializable {
         this.phasedBlockingType = phasedBlockingType;
     }
 
+    /**
+     * Returns the number of processors serving each consumer group. If zero, the number of group members is used.
+     *
+     * @return the number of processors serving each consumer group
+     */
+    public int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Sets the number of processors serving each consumer group. If zero, the number of group members is used.
+     *
+     * @param partitions the number of processors serving each consumer group
+     */
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
     public WaitStrategyType getWaitStrategy() {
         return waitStrategy;
     }
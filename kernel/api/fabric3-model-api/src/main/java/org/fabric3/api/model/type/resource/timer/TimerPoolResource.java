@@ -24,8 +24,14 @@ import org.fabric3.api.model.type.component.Resource;
 public class TimerPoolResource extends Resource {
     private static final long serialVersionUID = -4977101036434115885L;
 
+    public static final long DEFAULT_TICK_DURATION = 10;
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
     private String name;
     private int coreSize = 2;
+    private TimerPoolType type = TimerPoolType.EXECUTOR;
+    private long tickDuration = DEFAULT_TICK_DURATION;
+    private int ticksPerWheel = DEFAULT_TICKS_PER_WHEEL;
 
     /**
      * Constructor.
@@ -54,4 +60,38 @@ public class TimerPoolResource extends Resource {
     public int getCoreSize() {
         return coreSize;
     }
-}
\ No newline at end of file
+
+    public TimerPoolType getType() {
+        return type;
+    }
+
+    public void setType(TimerPoolType type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the duration of a {@link TimerPoolType#WHEEL} tick in milliseconds.
+     *
+     * @return the tick duration
+     */
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    public void setTickDuration(long tickDuration) {
+        this.tickDuration = tickDuration;
+    }
+
+    /**
+     * Returns the number of buckets in a {@link TimerPoolType#WHEEL} pool.
+     *
+     * @return the number of buckets
+     */
+    public int getTicksPerWheel() {
+        return ticksPerWheel;
+    }
+
+    public void setTicksPerWheel(int ticksPerWheel) {
+        this.ticksPerWheel = ticksPerWheel;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.api.model.type.resource.timer;
+
+/**
+ * Defines timer pool implementations.
+ */
+public enum TimerPoolType {
+
+    /**
+     * A pool backed by a scheduled thread pool executor. Suitable for small numbers of long-lived timers.
+     */
+    EXECUTOR,
+
+    /**
+     * A pool backed by a hashed timing wheel that hands expired timers to a worker pool. Scheduling and cancellation are constant time, which makes the pool
+     * suitable for large numbers of short-lived timers such as timeouts and retries. Timers fire with a precision of one tick.
+     */
+    WHEEL
+}
@@ -41,6 +41,15 @@ public interface ChannelConnection {
      */
     public int getSequence();
 
+    /**
+     * Returns the consumer group this connection belongs to or null if it is not a member of a group.
+     *
+     * @return the group or null
+     */
+    default String getGroup() {
+        return null;
+    }
+
     /**
      * Returns the connection event stream.
      *
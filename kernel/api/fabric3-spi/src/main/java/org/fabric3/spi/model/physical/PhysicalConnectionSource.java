@@ -29,6 +29,7 @@ public class PhysicalConnectionSource extends PhysicalAttachPoint {
     public static final int NO_SEQUENCE = 0;
 
     private int sequence = NO_SEQUENCE;
+    private String group;
     private boolean directConnection;
     private Class<?> serviceInterface;
     private String topic;
@@ -70,6 +71,24 @@ public class PhysicalConnectionSource extends PhysicalAttachPoint {
         this.sequence = sequence;
     }
 
+    /**
+     * Returns the consumer group the connection belongs to or null if it is not a member of a group.
+     *
+     * @return the group or null
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Sets the consumer group the connection belongs to. Channel types that support partitioning may distribute events among members of the same group.
+     *
+     * @param group the group
+     */
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
     /**
      * Sets the connection as a direct connection, i.e. the client connects using the underlying binding or channel dispatcher API.
      *
@@ -35,5 +35,11 @@ public interface PhysicalDataTypes {
      */
     DataType JAXB = new JavaType(String.class, "JAXB");
 
+    /**
+     * Denotes a JAXB type serialized as UTF-8 encoded XML bytes. Transformers for this type stream directly between the bytes and Java objects without
+     * intermediate String or DOM representations.
+     */
+    DataType JAXB_STREAM = new JavaType(byte[].class, "JAXB");
+
 
 }
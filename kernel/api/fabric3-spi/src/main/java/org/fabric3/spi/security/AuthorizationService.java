@@ -45,6 +45,18 @@ public interface AuthorizationService {
      */
     void checkRoles(SecuritySubject subject, Collection<String> roles) throws AuthorizationException;
 
+    /**
+     * Determines if the subject has the set of roles. Callers that check the same roles repeatedly should precompute the set and use this variant.
+     *
+     * @param subject the subject
+     * @param roles   the roles
+     * @throws AuthorizationException if the user does not have the roles or there is a general error performing authorization. If the user does not
+     *                                have a role, NotAuthorizedException will be thrown.
+     */
+    default void checkRoles(SecuritySubject subject, RoleSet roles) throws AuthorizationException {
+        checkRoles(subject, roles.getNames());
+    }
+
     /**
      * Determines if the subject has a permission.
      *
@@ -18,8 +18,10 @@ package org.fabric3.spi.security;
 
 import javax.security.auth.Subject;
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.fabric3.api.Role;
@@ -32,12 +34,20 @@ public class BasicSecuritySubject implements SecuritySubject, Principal {
     private String username;
     private String password;
     private Set<Role> roles;
+    private RoleSet roleSet;
+    private String[] roleNames;
     private Subject jaasSubject;
 
     public BasicSecuritySubject(String username, String password, Set<Role> roles) {
         this.username = username;
         this.password = password;
         this.roles = roles;
+        List<String> names = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            names.add(role.getName());
+        }
+        roleNames = names.toArray(new String[names.size()]);
+        roleSet = RoleSet.of(names);
         Set<Principal> principals = new HashSet<Principal>(roles);
         principals.add(this);
         jaasSubject = new Subject(true, principals, Collections.emptySet(), Collections.emptySet());
@@ -56,9 +66,26 @@ public class BasicSecuritySubject implements SecuritySubject, Principal {
         return roles;
     }
 
-    @SuppressWarnings({"SuspiciousMethodCalls"})
+    /**
+     * Returns the subject roles as a set that supports constant-time membership checks.
+     *
+     * @return the role set
+     */
+    public RoleSet getRoleSet() {
+        return roleSet;
+    }
+
+    /**
+     * Returns the subject role names.
+     *
+     * @return the role names
+     */
+    public String[] getRoleNames() {
+        return roleNames.clone();
+    }
+
     public boolean hasRole(String name) {
-        return roles.contains(new Role(name));
+        return roleSet.contains(name);
     }
 
     public <T> T getDelegate(Class<T> type) {
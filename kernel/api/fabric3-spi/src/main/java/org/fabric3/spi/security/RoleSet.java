@@ -0,0 +1,110 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.security;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable set of role names encoded as a bitset. Role names are assigned a runtime-wide index the first time they are encountered so that
+ * membership checks between sets are performed as word-wise intersections instead of string comparisons.
+ */
+public final class RoleSet {
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    public static final RoleSet EMPTY = new RoleSet(Collections.emptyList());
+
+    private final List<String> names;
+    private final long[] words;
+
+    /**
+     * Creates a role set for the given role names.
+     *
+     * @param names the role names
+     * @return the role set
+     */
+    public static RoleSet of(Collection<String> names) {
+        return names.isEmpty() ? EMPTY : new RoleSet(names);
+    }
+
+    private RoleSet(Collection<String> names) {
+        this.names = Collections.unmodifiableList(Arrays.asList(names.toArray(new String[names.size()])));
+        int max = -1;
+        int[] indexes = new int[names.size()];
+        int i = 0;
+        for (String name : names) {
+            int index = INDEXES.computeIfAbsent(name, k -> COUNTER.getAndIncrement());
+            indexes[i++] = index;
+            max = Math.max(max, index);
+        }
+        words = new long[(max >> 6) + 1];
+        for (int index : indexes) {
+            words[index >> 6] |= 1L << index;
+        }
+    }
+
+    /**
+     * Returns true if this set contains the role.
+     *
+     * @param name the role name
+     * @return true if this set contains the role
+     */
+    public boolean contains(String name) {
+        Integer index = INDEXES.get(name);
+        if (index == null) {
+            return false;
+        }
+        int word = index >> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns true if this set contains all roles in the given set.
+     *
+     * @param roles the roles
+     * @return true if this set contains all roles in the given set
+     */
+    public boolean containsAll(RoleSet roles) {
+        long[] other = roles.words;
+        for (int i = 0; i < other.length; i++) {
+            long word = i < words.length ? words[i] : 0;
+            if ((other[i] & ~word) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the role names contained in this set.
+     *
+     * @return the role names
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    public String toString() {
+        return names.toString();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.security;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class RoleSetTestCase extends TestCase {
+
+    public void testContainsAll() throws Exception {
+        RoleSet subject = RoleSet.of(Arrays.asList("admin", "user", "auditor"));
+        assertTrue(subject.containsAll(RoleSet.of(Arrays.asList("admin", "user"))));
+        assertTrue(subject.containsAll(RoleSet.EMPTY));
+        assertFalse(subject.containsAll(RoleSet.of(Arrays.asList("admin", "operator"))));
+        assertFalse(RoleSet.EMPTY.containsAll(RoleSet.of(Collections.singletonList("admin"))));
+    }
+
+    public void testContains() throws Exception {
+        RoleSet subject = RoleSet.of(Arrays.asList("admin", "user"));
+        assertTrue(subject.contains("admin"));
+        assertFalse(subject.contains("operator"));
+        assertFalse(subject.contains("unknown-role"));
+    }
+
+    public void testLargeIndexes() throws Exception {
+        // force role indexes beyond the first word
+        for (int i = 0; i < 100; i++) {
+            RoleSet.of(Collections.singletonList("generated" + i));
+        }
+        RoleSet required = RoleSet.of(Arrays.asList("generated99", "user"));
+        RoleSet subject = RoleSet.of(Arrays.asList("user", "generated99", "generated1"));
+        assertTrue(subject.containsAll(required));
+        assertFalse(required.containsAll(subject));
+        assertTrue(subject.contains("generated1"));
+    }
+}
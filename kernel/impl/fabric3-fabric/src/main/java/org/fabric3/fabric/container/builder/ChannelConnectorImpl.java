@@ -177,7 +177,7 @@ public class ChannelConnectorImpl implements ChannelConnector {
             EventStream stream = new EventStreamImpl(eventType);
             addTypeTransformer(physicalConnection, stream, loader);
             int sequence = source.getSequence();
-            return new ChannelConnectionImpl(stream, sequence);
+            return new ChannelConnectionImpl(stream, sequence, source.getGroup());
         }
     }
 
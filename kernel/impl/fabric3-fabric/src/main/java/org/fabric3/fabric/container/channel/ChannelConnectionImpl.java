@@ -29,6 +29,7 @@ import org.fabric3.spi.util.Closeable;
  */
 public class ChannelConnectionImpl implements ChannelConnection {
     private int sequence;
+    private String group;
     private EventStream stream;
     private Closeable closeable;
 
@@ -39,6 +40,11 @@ public class ChannelConnectionImpl implements ChannelConnection {
         this.sequence = sequence;
     }
 
+    public ChannelConnectionImpl(EventStream stream, int sequence, String group) {
+        this(stream, sequence);
+        this.group = group;
+    }
+
     public ChannelConnectionImpl(Supplier<?> directConnection, int sequence) {
         this.directConnection = Optional.of(directConnection);
         this.sequence = sequence;
@@ -48,6 +54,10 @@ public class ChannelConnectionImpl implements ChannelConnection {
         return sequence;
     }
 
+    public String getGroup() {
+        return group;
+    }
+
     public EventStream getEventStream() {
         return stream;
     }
@@ -16,6 +16,7 @@
  */
 package org.fabric3.fabric.container.wire;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -23,6 +24,7 @@ import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.spi.container.wire.Interceptor;
 import org.fabric3.spi.container.wire.TransformerInterceptorFactory;
+import org.fabric3.spi.model.physical.PhysicalDataTypes;
 import org.fabric3.spi.model.physical.PhysicalOperation;
 import org.fabric3.spi.transform.Transformer;
 import org.fabric3.spi.transform.TransformerRegistry;
@@ -47,12 +49,13 @@ public class TransformerInterceptorFactoryImpl implements TransformerInterceptor
         List<Class<?>> targetTypes = definition.getTargetParameterTypes();
         List<Class<?>> sourceTypes = definition.getSourceParameterTypes();
         // Find a transformer that can convert from a type supported by the source component or binding to one supported by the target component
-        // or binding. A search is performed by iterating the supported source and target types in order of preference.
+        // or binding. A search is performed by iterating the supported source and target types in order of preference. Streaming XML types are
+        // tried first since they avoid intermediate String and DOM representations.
         Transformer<Object, Object> inTransformer = null;
         DataType selectedSource = null;
         DataType selectedTarget = null;
-        for (DataType source : sources) {
-            for (DataType target : targets) {
+        for (DataType source : preferStreaming(sources)) {
+            for (DataType target : preferStreaming(targets)) {
                 inTransformer = (Transformer<Object, Object>) registry.getTransformer(source, target, sourceTypes, targetTypes);
                 if (inTransformer != null) {
                     selectedSource = source;
@@ -82,4 +85,34 @@ public class TransformerInterceptorFactoryImpl implements TransformerInterceptor
         return new TransformerInterceptor(inTransformer, outTransformer, targetLoader, sourceLoader);
     }
 
+    /**
+     * Returns the data types with streaming XML types moved to the front, preserving the order of the remaining types.
+     *
+     * @param types the data types
+     * @return the ordered types
+     */
+    private List<DataType> preferStreaming(List<DataType> types) {
+        List<DataType> ordered = new ArrayList<>(types.size());
+        for (DataType type : types) {
+            if (isStreaming(type)) {
+                ordered.add(type);
+            }
+        }
+        if (ordered.isEmpty()) {
+            return types;
+        }
+        for (DataType type : types) {
+            if (!isStreaming(type)) {
+                ordered.add(type);
+            }
+        }
+        return ordered;
+    }
+
+    private boolean isStreaming(DataType type) {
+        // data type equality does not consider the databinding
+        DataType stream = PhysicalDataTypes.JAXB_STREAM;
+        return stream.equals(type) && stream.getDatabinding().equals(type.getDatabinding());
+    }
+
 }
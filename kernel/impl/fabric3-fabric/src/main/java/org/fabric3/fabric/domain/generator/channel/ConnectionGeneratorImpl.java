@@ -219,6 +219,7 @@ public class ConnectionGeneratorImpl implements ConnectionGenerator {
         URI uri = channel.getUri();
         PhysicalConnectionSource source = new ChannelSource(uri, ChannelSide.CONSUMER);
         source.setSequence(consumer.getDefinition().getSequence());
+        source.setGroup(consumer.getDefinition().getGroup());
         source.setClassLoader(classLoader);
         Class<?> type = getType(consumer);
         return new PhysicalChannelConnection(uri, consumer.getUri(), source, target, type, bound);
@@ -234,6 +235,7 @@ public class ConnectionGeneratorImpl implements ConnectionGenerator {
         ConnectionBindingGenerator bindingGenerator = getGenerator(binding);
         PhysicalConnectionSource source = bindingGenerator.generateConnectionSource(consumer, binding, deliveryType);
         source.setSequence(consumer.getDefinition().getSequence());
+        source.setGroup(consumer.getDefinition().getGroup());
 
         source.setClassLoader(classLoader);
         URI uri = channel.getUri();
@@ -68,4 +68,41 @@ public class TransformerInterceptorFactoryImplTestCase extends TestCase {
 
         EasyMock.verify(registry, in, out);
     }
+
+    @SuppressWarnings({"unchecked"})
+    public void testPreferStreaming() throws Exception {
+        ClassLoader loader = getClass().getClassLoader();
+
+        List<DataType> sourceTypes = new ArrayList<>();
+        sourceTypes.add(PhysicalDataTypes.JAVA_TYPE);
+        List<DataType> targetTypes = new ArrayList<>();
+        targetTypes.add(PhysicalDataTypes.JAXB);
+        targetTypes.add(PhysicalDataTypes.JAXB_STREAM);
+
+        Transformer in = EasyMock.createMock(Transformer.class);
+        Transformer out = EasyMock.createMock(Transformer.class);
+
+        TransformerRegistry registry = EasyMock.createMock(TransformerRegistry.class);
+        EasyMock.expect(registry.getTransformer(EasyMock.eq(PhysicalDataTypes.JAVA_TYPE),
+                                                EasyMock.same(PhysicalDataTypes.JAXB_STREAM),
+                                                EasyMock.isA(List.class),
+                                                EasyMock.isA(List.class))).andReturn(in);
+        EasyMock.expect(registry.getTransformer(EasyMock.same(PhysicalDataTypes.JAXB_STREAM),
+                                                EasyMock.eq(PhysicalDataTypes.JAVA_TYPE),
+                                                EasyMock.isA(List.class),
+                                                EasyMock.isA(List.class))).andReturn(out);
+        EasyMock.replay(registry, in, out);
+
+        TransformerInterceptorFactoryImpl factory = new TransformerInterceptorFactoryImpl(registry);
+
+        PhysicalOperation definition = new PhysicalOperation();
+        definition.addSourceParameterType(String.class);
+        definition.setSourceReturnType(String.class);
+        definition.addTargetParameterType(byte[].class);
+        definition.setTargetReturnType(byte[].class);
+
+        assertNotNull(factory.createInterceptor(definition, sourceTypes, targetTypes, loader, loader));
+
+        EasyMock.verify(registry, in, out);
+    }
 }
@@ -32,6 +32,9 @@ public interface ExecutorMonitor {
     @Severe("The following exception was raised")
     void threadError(Throwable t);
 
+    @Warning("Virtual threads are not supported by the JVM. Using the standard thread pool.")
+    void virtualThreadsNotSupported();
+
     @Warning("Thread {0} has exceeded the stall threshold. Elapsed time is {1} milliseconds. The thread stack is: \n {2}")
     void stalledThread(String threadName, long elapsedTime, String trace);
 
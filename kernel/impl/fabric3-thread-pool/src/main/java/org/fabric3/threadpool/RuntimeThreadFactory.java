@@ -18,15 +18,18 @@
  */
 package org.fabric3.threadpool;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.fabric3.spi.container.invocation.Fabric3Thread;
 
 /**
- * Factory that returns named threads and sets an uncaught exception handler that forwards exceptions to a monitor.
+ * Factory that returns named threads and sets an uncaught exception handler that forwards exceptions to a monitor. Also creates worker threads for
+ * work-stealing pools.
  */
-public class RuntimeThreadFactory implements ThreadFactory {
+public class RuntimeThreadFactory implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThreadFactory {
     private AtomicInteger number = new AtomicInteger(1);
     private ThreadGroup group;
     private String prefix;
@@ -51,6 +54,29 @@ public class RuntimeThreadFactory implements ThreadFactory {
         return thread;
     }
 
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = new RuntimeWorkerThread(pool);
+        thread.setName(prefix + number.getAndIncrement());
+        thread.setUncaughtExceptionHandler(handler);
+        return thread;
+    }
+
+    /**
+     * Returns the handler that forwards uncaught exceptions to the monitor.
+     *
+     * @return the handler
+     */
+    public Thread.UncaughtExceptionHandler getUncaughtExceptionHandler() {
+        return handler;
+    }
+
+    private static class RuntimeWorkerThread extends ForkJoinWorkerThread {
+
+        private RuntimeWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+
     private class RuntimeUncaughtExceptionHandler implements Thread.UncaughtExceptionHandler {
         private ExecutorMonitor monitor;
 
@@ -18,12 +18,25 @@
  */
 package org.fabric3.threadpool;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.fabric3.api.annotation.Source;
 import org.fabric3.api.annotation.management.Management;
@@ -40,6 +53,10 @@ import org.oasisopen.sca.annotation.Property;
  *
  * The default configuration uses a bounded queue to accept work. If the queue size is exceeded, work will be rejected. This allows the runtime to degrade
  * gracefully under load by pushing requests back to the client and avoid out-of-memory conditions.
+ *
+ * Two alternative modes can be configured that avoid a single shared queue. The {@code work.stealing} mode uses a {@link ForkJoinPool} where each worker
+ * has its own queue. The {@code virtual} mode executes each work item on a new virtual thread if supported by the JVM. In both modes, the queue size and
+ * rejected execution handler settings do not apply.
  */
 @EagerInit
 @Management(name = "RuntimeThreadPoolExecutor",
@@ -52,12 +69,22 @@ public class RuntimeThreadPoolExecutor extends AbstractExecutorService {
     private boolean allowCoreThreadTimeOut = true;
     private int maximumSize = 100;
     private int queueSize = 10000;
+    private int parallelism = 0;
+    private Mode mode = Mode.STANDARD;
     private RejectedExecutionHandler rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
 
-    private ThreadPoolExecutor delegate;
+    private ExecutorService delegate;
+    private ThreadPoolExecutor threadPool;
+    private ForkJoinPool forkJoinPool;
     private LinkedBlockingQueue<Runnable> queue;
+    private LongAdder active;
+    private LongAdder completed;
     private ExecutorMonitor monitor;
 
+    private enum Mode {
+        STANDARD, WORK_STEALING, VIRTUAL
+    }
+
     /**
      * Sets the number of threads always available to service the executor queue.
      *
@@ -97,6 +124,40 @@ public class RuntimeThreadPoolExecutor extends AbstractExecutorService {
         this.queueSize = size;
     }
 
+    /**
+     * Sets the executor mode: {@code standard}, {@code work.stealing} or {@code virtual}.
+     *
+     * @param mode the mode
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:thread.pool/@mode")
+    public void setMode(String mode) {
+        if ("work.stealing".equals(mode)) {
+            this.mode = Mode.WORK_STEALING;
+        } else if ("virtual".equals(mode)) {
+            this.mode = Mode.VIRTUAL;
+        } else if ("standard".equals(mode)) {
+            this.mode = Mode.STANDARD;
+        } else {
+            monitor.error("Invalid thread pool mode configuration - setting to standard: " + mode);
+        }
+    }
+
+    /**
+     * Sets the number of worker threads in work-stealing mode. If not set, the maximum pool size is used since long-running work such as message receivers
+     * occupies a worker.
+     *
+     * @param parallelism the number of worker threads
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:thread.pool/@parallelism")
+    public void setParallelism(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than or equal to 0");
+        }
+        this.parallelism = parallelism;
+    }
+
     @Property(required = false)
     @Source("$systemConfig//f3:thread.pool/@rejected.execution.handler")
     public void setRejectedExecutionHandler(String handler) {
@@ -139,40 +200,86 @@ public class RuntimeThreadPoolExecutor extends AbstractExecutorService {
         this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
     }
 
+    @ManagementOperation(description = "The thread pool mode")
+    public String getMode() {
+        return mode.toString();
+    }
+
     @ManagementOperation(description = "Returns the approximate number of threads actively executing tasks")
     public int getActiveCount() {
-        return delegate.getActiveCount();
+        switch (mode) {
+            case WORK_STEALING:
+                return forkJoinPool.getActiveThreadCount();
+            case VIRTUAL:
+                return active.intValue();
+            default:
+                return threadPool.getActiveCount();
+        }
+    }
+
+    @ManagementOperation(description = "Returns the approximate number of completed tasks")
+    public long getCompletedTaskCount() {
+        switch (mode) {
+            case STANDARD:
+                return threadPool.getCompletedTaskCount();
+            default:
+                return completed.sum();
+        }
     }
 
     @ManagementOperation(description = "The maximum thread pool size")
     public int getMaximumPoolSize() {
-        return delegate.getMaximumPoolSize();
+        switch (mode) {
+            case WORK_STEALING:
+                return forkJoinPool.getParallelism();
+            case VIRTUAL:
+                return Integer.MAX_VALUE;
+            default:
+                return threadPool.getMaximumPoolSize();
+        }
     }
 
     @ManagementOperation(description = "The maximum thread pool size")
     public void setMaximumPoolSize(int size) {
-        delegate.setMaximumPoolSize(size);
+        checkStandardMode();
+        threadPool.setMaximumPoolSize(size);
     }
 
     @ManagementOperation(description = "The core thread pool size")
     public int getCorePoolSize() {
-        return delegate.getCorePoolSize();
+        switch (mode) {
+            case WORK_STEALING:
+                return forkJoinPool.getParallelism();
+            case VIRTUAL:
+                return 0;
+            default:
+                return threadPool.getCorePoolSize();
+        }
     }
 
     @ManagementOperation(description = "The core thread pool size")
     public void setCorePoolSize(int size) {
-        delegate.setCorePoolSize(size);
+        checkStandardMode();
+        threadPool.setCorePoolSize(size);
     }
 
     @ManagementOperation(description = "Returns the largest size the thread pool reached")
     public int getLargestPoolSize() {
-        return delegate.getLargestPoolSize();
+        switch (mode) {
+            case WORK_STEALING:
+                return forkJoinPool.getPoolSize();
+            case VIRTUAL:
+                return active.intValue();
+            default:
+                return threadPool.getLargestPoolSize();
+        }
     }
 
     @ManagementOperation(description = "Returns the remaining capacity the receive queue has before additional work will be rejected")
     public int getRemainingCapacity() {
-        return queue.remainingCapacity();
+        return mode == Mode.STANDARD ? queue.remainingCapacity() : Integer.MAX_VALUE;
     }
+
     public RuntimeThreadPoolExecutor(@Monitor ExecutorMonitor monitor) {
         this.monitor = monitor;
     }
@@ -182,6 +289,26 @@ public class RuntimeThreadPoolExecutor extends AbstractExecutorService {
         if (maximumSize < coreSize) {
             throw new IllegalArgumentException("Maximum pool size cannot be less than core pool size");
         }
+        RuntimeThreadFactory factory = new RuntimeThreadFactory(monitor);
+        if (mode == Mode.VIRTUAL) {
+            ThreadFactory virtualFactory = createVirtualThreadFactory(factory.getUncaughtExceptionHandler());
+            if (virtualFactory != null) {
+                active = new LongAdder();
+                completed = new LongAdder();
+                delegate = new VirtualThreadExecutor(virtualFactory, active, completed);
+                return;
+            }
+            monitor.virtualThreadsNotSupported();
+            mode = Mode.STANDARD;
+        }
+        if (mode == Mode.WORK_STEALING) {
+            completed = new LongAdder();
+            int size = parallelism > 0 ? parallelism : maximumSize;
+            // use FIFO ordering for submitted work since tasks are not forked and joined
+            forkJoinPool = new ForkJoinPool(size, factory, null, true);
+            delegate = forkJoinPool;
+            return;
+        }
         if (queueSize > 0) {
             // create a bounded queue to accept work
             queue = new LinkedBlockingQueue<>(queueSize);
@@ -189,13 +316,13 @@ public class RuntimeThreadPoolExecutor extends AbstractExecutorService {
             // create an unbounded queue to accept work
             queue = new LinkedBlockingQueue<>();
         }
-        RuntimeThreadFactory factory = new RuntimeThreadFactory(monitor);
-        delegate = new ThreadPoolExecutor(coreSize, maximumSize, Long.MAX_VALUE, TimeUnit.SECONDS, queue, factory);
-        delegate.setKeepAliveTime(keepAliveTime, TimeUnit.MILLISECONDS);
-        delegate.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
+        threadPool = new ThreadPoolExecutor(coreSize, maximumSize, Long.MAX_VALUE, TimeUnit.SECONDS, queue, factory);
+        threadPool.setKeepAliveTime(keepAliveTime, TimeUnit.MILLISECONDS);
+        threadPool.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
 
         // set rejection strategy
-        delegate.setRejectedExecutionHandler(rejectedExecutionHandler);
+        threadPool.setRejectedExecutionHandler(rejectedExecutionHandler);
+        delegate = threadPool;
     }
 
     @Destroy
@@ -204,7 +331,11 @@ public class RuntimeThreadPoolExecutor extends AbstractExecutorService {
     }
 
     public void execute(Runnable runnable) {
-        delegate.execute(runnable);
+        if (mode == Mode.WORK_STEALING) {
+            delegate.execute(new CountingRunnable(runnable));
+        } else {
+            delegate.execute(runnable);
+        }
     }
 
     public void shutdown() {
@@ -227,4 +358,150 @@ public class RuntimeThreadPoolExecutor extends AbstractExecutorService {
         return false;
     }
 
+    private void checkStandardMode() {
+        if (mode != Mode.STANDARD) {
+            throw new IllegalStateException("Pool sizes can only be changed in standard mode");
+        }
+    }
+
+    /**
+     * Creates a virtual thread factory using {@code Thread.ofVirtual()}. Method handles are used since the runtime is compiled against JVMs that do not
+     * provide virtual threads.
+     *
+     * @param handler the uncaught exception handler
+     * @return the factory or null if virtual threads are not supported
+     */
+    private ThreadFactory createVirtualThreadFactory(Thread.UncaughtExceptionHandler handler) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualClass));
+            MethodHandle name = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class, long.class));
+            MethodHandle exceptionHandler = lookup.findVirtual(builderClass,
+                                                              "uncaughtExceptionHandler",
+                                                              MethodType.methodType(builderClass, Thread.UncaughtExceptionHandler.class));
+            MethodHandle factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            Object builder = ofVirtual.invoke();
+            builder = name.invoke(builder, "virtual:", 1L);
+            builder = exceptionHandler.invoke(builder, handler);
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (Throwable e) {
+            // virtual threads not present or not enabled
+            return null;
+        }
+    }
+
+    /**
+     * Tracks completed work in work-stealing mode.
+     */
+    private class CountingRunnable implements Runnable {
+        private Runnable delegate;
+
+        public CountingRunnable(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        public void run() {
+            try {
+                delegate.run();
+            } finally {
+                completed.increment();
+            }
+        }
+    }
+
+    /**
+     * Starts a virtual thread per work item. Statistics are tracked with striped counters to avoid contention between submitters. Running threads are tracked
+     * so that they can be interrupted on {@link #shutdownNow()} and waited for on {@link #awaitTermination(long, TimeUnit)}.
+     */
+    static class VirtualThreadExecutor extends AbstractExecutorService {
+        private ThreadFactory factory;
+        private LongAdder active;
+        private LongAdder completed;
+        private Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private volatile boolean shutdown;
+
+        private ReentrantLock lock = new ReentrantLock();
+        private Condition termination = lock.newCondition();
+
+        public VirtualThreadExecutor(ThreadFactory factory, LongAdder active, LongAdder completed) {
+            this.factory = factory;
+            this.active = active;
+            this.completed = completed;
+        }
+
+        public void execute(Runnable runnable) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor is shutdown");
+            }
+            Thread thread = factory.newThread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    active.decrement();
+                    completed.increment();
+                    threads.remove(Thread.currentThread());
+                    signalIfTerminated();
+                }
+            });
+            // track the thread before checking for shutdown so a concurrent shutdown either rejects the work or waits for it
+            threads.add(thread);
+            if (shutdown) {
+                threads.remove(thread);
+                signalIfTerminated();
+                throw new RejectedExecutionException("Executor is shutdown");
+            }
+            active.increment();
+            thread.start();
+        }
+
+        public void shutdown() {
+            shutdown = true;
+            signalIfTerminated();
+        }
+
+        public List<Runnable> shutdownNow() {
+            shutdown();
+            threads.forEach(Thread::interrupt);
+            // work is started on submission so none is pending
+            return Collections.emptyList();
+        }
+
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        public boolean isTerminated() {
+            return shutdown && threads.isEmpty();
+        }
+
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            lock.lock();
+            try {
+                while (!isTerminated()) {
+                    if (nanos <= 0) {
+                        return false;
+                    }
+                    nanos = termination.awaitNanos(nanos);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void signalIfTerminated() {
+            if (isTerminated()) {
+                lock.lock();
+                try {
+                    termination.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
 }
@@ -1,7 +1,12 @@
 package org.fabric3.threadpool;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
@@ -33,6 +38,84 @@ public class RuntimeThreadPoolExecutorTestCase extends TestCase {
         latch1.countDown();
     }
 
+    public void testWorkStealing() throws Exception {
+        executor.setMode("work.stealing");
+        executor.setParallelism(4);
+        executor.init();
+        assertEquals(4, executor.getMaximumPoolSize());
+
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            executor.execute(latch::countDown);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        Future<String> future = executor.submit(() -> "test");
+        assertEquals("test", future.get(5, TimeUnit.SECONDS));
+        executor.stop();
+    }
+
+    public void testWorkStealingDoesNotResize() throws Exception {
+        executor.setMode("work.stealing");
+        executor.init();
+        try {
+            executor.setMaximumPoolSize(10);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        executor.stop();
+    }
+
+    public void testVirtual() throws Exception {
+        ExecutorMonitor monitor = EasyMock.createNiceMock(ExecutorMonitor.class);
+        EasyMock.replay(monitor);
+        executor = new RuntimeThreadPoolExecutor(monitor);
+        executor.setMode("virtual");
+        executor.init();
+
+        // falls back to the standard pool if the JVM does not support virtual threads
+        CountDownLatch latch = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            executor.execute(latch::countDown);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        executor.stop();
+    }
+
+    public void testVirtualAwaitTermination() throws Exception {
+        // platform threads stand in for virtual threads so the shutdown contract can be verified on any JVM
+        LongAdder active = new LongAdder();
+        LongAdder completed = new LongAdder();
+        ExecutorService virtual = new RuntimeThreadPoolExecutor.VirtualThreadExecutor(Executors.defaultThreadFactory(), active, completed);
+        CountDownLatch latch = new CountDownLatch(1);
+        virtual.execute(new MockStalledWork(latch));
+        virtual.shutdown();
+        try {
+            virtual.execute(new MockStalledWork(latch));
+            fail();
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        assertFalse(virtual.awaitTermination(50, TimeUnit.MILLISECONDS));
+        assertFalse(virtual.isTerminated());
+
+        latch.countDown();
+        assertTrue(virtual.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(virtual.isTerminated());
+        assertEquals(0, active.sum());
+        assertEquals(1, completed.sum());
+    }
+
+    public void testVirtualShutdownNowInterrupts() throws Exception {
+        ExecutorService virtual = new RuntimeThreadPoolExecutor.VirtualThreadExecutor(Executors.defaultThreadFactory(), new LongAdder(), new LongAdder());
+        // the latch is never released so the work only completes if it is interrupted
+        virtual.execute(new MockStalledWork(new CountDownLatch(1)));
+        assertTrue(virtual.shutdownNow().isEmpty());
+        assertTrue(virtual.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
     @Override
     protected void setUp() throws Exception {
         super.setUp();